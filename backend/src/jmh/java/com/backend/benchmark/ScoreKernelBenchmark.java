@@ -0,0 +1,108 @@
+package com.backend.benchmark;
+
+import com.backend.util.ScoreKernel;
+import com.backend.util.ScoreKernels;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vector API kernel vs. scalar kernel over score columns shaped like real data:
+ * scores 1-4 with roughly one in eight entries unscored.
+ *
+ * Run with {@code mvn -Pbenchmarks compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ScoreKernelBenchmark {
+
+    private static final int MAX_SCORE = 4;
+
+    @Param({"64", "4096", "1000000"})
+    private int size;
+
+    private int[] current;
+    private int[] previous;
+    private int[] out;
+
+    private ScoreKernel vector;
+    private ScoreKernel scalar;
+
+    @Setup
+    public void setUp() {
+        if (!ScoreKernels.isVectorized()) {
+            throw new IllegalStateException("Benchmark JVM was started without jdk.incubator.vector");
+        }
+        vector = ScoreKernels.kernel();
+        scalar = ScoreKernels.scalar();
+
+        Random random = new Random(42);
+        current = new int[size];
+        previous = new int[size];
+        out = new int[size];
+        for (int i = 0; i < size; i++) {
+            current[i] = random.nextInt(8) == 0 ? 0 : 1 + random.nextInt(MAX_SCORE);
+            previous[i] = random.nextInt(8) == 0 ? 0 : 1 + random.nextInt(MAX_SCORE);
+        }
+    }
+
+    @Benchmark
+    public long sumVector() {
+        return vector.sum(current, 0, size);
+    }
+
+    @Benchmark
+    public long sumScalar() {
+        return scalar.sum(current, 0, size);
+    }
+
+    @Benchmark
+    public int countVector() {
+        return vector.count(current, 0, size);
+    }
+
+    @Benchmark
+    public int countScalar() {
+        return scalar.count(current, 0, size);
+    }
+
+    @Benchmark
+    public void minMaxVector(Blackhole blackhole) {
+        blackhole.consume(vector.min(current, 0, size));
+        blackhole.consume(vector.max(current, 0, size));
+    }
+
+    @Benchmark
+    public void minMaxScalar(Blackhole blackhole) {
+        blackhole.consume(scalar.min(current, 0, size));
+        blackhole.consume(scalar.max(current, 0, size));
+    }
+
+    @Benchmark
+    public int[] histogramVector() {
+        return vector.histogram(current, 0, size, MAX_SCORE);
+    }
+
+    @Benchmark
+    public int[] histogramScalar() {
+        return scalar.histogram(current, 0, size, MAX_SCORE);
+    }
+
+    @Benchmark
+    public int[] deltasVector() {
+        vector.deltas(current, previous, out, size);
+        return out;
+    }
+
+    @Benchmark
+    public int[] deltasScalar() {
+        scalar.deltas(current, previous, out, size);
+        return out;
+    }
+}
@@ -52,7 +52,12 @@ public class SecurityConfig {
         ));
         configuration.setAllowedMethods(Arrays.asList("*"));
         configuration.setAllowedHeaders(Arrays.asList("*")); // Allow all headers
-        configuration.setExposedHeaders(Arrays.asList("Authorization")); // Expose Authorization header
+        configuration.setExposedHeaders(Arrays.asList(
+            "Authorization",
+            "ETag",
+            "X-Analytics-Stale",
+            "X-Analytics-Computed-At"
+        ));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -1,68 +1,151 @@
 package com.backend.controller;
 
+import com.backend.model.Coach;
+import com.backend.service.AnalyticsService;
+import com.backend.service.AnalyticsSnapshotService;
+import com.backend.service.AnalyticsSnapshotService.Snapshot;
+import com.backend.service.UserService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
 import java.util.*;
+import java.util.stream.Collectors;
 
+/**
+ * Analytics are served from background-computed snapshots (see {@link AnalyticsSnapshotService}).
+ * Every response carries the snapshot's ETag plus a staleness indicator, and a matching
+ * If-None-Match short-circuits with 304.
+ */
 @RestController
 @RequestMapping("/api/analytics")
 public class AnalyticsController {
 
-    // Temporary stub endpoints to prevent 404s
-    // TODO: Implement proper analytics logic later
-    
+    private static final String STALE_HEADER = "X-Analytics-Stale";
+    private static final String COMPUTED_AT_HEADER = "X-Analytics-Computed-At";
+
+    private final AnalyticsSnapshotService snapshotService;
+    private final UserService userService;
+
+    public AnalyticsController(AnalyticsSnapshotService snapshotService, UserService userService) {
+        this.snapshotService = snapshotService;
+        this.userService = userService;
+    }
+
     @GetMapping("/performer-progress")
-    public ResponseEntity<List<Object>> getPerformerProgress(
+    public ResponseEntity<List<Map<String, Object>>> getPerformerProgress(
             @RequestParam String timeRange,
-            @RequestParam(required = false) List<Long> teamIds) {
-        
-        // Return empty list for now to prevent frontend errors
-        return ResponseEntity.ok(Collections.emptyList());
+            @RequestParam(required = false) List<Long> teamIds,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            Authentication authentication) {
+
+        Coach coach = userService.getCurrentCoach(authentication.getName());
+        Snapshot snapshot = snapshotFor(coach, timeRange);
+        String eTag = snapshot.getETag(teamFilter(teamIds));
+        if (isNotModified(eTag, ifNoneMatch)) {
+            return notModified(coach, snapshot, eTag);
+        }
+
+        List<Map<String, Object>> progress = snapshot.data().performerProgress();
+        if (teamIds != null && !teamIds.isEmpty()) {
+            progress = progress.stream()
+                    .filter(entry -> ((List<?>) entry.get("teamIds")).stream().anyMatch(teamIds::contains))
+                    .collect(Collectors.toList());
+        }
+
+        return withSnapshotHeaders(ResponseEntity.ok(), coach, snapshot, eTag).body(progress);
     }
-    
-    @GetMapping("/coaching-insights") 
+
+    /**
+     * Insights are computed for the whole account; {@code teamIds} narrows the team comparison.
+     */
+    @GetMapping("/coaching-insights")
     public ResponseEntity<Map<String, Object>> getCoachingInsights(
             @RequestParam String timeRange,
             @RequestParam(required = false) List<Long> teamIds,
-            @RequestParam(required = false) List<Long> focusAreaIds) {
-        
-        // Return minimal data structure to prevent frontend errors
-        Map<String, Object> insights = new HashMap<>();
-        insights.put("totalPractices", 0);
-        insights.put("totalEvaluations", 0);
-        insights.put("averageSessionLength", 0);
-        insights.put("mostUsedExercises", Collections.emptyList());
-        insights.put("teamPerformanceComparison", Collections.emptyList());
-        insights.put("overallTeachingEffectiveness", 0.0);
-        insights.put("coachingStrengths", Collections.emptyList());
-        insights.put("areasForDevelopment", Collections.emptyList());
-        insights.put("monthlyActivity", Collections.emptyList());
-        
-        return ResponseEntity.ok(insights);
+            @RequestParam(required = false) List<Long> focusAreaIds,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            Authentication authentication) {
+
+        Coach coach = userService.getCurrentCoach(authentication.getName());
+        Snapshot snapshot = snapshotFor(coach, timeRange);
+        String eTag = snapshot.getETag(teamFilter(teamIds));
+        if (isNotModified(eTag, ifNoneMatch)) {
+            return notModified(coach, snapshot, eTag);
+        }
+
+        Map<String, Object> insights = snapshot.data().coachingInsights();
+        if (teamIds != null && !teamIds.isEmpty()) {
+            insights = new HashMap<>(insights);
+            insights.put("teamPerformanceComparison", ((List<?>) insights.get("teamPerformanceComparison")).stream()
+                    .filter(team -> teamIds.contains(((Map<?, ?>) team).get("teamId")))
+                    .collect(Collectors.toList()));
+        }
+
+        return withSnapshotHeaders(ResponseEntity.ok(), coach, snapshot, eTag).body(insights);
     }
-    
+
     @GetMapping("/teams/{teamId}")
     public ResponseEntity<Map<String, Object>> getTeamAnalytics(
             @PathVariable Long teamId,
-            @RequestParam String timeRange) {
-            
-        // Return minimal team analytics structure
-        Map<String, Object> analytics = new HashMap<>();
-        analytics.put("teamId", teamId);
-        analytics.put("teamName", "Team");
-        analytics.put("performerCount", 0);
-        analytics.put("averageScore", 0.0);
-        analytics.put("scoreImprovement", 0.0);
-        analytics.put("attendanceRate", 0.0);
-        analytics.put("practicesCompleted", 0);
-        analytics.put("evaluationsCompleted", 0);
-        analytics.put("focusAreaBreakdown", Collections.emptyMap());
-        analytics.put("strengthsAndWeaknesses", Map.of(
-            "strengths", Collections.emptyList(),
-            "weaknesses", Collections.emptyList()
-        ));
-        analytics.put("progressTrend", Collections.emptyList());
-        
-        return ResponseEntity.ok(analytics);
+            @RequestParam String timeRange,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            Authentication authentication) {
+
+        Coach coach = userService.getCurrentCoach(authentication.getName());
+        Snapshot snapshot = snapshotFor(coach, timeRange);
+
+        // Snapshots only contain the coach's own teams
+        Map<String, Object> analytics = snapshot.data().teamAnalytics().get(teamId);
+        if (analytics == null) {
+            return ResponseEntity.notFound().build();
+        }
+        String eTag = snapshot.getETag();
+        if (isNotModified(eTag, ifNoneMatch)) {
+            return notModified(coach, snapshot, eTag);
+        }
+
+        return withSnapshotHeaders(ResponseEntity.ok(), coach, snapshot, eTag).body(analytics);
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    private Snapshot snapshotFor(Coach coach, String timeRange) {
+        if (!AnalyticsService.isSupportedTimeRange(timeRange)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported timeRange: " + timeRange);
+        }
+        try {
+            return snapshotService.getSnapshot(coach.getCoachId(), timeRange);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    // Filtered views of one snapshot need their own ETags
+    private String teamFilter(List<Long> teamIds) {
+        if (teamIds == null || teamIds.isEmpty()) {
+            return "";
+        }
+        return "t" + teamIds.stream().distinct().sorted().map(String::valueOf).collect(Collectors.joining("."));
+    }
+
+    private boolean isNotModified(String eTag, String ifNoneMatch) {
+        return ifNoneMatch != null && Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .anyMatch(tag -> tag.equals(eTag) || tag.equals("W/" + eTag));
+    }
+
+    private <T> ResponseEntity<T> notModified(Coach coach, Snapshot snapshot, String eTag) {
+        return withSnapshotHeaders(ResponseEntity.status(HttpStatus.NOT_MODIFIED), coach, snapshot, eTag).build();
+    }
+
+    private ResponseEntity.BodyBuilder withSnapshotHeaders(ResponseEntity.BodyBuilder builder, Coach coach,
+            Snapshot snapshot, String eTag) {
+        return builder
+                .eTag(eTag)
+                .header(STALE_HEADER, String.valueOf(snapshotService.isStale(coach.getCoachId(), snapshot)))
+                .header(COMPUTED_AT_HEADER, snapshot.computedAt().toString());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package com.backend.controller;
+
+import com.backend.dto.BatchRequestItem;
+import com.backend.dto.BatchResponseItem;
+import com.backend.service.BatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/batch")
+@Tag(name = "Batch", description = "Run several API requests in one round trip")
+public class BatchController {
+
+    private final BatchService batchService;
+
+    public BatchController(BatchService batchService) {
+        this.batchService = batchService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Run a batch of requests", description = "Each item has an id, method, /api path, optional "
+            + "headers and JSON body, and optional dependsOn ids of earlier items. Reads run in parallel, writes in "
+            + "order. {{id.field}} in a path or body is replaced with a field from a dependency's response. "
+            + "Streaming endpoints are not supported.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Batch ran; see each item's status"),
+        @ApiResponse(responseCode = "400", description = "Malformed batch"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    public ResponseEntity<List<BatchResponseItem>> executeBatch(
+            @RequestBody List<BatchRequestItem> requests,
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Authentication authentication) {
+
+        try {
+            return ResponseEntity.ok(batchService.execute(requests, request, response, authentication));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
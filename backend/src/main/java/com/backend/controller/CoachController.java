@@ -1,19 +1,32 @@
 package com.backend.controller;
 
+import com.backend.dto.CoachProfileResponse;
 import com.backend.dto.CoachProfileUpdateRequest;
+import com.backend.dto.ImportJobResponse;
 import com.backend.model.Coach;
+import com.backend.service.AccountExportService;
+import com.backend.service.AccountImportService;
 import com.backend.service.UserService;
+import com.backend.util.ResourceVersion;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/coaches")
 public class CoachController {
@@ -21,8 +34,14 @@ public class CoachController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private AccountExportService accountExportService;
+    
+    @Autowired
+    private AccountImportService accountImportService;
+    
     @PutMapping("/profile")
-    public ResponseEntity<Coach> updateProfile(
+    public ResponseEntity<CoachProfileResponse> updateProfile(
             @RequestBody @Valid CoachProfileUpdateRequest request,
             Authentication authentication) {
         
@@ -40,15 +59,59 @@ public class CoachController {
         // Update the coach profile
         Coach updatedCoach = userService.updateCoachProfile(coach.getCoachId(), request);
         
-        // Clear the password field before returning to client
-        updatedCoach.setPassword(null);
+        // Return the lean profile rather than the entity (no password, no collections)
+        CoachProfileResponse profile = userService.getCoachProfile(updatedCoach.getEmail())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Coach not found"));
         
-        return ResponseEntity.ok(updatedCoach);
+        return ResponseEntity.ok(profile);
     }
     
-    // You could also add a GET endpoint to retrieve the coach profile
+    // Loaded on every app start: coach columns plus cached counts, constant cost per account
     @GetMapping("/profile")
-    public ResponseEntity<Coach> getProfile(Authentication authentication) {
+    public ResponseEntity<CoachProfileResponse> getProfile(Authentication authentication, WebRequest webRequest) {
+        if (authentication == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        
+        String email = ((UserDetails) authentication.getPrincipal()).getUsername();
+        Optional<ResourceVersion> version = userService.getCoachProfileVersion(email);
+        if (version.isPresent() && version.get().checkETagNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        CoachProfileResponse profile = userService.getCoachProfile(email)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Coach not found"));
+        
+        return ResponseEntity.ok(profile);
+    }
+    
+    // Full account export: a zip of NDJSON files, streamed as it is read
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAccount(Authentication authentication) {
+        if (authentication == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        
+        String email = ((UserDetails) authentication.getPrincipal()).getUsername();
+        Coach coach = userService.findByEmail(email)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Coach not found"));
+        
+        StreamingResponseBody body = out -> accountExportService.export(coach, out);
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"account-" + coach.getCoachId() + "-export.zip\"")
+                .body(body);
+    }
+    
+    // Bulk import of an account export zip or an NDJSON stream (raw request body). Runs in the background;
+    // poll the returned job. Pass resumeJobId with the same upload to continue a failed import.
+    @PostMapping(value = "/import", consumes = {"application/zip", "application/x-ndjson", "application/octet-stream"})
+    public ResponseEntity<ImportJobResponse> importAccount(
+            @RequestParam(required = false) Long resumeJobId,
+            @RequestParam(required = false) String filename,
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
         if (authentication == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -57,9 +120,28 @@ public class CoachController {
         Coach coach = userService.findByEmail(email)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Coach not found"));
         
-        // Clear sensitive information
-        coach.setPassword(null);
+        try {
+            ImportJobResponse job = accountImportService.start(coach, request.getInputStream(), filename, resumeJobId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+    
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ImportJobResponse> getImportJob(@PathVariable Long jobId, Authentication authentication) {
+        if (authentication == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
         
-        return ResponseEntity.ok(coach);
+        String email = ((UserDetails) authentication.getPrincipal()).getUsername();
+        Coach coach = userService.findByEmail(email)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Coach not found"));
+        
+        try {
+            return ResponseEntity.ok(accountImportService.getJob(jobId, coach));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
     }
 }
\ No newline at end of file
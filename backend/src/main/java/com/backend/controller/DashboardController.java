@@ -0,0 +1,52 @@
+package com.backend.controller;
+
+import com.backend.dto.DashboardResponse;
+import com.backend.model.Coach;
+import com.backend.service.AnalyticsService;
+import com.backend.service.DashboardService;
+import com.backend.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@Tag(name = "Dashboard", description = "Composed payload for the coach dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+    private final UserService userService;
+
+    public DashboardController(DashboardService dashboardService, UserService userService) {
+        this.dashboardService = dashboardService;
+        this.userService = userService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get dashboard", description = "Upcoming and recent lessons, teams, counts and analytics "
+            + "in one response. Sections that time out are omitted and listed in unavailableSections.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Dashboard retrieved, possibly partial"),
+        @ApiResponse(responseCode = "400", description = "Unsupported time range"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    public ResponseEntity<DashboardResponse> getDashboard(
+            @RequestParam(defaultValue = "30d") String timeRange,
+            Authentication authentication) {
+
+        if (!AnalyticsService.isSupportedTimeRange(timeRange)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported timeRange: " + timeRange);
+        }
+        Coach coach = userService.getCurrentCoach(authentication.getName());
+        return ResponseEntity.ok(dashboardService.getDashboard(coach, timeRange));
+    }
+}
@@ -4,15 +4,20 @@ import com.backend.dto.EvaluationRequest;
 import com.backend.dto.EvaluationResponse;
 import com.backend.dto.EvaluationUpdateRequest;
 import com.backend.model.Coach;
+import com.backend.model.Team;
+import com.backend.service.EvaluationExportService;
 import com.backend.service.EvaluationService;
 import com.backend.service.UserService;
+import com.backend.util.ExportFormat;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,10 +26,14 @@ import java.util.List;
 @RequestMapping("/api/evaluations")
 public class EvaluationController {
     private final EvaluationService evaluationService;
+    private final EvaluationExportService evaluationExportService;
     private final UserService userService;
     
-    public EvaluationController(EvaluationService evaluationService, UserService userService) {
+    public EvaluationController(EvaluationService evaluationService,
+                                EvaluationExportService evaluationExportService,
+                                UserService userService) {
         this.evaluationService = evaluationService;
+        this.evaluationExportService = evaluationExportService;
         this.userService = userService;
     }
     
@@ -89,6 +98,24 @@ public class EvaluationController {
         return ResponseEntity.ok(evaluationService.getAllEvaluationsByCoach(coach));
     }
 
+    // Opt-in NDJSON streaming of the same list (?format=ndjson), written as rows are read
+    @GetMapping(params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllMyEvaluations(Authentication authentication) {
+        if (authentication == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        
+        String email = ((UserDetails) authentication.getPrincipal()).getUsername();
+        Coach coach = userService.findByEmail(email)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Coach not found"));
+        
+        Long coachId = coach.getCoachId();
+        StreamingResponseBody body = out -> evaluationService.streamAllEvaluationsByCoach(coachId, out);
+        return ResponseEntity.ok()
+                .contentType(ExportFormat.NDJSON.getMediaType())
+                .body(body);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<EvaluationResponse> updateEvaluation(
             @PathVariable Long id,
@@ -154,4 +181,39 @@ public class EvaluationController {
         return ResponseEntity.ok(evaluations);
     }
 
+    // Streaming variant: ?format=csv or ?format=ndjson, legacy and scene evaluations, constant memory
+    @GetMapping(value = "/export/{teamId}", params = "format")
+    public ResponseEntity<StreamingResponseBody> streamEvaluationsForTeam(
+            @PathVariable Long teamId,
+            @RequestParam String format,
+            @RequestParam(required = false) LocalDateTime startDate,
+            @RequestParam(required = false) LocalDateTime endDate,
+            Authentication authentication) {
+        if (authentication == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        
+        String email = ((UserDetails) authentication.getPrincipal()).getUsername();
+        Coach coach = userService.findByEmail(email)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Coach not found"));
+        
+        ExportFormat exportFormat;
+        Team team;
+        try {
+            exportFormat = ExportFormat.fromParameter(format);
+            team = evaluationExportService.getExportableTeam(teamId, coach);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        
+        StreamingResponseBody body = out -> evaluationExportService.export(
+                team.getTeamId(), team.getName(), startDate, endDate, exportFormat, out);
+        
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"team-" + teamId + "-evaluations." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
 }
\ No newline at end of file
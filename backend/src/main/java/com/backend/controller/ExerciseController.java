@@ -4,6 +4,7 @@ import com.backend.dto.*;
 import com.backend.model.*;
 // import com.backend.repository.EvaluationTemplateRepository;
 import com.backend.service.*;
+import com.backend.util.ResourceVersion;
 import com.backend.util.TimeCalculator;
 import io.swagger.v3.oas.annotations.Operation;
 // import io.swagger.v3.oas.annotations.Parameter;
@@ -20,6 +21,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -37,6 +39,12 @@ public class ExerciseController {
     
     @Autowired
     private FocusAreaService focusAreaService;
+
+    @Autowired
+    private ExerciseInsightsService exerciseInsightsService;
+
+    @Autowired
+    private ExerciseTimingService exerciseTimingService;
     
     // @Autowired
     // private EvaluationTemplateRepository evaluationTemplateRepository;
@@ -97,10 +105,16 @@ public class ExerciseController {
     })
     public ResponseEntity<ExerciseResponse> getExerciseById(
             @PathVariable Long id,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
         
         Coach coach = userService.getCurrentCoach(authentication.getName());
         
+        ResourceVersion version = exerciseService.getExerciseVersion(id, coach);
+        if (version != null && version.checkNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        
         Optional<Exercise> exercise = exerciseService.findByIdWithAccess(id, coach);
         
         return exercise.map(ex -> ResponseEntity.ok(mapToExerciseResponse(ex)))
@@ -144,9 +158,13 @@ public class ExerciseController {
         @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
     public ResponseEntity<List<ExerciseSummaryResponse>> getAccessibleExercises(
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
         
         Coach coach = userService.getCurrentCoach(authentication.getName());
+        if (exerciseService.getAccessibleExercisesVersion(coach).checkETagNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<Exercise> exercises = exerciseService.getAccessibleExercises(coach);
         
         List<ExerciseSummaryResponse> response = exercises.stream()
@@ -263,6 +281,74 @@ public class ExerciseController {
         return ResponseEntity.ok(response);
     }
 
+    // ===== INSIGHTS =====
+
+    @GetMapping("/{id}/paired-with")
+    @Operation(summary = "Get exercises often paired with an exercise",
+               description = "Exercises that appear in the same scheduled lessons as this one, most frequent first")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Pairings retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    public ResponseEntity<List<ExercisePairingResponse>> getPairedExercises(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication authentication) {
+        
+        Coach coach = userService.getCurrentCoach(authentication.getName());
+        return ResponseEntity.ok(exerciseInsightsService.getPairings(coach.getCoachId(), id, limit));
+    }
+
+    @GetMapping("/{id}/effectiveness")
+    @Operation(summary = "Get exercise effectiveness",
+               description = "Average score change on the exercise's focus areas at performers' next evaluation")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Effectiveness retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    public ResponseEntity<ExerciseEffectivenessResponse> getExerciseEffectiveness(
+            @PathVariable Long id,
+            Authentication authentication) {
+        
+        Coach coach = userService.getCurrentCoach(authentication.getName());
+        return ResponseEntity.ok(exerciseInsightsService.getEffectiveness(coach.getCoachId(), id));
+    }
+
+    @GetMapping("/effectiveness")
+    @Operation(summary = "Get most effective exercises",
+               description = "Exercises that move scores the most, ranked by effectiveness")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Ranking retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    public ResponseEntity<List<ExerciseEffectivenessResponse>> getMostEffectiveExercises(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) Integer minSamples,
+            Authentication authentication) {
+        
+        Coach coach = userService.getCurrentCoach(authentication.getName());
+        return ResponseEntity.ok(exerciseInsightsService.getMostEffective(coach.getCoachId(), limit, minSamples));
+    }
+
+    @GetMapping("/{id}/duration-estimate")
+    @Operation(summary = "Get calibrated exercise duration",
+               description = "Planned minutes for a team of the given size, from measured practice run times when there are enough")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Estimate retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Exercise not found or not accessible"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    public ResponseEntity<DurationEstimateResponse> getDurationEstimate(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "" + TimeCalculator.DEFAULT_TEAM_SIZE) int teamSize,
+            Authentication authentication) {
+        
+        Coach coach = userService.getCurrentCoach(authentication.getName());
+        return exerciseService.findByIdWithAccess(id, coach)
+                .map(exercise -> ResponseEntity.ok(exerciseTimingService.getEstimate(exercise, Math.max(1, teamSize))))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     // ===== UPDATE OPERATIONS =====
 
     @PutMapping("/{id}")
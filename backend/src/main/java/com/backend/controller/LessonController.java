@@ -4,6 +4,8 @@ import com.backend.dto.*;
 import com.backend.dto.LessonResponse.LessonExerciseResponse;
 import com.backend.model.*;
 import com.backend.service.*;
+import com.backend.util.ExportFormat;
+import com.backend.util.ResourceVersion;
 import com.backend.util.TimeCalculator;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,6 +17,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -103,16 +107,39 @@ public class LessonController {
     })
     public ResponseEntity<LessonResponse> getLessonById(
             @PathVariable Long id,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
         
         Coach coach = userService.getCurrentCoach(authentication.getName());
         
+        // Revalidate from one aggregate row before loading the lesson graph
+        ResourceVersion version = lessonService.getLessonVersion(id, coach);
+        if (version != null && version.checkNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        
         Optional<Lesson> lesson = lessonService.getLessonById(id, coach);
         
         return lesson.map(l -> ResponseEntity.ok(mapToLessonResponse(l)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping(params = "format=ndjson")
+    @Operation(summary = "Stream all lessons", description = "All of the coach's lessons, newest first, as NDJSON summaries (no exercises)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Lessons streamed"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    public ResponseEntity<StreamingResponseBody> streamLessons(Authentication authentication) {
+        Coach coach = userService.getCurrentCoach(authentication.getName());
+        
+        Long coachId = coach.getCoachId();
+        StreamingResponseBody body = out -> lessonService.streamLessons(coachId, out);
+        return ResponseEntity.ok()
+                .contentType(ExportFormat.NDJSON.getMediaType())
+                .body(body);
+    }
+
     @GetMapping("/upcoming")
     @Operation(summary = "Get upcoming lessons", description = "Get all upcoming scheduled lessons")
     @ApiResponses({
@@ -137,9 +164,13 @@ public class LessonController {
         @ApiResponse(responseCode = "200", description = "Templates retrieved successfully"),
         @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
-    public ResponseEntity<List<LessonResponse>> getMyTemplates(Authentication authentication) {
+    public ResponseEntity<List<LessonResponse>> getMyTemplates(Authentication authentication, WebRequest webRequest) {
         Coach coach = userService.getCurrentCoach(authentication.getName());
         
+        if (lessonService.getTemplatesVersion(coach).checkETagNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        
         List<Lesson> templates = lessonService.getMyTemplates(coach);
         
         List<LessonResponse> response = templates.stream()
@@ -3,12 +3,17 @@ package com.backend.controller;
 import com.backend.dto.EvaluationTemplateDTO;
 import com.backend.dto.EvaluationTemplateMapper;
 import com.backend.service.EvaluationTemplateService;
+import com.backend.util.ResourceVersion;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/lesson-exercises")
@@ -19,8 +24,13 @@ public class LessonExerciseController {
 
     @GetMapping("/{id}/evaluation-template")
     public ResponseEntity<EvaluationTemplateDTO> getEvaluationTemplate(
-        @PathVariable Long id
+        @PathVariable Long id,
+        WebRequest webRequest
     ) {
+        Optional<ResourceVersion> version = evaluationTemplateService.getResolvedTemplateVersion(id);
+        if (version.isPresent() && version.get().checkETagNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         return ResponseEntity.ok(
             EvaluationTemplateMapper.toDTO(
                 evaluationTemplateService.resolveTemplateForExercise(id)
@@ -3,10 +3,19 @@ package com.backend.controller;
 
 import com.backend.dto.PerformerRequest;
 import com.backend.dto.PerformerResponse;
+import com.backend.dto.RosterImportResponse;
+import com.backend.service.PerformerImportService;
 import com.backend.service.PerformerService;
+import com.backend.util.ExportFormat;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -14,17 +23,32 @@ import java.util.List;
 public class PerformerController {
 
     private final PerformerService performerService;
+    private final PerformerImportService performerImportService;
 
-    public PerformerController(PerformerService performerService) {
+    public PerformerController(PerformerService performerService, PerformerImportService performerImportService) {
         this.performerService = performerService;
+        this.performerImportService = performerImportService;
     }
 
     @GetMapping
-    public ResponseEntity<List<PerformerResponse>> getAllPerformers() {
+    public ResponseEntity<List<PerformerResponse>> getAllPerformers(WebRequest webRequest) {
+        if (performerService.getAllPerformersVersion().checkETagNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<PerformerResponse> performers = performerService.getAllPerformers();
         return ResponseEntity.ok(performers);
     }
 
+    // Opt-in NDJSON streaming of the same list (?format=ndjson), written as rows are read
+    @GetMapping(params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllPerformers() {
+        Long coachId = performerService.getAuthenticatedCoachId();
+        StreamingResponseBody body = out -> performerService.streamAllPerformers(coachId, out);
+        return ResponseEntity.ok()
+                .contentType(ExportFormat.NDJSON.getMediaType())
+                .body(body);
+    }
+
     @PostMapping
     public ResponseEntity<PerformerResponse> createPerformer(@RequestBody PerformerRequest request) {
         PerformerResponse response = performerService.createPerformer(request);
@@ -44,4 +68,20 @@ public class PerformerController {
         performerService.deletePerformer(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // Roster upload as the raw request body; every row gets a created / matched / invalid result
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<RosterImportResponse> importRoster(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) List<Long> teamIds,
+            HttpServletRequest request) throws IOException {
+        try {
+            RosterImportResponse response = performerImportService.importRoster(
+                    request.getInputStream(), ExportFormat.fromParameter(format),
+                    teamIds != null ? teamIds : List.of());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -3,16 +3,30 @@
 package com.backend.controller;
 
 import com.backend.dto.*;
-import com.backend.model.ExerciseEvaluation;
+import com.backend.exception.TooManySubscribersException;
 // import com.backend.model.Performer;
+import com.backend.model.Coach;
 import com.backend.model.PracticeNote;
 import com.backend.model.PracticeSession;
+import com.backend.service.PracticeNoteQueue;
 import com.backend.service.PracticeService;
+import com.backend.service.PracticeSessionBroadcaster;
+import com.backend.service.PracticeSyncService;
+import com.backend.service.PracticeTimelineService;
+import com.backend.service.UserService;
+import com.backend.util.ExportFormat;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 
 import org.hibernate.Hibernate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -25,6 +39,14 @@ import java.util.stream.Collectors;
 public class PracticeController {
 
     private final PracticeService practiceService;
+    private final PracticeSessionBroadcaster broadcaster;
+    private final PracticeSyncService practiceSyncService;
+    private final PracticeNoteQueue noteQueue;
+    private final PracticeTimelineService timelineService;
+    private final UserService userService;
+
+    private static final int MAX_EVENT_PAGE = 1000;
+    private static final int MAX_TIMELINE_PAGE = 500;
 
     // Session Management Endpoints
     @PostMapping("/sessions")
@@ -45,11 +67,119 @@ public class PracticeController {
     public ResponseEntity<PracticeSessionResponse> updateCurrentExercise(
             @PathVariable Long sessionId,
             @RequestBody Map<String, Long> request) {
-        PracticeSession session = practiceService.updateCurrentExercise(
+        return ResponseEntity.ok(practiceService.updateCurrentExercise(
             sessionId, 
             request.get("exerciseId")
-        );
-        return ResponseEntity.ok(mapToResponse(session));
+        ));
+    }
+
+    // Navigation through the lesson's running order; 400 when there is no such exercise
+    @PutMapping("/sessions/{sessionId}/exercise/next")
+    public ResponseEntity<PracticeSessionResponse> nextExercise(@PathVariable Long sessionId) {
+        try {
+            return ResponseEntity.ok(practiceService.nextExercise(sessionId));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @PutMapping("/sessions/{sessionId}/exercise/previous")
+    public ResponseEntity<PracticeSessionResponse> previousExercise(@PathVariable Long sessionId) {
+        try {
+            return ResponseEntity.ok(practiceService.previousExercise(sessionId));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @PutMapping("/sessions/{sessionId}/exercise/seek")
+    public ResponseEntity<PracticeSessionResponse> seekExercise(
+            @PathVariable Long sessionId,
+            @RequestParam int index) {
+        try {
+            return ResponseEntity.ok(practiceService.seekExercise(sessionId, index));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // Live session state: a snapshot, then exercise, attendance, evaluation, note and ended events
+    @GetMapping(value = "/sessions/{sessionId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPracticeSession(
+            @PathVariable Long sessionId,
+            Authentication authentication) {
+        Coach coach = userService.getCurrentCoach(authentication.getName());
+        try {
+            return broadcaster.subscribe(sessionId, () -> practiceService.getLiveState(sessionId, coach));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (TooManySubscribersException e) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+        }
+    }
+
+    // Append-only event log of the session (replay / timeline); page with the last seq received
+    @GetMapping("/sessions/{sessionId}/events")
+    public ResponseEntity<List<PracticeEventResponse>> getSessionEvents(
+            @PathVariable Long sessionId,
+            @RequestParam(defaultValue = "0") long afterSeq,
+            @RequestParam(defaultValue = "200") int limit,
+            Authentication authentication) {
+        Coach coach = userService.getCurrentCoach(authentication.getName());
+        try {
+            return ResponseEntity.ok(practiceService.getEvents(sessionId, coach, afterSeq,
+                    Math.max(1, Math.min(limit, MAX_EVENT_PAGE))));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    // Post-practice review: exercise transitions, attendance, evaluations and notes in time order;
+    // page with the nextCursor of the previous response
+    @GetMapping("/sessions/{sessionId}/timeline")
+    public ResponseEntity<PracticeTimelineResponse> getSessionTimeline(
+            @PathVariable Long sessionId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            Authentication authentication) {
+        Coach coach = userService.getCurrentCoach(authentication.getName());
+        try {
+            return ResponseEntity.ok(timelineService.getTimeline(sessionId, coach, cursor,
+                    Math.max(1, Math.min(limit, MAX_TIMELINE_PAGE))));
+        } catch (EntityNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // Applies changes queued by a client that was offline; safe to retry with the same operation keys
+    @PostMapping("/sessions/{sessionId}/sync")
+    public ResponseEntity<PracticeSyncResponse> syncSession(
+            @PathVariable Long sessionId,
+            @RequestBody PracticeSyncRequest request,
+            Authentication authentication) {
+        Coach coach = userService.getCurrentCoach(authentication.getName());
+        try {
+            return ResponseEntity.ok(practiceSyncService.sync(sessionId, coach, request.getOperations()));
+        } catch (EntityNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // Queue depth and wait time of writes to the session, for spotting contention between devices
+    @GetMapping("/sessions/{sessionId}/write-queue")
+    public ResponseEntity<PracticeWriteQueueResponse> getWriteQueue(
+            @PathVariable Long sessionId,
+            Authentication authentication) {
+        Coach coach = userService.getCurrentCoach(authentication.getName());
+        try {
+            return ResponseEntity.ok(practiceService.getWriteQueue(sessionId, coach));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
     }
 
     // Evaluation Endpoints
@@ -61,33 +191,52 @@ public class PracticeController {
     }
 
     @GetMapping("/sessions/{sessionId}/evaluations")
-    public ResponseEntity<List<ExerciseEvaluation>> getSessionEvaluations(
+    public ResponseEntity<List<ExerciseEvaluationSummaryResponse>> getSessionEvaluations(
             @PathVariable Long sessionId) {
-        List<ExerciseEvaluation> evaluations = 
-            practiceService.getEvaluationsForSession(sessionId);
+        List<ExerciseEvaluationSummaryResponse> evaluations = 
+            practiceService.getEvaluationSummariesForSession(sessionId);
         return ResponseEntity.ok(evaluations);
     }
 
+    // Opt-in NDJSON streaming (?format=ndjson) of the same summaries
+    @GetMapping(value = "/sessions/{sessionId}/evaluations", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamSessionEvaluations(
+            @PathVariable Long sessionId) {
+        StreamingResponseBody body = out -> practiceService.streamEvaluationsForSession(sessionId, out);
+        return ResponseEntity.ok()
+                .contentType(ExportFormat.NDJSON.getMediaType())
+                .body(body);
+    }
+
     @GetMapping("/exercises/{exerciseId}/evaluations")
-    public ResponseEntity<List<ExerciseEvaluation>> getExerciseEvaluations(
+    public ResponseEntity<List<ExerciseEvaluationSummaryResponse>> getExerciseEvaluations(
             @PathVariable Long exerciseId) {
-        List<ExerciseEvaluation> evaluations = 
-            practiceService.getEvaluationsForExercise(exerciseId);
+        List<ExerciseEvaluationSummaryResponse> evaluations = 
+            practiceService.getEvaluationSummariesForExercise(exerciseId);
         return ResponseEntity.ok(evaluations);
     }
 
 
     // Practice Notes Endpoints
+    // Accepted (202) with a ref and no id yet; the note is written within a moment
     @PostMapping("/notes")
     public ResponseEntity<PracticeNoteResponse> addPracticeNote(
-            @RequestBody PracticeNoteRequest request) {
-        PracticeNote note = practiceService.addPracticeNote(
-            request.getLessonId(),
-            request.getSessionId(),
-            request.getNoteType(),
-            request.getContent()
-        );
-        return ResponseEntity.ok(mapToResponse(note));
+            @RequestBody PracticeNoteRequest request,
+            Authentication authentication) {
+        Coach coach = userService.getCurrentCoach(authentication.getName());
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(noteQueue.accept(
+                request.getLessonId(),
+                request.getSessionId(),
+                request.getNoteType(),
+                request.getContent(),
+                coach
+            ));
+        } catch (EntityNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
 
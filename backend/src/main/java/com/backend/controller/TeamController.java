@@ -7,6 +7,7 @@ import com.backend.dto.TeamUpdateRequest;
 import com.backend.model.Coach;
 import com.backend.service.TeamService;
 import com.backend.service.UserService;
+import com.backend.util.ResourceVersion;
 import jakarta.validation.Valid;
 // import lombok.RequiredArgsConstructor;
 
@@ -15,6 +16,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -50,7 +52,7 @@ public class TeamController {
     }
     
     @GetMapping
-    public ResponseEntity<List<TeamResponse>> getMyTeams(Authentication authentication) {
+    public ResponseEntity<List<TeamResponse>> getMyTeams(Authentication authentication, WebRequest webRequest) {
         if (authentication == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -58,6 +60,10 @@ public class TeamController {
         String email = ((UserDetails) authentication.getPrincipal()).getUsername();
         Coach coach = userService.findByEmail(email)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Coach not found"));
+        
+        if (teamService.getTeamsVersion(coach).checkETagNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
                 
         return ResponseEntity.ok(teamService.getTeamsByCoach(coach));
     }
@@ -110,7 +116,8 @@ public class TeamController {
     @GetMapping("/{id}/performers")
     public ResponseEntity<TeamResponse> getTeamWithPerformers(
             @PathVariable Long id,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
         
         if (authentication == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
@@ -120,6 +127,12 @@ public class TeamController {
         Coach coach = userService.findByEmail(email)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Coach not found"));
         
+        // Membership changes do not touch the team row, so validate by ETag only
+        ResourceVersion version = teamService.getTeamWithPerformersVersion(id, coach);
+        if (version != null && version.checkETagNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        
         return ResponseEntity.ok(teamService.getTeamWithPerformers(id, coach));
     }
     
@@ -0,0 +1,23 @@
+package com.backend.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.Data;
+
+/**
+ * One sub-request of a batch. {@code path} is an /api path with optional query string. Strings of the
+ * form {@code {{itemId.field.path}}} in the path or body are replaced with values from the JSON body of
+ * an item listed in {@code dependsOn}.
+ */
+@Data
+public class BatchRequestItem {
+    private String id;
+    private String method;
+    private String path;
+    private Map<String, String> headers;
+    private JsonNode body;
+    private List<String> dependsOn;
+}
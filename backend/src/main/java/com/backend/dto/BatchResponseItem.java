@@ -0,0 +1,18 @@
+package com.backend.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponseItem {
+    private String id;
+    private int status;
+    private Map<String, String> headers;
+    // Parsed JSON when the sub-response was JSON, otherwise its text
+    private Object body;
+}
@@ -0,0 +1,27 @@
+package com.backend.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoachProfileResponse {
+    private Long coachId;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private String bio;
+    private String experience;
+    private String certifications;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private long teamCount;
+    private long performerCount;
+    private long lessonCount;
+}
@@ -0,0 +1,33 @@
+package com.backend.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Everything the dashboard shows on load. A section that timed out or failed is left null and listed
+ * in {@code unavailableSections} with the reason, so the client can render the rest.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardResponse {
+    private List<LessonResponse> upcomingLessons;
+    private List<LessonResponse> recentLessons;
+    private List<TeamResponse> teams;
+    private Long teamCount;
+    private Long performerCount;
+    private Long lessonCount;
+    private String analyticsTimeRange;
+    private Map<String, Object> coachingInsights;
+    private List<Map<String, Object>> performerProgress;
+    private Instant analyticsComputedAt;
+    private Boolean analyticsStale;
+    private Map<String, String> unavailableSections;
+}
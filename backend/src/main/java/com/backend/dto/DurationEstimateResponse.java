@@ -0,0 +1,21 @@
+package com.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DurationEstimateResponse {
+    private Long exerciseId;
+    private Integer teamSize;
+    private Integer minimumDurationMinutes;   // As entered, for a team of 8
+    private Integer estimatedMinutes;         // What lesson planning uses for this team size
+    private Boolean calibrated;               // True when the estimate comes from measured runs
+    private Long sampleCount;                 // Measured runs with teams of this size band
+    private Double averageMinutes;
+    private Double standardDeviationMinutes;
+}
@@ -0,0 +1,18 @@
+package com.backend.dto;
+
+import java.util.Map;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExerciseEffectivenessResponse {
+    private Long exerciseId;
+    private String exerciseName;
+    private Double effectivenessScore;          // Average score change on linked focus areas at the next evaluation
+    private Integer sampleCount;                // Consecutive evaluation pairs behind the score
+    private Map<String, Double> focusAreaDeltas; // Average change per linked focus area
+}
@@ -0,0 +1,31 @@
+package com.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact view of a scene evaluation: ids instead of the lesson exercise, session and performer graphs.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExerciseEvaluationSummaryResponse {
+    private Long id;
+    private Long practiceSessionId;
+    private Long lessonExerciseId;
+    private LocalDateTime evaluatedAt;
+    private String notes;
+    @Builder.Default
+    private Map<String, Integer> scores = new LinkedHashMap<>();
+    @Builder.Default
+    private List<Long> performerIds = new ArrayList<>();
+}
@@ -0,0 +1,16 @@
+package com.backend.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExercisePairingResponse {
+    private Long exerciseId;
+    private String exerciseName;
+    private Integer lessonsTogether;   // Scheduled lessons containing both exercises
+    private Double jaccard;            // lessonsTogether / lessons containing either
+    private Double lift;               // > 1 when paired more often than chance
+}
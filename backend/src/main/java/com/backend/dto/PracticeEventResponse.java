@@ -0,0 +1,20 @@
+package com.backend.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PracticeEventResponse {
+    private Long seq;
+    private String type;
+    private LocalDateTime occurredAt;
+    private JsonNode payload;
+}
@@ -12,7 +12,8 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class PracticeNoteResponse {
-    private Long id;
+    private Long id; // Null while the note is still queued
+    private String ref; // Set on notes accepted by the note queue; their live event carries it with the id
     private Long lessonId;
     private Long practiceSessionId;
     private String noteType;
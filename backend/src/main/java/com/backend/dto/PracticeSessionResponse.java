@@ -20,6 +20,7 @@ public class PracticeSessionResponse {
     private Integer currentExerciseIndex;
     private Long currentExerciseId;
     private String currentExerciseName;
+    private LocalDateTime currentExerciseStartedAt; // Only tracked while the session is live
     private List<Long> attendeeIds;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
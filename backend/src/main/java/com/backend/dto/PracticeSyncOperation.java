@@ -0,0 +1,37 @@
+package com.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change a client made while offline. {@code key} is generated by the client and identifies the change
+ * across retries; only the part matching {@code type} is read.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PracticeSyncOperation {
+
+    public enum Type {
+        EVALUATION,
+        NOTE,
+        ATTENDANCE,
+        ATTENDANCE_BULK,
+        EXERCISE
+    }
+
+    private String key;
+    private Type type;
+    private LocalDateTime clientTime;
+
+    private SceneEvaluationRequest evaluation;
+    private PracticeNoteRequest note;
+    private AttendanceRequest attendance;
+    private BulkAttendanceRequest attendanceList;
+    private Long lessonExerciseId; // EXERCISE
+}
@@ -0,0 +1,15 @@
+package com.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PracticeSyncRequest {
+    private List<PracticeSyncOperation> operations = new ArrayList<>();
+}
@@ -0,0 +1,42 @@
+package com.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Per-operation outcomes (in request order) plus the session as the server now has it, so the client can
+ * replace its local copy in one step.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PracticeSyncResponse {
+
+    public enum Status {
+        APPLIED,
+        DUPLICATE,  // Already applied under this key; entityId is the original one
+        SUPERSEDED, // Older than what the server already has (exercise transitions)
+        REJECTED
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private String key;
+        private Status status;
+        private Long entityId;
+        private String error;
+    }
+
+    private List<Result> results;
+    private PracticeSessionResponse session;
+    private List<ExerciseEvaluationSummaryResponse> evaluations;
+    private List<PracticeNoteResponse> notes;
+}
@@ -0,0 +1,48 @@
+package com.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of a practice session's chronological feed; pass {@code nextCursor} back for the next page
+ * (null on the last one).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PracticeTimelineResponse {
+
+    public enum Type {
+        EXERCISE_STARTED,
+        EXERCISE_ENDED,
+        PERFORMER_ARRIVED,
+        PERFORMER_LEFT,
+        EVALUATION,
+        NOTE
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Type type;
+        private LocalDateTime occurredAt;
+        private Long lessonExerciseId; // Exercise transitions and evaluations
+        private Long performerId;      // Attendance
+        private Long evaluationId;
+        private Long noteId;
+        private String noteType;
+        private String text;           // Note content or evaluation notes
+    }
+
+    private Long sessionId;
+    private List<Item> items;
+    private String nextCursor;
+}
@@ -0,0 +1,16 @@
+package com.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PracticeWriteQueueResponse {
+    private Long sessionId;
+    private Integer queued;           // Writes waiting or running right now
+    private Integer maxQueued;        // Deepest the queue has been
+    private Long writes;              // Writes run since the session was first written
+    private Double averageWaitMillis; // Average time a write waited for the ones before it
+}
@@ -0,0 +1,38 @@
+package com.backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RosterImportResponse {
+    private int totalRows;
+    private int createdCount;
+    private int matchedCount;
+    private int invalidCount;
+    private int teamAssignmentCount;
+    @Builder.Default
+    private List<RowResult> rows = new ArrayList<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowResult {
+        private int row;
+        private String status; // created, matched, invalid
+        private Long performerId;
+        private String matchedOn; // email, name
+        private String firstName;
+        private String lastName;
+        private List<String> teams;
+        private String message;
+    }
+}
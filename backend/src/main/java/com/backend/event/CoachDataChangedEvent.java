@@ -0,0 +1,20 @@
+package com.backend.event;
+
+/**
+ * Published after a write that affects a coach's derived data (analytics, caches).
+ * Listeners receive it after the surrounding transaction commits.
+ */
+public record CoachDataChangedEvent(Long coachId, Kind kind, Long entityId) {
+
+    public enum Kind {
+        EVALUATION,
+        SCENE_EVALUATION,
+        ATTENDANCE,
+        LESSON,
+        PRACTICE_SESSION,
+        PRACTICE_NOTE,
+        EXERCISE,
+        TEAM,
+        PERFORMER
+    }
+}
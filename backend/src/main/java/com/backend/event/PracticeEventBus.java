@@ -0,0 +1,33 @@
+package com.backend.event;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Carries serialized practice session events to every backend node that has live subscribers for the
+ * session. Each session's messages get consecutive sequence numbers, and a node's listener sees them in
+ * that order, so clients can detect a gap and resynchronize.
+ *
+ * Implementations are chosen with {@code app.practice.bus.type}: {@code in-process} for a single node,
+ * {@code jdbc} to relay through the database between nodes.
+ */
+public interface PracticeEventBus {
+
+    record Message(Long sessionId, long seq, String eventName, String payload) {
+    }
+
+    /** Publishes an event, possibly delivering it after this returns; the payload is only serialized when some node may need it. */
+    void publish(Long sessionId, String eventName, Supplier<String> payload);
+
+    /**
+     * Starts delivering the session's messages published from now on to the listener, one at a time and
+     * in sequence order. A session has at most one listener per node; watching again replaces it.
+     */
+    void watch(Long sessionId, Consumer<Message> listener);
+
+    /** Stops delivery to the listener, unless the session is being watched by a different one by now. */
+    void unwatch(Long sessionId, Consumer<Message> listener);
+
+    /** Sequence number of the last message delivered to this node's listener for the session, or 0. */
+    long lastDeliveredSeq(Long sessionId);
+}
@@ -0,0 +1,37 @@
+package com.backend.event;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A change to a running practice session that connected clients should see live.
+ * Delivered to stream subscribers after the surrounding transaction commits.
+ */
+public record PracticeSessionEvent(Long sessionId, Type type, Object payload) {
+
+    // Attendance is always sent as the full list of present performers
+    public static PracticeSessionEvent attendance(Long sessionId, List<Long> attendeeIds) {
+        return new PracticeSessionEvent(sessionId, Type.ATTENDANCE,
+                Map.of("sessionId", sessionId, "attendeeIds", attendeeIds));
+    }
+
+    public enum Type {
+        STARTED("started"),
+        EXERCISE("exercise"),
+        ATTENDANCE("attendance"),
+        EVALUATION("evaluation"),
+        NOTE("note"),
+        ENDED("ended");
+
+        private final String eventName;
+
+        Type(String eventName) {
+            this.eventName = eventName;
+        }
+
+        // SSE event name seen by clients
+        public String getEventName() {
+            return eventName;
+        }
+    }
+}
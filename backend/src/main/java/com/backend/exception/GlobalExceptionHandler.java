@@ -1,5 +1,6 @@
 package com.backend.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -14,5 +15,12 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body("Authentication failed: " + ex.getMessage());
     }
+
+    @ExceptionHandler(SessionBusyException.class)
+    public ResponseEntity<?> handleSessionBusyException(SessionBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
     
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.backend.exception;
+
+// A practice session had writes queued for longer than the lock timeout
+public class SessionBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SessionBusyException(String message) {
+        super(message);
+    }
+
+    public SessionBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.backend.exception;
+
+// A practice session already has the maximum number of live connections
+public class TooManySubscribersException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TooManySubscribersException(String message) {
+        super(message);
+    }
+}
@@ -4,6 +4,8 @@ import com.backend.model.Attendance;
 import com.backend.model.PracticeSession;
 import com.backend.model.Performer;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,6 +14,10 @@ import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.stream.Stream;
 
 @Repository
 public interface AttendanceRepository extends JpaRepository<Attendance, Attendance.AttendanceId> {
@@ -22,4 +28,26 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Attendan
     @Modifying
     @Query("DELETE FROM Attendance a WHERE a.practiceSession.id = :sessionId")
     void deleteByPracticeSessionId(@Param("sessionId") Long sessionId);
-}
\ No newline at end of file
+
+    // Sessions attended per performer for a coach's lessons since a date (analytics)
+    @Query("SELECT a.performer.id, COUNT(a) FROM Attendance a " +
+           "WHERE a.practiceSession.lesson.coach.coachId = :coachId AND a.practiceSession.startTime >= :since " +
+           "GROUP BY a.performer.id")
+    List<Object[]> countByPerformerForCoachSince(@Param("coachId") Long coachId, @Param("since") LocalDateTime since);
+
+    // Account export: (session, performer) attendance pairs
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EvaluationRepository.STREAMING_FETCH_SIZE))
+    @Query("SELECT a.practiceSession.id, a.performer.id FROM Attendance a " +
+           "WHERE a.practiceSession.lesson.coach.coachId = :coachId ORDER BY a.practiceSession.id, a.performer.id")
+    Stream<Object[]> streamExportRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Ids of the performers present at a session (live practice updates)
+    @Query("SELECT a.performer.id FROM Attendance a WHERE a.practiceSession.id = :sessionId ORDER BY a.performer.id")
+    List<Long> findPerformerIdsBySessionId(@Param("sessionId") Long sessionId);
+
+    // Write-behind of live attendance removals
+    @Modifying
+    @Query("DELETE FROM Attendance a WHERE a.practiceSession.id = :sessionId AND a.performer.id IN :performerIds")
+    int deleteBySessionIdAndPerformerIds(@Param("sessionId") Long sessionId,
+                                         @Param("performerIds") Collection<Long> performerIds);
+}
@@ -1,10 +1,13 @@
 package com.backend.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.backend.model.Coach;
 // import java.util.List;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -12,5 +15,21 @@ import java.util.Optional;
 public interface CoachRepository extends JpaRepository<Coach, Long>{
 
     Optional<Coach> findByEmail(String email);
-    
+
+    // Profile columns only, so none of the coach's collections are touched
+    // (coach, email, first, last, bio, experience, certifications, created, updated)
+    @Query("SELECT c.coachId, c.email, c.firstName, c.lastName, c.bio, c.experience, c.certifications, " +
+           "c.createdAt, c.updatedAt FROM Coach c WHERE c.email = :email")
+    List<Object[]> findProfileRowsByEmail(@Param("email") String email);
+
+    // (teams, performers, lessons excluding templates); each count uses a coach_id index
+    @Query("SELECT (SELECT COUNT(t) FROM Team t WHERE t.coach.coachId = :coachId), " +
+           "(SELECT COUNT(p) FROM Performer p WHERE p.coach.coachId = :coachId), " +
+           "(SELECT COUNT(l) FROM Lesson l WHERE l.coach.coachId = :coachId AND l.isTemplate = false) " +
+           "FROM Coach c WHERE c.coachId = :coachId")
+    List<Object[]> countOwnedRowsByCoachId(@Param("coachId") Long coachId);
+
+    // (coachId, updatedAt): what the profile's version is built from
+    @Query("SELECT c.coachId, c.updatedAt FROM Coach c WHERE c.email = :email")
+    List<Object[]> findVersionRowsByEmail(@Param("email") String email);
 }
@@ -2,13 +2,23 @@ package com.backend.repository;
 
 import com.backend.model.Evaluation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface EvaluationRepository extends JpaRepository<Evaluation, Long> {
+
+    // MySQL Connector/J only streams rows one at a time with this fetch size
+    String STREAMING_FETCH_SIZE = "" + Integer.MIN_VALUE;
+
     List<Evaluation> findByTeam_TeamId(Long teamId);
     
     // Find evaluations by team IDs
@@ -23,4 +33,51 @@ public interface EvaluationRepository extends JpaRepository<Evaluation, Long> {
     List<Evaluation> findByTeam_TeamIdAndPerformanceDateBefore(
             Long teamId, LocalDateTime endDate);
 
-}
\ No newline at end of file
+    // Score columns of a coach's evaluations since a date, oldest first (analytics)
+    @Query("SELECT e.team.teamId, e.performanceDate, e.yesAnd, e.agreement, e.whoWhatWhere, e.physicality, " +
+           "e.listening, e.commitment, e.avoidanceOfDenial, e.efficiency " +
+           "FROM Evaluation e WHERE e.team.coach.coachId = :coachId AND e.performanceDate >= :since " +
+           "ORDER BY e.performanceDate ASC")
+    List<Object[]> findScoreRowsByCoachSince(@Param("coachId") Long coachId, @Param("since") LocalDateTime since);
+
+    // Every score recorded for one team since a date, legacy columns and scene scores in a single pass.
+    // Legacy rows fill the eight score columns; scene rows fill criterion_name and score. Stream inside a transaction.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE))
+    @Query(value = "SELECT e.yes_and, e.agreement, e.who_what_where, e.physicality, e.listening, e.commitment, " +
+           "e.avoidance_of_denial, e.efficiency, NULL AS criterion_name, NULL AS score " +
+           "FROM evaluations e WHERE e.team_id = :teamId AND e.performance_date >= :since " +
+           "UNION ALL " +
+           "SELECT NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, s.criterion_name, s.score " +
+           "FROM evaluation_scores s " +
+           "JOIN exercise_evaluations ee ON ee.id = s.exercise_evaluation_id " +
+           "JOIN lesson_exercises le ON le.id = ee.lesson_exercise_id " +
+           "JOIN lessons l ON l.id = le.lesson_id " +
+           "WHERE l.team_id = :teamId AND ee.evaluated_at >= :since",
+           nativeQuery = true)
+    Stream<Object[]> streamScoresByTeamSince(@Param("teamId") Long teamId, @Param("since") LocalDateTime since);
+
+    // Export rows for one team in a date range, oldest first; scalar columns only so nothing is attached to the session
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE))
+    @Query("SELECT e.id, e.performanceDate, e.performerNames, e.yesAnd, e.agreement, e.whoWhatWhere, e.physicality, " +
+           "e.listening, e.commitment, e.avoidanceOfDenial, e.efficiency, e.notes " +
+           "FROM Evaluation e WHERE e.team.teamId = :teamId AND e.performanceDate BETWEEN :start AND :end " +
+           "ORDER BY e.performanceDate ASC, e.id ASC")
+    Stream<Object[]> streamExportRowsByTeam(@Param("teamId") Long teamId,
+                                            @Param("start") LocalDateTime start,
+                                            @Param("end") LocalDateTime end);
+
+    // Account export: (evaluation, team, date, performer names, eight legacy scores, notes)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE))
+    @Query("SELECT e.id, e.team.teamId, e.performanceDate, e.performerNames, e.yesAnd, e.agreement, e.whoWhatWhere, " +
+           "e.physicality, e.listening, e.commitment, e.avoidanceOfDenial, e.efficiency, e.notes " +
+           "FROM Evaluation e WHERE e.team.coach.coachId = :coachId ORDER BY e.id")
+    Stream<Object[]> streamExportRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Streamed counterpart of getAllEvaluationsByCoach: (evaluation, team, date, team name, performer names,
+    // eight legacy scores, notes)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE))
+    @Query("SELECT e.id, t.teamId, e.performanceDate, t.name, e.performerNames, e.yesAnd, e.agreement, " +
+           "e.whoWhatWhere, e.physicality, e.listening, e.commitment, e.avoidanceOfDenial, e.efficiency, e.notes " +
+           "FROM Evaluation e JOIN e.team t WHERE t.coach.coachId = :coachId ORDER BY e.id")
+    Stream<Object[]> streamResponseRowsByCoachId(@Param("coachId") Long coachId);
+}
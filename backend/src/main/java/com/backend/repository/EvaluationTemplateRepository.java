@@ -10,6 +10,10 @@ import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.stream.Stream;
 
 @Repository
 public interface EvaluationTemplateRepository extends JpaRepository<EvaluationTemplate, Long> {
@@ -49,4 +53,35 @@ public interface EvaluationTemplateRepository extends JpaRepository<EvaluationTe
            "WHERE et.createdBy = :coach OR et.createdBy IS NULL " +
            "GROUP BY et ORDER BY usageCount DESC")
     List<Object[]> findMostUsedTemplates(@Param("coach") Coach coach);
-}
\ No newline at end of file
+
+    // Criterion names that are explicitly linked to a focus area, with that focus area's id
+    @Query("SELECT c.name, c.focusAreaId FROM EvaluationCriterion c WHERE c.focusAreaId IS NOT NULL")
+    List<Object[]> findCriterionFocusAreaLinks();
+
+    // Account export: the coach's own templates (template, name, default, exercise, created, updated)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EvaluationRepository.STREAMING_FETCH_SIZE))
+    @Query("SELECT t.id, t.name, t.isDefault, e.id, t.createdAt, t.updatedAt " +
+           "FROM EvaluationTemplate t LEFT JOIN t.exercise e WHERE t.createdBy.coachId = :coachId ORDER BY t.id")
+    Stream<Object[]> streamExportRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Account export: criteria of the coach's own templates (criterion, template, name, description, max score,
+    // focus area, order)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EvaluationRepository.STREAMING_FETCH_SIZE))
+    @Query("SELECT c.id, t.id, c.name, c.description, c.maxScore, c.focusAreaId, c.orderIndex " +
+           "FROM EvaluationCriterion c JOIN c.evaluationTemplate t WHERE t.createdBy.coachId = :coachId " +
+           "ORDER BY t.id, c.orderIndex, c.id")
+    Stream<Object[]> streamCriterionRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Template a lesson exercise resolves to before the system default: its override, else the exercise default
+    @Query("SELECT COALESCE(lt.id, dt.id) FROM LessonExercise le LEFT JOIN le.evaluationTemplate lt " +
+           "LEFT JOIN le.exercise e LEFT JOIN e.defaultEvaluationTemplate dt WHERE le.id = :lessonExerciseId")
+    List<Long> findResolvedTemplateIdsByLessonExerciseId(@Param("lessonExerciseId") Long lessonExerciseId);
+
+    @Query("SELECT t.id FROM EvaluationTemplate t WHERE t.isDefault = true")
+    List<Long> findDefaultTemplateIds();
+
+    // Version of one template with its criteria
+    @Query("SELECT t.id, t.updatedAt, COUNT(c.id), SUM(c.id * 1000 + c.orderIndex), SUM(c.maxScore) " +
+           "FROM EvaluationTemplate t LEFT JOIN t.criteria c WHERE t.id = :templateId GROUP BY t.id, t.updatedAt")
+    List<Object[]> findVersionRowsById(@Param("templateId") Long templateId);
+}
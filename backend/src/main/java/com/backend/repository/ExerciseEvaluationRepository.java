@@ -1,13 +1,18 @@
 package com.backend.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.backend.model.ExerciseEvaluation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 @Repository
 public interface ExerciseEvaluationRepository extends JpaRepository<ExerciseEvaluation, Long> {
@@ -16,4 +21,83 @@ public interface ExerciseEvaluationRepository extends JpaRepository<ExerciseEval
     
     @Query("SELECT e FROM ExerciseEvaluation e JOIN e.evaluatedPerformers p WHERE p.id = :performerId")
     List<ExerciseEvaluation> findByPerformerId(@Param("performerId") Long performerId);
-}
\ No newline at end of file
+
+    // Scene scores of a coach's lessons since a date, one row per performer and criterion, oldest first
+    @Query("SELECT ee.id, p.id, t.teamId, ee.evaluatedAt, s.criterionName, s.score " +
+           "FROM EvaluationScore s JOIN s.exerciseEvaluation ee JOIN ee.lessonExercise le JOIN le.lesson l " +
+           "LEFT JOIN l.team t LEFT JOIN ee.evaluatedPerformers p " +
+           "WHERE l.coach.coachId = :coachId AND ee.evaluatedAt >= :since " +
+           "ORDER BY ee.evaluatedAt ASC")
+    List<Object[]> findScoreRowsByCoachSince(@Param("coachId") Long coachId, @Param("since") LocalDateTime since);
+
+    // Average scene score per exercise for a coach's lessons since a date
+    @Query("SELECT le.exercise.id, AVG(s.score) " +
+           "FROM EvaluationScore s JOIN s.exerciseEvaluation ee JOIN ee.lessonExercise le " +
+           "WHERE le.lesson.coach.coachId = :coachId AND ee.evaluatedAt >= :since " +
+           "GROUP BY le.exercise.id")
+    List<Object[]> findAverageScoreByExerciseForCoachSince(@Param("coachId") Long coachId,
+                                                            @Param("since") LocalDateTime since);
+
+    // Per-performer scene scores of a coach's lessons: evaluation, lesson, exercise, performer, time, criterion, score
+    @Query("SELECT ee.id, le.lesson.id, le.exercise.id, p.id, ee.evaluatedAt, s.criterionName, s.score " +
+           "FROM EvaluationScore s JOIN s.exerciseEvaluation ee JOIN ee.lessonExercise le JOIN ee.evaluatedPerformers p " +
+           "WHERE le.lesson.coach.coachId = :coachId")
+    List<Object[]> findPerformerScoreRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Same shape as findPerformerScoreRowsByCoachId, for a single evaluation
+    @Query("SELECT ee.id, le.lesson.id, le.exercise.id, p.id, ee.evaluatedAt, s.criterionName, s.score " +
+           "FROM EvaluationScore s JOIN s.exerciseEvaluation ee JOIN ee.lessonExercise le JOIN ee.evaluatedPerformers p " +
+           "WHERE ee.id = :evaluationId")
+    List<Object[]> findPerformerScoreRowsByEvaluationId(@Param("evaluationId") Long evaluationId);
+
+    // Ids of the scene evaluations still attached to a lesson
+    @Query("SELECT ee.id FROM ExerciseEvaluation ee WHERE ee.lessonExercise.lesson.id = :lessonId")
+    List<Long> findIdsByLessonId(@Param("lessonId") Long lessonId);
+
+    // Export rows for one team's scene evaluations in a date range: one row per score and evaluated performer,
+    // grouped by evaluation (evaluation, time, session, lesson, exercise, notes, criterion, score, first, last name)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EvaluationRepository.STREAMING_FETCH_SIZE))
+    @Query("SELECT ee.id, ee.evaluatedAt, ps.id, l.id, ex.name, ee.notes, s.criterionName, s.score, p.firstName, p.lastName " +
+           "FROM EvaluationScore s JOIN s.exerciseEvaluation ee JOIN ee.lessonExercise le JOIN le.lesson l " +
+           "JOIN le.exercise ex LEFT JOIN ee.practiceSession ps LEFT JOIN ee.evaluatedPerformers p " +
+           "WHERE l.team.teamId = :teamId AND ee.evaluatedAt BETWEEN :start AND :end " +
+           "ORDER BY ee.evaluatedAt ASC, ee.id ASC")
+    Stream<Object[]> streamExportRowsByTeam(@Param("teamId") Long teamId,
+                                            @Param("start") LocalDateTime start,
+                                            @Param("end") LocalDateTime end);
+
+    // Account export: (evaluation, lesson exercise, session, notes, evaluated)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EvaluationRepository.STREAMING_FETCH_SIZE))
+    @Query("SELECT ee.id, le.id, ps.id, ee.notes, ee.evaluatedAt " +
+           "FROM ExerciseEvaluation ee JOIN ee.lessonExercise le LEFT JOIN ee.practiceSession ps " +
+           "WHERE le.lesson.coach.coachId = :coachId ORDER BY ee.id")
+    Stream<Object[]> streamExportRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Account export: (evaluation, criterion, score)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EvaluationRepository.STREAMING_FETCH_SIZE))
+    @Query("SELECT ee.id, s.criterionName, s.score FROM EvaluationScore s JOIN s.exerciseEvaluation ee " +
+           "WHERE ee.lessonExercise.lesson.coach.coachId = :coachId ORDER BY ee.id, s.criterionName")
+    Stream<Object[]> streamScoreRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Account export: (evaluation, performer) pairs
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EvaluationRepository.STREAMING_FETCH_SIZE))
+    @Query("SELECT ee.id, p.id FROM ExerciseEvaluation ee JOIN ee.evaluatedPerformers p " +
+           "WHERE ee.lessonExercise.lesson.coach.coachId = :coachId ORDER BY ee.id, p.id")
+    Stream<Object[]> streamEvaluatedPerformerRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Scene evaluations flattened for summary responses: (evaluation, session, lesson exercise, evaluated, notes,
+    // criterion, score, performer), grouped by evaluation; score and performer columns are null when there are none
+    String SUMMARY_SELECT = "SELECT ee.id, ps.id, le.id, ee.evaluatedAt, ee.notes, s.criterionName, s.score, p.id " +
+           "FROM ExerciseEvaluation ee JOIN ee.lessonExercise le LEFT JOIN ee.practiceSession ps " +
+           "LEFT JOIN ee.evaluationScores s LEFT JOIN ee.evaluatedPerformers p ";
+
+    @Query(SUMMARY_SELECT + "WHERE ps.id = :sessionId ORDER BY ee.evaluatedAt ASC, ee.id ASC")
+    List<Object[]> findSummaryRowsBySessionId(@Param("sessionId") Long sessionId);
+
+    @Query(SUMMARY_SELECT + "WHERE le.id = :lessonExerciseId ORDER BY ee.evaluatedAt ASC, ee.id ASC")
+    List<Object[]> findSummaryRowsByLessonExerciseId(@Param("lessonExerciseId") Long lessonExerciseId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EvaluationRepository.STREAMING_FETCH_SIZE))
+    @Query(SUMMARY_SELECT + "WHERE ps.id = :sessionId ORDER BY ee.evaluatedAt ASC, ee.id ASC")
+    Stream<Object[]> streamSummaryRowsBySessionId(@Param("sessionId") Long sessionId);
+}
@@ -9,7 +9,12 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.stream.Stream;
 
 @Repository
 public interface ExerciseRepository extends JpaRepository<Exercise, Long> {
@@ -67,4 +72,44 @@ public interface ExerciseRepository extends JpaRepository<Exercise, Long> {
            "WHERE e.isPublic = true OR e.createdBy IS NULL OR e.createdBy = :coach " +
            "GROUP BY e ORDER BY usageCount DESC")
     List<Object[]> findMostPopularExercises(@Param("coach") Coach coach, Pageable pageable);
-}
\ No newline at end of file
+
+    // Id and name of the given exercises
+    @Query("SELECT e.id, e.name FROM Exercise e WHERE e.id IN :ids")
+    List<Object[]> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Id, name, visibility, creator and focus area of every exercise, one row per focus area link (recommendations)
+    @Query("SELECT e.id, e.name, e.isPublic, c.coachId, fa.id FROM Exercise e " +
+           "LEFT JOIN e.createdBy c LEFT JOIN e.focusAreas fa")
+    List<Object[]> findCatalogRows();
+
+    // Id and linked focus area name of the given exercises, one row per link
+    @Query("SELECT e.id, fa.name FROM Exercise e JOIN e.focusAreas fa WHERE e.id IN :ids")
+    List<Object[]> findFocusAreaNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Account export: the coach's own exercises (exercise, name, description, minimum duration, public,
+    // default template, created, updated). System and other coaches' exercises are referenced by id only.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EvaluationRepository.STREAMING_FETCH_SIZE))
+    @Query("SELECT e.id, e.name, e.description, e.minimumDurationMinutes, e.isPublic, t.id, e.createdAt, e.updatedAt " +
+           "FROM Exercise e LEFT JOIN e.defaultEvaluationTemplate t WHERE e.createdBy.coachId = :coachId ORDER BY e.id")
+    Stream<Object[]> streamExportRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Account export: (exercise, focus area) links of the coach's own exercises
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EvaluationRepository.STREAMING_FETCH_SIZE))
+    @Query("SELECT e.id, fa.id FROM Exercise e JOIN e.focusAreas fa " +
+           "WHERE e.createdBy.coachId = :coachId ORDER BY e.id, fa.id")
+    Stream<Object[]> streamFocusAreaRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Version of one exercise as the coach may see it; no row when it is missing or another coach's private one
+    @Query("SELECT e.updatedAt, COUNT(fa.id), SUM(fa.id), MAX(c.updatedAt), MAX(t.updatedAt) FROM Exercise e " +
+           "LEFT JOIN e.createdBy c LEFT JOIN e.focusAreas fa LEFT JOIN e.defaultEvaluationTemplate t " +
+           "WHERE e.id = :exerciseId AND (e.isPublic = true OR c IS NULL OR c.coachId = :coachId) " +
+           "GROUP BY e.id, e.updatedAt")
+    List<Object[]> findVersionRowsByIdForCoach(@Param("exerciseId") Long exerciseId, @Param("coachId") Long coachId);
+
+    // Version of the catalog accessible to a coach (see findAccessibleExercises)
+    @Query("SELECT MAX(e.updatedAt), COUNT(DISTINCT e.id), SUM(DISTINCT e.id), COUNT(fa.id), " +
+           "SUM(e.id * 1000003 + fa.id), MAX(t.updatedAt) FROM Exercise e LEFT JOIN e.createdBy c " +
+           "LEFT JOIN e.focusAreas fa LEFT JOIN e.defaultEvaluationTemplate t " +
+           "WHERE e.isPublic = true OR c IS NULL OR c.coachId = :coachId")
+    List<Object[]> findAccessibleVersionRows(@Param("coachId") Long coachId);
+}
@@ -0,0 +1,13 @@
+package com.backend.repository;
+
+import com.backend.model.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    Optional<ImportJob> findByIdAndCoach_CoachId(Long id, Long coachId);
+}
@@ -3,13 +3,19 @@ package com.backend.repository;
 import com.backend.model.LessonExercise;
 import com.backend.model.Lesson;
 import com.backend.model.Exercise;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.stream.Stream;
 
 @Repository
 public interface LessonExerciseRepository extends JpaRepository<LessonExercise, Long> {
@@ -49,13 +55,33 @@ public interface LessonExerciseRepository extends JpaRepository<LessonExercise,
     @Query("SELECT le FROM LessonExercise le WHERE le.lesson = :lesson AND le.plannedDurationMinutes IS NULL")
     List<LessonExercise> findExercisesNeedingDuration(@Param("lesson") Lesson lesson);
     
-    // Find next exercise in sequence
-    @Query("SELECT le FROM LessonExercise le WHERE le.lesson = :lesson AND le.orderIndex > :currentIndex " +
-           "ORDER BY le.orderIndex ASC")
-    List<LessonExercise> findNextExercises(@Param("lesson") Lesson lesson, @Param("currentIndex") Integer currentIndex);
-    
-    // Find previous exercise in sequence
-    @Query("SELECT le FROM LessonExercise le WHERE le.lesson = :lesson AND le.orderIndex < :currentIndex " +
-           "ORDER BY le.orderIndex DESC")
-    List<LessonExercise> findPreviousExercises(@Param("lesson") Lesson lesson, @Param("currentIndex") Integer currentIndex);
-}
\ No newline at end of file
+    // Most used exercises in a coach's scheduled lessons since a date, with average planned minutes
+    @Query("SELECT e.id, e.name, COUNT(le), AVG(le.plannedDurationMinutes) " +
+           "FROM LessonExercise le JOIN le.exercise e JOIN le.lesson l " +
+           "WHERE l.coach.coachId = :coachId AND l.isTemplate = false AND l.scheduledDate >= :since " +
+           "GROUP BY e.id, e.name ORDER BY COUNT(le) DESC")
+    List<Object[]> findMostUsedByCoachSince(@Param("coachId") Long coachId, @Param("since") LocalDateTime since,
+                                            Pageable pageable);
+
+    // Lesson and exercise ids of every scheduled (non-template) lesson of a coach (exercise co-occurrence)
+    @Query("SELECT le.lesson.id, le.exercise.id FROM LessonExercise le " +
+           "WHERE le.lesson.coach.coachId = :coachId AND le.lesson.isTemplate = false")
+    List<Object[]> findLessonExercisePairsByCoachId(@Param("coachId") Long coachId);
+
+    // Exercise ids of one scheduled lesson; empty for templates and deleted lessons
+    @Query("SELECT le.exercise.id FROM LessonExercise le WHERE le.lesson.id = :lessonId AND le.lesson.isTemplate = false")
+    List<Long> findExerciseIdsByScheduledLessonId(@Param("lessonId") Long lessonId);
+
+    // Account export: (lesson exercise, lesson, exercise, order, planned duration, template, notes)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EvaluationRepository.STREAMING_FETCH_SIZE))
+    @Query("SELECT le.id, l.id, e.id, le.orderIndex, le.plannedDurationMinutes, t.id, le.exerciseNotes " +
+           "FROM LessonExercise le JOIN le.lesson l JOIN le.exercise e LEFT JOIN le.evaluationTemplate t " +
+           "WHERE l.coach.coachId = :coachId ORDER BY l.id, le.orderIndex, le.id")
+    Stream<Object[]> streamExportRowsByCoachId(@Param("coachId") Long coachId);
+
+    // A lesson's running order: (lesson exercise, exercise name, exercise, planned minutes) by order index;
+    // navigation reads it through LessonOrderCache
+    @Query("SELECT le.id, e.name, e.id, le.plannedDurationMinutes FROM LessonExercise le LEFT JOIN le.exercise e " +
+           "WHERE le.lesson.id = :lessonId ORDER BY le.orderIndex ASC")
+    List<Object[]> findOrderRowsByLessonId(@Param("lessonId") Long lessonId);
+}
@@ -11,6 +11,11 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.stream.Stream;
+import org.springframework.data.jpa.repository.Modifying;
 
 @Repository
 public interface LessonRepository extends JpaRepository<Lesson, Long> {
@@ -63,4 +68,41 @@ public interface LessonRepository extends JpaRepository<Lesson, Long> {
     
     // Find lessons by workshop type
     List<Lesson> findByCoachAndWorkshopType(Coach coach, String workshopType);
-}
\ No newline at end of file
+
+    // Account export: (lesson, team, name, scheduled, duration, template, workshop type, created, updated)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EvaluationRepository.STREAMING_FETCH_SIZE))
+    @Query("SELECT l.id, t.teamId, l.name, l.scheduledDate, l.totalDurationMinutes, l.isTemplate, l.workshopType, " +
+           "l.createdAt, l.updatedAt FROM Lesson l LEFT JOIN l.team t WHERE l.coach.coachId = :coachId ORDER BY l.id")
+    Stream<Object[]> streamExportRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Streamed counterpart of findByCoachOrderByScheduledDateDesc without exercises:
+    // (lesson, team, team name, name, scheduled, duration, template, workshop type, created, updated)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EvaluationRepository.STREAMING_FETCH_SIZE))
+    @Query("SELECT l.id, t.teamId, t.name, l.name, l.scheduledDate, l.totalDurationMinutes, l.isTemplate, " +
+           "l.workshopType, l.createdAt, l.updatedAt FROM Lesson l LEFT JOIN l.team t " +
+           "WHERE l.coach.coachId = :coachId ORDER BY l.scheduledDate DESC, l.id DESC")
+    Stream<Object[]> streamSummaryRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Version of one lesson and what its response embeds; no row when the lesson is not the coach's
+    @Query("SELECT l.updatedAt, COUNT(le.id), SUM(le.id * 1000 + le.orderIndex), MAX(e.updatedAt), " +
+           "MAX(et.updatedAt), MAX(tm.updatedAt) FROM Lesson l LEFT JOIN l.team tm LEFT JOIN l.exercises le " +
+           "LEFT JOIN le.exercise e LEFT JOIN le.evaluationTemplate et " +
+           "WHERE l.id = :lessonId AND l.coach.coachId = :coachId GROUP BY l.id, l.updatedAt")
+    List<Object[]> findVersionRowsByIdAndCoachId(@Param("lessonId") Long lessonId, @Param("coachId") Long coachId);
+
+    // Version of a coach's lessons or templates, with the same embedded parts
+    @Query("SELECT MAX(l.updatedAt), COUNT(DISTINCT l.id), SUM(DISTINCT l.id), COUNT(le.id), " +
+           "SUM(le.id * 1000 + le.orderIndex), MAX(e.updatedAt), MAX(et.updatedAt), MAX(tm.updatedAt) " +
+           "FROM Lesson l LEFT JOIN l.team tm LEFT JOIN l.exercises le LEFT JOIN le.exercise e " +
+           "LEFT JOIN le.evaluationTemplate et WHERE l.coach.coachId = :coachId AND l.isTemplate = :template")
+    List<Object[]> findListVersionRowsByCoachId(@Param("coachId") Long coachId, @Param("template") boolean template);
+
+    // Lesson exercise edits do not dirty the lesson; bump its timestamp so lesson versions change
+    @Modifying
+    @Query("UPDATE Lesson l SET l.updatedAt = :now WHERE l.id = :lessonId")
+    int touch(@Param("lessonId") Long lessonId, @Param("now") LocalDateTime now);
+
+    // Owner of a lesson, for endpoints that do not load it
+    @Query("SELECT l.coach.coachId FROM Lesson l WHERE l.id = :lessonId")
+    Optional<Long> findCoachIdById(@Param("lessonId") Long lessonId);
+}
@@ -8,8 +8,13 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.stream.Stream;
 
 @Repository
 public interface PerformerRepository extends JpaRepository<Performer, Long> {
@@ -66,5 +71,38 @@ public interface PerformerRepository extends JpaRepository<Performer, Long> {
     @Query("SELECT p FROM Performer p WHERE p.coach = :coach AND p.teams IS EMPTY " +
            "ORDER BY p.lastName ASC, p.firstName ASC")
     List<Performer> findByCoachWithoutTeams(@Param("coach") Coach coach);
-    
-}
\ No newline at end of file
+
+    // Id, names and team of every performer of a coach, one row per membership (analytics)
+    @Query("SELECT p.id, p.firstName, p.lastName, t.teamId FROM Performer p LEFT JOIN p.teams t " +
+           "WHERE p.coach.coachId = :coachId")
+    List<Object[]> findMembershipRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Account export: (performer, first, last, email, notes, created, updated). Stream inside a transaction.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EvaluationRepository.STREAMING_FETCH_SIZE))
+    @Query("SELECT p.id, p.firstName, p.lastName, p.email, p.notes, p.createdAt, p.updatedAt " +
+           "FROM Performer p WHERE p.coach.coachId = :coachId ORDER BY p.id")
+    Stream<Object[]> streamExportRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Account export: (performer, team) memberships
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EvaluationRepository.STREAMING_FETCH_SIZE))
+    @Query("SELECT p.id, t.teamId FROM Performer p JOIN p.teams t " +
+           "WHERE p.coach.coachId = :coachId ORDER BY p.id, t.teamId")
+    Stream<Object[]> streamTeamMembershipRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Streamed roster in the same order as findByCoachOrderByLastNameAscFirstNameAsc, scalar columns only
+    // (performer, first, last, email, notes, created, updated)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EvaluationRepository.STREAMING_FETCH_SIZE))
+    @Query("SELECT p.id, p.firstName, p.lastName, p.email, p.notes, p.createdAt, p.updatedAt " +
+           "FROM Performer p WHERE p.coach.coachId = :coachId ORDER BY p.lastName ASC, p.firstName ASC")
+    Stream<Object[]> streamResponseRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Version of a coach's performer list, including team memberships and the team names shown with them
+    @Query("SELECT MAX(p.updatedAt), COUNT(DISTINCT p.id), SUM(DISTINCT p.id), COUNT(t.teamId), " +
+           "SUM(p.id * 1000003 + t.teamId), MAX(t.updatedAt) FROM Performer p LEFT JOIN p.teams t " +
+           "WHERE p.coach.coachId = :coachId")
+    List<Object[]> findListVersionRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Which of the given ids exist (attendance validation)
+    @Query("SELECT p.id FROM Performer p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
@@ -6,6 +6,12 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import com.backend.model.PracticeNote;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.stream.Stream;
 
 @Repository
 public interface PracticeNoteRepository extends JpaRepository<PracticeNote, Long> {
@@ -13,4 +19,11 @@ public interface PracticeNoteRepository extends JpaRepository<PracticeNote, Long
     List<PracticeNote> findByPracticeSessionId(Long sessionId);
     List<PracticeNote> findByLessonIdAndPracticeSessionId(Long lessonId, Long sessionId);
     List<PracticeNote> findByNoteType(String noteType);
-}
\ No newline at end of file
+
+    // Account export: (note, lesson, session, type, content, created)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EvaluationRepository.STREAMING_FETCH_SIZE))
+    @Query("SELECT n.id, l.id, ps.id, n.noteType, n.content, n.createdAt " +
+           "FROM PracticeNote n JOIN n.lesson l LEFT JOIN n.practiceSession ps " +
+           "WHERE l.coach.coachId = :coachId ORDER BY n.id")
+    Stream<Object[]> streamExportRowsByCoachId(@Param("coachId") Long coachId);
+}
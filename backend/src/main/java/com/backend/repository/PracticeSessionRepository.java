@@ -1,14 +1,21 @@
 package com.backend.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.backend.model.LessonExercise;
 import com.backend.model.PracticeSession;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.stream.Stream;
 
 @Repository
 public interface PracticeSessionRepository extends JpaRepository<PracticeSession, Long> {
@@ -18,4 +25,40 @@ public interface PracticeSessionRepository extends JpaRepository<PracticeSession
 
     @Query("SELECT ps FROM PracticeSession ps LEFT JOIN FETCH ps.attendanceRecords WHERE ps.id = :sessionId")
     Optional<PracticeSession> findByIdWithAttendance(@Param("sessionId") Long sessionId);
+
+    // Sessions of a coach's lessons since a date with their team and attendance count (analytics)
+    @Query("SELECT ps.id, t.teamId, ps.startTime, ps.endTime, SIZE(ps.attendanceRecords) " +
+           "FROM PracticeSession ps JOIN ps.lesson l LEFT JOIN l.team t " +
+           "WHERE l.coach.coachId = :coachId AND ps.startTime >= :since " +
+           "ORDER BY ps.startTime ASC")
+    List<Object[]> findSessionRowsByCoachSince(@Param("coachId") Long coachId, @Param("since") LocalDateTime since);
+
+    // Account export: (session, lesson, start, end, current lesson exercise, current index, created, updated)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EvaluationRepository.STREAMING_FETCH_SIZE))
+    @Query("SELECT ps.id, l.id, ps.startTime, ps.endTime, ce.id, ps.currentExerciseIndex, ps.createdAt, ps.updatedAt " +
+           "FROM PracticeSession ps JOIN ps.lesson l LEFT JOIN ps.currentExercise ce " +
+           "WHERE l.coach.coachId = :coachId ORDER BY ps.id")
+    Stream<Object[]> streamExportRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Live session state: (session, lesson, lesson name, coach, start, end, current lesson exercise, current index,
+    // created, updated)
+    @Query("SELECT ps.id, l.id, l.name, l.coach.coachId, ps.startTime, ps.endTime, ce.id, ps.currentExerciseIndex, " +
+           "ps.createdAt, ps.updatedAt " +
+           "FROM PracticeSession ps JOIN ps.lesson l LEFT JOIN ps.currentExercise ce WHERE ps.id = :sessionId")
+    List<Object[]> findLiveRowsById(@Param("sessionId") Long sessionId);
+
+    // Write-behind of the live current exercise; bulk updates skip @UpdateTimestamp, so updatedAt is set here
+    @Modifying
+    @Query("UPDATE PracticeSession ps SET ps.currentExercise = :exercise, ps.currentExerciseIndex = :index, " +
+           "ps.updatedAt = :now WHERE ps.id = :sessionId")
+    int updateCurrentExercise(@Param("sessionId") Long sessionId, @Param("exercise") LessonExercise exercise,
+                              @Param("index") Integer index, @Param("now") LocalDateTime now);
+
+    // Owner of a session, for endpoints that do not load it
+    @Query("SELECT ps.lesson.coach.coachId FROM PracticeSession ps WHERE ps.id = :sessionId")
+    Optional<Long> findCoachIdById(@Param("sessionId") Long sessionId);
+
+    // Lesson and owner of a session: (lesson, coach)
+    @Query("SELECT ps.lesson.id, ps.lesson.coach.coachId FROM PracticeSession ps WHERE ps.id = :sessionId")
+    List<Object[]> findOwnerRowsById(@Param("sessionId") Long sessionId);
 }
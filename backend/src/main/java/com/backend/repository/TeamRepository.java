@@ -8,6 +8,10 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.stream.Stream;
 
 @Repository
 public interface TeamRepository extends JpaRepository<Team, Long> {
@@ -50,4 +54,24 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
     
     Optional<Team> findByTeamIdAndCoach(Long teamId, Coach coach);
 
-}
\ No newline at end of file
+    // Id, name and performer count of every team of a coach (analytics)
+    @Query("SELECT t.teamId, t.name, COUNT(p) FROM Team t LEFT JOIN t.performers p " +
+           "WHERE t.coach.coachId = :coachId GROUP BY t.teamId, t.name ORDER BY t.name ASC")
+    List<Object[]> findSummaryRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Account export: (team, name, description, created, updated). Stream inside a transaction.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EvaluationRepository.STREAMING_FETCH_SIZE))
+    @Query("SELECT t.teamId, t.name, t.description, t.createdAt, t.updatedAt " +
+           "FROM Team t WHERE t.coach.coachId = :coachId ORDER BY t.teamId")
+    Stream<Object[]> streamExportRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Version of a coach's team list: teams plus membership (the list shows performer counts)
+    @Query("SELECT MAX(t.updatedAt), COUNT(DISTINCT t.teamId), SUM(DISTINCT t.teamId), COUNT(p.id), " +
+           "SUM(t.teamId * 1000003 + p.id) FROM Team t LEFT JOIN t.performers p WHERE t.coach.coachId = :coachId")
+    List<Object[]> findListVersionRowsByCoachId(@Param("coachId") Long coachId);
+
+    // Version of one team with its roster; no row when the team is not the coach's
+    @Query("SELECT t.updatedAt, COUNT(p.id), SUM(p.id), MAX(p.updatedAt) FROM Team t LEFT JOIN t.performers p " +
+           "WHERE t.teamId = :teamId AND t.coach.coachId = :coachId GROUP BY t.teamId, t.updatedAt")
+    List<Object[]> findVersionRowsByIdAndCoachId(@Param("teamId") Long teamId, @Param("coachId") Long coachId);
+}
@@ -0,0 +1,176 @@
+package com.backend.service;
+
+import com.backend.model.Coach;
+import com.backend.repository.*;
+import com.backend.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams everything a coach owns as a zip archive with one NDJSON file per entity type.
+ *
+ * Each file is fed by a coach-scoped, forward-only projection stream and written row by row, so the
+ * heap holds one row (plus the zip and generator buffers) whatever the account size. Records keep
+ * their original ids and reference each other by id; {@code manifest.json} lists the files, their
+ * columns and row counts and is written last.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountExportService {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private final TeamRepository teamRepository;
+    private final PerformerRepository performerRepository;
+    private final ExerciseRepository exerciseRepository;
+    private final EvaluationTemplateRepository evaluationTemplateRepository;
+    private final LessonRepository lessonRepository;
+    private final LessonExerciseRepository lessonExerciseRepository;
+    private final PracticeSessionRepository practiceSessionRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final EvaluationRepository evaluationRepository;
+    private final ExerciseEvaluationRepository exerciseEvaluationRepository;
+    private final PracticeNoteRepository practiceNoteRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * One NDJSON file: its name, the field names in projection order and the coach-scoped row stream.
+     * Files are listed parents first so an import can resolve references in a single pass.
+     */
+    public record ExportFile(String name, List<String> fields, Function<Long, Stream<Object[]>> rows) {
+    }
+
+    public List<ExportFile> files() {
+        return List.of(
+            new ExportFile("teams.ndjson",
+                    List.of("id", "name", "description", "createdAt", "updatedAt"),
+                    teamRepository::streamExportRowsByCoachId),
+            new ExportFile("performers.ndjson",
+                    List.of("id", "firstName", "lastName", "email", "notes", "createdAt", "updatedAt"),
+                    performerRepository::streamExportRowsByCoachId),
+            new ExportFile("performer_teams.ndjson",
+                    List.of("performerId", "teamId"),
+                    performerRepository::streamTeamMembershipRowsByCoachId),
+            new ExportFile("evaluation_templates.ndjson",
+                    List.of("id", "name", "isDefault", "exerciseId", "createdAt", "updatedAt"),
+                    evaluationTemplateRepository::streamExportRowsByCoachId),
+            new ExportFile("evaluation_criteria.ndjson",
+                    List.of("id", "templateId", "name", "description", "maxScore", "focusAreaId", "orderIndex"),
+                    evaluationTemplateRepository::streamCriterionRowsByCoachId),
+            new ExportFile("exercises.ndjson",
+                    List.of("id", "name", "description", "minimumDurationMinutes", "isPublic",
+                            "defaultEvaluationTemplateId", "createdAt", "updatedAt"),
+                    exerciseRepository::streamExportRowsByCoachId),
+            new ExportFile("exercise_focus_areas.ndjson",
+                    List.of("exerciseId", "focusAreaId"),
+                    exerciseRepository::streamFocusAreaRowsByCoachId),
+            new ExportFile("lessons.ndjson",
+                    List.of("id", "teamId", "name", "scheduledDate", "totalDurationMinutes", "isTemplate",
+                            "workshopType", "createdAt", "updatedAt"),
+                    lessonRepository::streamExportRowsByCoachId),
+            new ExportFile("lesson_exercises.ndjson",
+                    List.of("id", "lessonId", "exerciseId", "orderIndex", "plannedDurationMinutes",
+                            "evaluationTemplateId", "exerciseNotes"),
+                    lessonExerciseRepository::streamExportRowsByCoachId),
+            new ExportFile("practice_sessions.ndjson",
+                    List.of("id", "lessonId", "startTime", "endTime", "currentExerciseId", "currentExerciseIndex",
+                            "createdAt", "updatedAt"),
+                    practiceSessionRepository::streamExportRowsByCoachId),
+            new ExportFile("attendance.ndjson",
+                    List.of("practiceSessionId", "performerId"),
+                    attendanceRepository::streamExportRowsByCoachId),
+            new ExportFile("evaluations.ndjson",
+                    List.of("id", "teamId", "performanceDate", "performerNames", "yesAnd", "agreement",
+                            "whoWhatWhere", "physicality", "listening", "commitment", "avoidanceOfDenial",
+                            "efficiency", "notes"),
+                    evaluationRepository::streamExportRowsByCoachId),
+            new ExportFile("exercise_evaluations.ndjson",
+                    List.of("id", "lessonExerciseId", "practiceSessionId", "notes", "evaluatedAt"),
+                    exerciseEvaluationRepository::streamExportRowsByCoachId),
+            new ExportFile("evaluation_scores.ndjson",
+                    List.of("exerciseEvaluationId", "criterionName", "score"),
+                    exerciseEvaluationRepository::streamScoreRowsByCoachId),
+            new ExportFile("evaluated_performers.ndjson",
+                    List.of("exerciseEvaluationId", "performerId"),
+                    exerciseEvaluationRepository::streamEvaluatedPerformerRowsByCoachId),
+            new ExportFile("practice_notes.ndjson",
+                    List.of("id", "lessonId", "practiceSessionId", "noteType", "content", "createdAt"),
+                    practiceNoteRepository::streamExportRowsByCoachId)
+        );
+    }
+
+    /**
+     * Writes the archive to {@code out}. Runs in its own read-only transaction, which is what keeps the
+     * repository streams open; call it from the response-writing thread, not the request thread.
+     */
+    @Transactional(readOnly = true)
+    public void export(Coach coach, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("id", coach.getCoachId());
+        profile.put("email", coach.getEmail());
+        profile.put("firstName", coach.getFirstName());
+        profile.put("lastName", coach.getLastName());
+        profile.put("bio", coach.getBio());
+        profile.put("experience", coach.getExperience());
+        profile.put("certifications", coach.getCertifications());
+        profile.put("createdAt", coach.getCreatedAt());
+        writeEntry(zip, "coach.json", profile);
+
+        List<Map<String, Object>> manifestFiles = new ArrayList<>();
+        for (ExportFile file : files()) {
+            zip.putNextEntry(new ZipEntry(file.name()));
+            long count = writeRows(zip, file, coach.getCoachId());
+            zip.closeEntry();
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", file.name());
+            entry.put("fields", file.fields());
+            entry.put("count", count);
+            manifestFiles.add(entry);
+        }
+
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("formatVersion", FORMAT_VERSION);
+        manifest.put("exportedAt", LocalDateTime.now());
+        manifest.put("coachId", coach.getCoachId());
+        manifest.put("files", manifestFiles);
+        writeEntry(zip, "manifest.json", manifest);
+
+        zip.finish();
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    private void writeEntry(ZipOutputStream zip, String name, Object value) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, zip)) {
+            writer.write(value);
+        }
+        zip.closeEntry();
+    }
+
+    // One object per row, fields written straight from the projection without building a map
+    private long writeRows(OutputStream out, ExportFile file, Long coachId) throws IOException {
+        List<String> fields = file.fields();
+        try (Stream<Object[]> rows = file.rows().apply(coachId);
+             NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+            for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+                writer.writeFields(fields, it.next());
+            }
+            return writer.getWritten();
+        }
+    }
+}
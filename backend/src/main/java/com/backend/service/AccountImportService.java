@@ -0,0 +1,632 @@
+package com.backend.service;
+
+import com.backend.dto.ImportJobResponse;
+import com.backend.event.CoachDataChangedEvent;
+import com.backend.model.Coach;
+import com.backend.model.ImportJob;
+import com.backend.repository.ImportJobRepository;
+import com.backend.util.LegacyCriteria;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Imports teams, performers, team memberships, lessons and legacy evaluations in bulk.
+ *
+ * Accepts the zip written by {@link AccountExportService} (other files in it are ignored) or a single
+ * NDJSON stream whose records carry a {@code type} (the export file name without extension). The
+ * upload is spooled to disk and parsed incrementally on a worker; records are written in fixed-size
+ * chunks with JDBC batching, one transaction per chunk. Each chunk commits the rows it created, their
+ * source-to-new id mappings and the job checkpoint together, so a failed job resumes from its last
+ * committed chunk when the same upload is sent again. A chunk that breaks a constraint is redone one
+ * record at a time; records that still fail are counted as failed and skipped. References are remapped through the in-memory
+ * id map; parents must come before their children in the input, as they do in an export.
+ */
+@Service
+public class AccountImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountImportService.class);
+    private static final TypeReference<Map<String, Object>> RECORD_TYPE = new TypeReference<>() {};
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final List<CoachDataChangedEvent.Kind> IMPORTED_KINDS = List.of(
+            CoachDataChangedEvent.Kind.TEAM, CoachDataChangedEvent.Kind.PERFORMER,
+            CoachDataChangedEvent.Kind.LESSON, CoachDataChangedEvent.Kind.EVALUATION);
+
+    private final ImportJobRepository importJobRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService workers;
+    private final int chunkSize;
+    private final Map<String, RecordWriter> writers;
+    private final Set<Long> runningJobs = ConcurrentHashMap.newKeySet();
+
+    public AccountImportService(
+            ImportJobRepository importJobRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.import.chunk-size:500}") int chunkSize,
+            @Value("${app.import.workers:2}") int workers) {
+        this.importJobRepository = importJobRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.workers = Executors.newFixedThreadPool(workers);
+        this.writers = Map.of(
+                "teams", new TeamWriter(),
+                "performers", new PerformerWriter(),
+                "performer_teams", new MembershipWriter(),
+                "lessons", new LessonWriter(),
+                "evaluations", new EvaluationWriter());
+    }
+
+    /**
+     * Spools the upload and starts (or, with {@code resumeJobId}, resumes) the import in the background.
+     * A resumed job must be given the same upload; records before its checkpoint are skipped.
+     */
+    public ImportJobResponse start(Coach coach, InputStream upload, String sourceName, Long resumeJobId)
+            throws IOException {
+        ImportJob job;
+        if (resumeJobId != null) {
+            job = importJobRepository.findByIdAndCoach_CoachId(resumeJobId, coach.getCoachId())
+                    .orElseThrow(() -> new IllegalArgumentException("Import job not found"));
+            if (ImportJob.COMPLETED.equals(job.getStatus())) {
+                throw new IllegalArgumentException("Import job has already completed");
+            }
+        } else {
+            job = ImportJob.builder().coach(coach).sourceName(sourceName).status(ImportJob.RUNNING).build();
+        }
+        if (job.getId() != null && !runningJobs.add(job.getId())) {
+            throw new IllegalArgumentException("Import job is already running");
+        }
+
+        Path spool = null;
+        try {
+            spool = Files.createTempFile("account-import-", ".upload");
+            Files.copy(upload, spool, StandardCopyOption.REPLACE_EXISTING);
+
+            job.setStatus(ImportJob.RUNNING);
+            job.setLastError(null);
+            job = importJobRepository.save(job);
+            runningJobs.add(job.getId());
+        } catch (IOException | RuntimeException e) {
+            if (job.getId() != null) {
+                runningJobs.remove(job.getId());
+            }
+            if (spool != null) {
+                Files.deleteIfExists(spool);
+            }
+            throw e;
+        }
+
+        Long jobId = job.getId();
+        Long coachId = coach.getCoachId();
+        long checkpoint = job.getRecordsRead();
+        Path file = spool;
+        workers.submit(() -> run(jobId, coachId, checkpoint, file));
+        return toResponse(job);
+    }
+
+    public ImportJobResponse getJob(Long jobId, Coach coach) {
+        return importJobRepository.findByIdAndCoach_CoachId(jobId, coach.getCoachId())
+                .map(this::toResponse)
+                .orElseThrow(() -> new IllegalArgumentException("Import job not found"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupted jobs keep their last committed checkpoint and can be resumed
+        workers.shutdownNow();
+    }
+
+    // ===== RUN =====
+
+    private void run(Long jobId, Long coachId, long checkpoint, Path file) {
+        ImportRun run = new ImportRun(jobId, coachId, checkpoint, new HashMap<>());
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            run.idMap.putAll(loadIdMap(jobId));
+            if (isZip(in)) {
+                ZipInputStream zip = new ZipInputStream(in);
+                for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                    String name = entry.getName().substring(entry.getName().lastIndexOf('/') + 1);
+                    if (!entry.isDirectory() && name.endsWith(".ndjson")) {
+                        readRecords(zip, name.substring(0, name.length() - ".ndjson".length()), run);
+                    }
+                }
+            } else {
+                readRecords(in, null, run);
+            }
+            run.flush();
+            finish(jobId, ImportJob.COMPLETED, null);
+        } catch (Exception e) {
+            logger.warn("Import job {} stopped at record {}: {}", jobId, run.checkpoint, e.getMessage());
+            finish(jobId, ImportJob.FAILED, e.getMessage());
+        } finally {
+            runningJobs.remove(jobId);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Could not delete import spool file {}", file);
+            }
+        }
+        if (run.imported > 0) {
+            for (CoachDataChangedEvent.Kind kind : IMPORTED_KINDS) {
+                eventPublisher.publishEvent(new CoachDataChangedEvent(coachId, kind, null));
+            }
+        }
+    }
+
+    private static boolean isZip(InputStream in) throws IOException {
+        in.mark(4);
+        byte[] magic = in.readNBytes(4);
+        in.reset();
+        return magic.length == 4 && magic[0] == 'P' && magic[1] == 'K' && magic[2] == 3 && magic[3] == 4;
+    }
+
+    // One record at a time; the parser must not close the zip stream at the end of an entry
+    private void readRecords(InputStream in, String fileType, ImportRun run) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(in);
+        parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        try (MappingIterator<Map<String, Object>> records = objectMapper.readerFor(RECORD_TYPE).readValues(parser)) {
+            while (records.hasNext()) {
+                Map<String, Object> record = records.next();
+                run.accept(fileType != null ? fileType : Objects.toString(record.get("type"), null), record);
+            }
+        }
+    }
+
+    private Map<String, Map<Long, Long>> loadIdMap(Long jobId) {
+        Map<String, Map<Long, Long>> idMap = new HashMap<>();
+        jdbcTemplate.query("SELECT entity, source_id, target_id FROM import_id_map WHERE job_id = ?",
+                rs -> {
+                    idMap.computeIfAbsent(rs.getString(1), entity -> new HashMap<>()).put(rs.getLong(2), rs.getLong(3));
+                }, jobId);
+        return idMap;
+    }
+
+    private void finish(Long jobId, String status, String error) {
+        jdbcTemplate.update("UPDATE import_jobs SET status = ?, last_error = COALESCE(?, last_error), updated_at = ? WHERE id = ?",
+                status, truncate(error), LocalDateTime.now(), jobId);
+    }
+
+    /**
+     * State of one pass over an upload: the position in the input, the chunk being filled and the id
+     * map of everything committed so far.
+     */
+    private final class ImportRun {
+        final Long jobId;
+        final Long coachId;
+        final Map<String, Map<Long, Long>> idMap;
+        final List<Map.Entry<String, Map<String, Object>>> chunk = new ArrayList<>();
+        long position;
+        long checkpoint;
+        long imported;
+
+        ImportRun(Long jobId, Long coachId, long checkpoint, Map<String, Map<Long, Long>> idMap) {
+            this.jobId = jobId;
+            this.coachId = coachId;
+            this.checkpoint = checkpoint;
+            this.idMap = idMap;
+        }
+
+        void accept(String type, Map<String, Object> record) {
+            if (++position <= checkpoint) {
+                return; // Committed by an earlier attempt
+            }
+            chunk.add(new AbstractMap.SimpleImmutableEntry<>(type, record));
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                commit(chunk, position);
+            } catch (DataIntegrityViolationException e) {
+                // Some record breaks a constraint; write them one at a time and skip past the ones that fail,
+                // so a resumed job does not stop at the same chunk again
+                long first = position - chunk.size();
+                for (int i = 0; i < chunk.size(); i++) {
+                    long end = first + i + 1;
+                    try {
+                        commit(List.of(chunk.get(i)), end);
+                    } catch (DataIntegrityViolationException failed) {
+                        skipFailed(end, chunk.get(i), failed);
+                    }
+                }
+            }
+            chunk.clear();
+        }
+
+        private void commit(List<Map.Entry<String, Map<String, Object>>> records, long end) {
+            ChunkResult result = chunkTransaction.execute(status -> writeChunk(this, records, end));
+            // Only committed mappings become visible to later chunks
+            result.mappings.forEach((entity, ids) ->
+                    idMap.computeIfAbsent(entity, e -> new HashMap<>()).putAll(ids));
+            imported += result.imported;
+            checkpoint = end;
+        }
+
+        private void skipFailed(long end, Map.Entry<String, Map<String, Object>> record, RuntimeException e) {
+            String error = record.getKey() + " " + record.getValue().get("id") + ": " + e.getMessage();
+            jdbcTemplate.update("UPDATE import_jobs SET records_read = ?, failed_count = failed_count + 1, " +
+                            "last_error = ?, updated_at = ? WHERE id = ?",
+                    end, truncate(error), LocalDateTime.now(), jobId);
+            checkpoint = end;
+        }
+
+        Long resolve(ChunkResult pending, String entity, Object sourceId) {
+            Long id = asLong(sourceId);
+            if (id == null) {
+                return null;
+            }
+            Long target = pending.mappings.getOrDefault(entity, Map.of()).get(id);
+            return target != null ? target : idMap.getOrDefault(entity, Map.of()).get(id);
+        }
+    }
+
+    // ===== CHUNK WRITES =====
+
+    private static final class ChunkResult {
+        final Map<String, Map<Long, Long>> mappings = new HashMap<>();
+        long imported;
+        long skipped;
+        long failed;
+        String lastError;
+    }
+
+    // Runs inside the chunk transaction: consecutive records of one type go out as one JDBC batch; the
+    // checkpoint moves to endPosition
+    private ChunkResult writeChunk(ImportRun run, List<Map.Entry<String, Map<String, Object>>> records,
+                                   long endPosition) {
+        ChunkResult result = new ChunkResult();
+        int start = 0;
+        while (start < records.size()) {
+            String type = records.get(start).getKey();
+            int end = start + 1;
+            while (end < records.size() && Objects.equals(records.get(end).getKey(), type)) {
+                end++;
+            }
+            RecordWriter writer = type != null ? writers.get(type) : null;
+            if (writer == null) {
+                result.skipped += end - start;
+            } else {
+                writeBatch(run, writer, records.subList(start, end), result);
+            }
+            start = end;
+        }
+
+        List<Object[]> mappingRows = new ArrayList<>();
+        result.mappings.forEach((entity, ids) ->
+                ids.forEach((source, target) -> mappingRows.add(new Object[] {run.jobId, entity, source, target})));
+        if (!mappingRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO import_id_map (job_id, entity, source_id, target_id) VALUES (?, ?, ?, ?)", mappingRows);
+        }
+        jdbcTemplate.update("UPDATE import_jobs SET records_read = ?, imported_count = imported_count + ?, " +
+                        "skipped_count = skipped_count + ?, failed_count = failed_count + ?, " +
+                        "last_error = COALESCE(?, last_error), updated_at = ? WHERE id = ?",
+                endPosition, result.imported, result.skipped, result.failed, truncate(result.lastError),
+                LocalDateTime.now(), run.jobId);
+        return result;
+    }
+
+    private void writeBatch(ImportRun run, RecordWriter writer, List<Map.Entry<String, Map<String, Object>>> records,
+                            ChunkResult result) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = writer.entity() != null
+                    ? connection.prepareStatement(writer.sql(), Statement.RETURN_GENERATED_KEYS)
+                    : connection.prepareStatement(writer.sql())) {
+                List<Long> sourceIds = new ArrayList<>();
+                for (Map.Entry<String, Map<String, Object>> entry : records) {
+                    Map<String, Object> record = entry.getValue();
+                    Long sourceId = asLong(record.get("id"));
+                    if (writer.entity() != null && run.resolve(result, writer.entity(), sourceId) != null) {
+                        result.skipped++; // Already imported under this job
+                        continue;
+                    }
+                    try {
+                        writer.bind(statement, record, new Refs(run, result));
+                    } catch (IllegalArgumentException e) {
+                        result.failed++;
+                        result.lastError = writer.entity() + " " + sourceId + ": " + e.getMessage();
+                        continue;
+                    }
+                    statement.addBatch();
+                    sourceIds.add(sourceId);
+                }
+                if (sourceIds.isEmpty()) {
+                    return null;
+                }
+                statement.executeBatch();
+                result.imported += sourceIds.size();
+
+                if (writer.entity() != null) {
+                    Map<Long, Long> mapped = result.mappings.computeIfAbsent(writer.entity(), e -> new HashMap<>());
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        for (int i = 0; keys.next() && i < sourceIds.size(); i++) {
+                            if (sourceIds.get(i) != null) {
+                                mapped.put(sourceIds.get(i), keys.getLong(1));
+                            }
+                        }
+                    }
+                }
+                return null;
+            }
+        });
+    }
+
+    // ===== RECORD WRITERS =====
+
+    /**
+     * Reference lookups for a record being bound: the chunk's own new rows first, then committed ones.
+     */
+    private record Refs(ImportRun run, ChunkResult pending) {
+        Long require(String entity, Map<String, Object> record, String field) {
+            if (record.get(field) == null) {
+                throw new IllegalArgumentException(field + " is required");
+            }
+            return optional(entity, record, field);
+        }
+
+        Long optional(String entity, Map<String, Object> record, String field) {
+            Object value = record.get(field);
+            if (value == null) {
+                return null;
+            }
+            Long id = run.resolve(pending, entity, value);
+            if (id == null) {
+                throw new IllegalArgumentException(field + " does not match an imported " + entity + " record");
+            }
+            return id;
+        }
+
+        Long coachId() {
+            return run.coachId;
+        }
+    }
+
+    /**
+     * Binds one record to the insert statement, or throws IllegalArgumentException to reject it.
+     * Writers with an entity name generate keys and record source id mappings.
+     */
+    private interface RecordWriter {
+        String entity();
+
+        String sql();
+
+        void bind(PreparedStatement statement, Map<String, Object> record, Refs refs) throws SQLException;
+    }
+
+    private static final class TeamWriter implements RecordWriter {
+        public String entity() {
+            return "teams";
+        }
+
+        public String sql() {
+            return "INSERT INTO teams (name, description, coach_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+        }
+
+        public void bind(PreparedStatement statement, Map<String, Object> record, Refs refs) throws SQLException {
+            statement.setString(1, requireText(record, "name", 30));
+            statement.setString(2, text(record, "description"));
+            statement.setLong(3, refs.coachId());
+            statement.setObject(4, dateTimeOrNow(record, "createdAt"));
+            statement.setObject(5, dateTimeOrNow(record, "updatedAt"));
+        }
+    }
+
+    private static final class PerformerWriter implements RecordWriter {
+        public String entity() {
+            return "performers";
+        }
+
+        public String sql() {
+            return "INSERT INTO performers (coach_id, first_name, last_name, email, notes, created_at, updated_at) " +
+                   "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        }
+
+        public void bind(PreparedStatement statement, Map<String, Object> record, Refs refs) throws SQLException {
+            statement.setLong(1, refs.coachId());
+            statement.setString(2, requireText(record, "firstName", 50));
+            statement.setString(3, requireText(record, "lastName", 50));
+            statement.setString(4, text(record, "email"));
+            statement.setString(5, text(record, "notes"));
+            statement.setObject(6, dateTimeOrNow(record, "createdAt"));
+            statement.setObject(7, dateTimeOrNow(record, "updatedAt"));
+        }
+    }
+
+    private static final class MembershipWriter implements RecordWriter {
+        public String entity() {
+            return null;
+        }
+
+        public String sql() {
+            return "INSERT IGNORE INTO performer_teams (performer_id, team_id) VALUES (?, ?)";
+        }
+
+        public void bind(PreparedStatement statement, Map<String, Object> record, Refs refs) throws SQLException {
+            statement.setLong(1, refs.require("performers", record, "performerId"));
+            statement.setLong(2, refs.require("teams", record, "teamId"));
+        }
+    }
+
+    private static final class LessonWriter implements RecordWriter {
+        public String entity() {
+            return "lessons";
+        }
+
+        public String sql() {
+            return "INSERT INTO lessons (coach_id, team_id, name, scheduled_date, total_duration_minutes, is_template, " +
+                   "workshop_type, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        }
+
+        public void bind(PreparedStatement statement, Map<String, Object> record, Refs refs) throws SQLException {
+            statement.setLong(1, refs.coachId());
+            statement.setObject(2, refs.optional("teams", record, "teamId"));
+            statement.setString(3, text(record, "name"));
+            statement.setObject(4, dateTime(record, "scheduledDate"));
+            statement.setObject(5, integer(record, "totalDurationMinutes"));
+            statement.setBoolean(6, Boolean.TRUE.equals(record.get("isTemplate")));
+            statement.setString(7, text(record, "workshopType"));
+            statement.setObject(8, dateTimeOrNow(record, "createdAt"));
+            statement.setObject(9, dateTimeOrNow(record, "updatedAt"));
+        }
+    }
+
+    private static final class EvaluationWriter implements RecordWriter {
+        private static final List<String> SCORE_FIELDS = List.of(
+                "yesAnd", "agreement", "whoWhatWhere", "physicality",
+                "listening", "commitment", "avoidanceOfDenial", "efficiency");
+
+        public String entity() {
+            return "evaluations";
+        }
+
+        public String sql() {
+            return "INSERT INTO evaluations (team_id, performance_date, performer_names, yes_and, agreement, " +
+                   "who_what_where, physicality, listening, commitment, avoidance_of_denial, efficiency, notes) " +
+                   "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        }
+
+        public void bind(PreparedStatement statement, Map<String, Object> record, Refs refs) throws SQLException {
+            statement.setLong(1, refs.require("teams", record, "teamId"));
+            statement.setObject(2, dateTimeOrNow(record, "performanceDate"));
+            statement.setString(3, text(record, "performerNames"));
+            for (int i = 0; i < LegacyCriteria.COUNT; i++) {
+                Integer score = integer(record, SCORE_FIELDS.get(i));
+                if (score != null && (score < 1 || score > LegacyCriteria.MAX_SCORE)) {
+                    throw new IllegalArgumentException(SCORE_FIELDS.get(i) + " must be between 1 and "
+                            + LegacyCriteria.MAX_SCORE);
+                }
+                statement.setObject(4 + i, score);
+            }
+            statement.setString(12, text(record, "notes"));
+        }
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    private static String text(Map<String, Object> record, String field) {
+        Object value = record.get(field);
+        return value == null ? null : value.toString();
+    }
+
+    private static String requireText(Map<String, Object> record, String field, int maxLength) {
+        String value = text(record, field);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        if (value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " is longer than " + maxLength + " characters");
+        }
+        return value.trim();
+    }
+
+    private static Integer integer(Map<String, Object> record, String field) {
+        Object value = record.get(field);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        try {
+            return Integer.valueOf(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " is not a number");
+        }
+    }
+
+    private static Long asLong(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        try {
+            return Long.valueOf(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // ISO date-times as written by the export, or plain dates from spreadsheets
+    private static LocalDateTime dateTime(Map<String, Object> record, String field) {
+        String value = text(record, field);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return value.length() <= 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(field + " is not an ISO date");
+        }
+    }
+
+    private static LocalDateTime dateTimeOrNow(Map<String, Object> record, String field) {
+        LocalDateTime value = dateTime(record, field);
+        return value != null ? value : LocalDateTime.now();
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private ImportJobResponse toResponse(ImportJob job) {
+        return ImportJobResponse.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .sourceName(job.getSourceName())
+                .recordsRead(job.getRecordsRead())
+                .importedCount(job.getImportedCount())
+                .skippedCount(job.getSkippedCount())
+                .failedCount(job.getFailedCount())
+                .lastError(job.getLastError())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,488 @@
+package com.backend.service;
+
+import com.backend.repository.*;
+import com.backend.util.LegacyCriteria;
+import com.backend.util.ScoreColumn;
+import com.backend.util.ScoreKernel;
+import com.backend.util.ScoreKernels;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Computes a coach's analytics (coaching insights, performer progress and per-team analytics)
+ * for one time range. Everything is derived from a handful of projection queries; callers
+ * should go through {@link AnalyticsSnapshotService} rather than invoking this per request.
+ *
+ * The team comparison fans out on its own pool, one connection per team query, so it runs before
+ * the read-only transaction of the other queries; the calling thread holds no connection while it
+ * waits for the comparison.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+
+    public static final List<String> TIME_RANGES = List.of("7d", "30d", "90d", "1y", "all");
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int MOST_USED_LIMIT = 5;
+    private static final int STRENGTH_COUNT = 3;
+    private static final double TREND_THRESHOLD = 0.1;
+
+    private final EvaluationRepository evaluationRepository;
+    private final ExerciseEvaluationRepository exerciseEvaluationRepository;
+    private final PracticeSessionRepository practiceSessionRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final LessonExerciseRepository lessonExerciseRepository;
+    private final PerformerRepository performerRepository;
+    private final TeamRepository teamRepository;
+    private final TeamComparisonService teamComparisonService;
+    private final RecommendationService recommendationService;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Result of one computation; maps are shaped like the frontend's analytics types.
+     */
+    public record AnalyticsData(
+            Map<String, Object> coachingInsights,
+            List<Map<String, Object>> performerProgress,
+            Map<Long, Map<String, Object>> teamAnalytics) {
+    }
+
+    private record Observation(LocalDateTime at, String criterion, int score) {
+    }
+
+    private record SessionRow(Long id, Long teamId, LocalDateTime start, LocalDateTime end, int attendees) {
+    }
+
+    public static boolean isSupportedTimeRange(String timeRange) {
+        return TIME_RANGES.contains(timeRange);
+    }
+
+    public static LocalDateTime since(String timeRange, LocalDateTime now) {
+        return switch (timeRange) {
+            case "7d" -> now.minusDays(7);
+            case "30d" -> now.minusDays(30);
+            case "90d" -> now.minusDays(90);
+            case "1y" -> now.minusYears(1);
+            case "all" -> BEGINNING;
+            default -> throw new IllegalArgumentException("Unsupported time range: " + timeRange);
+        };
+    }
+
+    public AnalyticsData compute(Long coachId, String timeRange) {
+        LocalDateTime since = since(timeRange, LocalDateTime.now());
+        // Ranks and z-scores against the coach's other teams
+        Map<Long, TeamComparisonService.TeamComparison> comparisons = teamComparisonService.compare(coachId, since);
+
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        return readOnlyTransaction.execute(status -> compute(coachId, since, comparisons));
+    }
+
+    private AnalyticsData compute(Long coachId, LocalDateTime since,
+                                  Map<Long, TeamComparisonService.TeamComparison> comparisons) {
+        // Teams
+        Map<Long, String> teamNames = new LinkedHashMap<>();
+        Map<Long, Long> teamPerformerCounts = new HashMap<>();
+        for (Object[] row : teamRepository.findSummaryRowsByCoachId(coachId)) {
+            Long teamId = (Long) row[0];
+            teamNames.put(teamId, (String) row[1]);
+            teamPerformerCounts.put(teamId, (Long) row[2]);
+        }
+
+        // Legacy evaluations, expanded into one observation per filled-in column
+        Map<Long, List<Observation>> teamObservations = new HashMap<>();
+        Map<Long, Integer> teamEvaluationCounts = new HashMap<>();
+        Map<YearMonth, Integer> evaluationsByMonth = new TreeMap<>();
+        List<Observation> allObservations = new ArrayList<>();
+        int totalEvaluations = 0;
+        for (Object[] row : evaluationRepository.findScoreRowsByCoachSince(coachId, since)) {
+            Long teamId = (Long) row[0];
+            LocalDateTime at = (LocalDateTime) row[1];
+            for (int i = 0; i < LegacyCriteria.COUNT; i++) {
+                Integer score = (Integer) row[2 + i];
+                if (score != null) {
+                    Observation observation = new Observation(at, LegacyCriteria.NAMES.get(i), score);
+                    teamObservations.computeIfAbsent(teamId, id -> new ArrayList<>()).add(observation);
+                    allObservations.add(observation);
+                }
+            }
+            teamEvaluationCounts.merge(teamId, 1, Integer::sum);
+            evaluationsByMonth.merge(YearMonth.from(at), 1, Integer::sum);
+            totalEvaluations++;
+        }
+
+        // Scene evaluations from live practice, per performer and per lesson team
+        Map<Long, List<Observation>> performerObservations = new HashMap<>();
+        Set<String> seenSceneScores = new HashSet<>();
+        Set<Long> countedSceneEvaluations = new HashSet<>();
+        Map<Long, Set<Long>> teamSceneEvaluations = new HashMap<>();
+        for (Object[] row : exerciseEvaluationRepository.findScoreRowsByCoachSince(coachId, since)) {
+            Long evaluationId = (Long) row[0];
+            Long performerId = (Long) row[1];
+            Long teamId = (Long) row[2];
+            LocalDateTime at = (LocalDateTime) row[3];
+            Observation observation = new Observation(at, (String) row[4], ((Number) row[5]).intValue());
+
+            if (performerId != null) {
+                performerObservations.computeIfAbsent(performerId, id -> new ArrayList<>()).add(observation);
+            }
+            // Rows repeat per evaluated performer; count each score once for team and coach totals
+            if (seenSceneScores.add(evaluationId + ":" + observation.criterion())) {
+                allObservations.add(observation);
+                if (teamId != null) {
+                    teamObservations.computeIfAbsent(teamId, id -> new ArrayList<>()).add(observation);
+                }
+            }
+            if (countedSceneEvaluations.add(evaluationId)) {
+                totalEvaluations++;
+                if (at != null) {
+                    evaluationsByMonth.merge(YearMonth.from(at), 1, Integer::sum);
+                }
+            }
+            if (teamId != null) {
+                teamSceneEvaluations.computeIfAbsent(teamId, id -> new HashSet<>()).add(evaluationId);
+            }
+        }
+        teamSceneEvaluations.forEach((teamId, ids) -> teamEvaluationCounts.merge(teamId, ids.size(), Integer::sum));
+
+        // Practice sessions
+        List<SessionRow> sessions = practiceSessionRepository.findSessionRowsByCoachSince(coachId, since).stream()
+                .map(row -> new SessionRow((Long) row[0], (Long) row[1], (LocalDateTime) row[2],
+                        (LocalDateTime) row[3], ((Number) row[4]).intValue()))
+                .collect(Collectors.toList());
+        Map<Long, List<SessionRow>> teamSessions = sessions.stream()
+                .filter(s -> s.teamId() != null)
+                .collect(Collectors.groupingBy(SessionRow::teamId));
+
+        Map<Long, Map<String, Object>> teamAnalytics = new LinkedHashMap<>();
+        teamNames.forEach((teamId, name) -> teamAnalytics.put(teamId, buildTeamAnalytics(
+                coachId,
+                teamId,
+                name,
+                teamPerformerCounts.getOrDefault(teamId, 0L),
+                teamObservations.getOrDefault(teamId, List.of()),
+                teamEvaluationCounts.getOrDefault(teamId, 0),
+                teamSessions.getOrDefault(teamId, List.of()))));
+
+        teamAnalytics.forEach((teamId, analytics) -> {
+            TeamComparisonService.TeamComparison comparison = comparisons.get(teamId);
+            if (comparison != null) {
+                analytics.put("comparison", comparison.toMap());
+            }
+        });
+
+        List<Map<String, Object>> performerProgress = buildPerformerProgress(
+                coachId, since, performerObservations, teamSessions);
+
+        Map<String, Object> insights = buildCoachingInsights(
+                coachId, since, sessions, totalEvaluations, evaluationsByMonth, allObservations, teamAnalytics);
+
+        return new AnalyticsData(insights, performerProgress, teamAnalytics);
+    }
+
+    private Map<String, Object> buildCoachingInsights(Long coachId, LocalDateTime since, List<SessionRow> sessions,
+            int totalEvaluations, Map<YearMonth, Integer> evaluationsByMonth, List<Observation> allObservations,
+            Map<Long, Map<String, Object>> teamAnalytics) {
+
+        double averageSessionLength = sessions.stream()
+                .filter(s -> s.start() != null && s.end() != null)
+                .mapToLong(s -> Duration.between(s.start(), s.end()).toMinutes())
+                .average()
+                .orElse(0.0);
+
+        Map<YearMonth, Integer> practicesByMonth = new TreeMap<>();
+        sessions.stream()
+                .filter(s -> s.start() != null)
+                .forEach(s -> practicesByMonth.merge(YearMonth.from(s.start()), 1, Integer::sum));
+
+        Set<YearMonth> months = new TreeSet<>(practicesByMonth.keySet());
+        months.addAll(evaluationsByMonth.keySet());
+        List<Map<String, Object>> monthlyActivity = months.stream()
+                .map(month -> {
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("month", month.toString());
+                    entry.put("practices", practicesByMonth.getOrDefault(month, 0));
+                    entry.put("evaluations", evaluationsByMonth.getOrDefault(month, 0));
+                    return entry;
+                })
+                .collect(Collectors.toList());
+
+        ScoreColumn allScores = column(allObservations);
+        double overallAverage = ScoreKernels.mean(allScores);
+        Map<String, Double> coachCriterionAverages = criterionAverages(allObservations);
+
+        Map<String, Object> insights = new HashMap<>();
+        insights.put("totalPractices", sessions.size());
+        insights.put("totalEvaluations", totalEvaluations);
+        insights.put("averageSessionLength", round(averageSessionLength));
+        insights.put("mostUsedExercises", buildMostUsedExercises(coachId, since, teamAnalytics));
+        insights.put("teamPerformanceComparison", rankedTeams(teamAnalytics.values()));
+        insights.put("overallTeachingEffectiveness", round(overallAverage / LegacyCriteria.MAX_SCORE));
+        insights.put("coachingStrengths",
+                recommendationService.strongestFocusAreas(coachCriterionAverages, STRENGTH_COUNT));
+        insights.put("areasForDevelopment",
+                recommendationService.weakestFocusAreas(coachCriterionAverages, STRENGTH_COUNT));
+        insights.put("recommendedExercises", recommendationService.recommendExercises(
+                coachId, coachCriterionAverages, LegacyCriteria.MAX_SCORE, RecommendationService.DEFAULT_LIMIT));
+        insights.put("monthlyActivity", monthlyActivity);
+        insights.put("scoreDistribution", scoreDistribution(allScores));
+        return insights;
+    }
+
+    private List<Map<String, Object>> buildMostUsedExercises(Long coachId, LocalDateTime since,
+            Map<Long, Map<String, Object>> teamAnalytics) {
+        Map<Long, Double> averageRatings = new HashMap<>();
+        for (Object[] row : exerciseEvaluationRepository.findAverageScoreByExerciseForCoachSince(coachId, since)) {
+            averageRatings.put((Long) row[0], ((Number) row[1]).doubleValue());
+        }
+
+        return lessonExerciseRepository.findMostUsedByCoachSince(coachId, since, PageRequest.of(0, MOST_USED_LIMIT))
+                .stream()
+                .map(row -> {
+                    Long exerciseId = (Long) row[0];
+                    double averageRating = averageRatings.getOrDefault(exerciseId, 0.0);
+                    Map<String, Object> entry = new HashMap<>();
+                    entry.put("exerciseId", exerciseId);
+                    entry.put("exerciseName", row[1]);
+                    entry.put("usageCount", ((Number) row[2]).longValue());
+                    entry.put("averageRating", round(averageRating));
+                    entry.put("effectivenessScore", round(averageRating / LegacyCriteria.MAX_SCORE));
+                    entry.put("focusAreaImpact", Collections.emptyMap());
+                    entry.put("coachNotes", Collections.emptyList());
+                    entry.put("recommendedFor", teamsRecommendedFor(exerciseId, teamAnalytics));
+                    entry.put("timeSpentAverage", row[3] != null ? round(((Number) row[3]).doubleValue()) : 0.0);
+                    return entry;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private Map<String, Object> buildTeamAnalytics(Long coachId, Long teamId, String teamName, long performerCount,
+            List<Observation> observations, int evaluationCount, List<SessionRow> sessions) {
+
+        List<Observation> ordered = chronological(observations);
+        ScoreColumn scores = column(ordered);
+        Map<String, Double> criterionAverages = criterionAverages(ordered);
+
+        long practicesCompleted = sessions.stream().filter(s -> s.end() != null).count();
+        long attendees = sessions.stream().mapToLong(SessionRow::attendees).sum();
+        long possibleAttendees = sessions.size() * performerCount;
+
+        List<Map<String, Object>> progressTrend = ordered.stream()
+                .collect(Collectors.groupingBy(o -> o.at().toLocalDate(), TreeMap::new,
+                        Collectors.averagingInt(Observation::score)))
+                .entrySet().stream()
+                .map(entry -> {
+                    Map<String, Object> point = new LinkedHashMap<>();
+                    point.put("date", entry.getKey().toString());
+                    point.put("score", round(entry.getValue()));
+                    return point;
+                })
+                .collect(Collectors.toList());
+
+        Map<String, Object> analytics = new HashMap<>();
+        analytics.put("teamId", teamId);
+        analytics.put("teamName", teamName);
+        analytics.put("performerCount", performerCount);
+        analytics.put("averageScore", round(ScoreKernels.mean(scores)));
+        analytics.put("scoreImprovement", round(ScoreKernels.halfDelta(scores.array(), scores.size())));
+        analytics.put("attendanceRate", possibleAttendees > 0
+                ? round(Math.min(1.0, (double) attendees / possibleAttendees)) : 0.0);
+        analytics.put("practicesCompleted", practicesCompleted);
+        analytics.put("evaluationsCompleted", evaluationCount);
+        analytics.put("focusAreaBreakdown", criterionAverages);
+        analytics.put("strengthsAndWeaknesses", Map.of(
+                "strengths", rankCriteria(criterionAverages, true),
+                "weaknesses", rankCriteria(criterionAverages, false)));
+        analytics.put("progressTrend", progressTrend);
+        analytics.put("scoreDistribution", scoreDistribution(scores));
+        analytics.put("recommendedExercises", recommendationService.recommendExercises(
+                coachId, criterionAverages, LegacyCriteria.MAX_SCORE, RecommendationService.DEFAULT_LIMIT));
+        return analytics;
+    }
+
+    private List<Map<String, Object>> buildPerformerProgress(Long coachId, LocalDateTime since,
+            Map<Long, List<Observation>> performerObservations, Map<Long, List<SessionRow>> teamSessions) {
+
+        Map<Long, String> performerNames = new HashMap<>();
+        Map<Long, Set<Long>> performerTeams = new HashMap<>();
+        for (Object[] row : performerRepository.findMembershipRowsByCoachId(coachId)) {
+            Long performerId = (Long) row[0];
+            performerNames.put(performerId, row[1] + " " + row[2]);
+            Set<Long> teams = performerTeams.computeIfAbsent(performerId, id -> new HashSet<>());
+            if (row[3] != null) {
+                teams.add((Long) row[3]);
+            }
+        }
+
+        Map<Long, Long> attendedSessions = new HashMap<>();
+        for (Object[] row : attendanceRepository.countByPerformerForCoachSince(coachId, since)) {
+            attendedSessions.put((Long) row[0], (Long) row[1]);
+        }
+
+        List<Map<String, Object>> progress = new ArrayList<>();
+        performerObservations.forEach((performerId, observations) -> {
+            String name = performerNames.get(performerId);
+            if (name == null) {
+                return; // Evaluated performer belongs to another coach
+            }
+
+            List<Observation> ordered = chronological(observations);
+            Map<String, ScoreColumn> byCriterion = criterionColumns(ordered);
+
+            // Later-half vs earlier-half means per criterion, in hundredths so the deltas run on int columns
+            List<String> criteria = new ArrayList<>(byCriterion.keySet());
+            int[] current = new int[criteria.size()];
+            int[] previous = new int[criteria.size()];
+            int[] deltas = new int[criteria.size()];
+            for (int i = 0; i < criteria.size(); i++) {
+                ScoreColumn column = byCriterion.get(criteria.get(i));
+                current[i] = (int) Math.round(laterHalfMean(column) * 100);
+                previous[i] = (int) Math.round(earlierHalfMean(column) * 100);
+            }
+            ScoreKernels.kernel().deltas(current, previous, deltas, criteria.size());
+
+            Map<String, Object> focusAreaScores = new LinkedHashMap<>();
+            Map<String, Double> currentScores = new HashMap<>();
+            for (int i = 0; i < criteria.size(); i++) {
+                Map<String, Object> score = new LinkedHashMap<>();
+                score.put("current", current[i] / 100.0);
+                score.put("previous", previous[i] / 100.0);
+                score.put("trend", deltas[i] > TREND_THRESHOLD * 100 ? "improving"
+                        : deltas[i] < -TREND_THRESHOLD * 100 ? "declining" : "stable");
+                score.put("evaluationCount", byCriterion.get(criteria.get(i)).size());
+                focusAreaScores.put(criteria.get(i), score);
+                currentScores.put(criteria.get(i), current[i] / 100.0);
+            }
+
+            Set<Long> teams = performerTeams.getOrDefault(performerId, Set.of());
+            long heldSessions = teams.stream()
+                    .mapToLong(teamId -> teamSessions.getOrDefault(teamId, List.of()).size())
+                    .sum();
+            long attended = attendedSessions.getOrDefault(performerId, 0L);
+
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("performerId", performerId);
+            entry.put("performerName", name);
+            entry.put("teamIds", new ArrayList<>(teams));
+            entry.put("focusAreaScores", focusAreaScores);
+            entry.put("overallProgress", round(currentScores.values().stream()
+                    .mapToDouble(Double::doubleValue).average().orElse(0.0)));
+            entry.put("strengths", rankCriteria(currentScores, true).stream()
+                    .map(m -> m.get("area")).collect(Collectors.toList()));
+            entry.put("areasForGrowth", rankCriteria(currentScores, false).stream()
+                    .map(m -> m.get("area")).collect(Collectors.toList()));
+            entry.put("attendanceRate", heldSessions > 0
+                    ? round(Math.min(1.0, (double) attended / heldSessions)) : 0.0);
+            entry.put("lastEvaluated", ordered.get(ordered.size() - 1).at());
+            entry.put("scoreDistribution", scoreDistribution(column(ordered)));
+            entry.put("recommendedExercises", recommendationService.recommendExercises(
+                    coachId, currentScores, LegacyCriteria.MAX_SCORE, RecommendationService.DEFAULT_LIMIT));
+            progress.add(entry);
+        });
+
+        progress.sort(Comparator.comparing(entry -> (String) entry.get("performerName")));
+        return progress;
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    // Names of the teams whose recommendations include the exercise
+    private static List<String> teamsRecommendedFor(Long exerciseId, Map<Long, Map<String, Object>> teamAnalytics) {
+        return teamAnalytics.values().stream()
+                .filter(team -> ((List<?>) team.get("recommendedExercises")).stream()
+                        .anyMatch(recommendation -> exerciseId.equals(((Map<?, ?>) recommendation).get("exerciseId"))))
+                .map(team -> (String) team.get("teamName"))
+                .collect(Collectors.toList());
+    }
+
+    // Best-ranked teams first; unranked teams (no scores in range) keep their name order at the end
+    private static List<Map<String, Object>> rankedTeams(Collection<Map<String, Object>> teams) {
+        List<Map<String, Object>> ranked = new ArrayList<>(teams);
+        ranked.sort(Comparator.comparing(team -> {
+            Map<?, ?> comparison = (Map<?, ?>) team.get("comparison");
+            return comparison != null ? (Integer) comparison.get("rank") : null;
+        }, Comparator.nullsLast(Comparator.naturalOrder())));
+        return ranked;
+    }
+
+    private static List<Observation> chronological(List<Observation> observations) {
+        List<Observation> ordered = new ArrayList<>(observations);
+        ordered.sort(Comparator.comparing(Observation::at, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return ordered;
+    }
+
+    // Scores as a primitive column, in list order, for the score kernels
+    private static ScoreColumn column(List<Observation> observations) {
+        ScoreColumn column = new ScoreColumn(observations.size());
+        for (Observation observation : observations) {
+            column.add(observation.score());
+        }
+        return column;
+    }
+
+    // Mean of the older half of a chronological list (the whole list when it has one element)
+    private static double earlierHalfMean(ScoreColumn ordered) {
+        int end = ordered.size() < 2 ? ordered.size() : ordered.size() / 2;
+        return ScoreKernels.mean(ScoreKernels.kernel(), ordered.array(), 0, end);
+    }
+
+    private static double laterHalfMean(ScoreColumn ordered) {
+        int start = ordered.size() < 2 ? 0 : ordered.size() / 2;
+        return ScoreKernels.mean(ScoreKernels.kernel(), ordered.array(), start, ordered.size());
+    }
+
+    private static Map<String, ScoreColumn> criterionColumns(List<Observation> observations) {
+        Map<String, ScoreColumn> columns = new TreeMap<>();
+        for (Observation observation : observations) {
+            columns.computeIfAbsent(observation.criterion(), c -> new ScoreColumn()).add(observation.score());
+        }
+        return columns;
+    }
+
+    private static Map<String, Double> criterionAverages(List<Observation> observations) {
+        Map<String, Double> averages = new TreeMap<>();
+        criterionColumns(observations).forEach((criterion, column) ->
+                averages.put(criterion, round(ScoreKernels.mean(column))));
+        return averages;
+    }
+
+    // How often each score was given, keyed "1".."maxScore"
+    private static Map<String, Integer> scoreDistribution(ScoreColumn scores) {
+        ScoreKernel kernel = ScoreKernels.kernel();
+        int maxScore = Math.max(LegacyCriteria.MAX_SCORE, kernel.max(scores.array(), 0, scores.size()));
+        int[] histogram = kernel.histogram(scores.array(), 0, scores.size(), maxScore);
+        Map<String, Integer> distribution = new LinkedHashMap<>();
+        for (int score = 1; score <= maxScore; score++) {
+            distribution.put(String.valueOf(score), histogram[score]);
+        }
+        return distribution;
+    }
+
+    private static List<Map<String, Object>> rankCriteria(Map<String, Double> averages, boolean highestFirst) {
+        Comparator<Map.Entry<String, Double>> byScore = Map.Entry.comparingByValue();
+        return averages.entrySet().stream()
+                .sorted(highestFirst ? byScore.reversed() : byScore)
+                .limit(STRENGTH_COUNT)
+                .map(entry -> {
+                    Map<String, Object> ranked = new LinkedHashMap<>();
+                    ranked.put("area", entry.getKey());
+                    ranked.put("score", round(entry.getValue()));
+                    return ranked;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,257 @@
+package com.backend.service;
+
+import com.backend.event.CoachDataChangedEvent;
+import com.backend.service.AnalyticsService.AnalyticsData;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps per-coach analytics snapshots so that analytics requests never compute on the request thread.
+ *
+ * Writes (evaluations, attendance, lessons, practice) publish a {@link CoachDataChangedEvent}. Each signal
+ * restarts a per-coach debounce timer; once the coach has been quiet for the debounce interval (or the
+ * maximum delay has passed) every snapshot the coach has requested so far is recomputed on a small bounded
+ * pool. At most one recompute per coach runs at a time; signals arriving during a run coalesce into a
+ * single follow-up run.
+ */
+@Service
+public class AnalyticsSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsSnapshotService.class);
+
+    private final AnalyticsService analyticsService;
+    private final long debounceNanos;
+    private final long maxDelayNanos;
+    private final long coldTimeoutMillis;
+    private final long maxAgeMillis;
+
+    private final ScheduledExecutorService debouncer;
+    private final ThreadPoolExecutor workers;
+
+    private final ConcurrentHashMap<SnapshotKey, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, CoachState> coachStates = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<SnapshotKey, CompletableFuture<Snapshot>> coldLoads = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong(System.currentTimeMillis());
+
+    public AnalyticsSnapshotService(
+            AnalyticsService analyticsService,
+            @Value("${app.analytics.snapshot.debounce-ms:2000}") long debounceMillis,
+            @Value("${app.analytics.snapshot.max-delay-ms:15000}") long maxDelayMillis,
+            @Value("${app.analytics.snapshot.cold-timeout-ms:10000}") long coldTimeoutMillis,
+            @Value("${app.analytics.snapshot.max-age-ms:600000}") long maxAgeMillis,
+            @Value("${app.analytics.snapshot.workers:2}") int workerCount,
+            @Value("${app.analytics.snapshot.queue-capacity:64}") int queueCapacity) {
+        this.analyticsService = analyticsService;
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(debounceMillis, maxDelayMillis));
+        this.coldTimeoutMillis = coldTimeoutMillis;
+        this.maxAgeMillis = maxAgeMillis;
+        this.debouncer = Executors.newSingleThreadScheduledExecutor(namedThreads("analytics-debounce"));
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), namedThreads("analytics-snapshot"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public record SnapshotKey(Long coachId, String timeRange) {
+    }
+
+    /**
+     * An immutable computed result. {@code writeSequence} is the coach's write counter at the moment
+     * computation started, so any later write makes the snapshot stale.
+     */
+    public record Snapshot(long version, long writeSequence, Instant computedAt, AnalyticsData data) {
+
+        public String getETag() {
+            return getETag("");
+        }
+
+        /** ETag of a response derived from the snapshot; {@code variant} tells apart differently filtered views. */
+        public String getETag(String variant) {
+            String suffix = variant.isEmpty() ? "" : "-" + variant;
+            return "\"analytics-" + Long.toHexString(version) + suffix + "\"";
+        }
+    }
+
+    private static final class CoachState {
+        final AtomicLong writeSequence = new AtomicLong();
+        final AtomicBoolean timerPending = new AtomicBoolean();
+        final AtomicBoolean running = new AtomicBoolean();
+        final AtomicBoolean rerun = new AtomicBoolean();
+        volatile long firstSignalNanos;
+        volatile long lastSignalNanos;
+    }
+
+    // ===== WRITE SIGNAL =====
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCoachDataChanged(CoachDataChangedEvent event) {
+        if (event.coachId() != null) {
+            signalWrite(event.coachId());
+        }
+    }
+
+    public void signalWrite(Long coachId) {
+        CoachState state = stateOf(coachId);
+        long now = System.nanoTime();
+        state.writeSequence.incrementAndGet();
+        state.lastSignalNanos = now;
+        if (state.timerPending.compareAndSet(false, true)) {
+            state.firstSignalNanos = now;
+            debouncer.schedule(() -> onTimer(coachId), debounceNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void onTimer(Long coachId) {
+        CoachState state = stateOf(coachId);
+        long now = System.nanoTime();
+        long quietFor = now - state.lastSignalNanos;
+        long waitedFor = now - state.firstSignalNanos;
+
+        if (quietFor < debounceNanos && waitedFor < maxDelayNanos) {
+            long remaining = Math.min(debounceNanos - quietFor, maxDelayNanos - waitedFor);
+            debouncer.schedule(() -> onTimer(coachId), remaining, TimeUnit.NANOSECONDS);
+            return;
+        }
+
+        state.timerPending.set(false);
+        submitRecompute(coachId, state);
+    }
+
+    private void submitRecompute(Long coachId, CoachState state) {
+        if (!state.running.compareAndSet(false, true)) {
+            state.rerun.set(true);
+            return;
+        }
+        try {
+            workers.execute(() -> recomputeCoach(coachId, state));
+        } catch (RejectedExecutionException e) {
+            state.running.set(false);
+            logger.warn("Analytics snapshot queue full; deferring recompute for coach {}", coachId);
+            signalWrite(coachId);
+        }
+    }
+
+    private void recomputeCoach(Long coachId, CoachState state) {
+        try {
+            do {
+                state.rerun.set(false);
+                for (SnapshotKey key : snapshots.keySet()) {
+                    if (key.coachId().equals(coachId)) {
+                        compute(key, state);
+                    }
+                }
+            } while (state.rerun.get());
+        } catch (RuntimeException e) {
+            logger.error("Failed to recompute analytics snapshots for coach {}", coachId, e);
+        } finally {
+            state.running.set(false);
+        }
+
+        // A signal may have landed between the last pass and releasing the running flag
+        if (state.rerun.get()) {
+            submitRecompute(coachId, state);
+        }
+    }
+
+    private Snapshot compute(SnapshotKey key, CoachState state) {
+        long writeSequence = state.writeSequence.get();
+        AnalyticsData data = analyticsService.compute(key.coachId(), key.timeRange());
+        Snapshot snapshot = new Snapshot(versions.incrementAndGet(), writeSequence, Instant.now(), data);
+        snapshots.merge(key, snapshot,
+                (existing, fresh) -> fresh.writeSequence() >= existing.writeSequence() ? fresh : existing);
+        return snapshots.get(key);
+    }
+
+    // ===== READS =====
+
+    /**
+     * Returns the latest snapshot for a coach and time range. Only the first requests for a key wait, all
+     * on the same computation; afterwards the snapshot is kept current in the background. Relative ranges
+     * ("last 7 days") drift even without writes, so snapshots older than the max age are refreshed too.
+     *
+     * @throws IllegalStateException when the first computation is queued behind too much work, fails or
+     *                               does not finish within the cold timeout
+     */
+    public Snapshot getSnapshot(Long coachId, String timeRange) {
+        SnapshotKey key = new SnapshotKey(coachId, timeRange);
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot != null) {
+            if (snapshot.computedAt().plusMillis(maxAgeMillis).isBefore(Instant.now())) {
+                submitRecompute(coachId, stateOf(coachId));
+            }
+            return snapshot;
+        }
+
+        try {
+            return coldLoad(key).get(coldTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while computing analytics", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                throw new IllegalStateException("Analytics are busy, try again shortly", e.getCause());
+            }
+            throw new IllegalStateException("Failed to compute analytics", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Analytics are still being computed, try again shortly", e);
+        }
+    }
+
+    // One computation per key while it has no snapshot; it never runs on the request thread
+    private CompletableFuture<Snapshot> coldLoad(SnapshotKey key) {
+        CompletableFuture<Snapshot> load = new CompletableFuture<>();
+        CompletableFuture<Snapshot> existing = coldLoads.putIfAbsent(key, load);
+        if (existing != null) {
+            return existing;
+        }
+        CoachState state = stateOf(key.coachId());
+        try {
+            workers.execute(() -> {
+                try {
+                    load.complete(compute(key, state));
+                } catch (RuntimeException e) {
+                    load.completeExceptionally(e);
+                } finally {
+                    coldLoads.remove(key, load);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            coldLoads.remove(key, load);
+            load.completeExceptionally(e);
+        }
+        return load;
+    }
+
+    public boolean isStale(Long coachId, Snapshot snapshot) {
+        return snapshot.writeSequence() < stateOf(coachId).writeSequence.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        debouncer.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private CoachState stateOf(Long coachId) {
+        return coachStates.computeIfAbsent(coachId, id -> new CoachState());
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
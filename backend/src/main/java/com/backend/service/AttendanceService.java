@@ -15,43 +15,23 @@ import java.util.stream.Collectors;
 public class AttendanceService {
 
     private final AttendanceRepository attendanceRepository;
-    private final PracticeSessionRepository practiceSessionRepository;
-    private final PerformerRepository performerRepository;
+    private final LiveSessionStore liveSessions;
+    private final PracticeSessionLocks sessionLocks;
 
-    // Single attendance record
-    @Transactional
+    // Single attendance record (held live, written behind)
     public void recordAttendance(Long sessionId, AttendanceRequest request) {
-        PracticeSession session = practiceSessionRepository.findById(sessionId)
-            .orElseThrow(() -> new RuntimeException("Session not found"));
-        
-        Performer performer = performerRepository.findById(request.getPerformerId())
-            .orElseThrow(() -> new RuntimeException("Performer not found"));
-
-        if (request.isPresent()) {
-            attendanceRepository.save(new Attendance(session, performer));
-        } else {
-            attendanceRepository.deleteByPracticeSessionAndPerformer(session, performer);
-        }
+        sessionLocks.run(sessionId,
+                () -> liveSessions.markAttendance(sessionId, request.getPerformerId(), request.isPresent()));
     }
 
-    // Bulk attendance update
-    @Transactional
+    // Bulk attendance update (held live, written behind)
     public void updateBulkAttendance(Long sessionId, BulkAttendanceRequest request) {
-        PracticeSession session = practiceSessionRepository.findById(sessionId)
-            .orElseThrow(() -> new RuntimeException("Session not found"));
-
-        // Clear existing attendance for this session
-        attendanceRepository.deleteByPracticeSessionId(sessionId);
-
-        // Add new attendance records
-        request.getPerformerIds().forEach(performerId -> {
-            Performer performer = performerRepository.findById(performerId)
-                .orElseThrow(() -> new RuntimeException("Performer not found: " + performerId));
-            attendanceRepository.save(new Attendance(session, performer));
-        });
+        sessionLocks.run(sessionId, () -> liveSessions.replaceAttendance(sessionId, request.getPerformerIds()));
     }
 
+	@Transactional
 	public List<AttendanceResponse> getAttendees(Long sessionId) {
+		liveSessions.flush(sessionId);
 		return attendanceRepository.findByPracticeSessionId(sessionId).stream()
 			.map(attendance -> {
 				Performer performer = attendance.getPerformer();
@@ -0,0 +1,363 @@
+package com.backend.service;
+
+import com.backend.dto.BatchRequestItem;
+import com.backend.dto.BatchResponseItem;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs a batch of API sub-requests in-process through the {@link DispatcherServlet}.
+ *
+ * Sub-requests skip the HTTP round trip and the security filter chain: the batch request has already
+ * been authenticated, and its {@link Authentication} is installed on every sub-request's thread. GETs
+ * run concurrently (bounded by {@code app.batch.parallelism}, since each may hold a connection) as
+ * soon as the items they depend on have finished. Writes run one at a time in submission order; any
+ * ordering between a read and a write must be declared with {@code dependsOn}. An item whose
+ * dependency failed is not run and reports 424.
+ */
+@Service
+public class BatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchService.class);
+
+    private static final Set<String> METHODS = Set.of("GET", "POST", "PUT", "PATCH", "DELETE");
+    private static final Pattern REFERENCE = Pattern.compile("\\{\\{([^.{}]+)((?:\\.[^.{}]+)*)}}");
+
+    private final DispatcherServlet dispatcherServlet;
+    private final ObjectMapper objectMapper;
+    private final int maxItems;
+    private final long timeoutMillis;
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public BatchService(DispatcherServlet dispatcherServlet,
+                        ObjectMapper objectMapper,
+                        @Value("${app.batch.max-items:20}") int maxItems,
+                        @Value("${app.batch.parallelism:4}") int parallelism,
+                        @Value("${app.batch.timeout-ms:30000}") long timeoutMillis) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.objectMapper = objectMapper;
+        this.maxItems = maxItems;
+        this.timeoutMillis = timeoutMillis;
+        this.permits = new Semaphore(parallelism);
+    }
+
+    /**
+     * Results come back in request order. Call from the batch request thread: {@code request} and
+     * {@code response} back the sub-requests' connection details, so this does not return while any item
+     * is still running, even after a timeout; items that have not started by then are not run.
+     */
+    public List<BatchResponseItem> execute(List<BatchRequestItem> items, HttpServletRequest request,
+                                           HttpServletResponse response, Authentication authentication) {
+        validate(items);
+
+        InFlight inFlight = new InFlight();
+        Map<String, CompletableFuture<BatchResponseItem>> results = new LinkedHashMap<>();
+        CompletableFuture<BatchResponseItem> lastWrite = null;
+        for (BatchRequestItem item : items) {
+            boolean write = !"GET".equals(item.getMethod().toUpperCase(Locale.ROOT));
+            List<CompletableFuture<BatchResponseItem>> prerequisites = new ArrayList<>();
+            for (String dependency : dependencies(item)) {
+                prerequisites.add(results.get(dependency));
+            }
+            if (write && lastWrite != null) {
+                prerequisites.add(lastWrite);
+            }
+
+            CompletableFuture<BatchResponseItem> result = CompletableFuture
+                    .allOf(prerequisites.toArray(new CompletableFuture<?>[0]))
+                    .thenApplyAsync(ignored -> run(item, results, inFlight, request, response, authentication),
+                            executor);
+            results.put(item.getId(), result);
+            if (write) {
+                lastWrite = result;
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        List<BatchResponseItem> responses = new ArrayList<>(items.size());
+        try {
+            for (Map.Entry<String, CompletableFuture<BatchResponseItem>> entry : results.entrySet()) {
+                try {
+                    responses.add(entry.getValue().get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    // Items not yet started are dropped; a running one is waited for below
+                    entry.getValue().cancel(false);
+                    responses.add(failure(entry.getKey(), HttpStatus.GATEWAY_TIMEOUT, "Batch timed out before this item finished"));
+                } catch (ExecutionException | CancellationException e) {
+                    responses.add(failure(entry.getKey(), HttpStatus.INTERNAL_SERVER_ERROR, "Item failed"));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    results.values().forEach(future -> future.cancel(false));
+                    throw new IllegalStateException("Interrupted while running the batch", e);
+                }
+            }
+        } finally {
+            // The container recycles request and response once the batch request returns
+            inFlight.closeAndAwait();
+        }
+        return responses;
+    }
+
+    // Items using the batch's request and response; once closed, items that have not started are not run
+    private static final class InFlight {
+        private int running;
+        private boolean closed;
+
+        synchronized boolean enter() {
+            if (closed) {
+                return false;
+            }
+            running++;
+            return true;
+        }
+
+        synchronized void exit() {
+            if (--running == 0) {
+                notifyAll();
+            }
+        }
+
+        synchronized void closeAndAwait() {
+            closed = true;
+            boolean interrupted = false;
+            while (running > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ===== DISPATCH =====
+
+    private BatchResponseItem run(BatchRequestItem item, Map<String, CompletableFuture<BatchResponseItem>> results,
+                                  InFlight inFlight, HttpServletRequest request, HttpServletResponse response,
+                                  Authentication authentication) {
+        // Prerequisites are complete when this runs, so join() does not block
+        Map<String, BatchResponseItem> resolved = new HashMap<>();
+        for (String dependency : dependencies(item)) {
+            BatchResponseItem result = results.get(dependency).join();
+            if (result.getStatus() >= 400) {
+                return failure(item.getId(), HttpStatus.FAILED_DEPENDENCY, "Dependency " + dependency + " failed");
+            }
+            resolved.put(dependency, result);
+        }
+
+        String path;
+        byte[] body;
+        try {
+            path = substitute(item.getPath(), resolved);
+            body = item.getBody() == null || item.getBody().isNull()
+                    ? new byte[0]
+                    : objectMapper.writeValueAsBytes(substitute(item.getBody(), resolved));
+        } catch (IllegalArgumentException | IOException e) {
+            return failure(item.getId(), HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        if (!inFlight.enter()) {
+            return failure(item.getId(), HttpStatus.GATEWAY_TIMEOUT, "Batch timed out before this item started");
+        }
+        try {
+            return dispatch(item, path, body, request, response, authentication);
+        } finally {
+            inFlight.exit();
+        }
+    }
+
+    private BatchResponseItem dispatch(BatchRequestItem item, String path, byte[] body, HttpServletRequest request,
+                                       HttpServletResponse response, Authentication authentication) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        BatchSubRequest subRequest = new BatchSubRequest(request, item.getMethod().toUpperCase(Locale.ROOT), path,
+                item.getHeaders(), body, authentication);
+        BatchSubResponse subResponse = new BatchSubResponse(response);
+        try {
+            permits.acquire();
+            try {
+                dispatcherServlet.service(subRequest, subResponse);
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failure(item.getId(), HttpStatus.SERVICE_UNAVAILABLE, "Interrupted");
+        } catch (Exception e) {
+            logger.warn("Batch item {} ({} {}) failed", item.getId(), item.getMethod(), path, e);
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return failure(item.getId(), HttpStatus.INTERNAL_SERVER_ERROR, cause.getMessage());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return toResult(item.getId(), subResponse);
+    }
+
+    private BatchResponseItem toResult(String id, BatchSubResponse subResponse) {
+        int status = subResponse.status();
+        Map<String, String> headers = new LinkedHashMap<>();
+        subResponse.headers().forEach((name, values) -> headers.put(name, String.join(", ", values)));
+
+        byte[] content = subResponse.body();
+        Object body = null;
+        if (content.length == 0) {
+            if (status >= 400) {
+                HttpStatus resolved = HttpStatus.resolve(status);
+                body = errorBody(status, resolved != null ? resolved.getReasonPhrase() : null, subResponse.errorMessage());
+            }
+        } else {
+            String contentType = subResponse.getContentType();
+            if (contentType != null && contentType.contains("json")) {
+                try {
+                    body = objectMapper.readTree(content);
+                } catch (IOException e) {
+                    body = new String(content, StandardCharsets.UTF_8);
+                }
+            } else {
+                body = new String(content, StandardCharsets.UTF_8);
+            }
+        }
+        return new BatchResponseItem(id, status, headers, body);
+    }
+
+    private BatchResponseItem failure(String id, HttpStatus status, String message) {
+        return new BatchResponseItem(id, status.value(), Map.of(), errorBody(status.value(), status.getReasonPhrase(), message));
+    }
+
+    private Map<String, Object> errorBody(int status, String error, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status);
+        body.put("error", error);
+        body.put("message", message);
+        return body;
+    }
+
+    // ===== VALIDATION AND REFERENCES =====
+
+    // Ids default to the item's position; dependencies must name earlier items, which rules out cycles
+    private void validate(List<BatchRequestItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one request");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("Batch may contain at most " + maxItems + " requests");
+        }
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            BatchRequestItem item = items.get(i);
+            if (item == null) {
+                throw new IllegalArgumentException("Request " + i + " is empty");
+            }
+            if (item.getId() == null || item.getId().isBlank()) {
+                item.setId(String.valueOf(i));
+            }
+            if (!seen.add(item.getId())) {
+                throw new IllegalArgumentException("Duplicate request id: " + item.getId());
+            }
+            if (item.getMethod() == null || !METHODS.contains(item.getMethod().toUpperCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("Request " + item.getId() + " has an unsupported method");
+            }
+            String path = item.getPath();
+            if (path == null || !path.startsWith("/api/") || path.startsWith("/api/batch")
+                    || path.startsWith("/api/auth") || path.contains("..")) {
+                throw new IllegalArgumentException("Request " + item.getId() + " must target an /api path "
+                        + "other than /api/batch or /api/auth");
+            }
+            for (String dependency : dependencies(item)) {
+                if (dependency.equals(item.getId()) || !seen.contains(dependency)) {
+                    throw new IllegalArgumentException("Request " + item.getId()
+                            + " can only depend on earlier requests, not " + dependency);
+                }
+            }
+        }
+    }
+
+    private static List<String> dependencies(BatchRequestItem item) {
+        return item.getDependsOn() != null ? item.getDependsOn() : List.of();
+    }
+
+    private String substitute(String text, Map<String, BatchResponseItem> resolved) {
+        Matcher matcher = REFERENCE.matcher(text);
+        StringBuilder out = new StringBuilder();
+        while (matcher.find()) {
+            matcher.appendReplacement(out, Matcher.quoteReplacement(lookup(matcher, resolved).asText()));
+        }
+        matcher.appendTail(out);
+        return out.toString();
+    }
+
+    // A string that is exactly one reference takes the referenced value with its JSON type
+    private JsonNode substitute(JsonNode node, Map<String, BatchResponseItem> resolved) {
+        if (node.isTextual()) {
+            Matcher matcher = REFERENCE.matcher(node.textValue());
+            if (matcher.matches()) {
+                return lookup(matcher, resolved);
+            }
+            return node.textValue().contains("{{") ? TextNode.valueOf(substitute(node.textValue(), resolved)) : node;
+        }
+        if (node.isObject()) {
+            ObjectNode copy = objectMapper.createObjectNode();
+            node.properties().forEach(field -> copy.set(field.getKey(), substitute(field.getValue(), resolved)));
+            return copy;
+        }
+        if (node.isArray()) {
+            ArrayNode copy = objectMapper.createArrayNode();
+            node.forEach(element -> copy.add(substitute(element, resolved)));
+            return copy;
+        }
+        return node;
+    }
+
+    private JsonNode lookup(Matcher reference, Map<String, BatchResponseItem> resolved) {
+        String id = reference.group(1);
+        BatchResponseItem result = resolved.get(id);
+        if (result == null) {
+            throw new IllegalArgumentException("Reference to " + id + ", which is not listed in dependsOn");
+        }
+        JsonNode value = objectMapper.valueToTree(result.getBody());
+        for (String field : reference.group(2).split("\\.")) {
+            if (field.isEmpty()) {
+                continue;
+            }
+            value = value.isArray() && field.chars().allMatch(Character::isDigit)
+                    ? value.path(Integer.parseInt(field))
+                    : value.path(field);
+        }
+        if (value.isMissingNode() || value.isNull()) {
+            throw new IllegalArgumentException("Reference " + reference.group() + " did not resolve to a value");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,72 @@
+package com.backend.service;
+
+import com.backend.event.CoachDataChangedEvent;
+import com.backend.repository.CoachRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-coach team, performer and lesson counts for the profile.
+ *
+ * Counts are loaded with one indexed aggregate query and then served from memory until a team,
+ * performer or lesson write for that coach commits. A per-coach generation guards against caching a
+ * count that was read before a concurrent write committed.
+ */
+@Service
+public class CoachCountersService {
+
+    private static final Set<CoachDataChangedEvent.Kind> COUNTED_KINDS = EnumSet.of(
+            CoachDataChangedEvent.Kind.TEAM,
+            CoachDataChangedEvent.Kind.PERFORMER,
+            CoachDataChangedEvent.Kind.LESSON);
+
+    public record Counts(long teams, long performers, long lessons) {
+    }
+
+    private final CoachRepository coachRepository;
+    private final ConcurrentHashMap<Long, Counts> counts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public CoachCountersService(CoachRepository coachRepository) {
+        this.coachRepository = coachRepository;
+    }
+
+    public Counts countsFor(Long coachId) {
+        Counts cached = counts.get(coachId);
+        if (cached != null) {
+            return cached;
+        }
+
+        AtomicLong generation = generations.computeIfAbsent(coachId, id -> new AtomicLong());
+        long seen = generation.get();
+        List<Object[]> rows = coachRepository.countOwnedRowsByCoachId(coachId);
+        if (rows.isEmpty()) {
+            return new Counts(0, 0, 0);
+        }
+        Object[] row = rows.get(0);
+        Counts loaded = new Counts(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                ((Number) row[2]).longValue());
+
+        counts.put(coachId, loaded);
+        // A write committed while we were counting: drop what we just cached
+        if (generation.get() != seen) {
+            counts.remove(coachId, loaded);
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCoachDataChanged(CoachDataChangedEvent event) {
+        if (event.coachId() == null || !COUNTED_KINDS.contains(event.kind())) {
+            return;
+        }
+        generations.computeIfAbsent(event.coachId(), id -> new AtomicLong()).incrementAndGet();
+        counts.remove(event.coachId());
+    }
+}
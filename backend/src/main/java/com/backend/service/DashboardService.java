@@ -0,0 +1,175 @@
+package com.backend.service;
+
+import com.backend.dto.DashboardResponse;
+import com.backend.dto.LessonResponse;
+import com.backend.dto.TeamResponse;
+import com.backend.model.Coach;
+import com.backend.service.AnalyticsSnapshotService.Snapshot;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Builds the dashboard payload by running its sections concurrently on virtual threads.
+ *
+ * The coach is resolved once on the request thread and handed to every section. Each section runs in
+ * its own read-only transaction (so lazy associations load on the section's thread) and must finish
+ * within the section timeout, measured from the start of the request. A late or failing section is
+ * reported in {@code unavailableSections} while the others are still returned; a late one is left to
+ * finish on its own rather than interrupted, since interrupting a thread mid-query would break its
+ * pooled connection.
+ *
+ * Sections that query the database share {@code app.dashboard.parallelism} slots across all requests, so
+ * dashboards (and their late sections still finishing) hold at most that many pooled connections. A
+ * section that cannot get a slot before the deadline does not run.
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    public static final int RECENT_LESSON_LIMIT = 5;
+
+    private final LessonService lessonService;
+    private final TeamService teamService;
+    private final CoachCountersService coachCountersService;
+    private final AnalyticsSnapshotService snapshotService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long sectionTimeoutMillis;
+    private final Semaphore connections;
+    private final ExecutorService sections = Executors.newVirtualThreadPerTaskExecutor();
+
+    public DashboardService(LessonService lessonService,
+                            TeamService teamService,
+                            CoachCountersService coachCountersService,
+                            AnalyticsSnapshotService snapshotService,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.dashboard.section-timeout-ms:3000}") long sectionTimeoutMillis,
+                            @Value("${app.dashboard.parallelism:3}") int parallelism) {
+        this.lessonService = lessonService;
+        this.teamService = teamService;
+        this.coachCountersService = coachCountersService;
+        this.snapshotService = snapshotService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.sectionTimeoutMillis = sectionTimeoutMillis;
+        this.connections = new Semaphore(Math.max(1, parallelism));
+    }
+
+    /**
+     * {@code timeRange} must already be validated. A cold analytics snapshot keeps computing in the
+     * background after its section times out, so the next dashboard load usually has it.
+     */
+    public DashboardResponse getDashboard(Coach coach, String timeRange) {
+        Long coachId = coach.getCoachId();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMillis);
+        Future<List<LessonResponse>> upcomingLessons =
+                submitReadOnly(deadline, () -> lessonService.getUpcomingLessonSummaries(coach));
+        Future<List<LessonResponse>> recentLessons =
+                submitReadOnly(deadline, () -> lessonService.getRecentLessonSummaries(coach, RECENT_LESSON_LIMIT));
+        Future<List<TeamResponse>> teams = submitReadOnly(deadline, () -> teamService.getTeamsByCoach(coach));
+        // These manage their own queries; the snapshot may wait on the analytics pool without a connection
+        Future<CoachCountersService.Counts> counts =
+                sections.submit(() -> withConnection(deadline, () -> coachCountersService.countsFor(coachId)));
+        Future<Snapshot> analytics = sections.submit(() -> snapshotService.getSnapshot(coachId, timeRange));
+
+        Sections results = new Sections(coachId, deadline,
+                List.of(upcomingLessons, recentLessons, teams, counts, analytics));
+        DashboardResponse response = new DashboardResponse();
+        response.setUpcomingLessons(results.await("upcomingLessons", upcomingLessons));
+        response.setRecentLessons(results.await("recentLessons", recentLessons));
+        response.setTeams(results.await("teams", teams));
+
+        CoachCountersService.Counts coachCounts = results.await("counts", counts);
+        if (coachCounts != null) {
+            response.setTeamCount(coachCounts.teams());
+            response.setPerformerCount(coachCounts.performers());
+            response.setLessonCount(coachCounts.lessons());
+        }
+
+        response.setAnalyticsTimeRange(timeRange);
+        Snapshot snapshot = results.await("analytics", analytics);
+        if (snapshot != null) {
+            response.setCoachingInsights(snapshot.data().coachingInsights());
+            response.setPerformerProgress(snapshot.data().performerProgress());
+            response.setAnalyticsComputedAt(snapshot.computedAt());
+            response.setAnalyticsStale(snapshotService.isStale(coachId, snapshot));
+        }
+
+        response.setUnavailableSections(results.unavailable);
+        return response;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sections.shutdownNow();
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    private <T> Future<T> submitReadOnly(long deadline, Supplier<T> section) {
+        return sections.submit(() -> withConnection(deadline, () -> readOnlyTransaction.execute(status -> section.get())));
+    }
+
+    // Runs the section in one of the shared slots, waiting for one until the deadline
+    private <T> T withConnection(long deadline, Supplier<T> section) throws InterruptedException {
+        if (!connections.tryAcquire(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+            throw new SlotTimeoutException();
+        }
+        try {
+            return section.get();
+        } finally {
+            connections.release();
+        }
+    }
+
+    // A section that gave up waiting for a slot; reported like a late section
+    private static final class SlotTimeoutException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * Collects section results against one shared deadline, recording the sections that missed it.
+     */
+    private static final class Sections {
+        final Long coachId;
+        final long deadlineNanos;
+        final List<Future<?>> all;
+        final Map<String, String> unavailable = new LinkedHashMap<>();
+
+        Sections(Long coachId, long deadlineNanos, List<Future<?>> all) {
+            this.coachId = coachId;
+            this.deadlineNanos = deadlineNanos;
+            this.all = all;
+        }
+
+        <T> T await(String section, Future<T> future) {
+            try {
+                return future.get(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(false);
+                unavailable.put(section, "timeout");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof SlotTimeoutException) {
+                    unavailable.put(section, "timeout");
+                    return null;
+                }
+                logger.warn("Dashboard section {} failed for coach {}", section, coachId, e.getCause());
+                unavailable.put(section, "error");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                all.forEach(pending -> pending.cancel(false));
+                throw new IllegalStateException("Interrupted while building the dashboard", e);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.backend.service;
+
+import com.backend.model.Coach;
+import com.backend.model.Team;
+import com.backend.repository.EvaluationRepository;
+import com.backend.repository.ExerciseEvaluationRepository;
+import com.backend.repository.TeamRepository;
+import com.backend.util.CsvWriter;
+import com.backend.util.ExportFormat;
+import com.backend.util.LegacyCriteria;
+import com.backend.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Streams a team's evaluation history (legacy evaluations, then scene evaluations) as CSV or NDJSON.
+ *
+ * Rows come from forward-only projection streams and are written as they arrive, so memory stays
+ * constant regardless of history length. Scene rows arrive one per score and performer; only the
+ * evaluation currently being assembled is held in memory.
+ */
+@Service
+@RequiredArgsConstructor
+public class EvaluationExportService {
+
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59);
+    private static final int FLUSH_EVERY = 500;
+
+    private static final String[] CSV_HEADER = {
+        "source", "evaluation_id", "date", "team_id", "team_name", "lesson_id", "practice_session_id",
+        "exercise", "performers", "criterion", "score", "notes"
+    };
+
+    private final EvaluationRepository evaluationRepository;
+    private final ExerciseEvaluationRepository exerciseEvaluationRepository;
+    private final TeamRepository teamRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public Team getExportableTeam(Long teamId, Coach coach) {
+        Team team = teamRepository.findById(teamId)
+                .orElseThrow(() -> new IllegalArgumentException("Team not found"));
+        if (!team.getCoach().getCoachId().equals(coach.getCoachId())) {
+            throw new IllegalArgumentException("Not authorized to export evaluations for this team");
+        }
+        return team;
+    }
+
+    /**
+     * Writes the export to {@code out}. Runs in its own read-only transaction, which is what keeps the
+     * repository streams open; call it from the response-writing thread, not the request thread.
+     */
+    @Transactional(readOnly = true)
+    public void export(Long teamId, String teamName, LocalDateTime startDate, LocalDateTime endDate,
+                       ExportFormat format, OutputStream out) throws IOException {
+        LocalDateTime start = startDate != null ? startDate : EARLIEST;
+        LocalDateTime end = endDate != null ? endDate : LATEST;
+
+        RowSink sink = format == ExportFormat.CSV
+                ? new CsvSink(out, teamId, teamName)
+                : new NdjsonSink(out, teamId, teamName);
+
+        int written = 0;
+        try (Stream<Object[]> rows = evaluationRepository.streamExportRowsByTeam(teamId, start, end)) {
+            for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+                sink.legacy(it.next());
+                if (++written % FLUSH_EVERY == 0) {
+                    sink.flush();
+                }
+            }
+        }
+
+        try (Stream<Object[]> rows = exerciseEvaluationRepository.streamExportRowsByTeam(teamId, start, end)) {
+            SceneEvaluation current = null;
+            for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+                Object[] row = it.next();
+                Long evaluationId = (Long) row[0];
+                if (current == null || !current.id.equals(evaluationId)) {
+                    if (current != null) {
+                        sink.scene(current);
+                        if (++written % FLUSH_EVERY == 0) {
+                            sink.flush();
+                        }
+                    }
+                    current = new SceneEvaluation(evaluationId, (LocalDateTime) row[1], (Long) row[2],
+                            (Long) row[3], (String) row[4], (String) row[5]);
+                }
+                current.scores.put((String) row[6], ((Number) row[7]).intValue());
+                if (row[8] != null) {
+                    current.performers.add(row[8] + " " + row[9]);
+                }
+            }
+            if (current != null) {
+                sink.scene(current);
+            }
+        }
+        sink.finish();
+    }
+
+    // ===== SINKS =====
+
+    private static final class SceneEvaluation {
+        final Long id;
+        final LocalDateTime evaluatedAt;
+        final Long practiceSessionId;
+        final Long lessonId;
+        final String exercise;
+        final String notes;
+        final Map<String, Integer> scores = new LinkedHashMap<>();
+        final Set<String> performers = new LinkedHashSet<>();
+
+        SceneEvaluation(Long id, LocalDateTime evaluatedAt, Long practiceSessionId, Long lessonId,
+                        String exercise, String notes) {
+            this.id = id;
+            this.evaluatedAt = evaluatedAt;
+            this.practiceSessionId = practiceSessionId;
+            this.lessonId = lessonId;
+            this.exercise = exercise;
+            this.notes = notes;
+        }
+    }
+
+    private interface RowSink {
+        // Row shape of EvaluationRepository.streamExportRowsByTeam
+        void legacy(Object[] row) throws IOException;
+
+        void scene(SceneEvaluation evaluation) throws IOException;
+
+        void flush() throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * One CSV row per criterion score, so both sources share a header.
+     */
+    private static final class CsvSink implements RowSink {
+        private final Writer writer;
+        private final CsvWriter csv;
+        private final Long teamId;
+        private final String teamName;
+
+        CsvSink(OutputStream out, Long teamId, String teamName) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.csv = new CsvWriter(writer);
+            this.teamId = teamId;
+            this.teamName = teamName;
+            csv.writeRow((Object[]) CSV_HEADER);
+        }
+
+        @Override
+        public void legacy(Object[] row) throws IOException {
+            for (int i = 0; i < LegacyCriteria.COUNT; i++) {
+                Object score = row[3 + i];
+                if (score != null) {
+                    csv.writeRow("legacy", row[0], row[1], teamId, teamName, null, null, null,
+                            row[2], LegacyCriteria.NAMES.get(i), score, row[11]);
+                }
+            }
+        }
+
+        @Override
+        public void scene(SceneEvaluation evaluation) throws IOException {
+            String performers = String.join("; ", evaluation.performers);
+            for (Map.Entry<String, Integer> score : evaluation.scores.entrySet()) {
+                csv.writeRow("scene", evaluation.id, evaluation.evaluatedAt, teamId, teamName, evaluation.lessonId,
+                        evaluation.practiceSessionId, evaluation.exercise, performers, score.getKey(),
+                        score.getValue(), evaluation.notes);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            csv.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    /**
+     * One JSON object per evaluation, newline-delimited.
+     */
+    private final class NdjsonSink implements RowSink {
+        private final NdjsonWriter writer;
+        private final Long teamId;
+        private final String teamName;
+
+        NdjsonSink(OutputStream out, Long teamId, String teamName) throws IOException {
+            this.writer = new NdjsonWriter(objectMapper, out);
+            this.teamId = teamId;
+            this.teamName = teamName;
+        }
+
+        @Override
+        public void legacy(Object[] row) throws IOException {
+            Map<String, Integer> scores = new LinkedHashMap<>();
+            for (int i = 0; i < LegacyCriteria.COUNT; i++) {
+                if (row[3 + i] != null) {
+                    scores.put(LegacyCriteria.NAMES.get(i), (Integer) row[3 + i]);
+                }
+            }
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("source", "legacy");
+            record.put("evaluationId", row[0]);
+            record.put("date", row[1]);
+            record.put("teamId", teamId);
+            record.put("teamName", teamName);
+            record.put("performerNames", row[2]);
+            record.put("scores", scores);
+            record.put("notes", row[11]);
+            writer.write(record);
+        }
+
+        @Override
+        public void scene(SceneEvaluation evaluation) throws IOException {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("source", "scene");
+            record.put("evaluationId", evaluation.id);
+            record.put("date", evaluation.evaluatedAt);
+            record.put("teamId", teamId);
+            record.put("teamName", teamName);
+            record.put("lessonId", evaluation.lessonId);
+            record.put("practiceSessionId", evaluation.practiceSessionId);
+            record.put("exercise", evaluation.exercise);
+            record.put("performers", evaluation.performers);
+            record.put("scores", evaluation.scores);
+            record.put("notes", evaluation.notes);
+            writer.write(record);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.close();
+        }
+    }
+}
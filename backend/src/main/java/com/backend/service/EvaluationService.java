@@ -4,16 +4,22 @@ package com.backend.service;
 import com.backend.dto.EvaluationRequest;
 import com.backend.dto.EvaluationResponse;
 import com.backend.dto.EvaluationUpdateRequest;
+import com.backend.event.CoachDataChangedEvent;
 import com.backend.model.Coach;
 import com.backend.model.Evaluation;
 import com.backend.model.Team;
 import com.backend.repository.EvaluationRepository;
 import com.backend.repository.TeamRepository;
+import com.backend.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -23,6 +29,8 @@ import java.util.stream.Collectors;
 public class EvaluationService {
     private final EvaluationRepository evaluationRepository;
     private final TeamRepository teamRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
 
     @Transactional
     public EvaluationResponse createEvaluation(EvaluationRequest request, Coach coach) {
@@ -49,6 +57,7 @@ public class EvaluationService {
         evaluation.setNotes(request.getNotes());
         
         Evaluation savedEvaluation = evaluationRepository.save(evaluation);
+        publishChange(coach, savedEvaluation.getId());
         return mapToResponse(savedEvaluation);
     }
     
@@ -77,6 +86,31 @@ public class EvaluationService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * NDJSON variant of getAllEvaluationsByCoach, written row by row from a projection stream. Call it
+     * from the response-writing thread; the transaction keeps the stream open.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllEvaluationsByCoach(Long coachId, OutputStream out) throws IOException {
+        NdjsonWriter.writeAll(objectMapper, out, evaluationRepository.streamResponseRowsByCoachId(coachId),
+                row -> EvaluationResponse.builder()
+                        .id((Long) row[0])
+                        .teamId((Long) row[1])
+                        .performanceDate((LocalDateTime) row[2])
+                        .teamName((String) row[3])
+                        .performerNames((String) row[4])
+                        .yesAnd((Integer) row[5])
+                        .agreement((Integer) row[6])
+                        .whoWhatWhere((Integer) row[7])
+                        .physicality((Integer) row[8])
+                        .listening((Integer) row[9])
+                        .commitment((Integer) row[10])
+                        .avoidanceOfDenial((Integer) row[11])
+                        .efficiency((Integer) row[12])
+                        .notes((String) row[13])
+                        .build());
+    }
+    
     @Transactional(readOnly = true)
     public EvaluationResponse getEvaluationById(Long evaluationId, Coach coach) {
         Evaluation evaluation = evaluationRepository.findById(evaluationId)
@@ -163,6 +197,7 @@ public class EvaluationService {
         
         // Save the updated evaluation
         Evaluation savedEvaluation = evaluationRepository.save(evaluation);
+        publishChange(coach, savedEvaluation.getId());
         
         // Return the updated evaluation as response
         return mapToResponse(savedEvaluation);
@@ -181,6 +216,12 @@ public class EvaluationService {
         
         // Delete the evaluation
         evaluationRepository.delete(evaluation);
+        publishChange(coach, evaluationId);
+    }
+
+    private void publishChange(Coach coach, Long evaluationId) {
+        eventPublisher.publishEvent(new CoachDataChangedEvent(
+                coach.getCoachId(), CoachDataChangedEvent.Kind.EVALUATION, evaluationId));
     }
 
 
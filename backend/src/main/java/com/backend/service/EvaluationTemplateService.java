@@ -4,9 +4,12 @@ import com.backend.model.EvaluationTemplate;
 import com.backend.model.LessonExercise;
 import com.backend.repository.EvaluationTemplateRepository;
 import com.backend.repository.LessonExerciseRepository;
+import com.backend.util.ResourceVersion;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import jakarta.persistence.EntityNotFoundException;
+import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -15,6 +18,27 @@ public class EvaluationTemplateService {
     private final LessonExerciseRepository lessonExerciseRepository;
     private final EvaluationTemplateRepository evaluationTemplateRepository;
 
+    /**
+     * Version of the template {@link #resolveTemplateForExercise} would return, read without loading it.
+     * Empty when the lesson exercise or a template cannot be found.
+     */
+    public Optional<ResourceVersion> getResolvedTemplateVersion(Long lessonExerciseId) {
+        List<Long> resolved = evaluationTemplateRepository.findResolvedTemplateIdsByLessonExerciseId(lessonExerciseId);
+        if (resolved.isEmpty()) {
+            return Optional.empty();
+        }
+        Long templateId = resolved.get(0);
+        if (templateId == null) {
+            List<Long> defaults = evaluationTemplateRepository.findDefaultTemplateIds();
+            if (defaults.isEmpty()) {
+                return Optional.empty();
+            }
+            templateId = defaults.get(0);
+        }
+        return Optional.ofNullable(ResourceVersion.ofRow("evaluation-template",
+                evaluationTemplateRepository.findVersionRowsById(templateId)));
+    }
+
     public EvaluationTemplate resolveTemplateForExercise(Long lessonExerciseId) {
         LessonExercise lessonExercise = lessonExerciseRepository.findById(lessonExerciseId)
             .orElseThrow(() -> new EntityNotFoundException("LessonExercise not found"));
@@ -0,0 +1,397 @@
+package com.backend.service;
+
+import com.backend.dto.ExerciseEffectivenessResponse;
+import com.backend.dto.ExercisePairingResponse;
+import com.backend.event.CoachDataChangedEvent;
+import com.backend.repository.ExerciseEvaluationRepository;
+import com.backend.repository.ExerciseRepository;
+import com.backend.repository.LessonExerciseRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Per-coach exercise co-occurrence and effectiveness.
+ *
+ * A coach's model is built in full on first use and then kept current from {@link CoachDataChangedEvent}s:
+ * a lesson change re-reads only that lesson's exercises and adjusts the sparse co-occurrence counts, and a
+ * scene evaluation is spliced into each performer's per-criterion score series, touching only the
+ * neighbouring pairs.
+ *
+ * Effectiveness of an exercise is the average change in a performer's score on a criterion from the
+ * evaluation taken during that exercise to the performer's next evaluation on the same criterion,
+ * restricted to criteria matching the exercise's linked focus areas.
+ */
+@Service
+public class ExerciseInsightsService {
+
+    private static final int DEFAULT_MIN_SAMPLES = 3;
+
+    private final LessonExerciseRepository lessonExerciseRepository;
+    private final ExerciseEvaluationRepository exerciseEvaluationRepository;
+    private final ExerciseRepository exerciseRepository;
+
+    private final ConcurrentHashMap<Long, CoachModel> models = new ConcurrentHashMap<>();
+
+    public ExerciseInsightsService(LessonExerciseRepository lessonExerciseRepository,
+                                   ExerciseEvaluationRepository exerciseEvaluationRepository,
+                                   ExerciseRepository exerciseRepository) {
+        this.lessonExerciseRepository = lessonExerciseRepository;
+        this.exerciseEvaluationRepository = exerciseEvaluationRepository;
+        this.exerciseRepository = exerciseRepository;
+    }
+
+    // ===== QUERIES =====
+
+    @Transactional(readOnly = true)
+    public List<ExercisePairingResponse> getPairings(Long coachId, Long exerciseId, int limit) {
+        CoachModel model = modelFor(coachId);
+        List<long[]> rows = new ArrayList<>();
+        int lessonsWithExercise;
+        int totalLessons;
+        Map<Long, Integer> lessonCounts;
+        synchronized (model) {
+            Map<Long, Integer> partners = model.pairs.getOrDefault(exerciseId, Map.of());
+            partners.forEach((partnerId, together) -> rows.add(new long[] {partnerId, together}));
+            lessonsWithExercise = model.lessonCounts.getOrDefault(exerciseId, 0);
+            totalLessons = model.lessonExercises.size();
+            lessonCounts = new HashMap<>(model.lessonCounts);
+        }
+
+        rows.sort(Comparator.comparingLong((long[] row) -> row[1]).reversed().thenComparingLong(row -> row[0]));
+        List<long[]> top = rows.subList(0, Math.max(0, Math.min(limit, rows.size())));
+        Map<Long, String> names = exerciseNames(top.stream().map(row -> row[0]).collect(Collectors.toSet()));
+
+        return top.stream()
+                .map(row -> {
+                    long together = row[1];
+                    int partnerLessons = lessonCounts.getOrDefault(row[0], 0);
+                    double union = lessonsWithExercise + partnerLessons - together;
+                    double expected = (double) lessonsWithExercise * partnerLessons / Math.max(1, totalLessons);
+                    return new ExercisePairingResponse(
+                            row[0],
+                            names.get(row[0]),
+                            (int) together,
+                            round(union > 0 ? together / union : 0.0),
+                            round(expected > 0 ? together / expected : 0.0));
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public ExerciseEffectivenessResponse getEffectiveness(Long coachId, Long exerciseId) {
+        CoachModel model = modelFor(coachId);
+        Map<String, double[]> deltas;
+        synchronized (model) {
+            deltas = copyDeltas(model.deltas.get(exerciseId));
+        }
+        Map<Long, Set<String>> linked = linkedFocusAreas(Set.of(exerciseId));
+        return toEffectiveness(exerciseId, exerciseNames(Set.of(exerciseId)).get(exerciseId),
+                deltas, linked.getOrDefault(exerciseId, Set.of()));
+    }
+
+    /**
+     * Exercises ranked by effectiveness; exercises with fewer than {@code minSamples} evaluation pairs
+     * on linked focus areas are left out.
+     */
+    @Transactional(readOnly = true)
+    public List<ExerciseEffectivenessResponse> getMostEffective(Long coachId, int limit, Integer minSamples) {
+        int threshold = minSamples != null ? minSamples : DEFAULT_MIN_SAMPLES;
+        CoachModel model = modelFor(coachId);
+        Map<Long, Map<String, double[]>> deltas = new HashMap<>();
+        synchronized (model) {
+            model.deltas.forEach((exerciseId, byCriterion) -> deltas.put(exerciseId, copyDeltas(byCriterion)));
+        }
+        if (deltas.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Set<String>> linked = linkedFocusAreas(deltas.keySet());
+        Map<Long, String> names = exerciseNames(deltas.keySet());
+        return deltas.entrySet().stream()
+                .map(entry -> toEffectiveness(entry.getKey(), names.get(entry.getKey()), entry.getValue(),
+                        linked.getOrDefault(entry.getKey(), Set.of())))
+                .filter(response -> response.getSampleCount() >= threshold)
+                .sorted(Comparator.comparing(ExerciseEffectivenessResponse::getEffectivenessScore).reversed())
+                .limit(Math.max(0, limit))
+                .collect(Collectors.toList());
+    }
+
+    // ===== INCREMENTAL UPDATES =====
+
+    // Runs after the writing transaction commits, so the re-read sees the committed state
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCoachDataChanged(CoachDataChangedEvent event) {
+        if (event.coachId() == null) {
+            return;
+        }
+        if (event.entityId() == null) {
+            // A bulk change (import, offline sync) without ids: rebuild the coach's model on next use
+            if (event.kind() == CoachDataChangedEvent.Kind.LESSON
+                    || event.kind() == CoachDataChangedEvent.Kind.SCENE_EVALUATION) {
+                models.remove(event.coachId());
+            }
+            return;
+        }
+        CoachModel model = models.get(event.coachId());
+        if (model == null) {
+            return; // Not built yet; the full build will include this change
+        }
+
+        switch (event.kind()) {
+            case LESSON -> refreshLesson(model, event.entityId());
+            case SCENE_EVALUATION -> refreshEvaluation(model, event.entityId());
+            default -> {
+            }
+        }
+    }
+
+    private void refreshLesson(CoachModel model, Long lessonId) {
+        List<Long> exerciseIds = lessonExerciseRepository.findExerciseIdsByScheduledLessonId(lessonId);
+        // Removing exercises (or the lesson) cascades to their scene evaluations
+        Set<Long> remainingEvaluations = new HashSet<>(exerciseEvaluationRepository.findIdsByLessonId(lessonId));
+        synchronized (model) {
+            if (!model.loaded) {
+                return;
+            }
+            model.setLessonExercises(lessonId, exerciseIds);
+            List<Long> removed = model.evaluationLessons.entrySet().stream()
+                    .filter(entry -> entry.getValue().equals(lessonId) && !remainingEvaluations.contains(entry.getKey()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            removed.forEach(model::removeEvaluation);
+        }
+    }
+
+    private void refreshEvaluation(CoachModel model, Long evaluationId) {
+        List<Object[]> rows = exerciseEvaluationRepository.findPerformerScoreRowsByEvaluationId(evaluationId);
+        synchronized (model) {
+            if (!model.loaded) {
+                return;
+            }
+            model.removeEvaluation(evaluationId);
+            rows.forEach(model::addScoreRow);
+        }
+    }
+
+    // ===== MODEL =====
+
+    private CoachModel modelFor(Long coachId) {
+        CoachModel model = models.computeIfAbsent(coachId, id -> new CoachModel());
+        synchronized (model) {
+            if (!model.loaded) {
+                Map<Long, List<Long>> lessons = new HashMap<>();
+                for (Object[] row : lessonExerciseRepository.findLessonExercisePairsByCoachId(coachId)) {
+                    lessons.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+                }
+                lessons.forEach(model::setLessonExercises);
+                exerciseEvaluationRepository.findPerformerScoreRowsByCoachId(coachId).forEach(model::addScoreRow);
+                model.loaded = true;
+            }
+        }
+        return model;
+    }
+
+    private record SeriesKey(Long performerId, String criterion) {
+    }
+
+    private record ScorePoint(LocalDateTime at, Long evaluationId, Long exerciseId, int score) {
+    }
+
+    private static final Comparator<ScorePoint> CHRONOLOGICAL = Comparator
+            .comparing(ScorePoint::at)
+            .thenComparing(ScorePoint::evaluationId);
+
+    /**
+     * One coach's co-occurrence counts and score series. Guarded by its own monitor.
+     */
+    private static final class CoachModel {
+        boolean loaded;
+
+        // Distinct exercises per scheduled lesson, and the symmetric sparse matrix derived from them
+        final Map<Long, Set<Long>> lessonExercises = new HashMap<>();
+        final Map<Long, Map<Long, Integer>> pairs = new HashMap<>();
+        final Map<Long, Integer> lessonCounts = new HashMap<>();
+
+        // Score series per performer and criterion, plus the keys each evaluation contributed to
+        final Map<SeriesKey, TreeSet<ScorePoint>> series = new HashMap<>();
+        final Map<Long, List<SeriesKey>> evaluationKeys = new HashMap<>();
+        final Map<Long, Long> evaluationLessons = new HashMap<>();
+
+        // exercise -> criterion -> {sum of deltas, number of deltas}
+        final Map<Long, Map<String, double[]>> deltas = new HashMap<>();
+
+        void setLessonExercises(Long lessonId, Collection<Long> exerciseIds) {
+            Set<Long> previous = lessonExercises.remove(lessonId);
+            if (previous != null) {
+                countLesson(previous, -1);
+            }
+            Set<Long> current = new HashSet<>(exerciseIds);
+            if (!current.isEmpty()) {
+                lessonExercises.put(lessonId, current);
+                countLesson(current, 1);
+            }
+        }
+
+        private void countLesson(Set<Long> exerciseIds, int direction) {
+            for (Long exerciseId : exerciseIds) {
+                adjust(lessonCounts, exerciseId, direction);
+                for (Long partnerId : exerciseIds) {
+                    if (!partnerId.equals(exerciseId)) {
+                        Map<Long, Integer> partners = pairs.computeIfAbsent(exerciseId, id -> new HashMap<>());
+                        adjust(partners, partnerId, direction);
+                        if (partners.isEmpty()) {
+                            pairs.remove(exerciseId);
+                        }
+                    }
+                }
+            }
+        }
+
+        // Row shape of ExerciseEvaluationRepository.findPerformerScoreRows*
+        void addScoreRow(Object[] row) {
+            Long evaluationId = (Long) row[0];
+            LocalDateTime at = row[4] != null ? (LocalDateTime) row[4] : LocalDateTime.MIN;
+            SeriesKey key = new SeriesKey((Long) row[3], normalize((String) row[5]));
+            ScorePoint point = new ScorePoint(at, evaluationId, (Long) row[2], ((Number) row[6]).intValue());
+
+            TreeSet<ScorePoint> points = series.computeIfAbsent(key, k -> new TreeSet<>(CHRONOLOGICAL));
+            // A second row for the same performer and criterion in one evaluation is not a new point
+            if (!points.add(point)) {
+                return;
+            }
+            ScorePoint before = points.lower(point);
+            ScorePoint after = points.higher(point);
+            if (before != null && after != null) {
+                contribute(before, after, key.criterion(), -1);
+            }
+            if (before != null) {
+                contribute(before, point, key.criterion(), 1);
+            }
+            if (after != null) {
+                contribute(point, after, key.criterion(), 1);
+            }
+
+            evaluationKeys.computeIfAbsent(evaluationId, id -> new ArrayList<>()).add(key);
+            evaluationLessons.put(evaluationId, (Long) row[1]);
+        }
+
+        void removeEvaluation(Long evaluationId) {
+            List<SeriesKey> keys = evaluationKeys.remove(evaluationId);
+            evaluationLessons.remove(evaluationId);
+            if (keys == null) {
+                return;
+            }
+            for (SeriesKey key : keys) {
+                TreeSet<ScorePoint> points = series.get(key);
+                ScorePoint point = points.stream()
+                        .filter(p -> p.evaluationId().equals(evaluationId))
+                        .findFirst()
+                        .orElse(null);
+                if (point == null) {
+                    continue;
+                }
+                ScorePoint before = points.lower(point);
+                ScorePoint after = points.higher(point);
+                if (before != null) {
+                    contribute(before, point, key.criterion(), -1);
+                }
+                if (after != null) {
+                    contribute(point, after, key.criterion(), -1);
+                }
+                if (before != null && after != null) {
+                    contribute(before, after, key.criterion(), 1);
+                }
+                points.remove(point);
+                if (points.isEmpty()) {
+                    series.remove(key);
+                }
+            }
+        }
+
+        // The change from one evaluation to the next is credited to the exercise of the earlier one
+        private void contribute(ScorePoint from, ScorePoint to, String criterion, int direction) {
+            Map<String, double[]> byCriterion = deltas.computeIfAbsent(from.exerciseId(), id -> new HashMap<>());
+            double[] accumulator = byCriterion.computeIfAbsent(criterion, c -> new double[2]);
+            accumulator[0] += direction * (to.score() - from.score());
+            accumulator[1] += direction;
+            if (accumulator[1] <= 0) {
+                byCriterion.remove(criterion);
+                if (byCriterion.isEmpty()) {
+                    deltas.remove(from.exerciseId());
+                }
+            }
+        }
+
+        private static void adjust(Map<Long, Integer> counts, Long key, int direction) {
+            int updated = counts.getOrDefault(key, 0) + direction;
+            if (updated > 0) {
+                counts.put(key, updated);
+            } else {
+                counts.remove(key);
+            }
+        }
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    private ExerciseEffectivenessResponse toEffectiveness(Long exerciseId, String name,
+            Map<String, double[]> deltas, Set<String> linkedFocusAreas) {
+        Map<String, Double> focusAreaDeltas = new TreeMap<>();
+        double sum = 0;
+        int samples = 0;
+        for (String focusArea : linkedFocusAreas) {
+            double[] accumulator = deltas.get(normalize(focusArea));
+            if (accumulator != null && accumulator[1] > 0) {
+                focusAreaDeltas.put(focusArea, round(accumulator[0] / accumulator[1]));
+                sum += accumulator[0];
+                samples += (int) accumulator[1];
+            }
+        }
+        return new ExerciseEffectivenessResponse(exerciseId, name,
+                round(samples > 0 ? sum / samples : 0.0), samples, focusAreaDeltas);
+    }
+
+    private Map<Long, String> exerciseNames(Set<Long> exerciseIds) {
+        Map<Long, String> names = new HashMap<>();
+        if (!exerciseIds.isEmpty()) {
+            for (Object[] row : exerciseRepository.findNamesByIdIn(exerciseIds)) {
+                names.put((Long) row[0], (String) row[1]);
+            }
+        }
+        return names;
+    }
+
+    // Read at query time so focus area changes on an exercise apply immediately
+    private Map<Long, Set<String>> linkedFocusAreas(Set<Long> exerciseIds) {
+        Map<Long, Set<String>> linked = new HashMap<>();
+        for (Object[] row : exerciseRepository.findFocusAreaNamesByIdIn(exerciseIds)) {
+            linked.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+        }
+        return linked;
+    }
+
+    private static Map<String, double[]> copyDeltas(Map<String, double[]> deltas) {
+        Map<String, double[]> copy = new HashMap<>();
+        if (deltas != null) {
+            deltas.forEach((criterion, accumulator) -> copy.put(criterion, accumulator.clone()));
+        }
+        return copy;
+    }
+
+    // Criterion names are free text; focus areas match them case-insensitively
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
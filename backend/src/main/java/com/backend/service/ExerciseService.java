@@ -1,8 +1,11 @@
 package com.backend.service;
 
+import com.backend.event.CoachDataChangedEvent;
 import com.backend.model.*;
 import com.backend.repository.*;
+import com.backend.util.ResourceVersion;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -26,6 +29,9 @@ public class ExerciseService {
     @Autowired
     private EvaluationTemplateRepository evaluationTemplateRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Create a new exercise
      */
@@ -53,6 +59,7 @@ public class ExerciseService {
             evaluationTemplateRepository.save(template);
         }
         
+        publishChange(coach, savedExercise.getId());
         return savedExercise;
     }
 
@@ -84,7 +91,9 @@ public class ExerciseService {
             existingExercise.setFocusAreas(validatedFocusAreas);
         }
         
-        return exerciseRepository.save(existingExercise);
+        Exercise savedExercise = exerciseRepository.save(existingExercise);
+        publishChange(coach, exerciseId);
+        return savedExercise;
     }
 
     /**
@@ -113,6 +122,24 @@ public class ExerciseService {
         return Optional.empty();
     }
 
+    /**
+     * Version of an exercise the coach can access, or null when it is missing or not accessible
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getExerciseVersion(Long exerciseId, Coach coach) {
+        return ResourceVersion.ofRow("exercise-" + exerciseId,
+                exerciseRepository.findVersionRowsByIdForCoach(exerciseId, coach.getCoachId()));
+    }
+
+    /**
+     * Version of the coach's accessible catalog
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getAccessibleExercisesVersion(Coach coach) {
+        return ResourceVersion.ofRow("exercises-accessible",
+                exerciseRepository.findAccessibleVersionRows(coach.getCoachId()));
+    }
+
     /**
      * Search exercises with filters
      */
@@ -195,6 +222,7 @@ public class ExerciseService {
         }
         
         exerciseRepository.delete(exercise);
+        publishChange(coach, exerciseId);
     }
 
     /**
@@ -218,7 +246,9 @@ public class ExerciseService {
         duplicate.setPublic(false); // Duplicates are private by default
         duplicate.setFocusAreas(originalExercise.getFocusAreas());
         
-        return exerciseRepository.save(duplicate);
+        Exercise savedDuplicate = exerciseRepository.save(duplicate);
+        publishChange(coach, savedDuplicate.getId());
+        return savedDuplicate;
     }
 
     /**
@@ -258,6 +288,11 @@ public class ExerciseService {
 
     // ===== PRIVATE HELPER METHODS =====
 
+    private void publishChange(Coach coach, Long exerciseId) {
+        eventPublisher.publishEvent(new CoachDataChangedEvent(
+                coach.getCoachId(), CoachDataChangedEvent.Kind.EXERCISE, exerciseId));
+    }
+
     private Set<FocusArea> validateFocusAreas(Set<FocusArea> focusAreas) {
         Set<FocusArea> validatedAreas = new HashSet<>();
         
@@ -0,0 +1,192 @@
+package com.backend.service;
+
+import com.backend.dto.DurationEstimateResponse;
+import com.backend.model.Exercise;
+import com.backend.util.RunningStats;
+import com.backend.util.TimeCalculator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Actual versus planned exercise run times.
+ *
+ * {@link LiveSessionStore} hands over one {@link ExerciseTiming} per exercise run when the next exercise
+ * starts or the session ends, and writes it with the session's other pending changes. Each written timing
+ * is also added to a table of running statistics per exercise and team size band, so a calibrated
+ * estimate is a map lookup and an array index, never a query over past sessions. The table is built from
+ * {@code exercise_timings} once, on first use.
+ *
+ * Runs shorter than {@code min-seconds} (clicked through) or longer than {@code max-seconds} (left running)
+ * are stored but not counted.
+ */
+@Service
+public class ExerciseTimingService {
+
+    private static final String INSERT_SQL = "INSERT INTO exercise_timings (practice_session_id, " +
+            "lesson_exercise_id, exercise_id, planned_minutes, attendee_count, started_at, ended_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    public record ExerciseTiming(Long sessionId, Long lessonExerciseId, Long exerciseId, Integer plannedMinutes,
+                                 int attendeeCount, LocalDateTime startedAt, LocalDateTime endedAt) {
+
+        long seconds() {
+            return Math.max(0, Duration.between(startedAt, endedAt).toSeconds());
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TimeCalculator timeCalculator;
+    private final int minSamples;
+    private final long minSeconds;
+    private final long maxSeconds;
+
+    // Exercise id -> run time statistics in seconds, indexed by team size band; each array guards itself
+    private volatile Map<Long, RunningStats[]> calibration;
+
+    public ExerciseTimingService(
+            JdbcTemplate jdbcTemplate,
+            TimeCalculator timeCalculator,
+            @Value("${app.practice.timing.min-samples:3}") int minSamples,
+            @Value("${app.practice.timing.min-seconds:30}") long minSeconds,
+            @Value("${app.practice.timing.max-seconds:7200}") long maxSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.timeCalculator = timeCalculator;
+        this.minSamples = minSamples;
+        this.minSeconds = minSeconds;
+        this.maxSeconds = maxSeconds;
+    }
+
+    // ===== ESTIMATES =====
+
+    /**
+     * Planned minutes for an exercise run by a team of the given size: the measured average once there
+     * are enough runs with teams of that size, otherwise the exercise's minimum duration adjusted for team
+     * size. Null when the exercise has neither.
+     */
+    public Integer estimateMinutes(Exercise exercise, int teamSize) {
+        if (exercise == null) {
+            return null;
+        }
+        RunningStats measured = statsFor(exercise.getId(), teamSize);
+        Integer base = exercise.getMinimumDurationMinutes();
+        if (base == null && measured.getCount() < minSamples) {
+            return null;
+        }
+        return timeCalculator.estimateDurationForTeamSize(base != null ? base : 0, teamSize, measured, minSamples);
+    }
+
+    public DurationEstimateResponse getEstimate(Exercise exercise, int teamSize) {
+        RunningStats measured = statsFor(exercise.getId(), teamSize);
+        boolean calibrated = measured.getCount() >= minSamples;
+        return DurationEstimateResponse.builder()
+                .exerciseId(exercise.getId())
+                .teamSize(teamSize)
+                .minimumDurationMinutes(exercise.getMinimumDurationMinutes())
+                .estimatedMinutes(estimateMinutes(exercise, teamSize))
+                .calibrated(calibrated)
+                .sampleCount(measured.getCount())
+                .averageMinutes(measured.getCount() > 0 ? round(measured.getMean() / 60.0) : null)
+                .standardDeviationMinutes(measured.getCount() > 0
+                        ? round(measured.getStandardDeviation() / 60.0) : null)
+                .build();
+    }
+
+    // A copy, so callers can read it without holding the band's lock
+    private RunningStats statsFor(Long exerciseId, int teamSize) {
+        RunningStats[] bands = calibration().get(exerciseId);
+        if (bands == null) {
+            return new RunningStats();
+        }
+        synchronized (bands) {
+            RunningStats band = bands[TimeCalculator.teamSizeBand(teamSize)];
+            return band != null ? new RunningStats().merge(band) : new RunningStats();
+        }
+    }
+
+    // ===== RECORDING =====
+
+    /** Inserts timings as one batch; runs inside the caller's transaction. */
+    public void write(List<ExerciseTiming> timings) {
+        if (timings.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, timings, timings.size(), (statement, timing) -> {
+            statement.setLong(1, timing.sessionId());
+            statement.setObject(2, timing.lessonExerciseId());
+            statement.setLong(3, timing.exerciseId());
+            statement.setObject(4, timing.plannedMinutes());
+            statement.setInt(5, timing.attendeeCount());
+            statement.setTimestamp(6, Timestamp.valueOf(timing.startedAt()));
+            statement.setTimestamp(7, Timestamp.valueOf(timing.endedAt()));
+        });
+    }
+
+    /** Adds committed timings to the table; a table not built yet will read them from the database. */
+    public synchronized void recorded(List<ExerciseTiming> timings) {
+        Map<Long, RunningStats[]> table = calibration;
+        if (table != null) {
+            for (ExerciseTiming timing : timings) {
+                long seconds = timing.seconds();
+                if (seconds >= minSeconds && seconds <= maxSeconds) {
+                    update(table, timing.exerciseId(), timing.attendeeCount(), stats -> stats.add(seconds));
+                }
+            }
+        }
+    }
+
+    // ===== TABLE =====
+
+    private Map<Long, RunningStats[]> calibration() {
+        Map<Long, RunningStats[]> table = calibration;
+        if (table != null) {
+            return table;
+        }
+        synchronized (this) {
+            if (calibration == null) {
+                calibration = load();
+            }
+            return calibration;
+        }
+    }
+
+    // Aggregated per exact team size in SQL, then merged into bands
+    private Map<Long, RunningStats[]> load() {
+        Map<Long, RunningStats[]> table = new ConcurrentHashMap<>();
+        jdbcTemplate.query("SELECT exercise_id, attendee_count, COUNT(*), AVG(seconds), VAR_POP(seconds) " +
+                        "FROM (SELECT exercise_id, attendee_count, " +
+                        "TIMESTAMPDIFF(SECOND, started_at, ended_at) AS seconds FROM exercise_timings) runs " +
+                        "WHERE seconds BETWEEN ? AND ? GROUP BY exercise_id, attendee_count",
+                rs -> {
+                    RunningStats runs = RunningStats.of(rs.getLong(3), rs.getDouble(4), rs.getDouble(5));
+                    update(table, rs.getLong(1), rs.getInt(2), stats -> stats.merge(runs));
+                },
+                minSeconds, maxSeconds);
+        return table;
+    }
+
+    private static void update(Map<Long, RunningStats[]> table, Long exerciseId, int teamSize,
+                               Consumer<RunningStats> change) {
+        RunningStats[] bands = table.computeIfAbsent(exerciseId,
+                id -> new RunningStats[TimeCalculator.TEAM_SIZE_BANDS]);
+        synchronized (bands) {
+            int index = TimeCalculator.teamSizeBand(teamSize);
+            if (bands[index] == null) {
+                bands[index] = new RunningStats();
+            }
+            change.accept(bands[index]);
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+}
@@ -0,0 +1,65 @@
+package com.backend.service;
+
+import com.backend.event.PracticeEventBus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Single-node {@link PracticeEventBus}: messages go straight to the local listener. Sessions nobody is
+ * watching are skipped without serializing anything.
+ */
+@Service
+@ConditionalOnProperty(name = "app.practice.bus.type", havingValue = "in-process", matchIfMissing = true)
+public class InProcessPracticeEventBus implements PracticeEventBus {
+
+    private static final class Watch {
+        final Consumer<Message> listener;
+        long seq; // Guarded by the watch
+
+        Watch(Consumer<Message> listener, long seq) {
+            this.listener = listener;
+            this.seq = seq;
+        }
+    }
+
+    private final ConcurrentHashMap<Long, Watch> watches = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(Long sessionId, String eventName, Supplier<String> payload) {
+        Watch watch = watches.get(sessionId);
+        if (watch == null) {
+            return;
+        }
+        String json = payload.get();
+        synchronized (watch) {
+            watch.seq++;
+            watch.listener.accept(new Message(sessionId, watch.seq, eventName, json));
+        }
+    }
+
+    // Sequence numbers continue across listeners so a reconnecting client never sees them go back
+    @Override
+    public void watch(Long sessionId, Consumer<Message> listener) {
+        watches.compute(sessionId, (id, existing) -> new Watch(listener, existing != null ? existing.seq : 0));
+    }
+
+    @Override
+    public void unwatch(Long sessionId, Consumer<Message> listener) {
+        watches.computeIfPresent(sessionId, (id, watch) -> watch.listener == listener ? null : watch);
+    }
+
+    @Override
+    public long lastDeliveredSeq(Long sessionId) {
+        Watch watch = watches.get(sessionId);
+        if (watch == null) {
+            return 0;
+        }
+        synchronized (watch) {
+            return watch.seq;
+        }
+    }
+}
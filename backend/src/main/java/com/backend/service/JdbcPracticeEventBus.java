@@ -0,0 +1,257 @@
+package com.backend.service;
+
+import com.backend.event.PracticeEventBus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Multi-node {@link PracticeEventBus} that relays messages through the {@code practice_bus_messages}
+ * table; any node can run it against a local MySQL to try the cluster path.
+ *
+ * Publishing serializes the message on the caller, which may hold a session's monitor, and hands it to a
+ * single relay thread that inserts it with the session's next sequence number, so no database round trip
+ * happens under the caller's locks and messages keep their publish order. When the relay falls
+ * {@code relay-queue-capacity} messages behind, publishers wait for room. The primary key on
+ * (session, seq) makes concurrent publishers from different nodes retry, so numbers are consecutive and
+ * each is committed before the next can be taken. Every node polls the table for the sessions it has
+ * subscribers for and delivers new rows in order; its own messages are delivered right after the insert
+ * when nothing is pending before them. Rows older than the retention are deleted, except each session's
+ * latest.
+ */
+@Service
+@ConditionalOnProperty(name = "app.practice.bus.type", havingValue = "jdbc")
+public class JdbcPracticeEventBus implements PracticeEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcPracticeEventBus.class);
+
+    private static final int MAX_PUBLISH_ATTEMPTS = 5;
+    private static final int POLL_PAGE_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long pollIntervalMillis;
+    private final long retentionMillis;
+    private final ThreadPoolExecutor relay;
+    private final ScheduledExecutorService poller;
+    private final ConcurrentHashMap<Long, Watch> watches = new ConcurrentHashMap<>();
+
+    private static final class Watch {
+        final Consumer<Message> listener;
+        long lastSeq; // Guarded by the watch
+
+        Watch(Consumer<Message> listener, long lastSeq) {
+            this.listener = listener;
+            this.lastSeq = lastSeq;
+        }
+    }
+
+    public JdbcPracticeEventBus(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.practice.bus.poll-interval-ms:200}") long pollIntervalMillis,
+            @Value("${app.practice.bus.retention-ms:600000}") long retentionMillis,
+            @Value("${app.practice.bus.relay-queue-capacity:1000}") int relayQueueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.retentionMillis = retentionMillis;
+        this.relay = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, relayQueueCapacity)), namedThreads("practice-bus-relay"),
+                (task, executor) -> {
+                    // Waiting keeps the order; running it here would let it overtake queued messages
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("Practice bus is shut down");
+                    }
+                    try {
+                        executor.getQueue().put(task);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException("Interrupted while publishing", e);
+                    }
+                });
+        this.poller = Executors.newSingleThreadScheduledExecutor(namedThreads("practice-bus"));
+    }
+
+    @PostConstruct
+    void start() {
+        poller.scheduleWithFixedDelay(this::pollQuietly, pollIntervalMillis, pollIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::purgeQuietly, retentionMillis, retentionMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    // ===== PUBLISH =====
+
+    @Override
+    public void publish(Long sessionId, String eventName, Supplier<String> payload) {
+        String json = payload.get();
+        relay.execute(() -> {
+            try {
+                relay(sessionId, eventName, json);
+            } catch (RuntimeException e) {
+                // Subscribers miss this one message; the next event of the session carries its current state
+                logger.error("Could not publish {} for practice session {}", eventName, sessionId, e);
+            }
+        });
+    }
+
+    // Runs on the relay thread
+    private void relay(Long sessionId, String eventName, String json) {
+        long seq = insert(sessionId, eventName, json);
+
+        Watch watch = watches.get(sessionId);
+        if (watch == null) {
+            return;
+        }
+        synchronized (watch) {
+            if (watch.lastSeq == seq - 1) {
+                watch.lastSeq = seq;
+                watch.listener.accept(new Message(sessionId, seq, eventName, json));
+            } else if (watch.lastSeq < seq) {
+                poll(sessionId, watch);
+            }
+        }
+    }
+
+    private long insert(Long sessionId, String eventName, String json) {
+        for (int attempt = 1; ; attempt++) {
+            long seq = nextSeq(sessionId);
+            try {
+                jdbcTemplate.update("INSERT INTO practice_bus_messages " +
+                                "(practice_session_id, seq, event_name, payload, created_at) VALUES (?, ?, ?, ?, ?)",
+                        sessionId, seq, eventName, json, Timestamp.valueOf(LocalDateTime.now()));
+                return seq;
+            } catch (DuplicateKeyException | ConcurrencyFailureException e) {
+                // Another node took this number first
+                if (attempt == MAX_PUBLISH_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private long nextSeq(Long sessionId) {
+        Long last = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(seq), 0) FROM practice_bus_messages WHERE practice_session_id = ?",
+                Long.class, sessionId);
+        return (last != null ? last : 0) + 1;
+    }
+
+    // ===== SUBSCRIBE =====
+
+    @Override
+    public void watch(Long sessionId, Consumer<Message> listener) {
+        long current = nextSeq(sessionId) - 1;
+        watches.compute(sessionId, (id, existing) ->
+                new Watch(listener, existing != null ? Math.max(existing.lastSeq, current) : current));
+    }
+
+    @Override
+    public void unwatch(Long sessionId, Consumer<Message> listener) {
+        watches.computeIfPresent(sessionId, (id, watch) -> watch.listener == listener ? null : watch);
+    }
+
+    @Override
+    public long lastDeliveredSeq(Long sessionId) {
+        Watch watch = watches.get(sessionId);
+        if (watch == null) {
+            return 0;
+        }
+        synchronized (watch) {
+            return watch.lastSeq;
+        }
+    }
+
+    // ===== POLL =====
+
+    private record Row(long seq, String eventName, String payload) {
+    }
+
+    // Called under the watch's monitor
+    private void poll(Long sessionId, Watch watch) {
+        List<Row> rows;
+        do {
+            rows = jdbcTemplate.query("SELECT seq, event_name, payload FROM practice_bus_messages " +
+                            "WHERE practice_session_id = ? AND seq > ? ORDER BY seq LIMIT ?",
+                    (rs, rowNum) -> new Row(rs.getLong(1), rs.getString(2), rs.getString(3)),
+                    sessionId, watch.lastSeq, POLL_PAGE_SIZE);
+            for (Row row : rows) {
+                if (row.seq() != watch.lastSeq + 1) {
+                    // Purged before this node caught up; the listener sees the jump and clients resync
+                    logger.warn("Practice session {} skipped bus messages {} to {}", sessionId,
+                            watch.lastSeq + 1, row.seq() - 1);
+                }
+                watch.lastSeq = row.seq();
+                watch.listener.accept(new Message(sessionId, row.seq(), row.eventName(), row.payload()));
+            }
+        } while (rows.size() == POLL_PAGE_SIZE);
+    }
+
+    private void pollQuietly() {
+        watches.forEach((sessionId, watch) -> {
+            try {
+                synchronized (watch) {
+                    poll(sessionId, watch);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Polling bus messages for practice session {} failed; will retry", sessionId, e);
+            }
+        });
+    }
+
+    private void purgeQuietly() {
+        try {
+            // Each session's last message stays, so its sequence numbers never start over
+            jdbcTemplate.update("DELETE m FROM practice_bus_messages m JOIN (" +
+                            "SELECT practice_session_id, MAX(seq) AS last_seq FROM practice_bus_messages " +
+                            "GROUP BY practice_session_id) l ON l.practice_session_id = m.practice_session_id " +
+                            "WHERE m.created_at < ? AND m.seq < l.last_seq",
+                    Timestamp.valueOf(LocalDateTime.now().minusNanos(retentionMillis * 1_000_000)));
+        } catch (RuntimeException e) {
+            logger.warn("Purging old practice bus messages failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        relay.shutdown();
+        try {
+            if (!relay.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("Dropping {} unpublished practice bus messages", relay.getQueue().size());
+                relay.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        poller.shutdownNow();
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
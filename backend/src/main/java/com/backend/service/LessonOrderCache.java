@@ -0,0 +1,140 @@
+package com.backend.service;
+
+import com.backend.event.CoachDataChangedEvent;
+import com.backend.repository.LessonExerciseRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running order of each lesson's exercises, so practice navigation (position of an exercise, next,
+ * previous, seek) is an array read or a hash lookup rather than a query and a list scan.
+ *
+ * A lesson's order is loaded with one query on first use and dropped when the lesson is edited; a bulk
+ * change without a lesson id, or an exercise change (names are cached too), drops every lesson.
+ */
+@Service
+public class LessonOrderCache {
+
+    private final LessonExerciseRepository lessonExerciseRepository;
+
+    private final ConcurrentHashMap<Long, LessonOrder> orders = new ConcurrentHashMap<>();
+    // Bumped by every invalidation; a load that raced with one is returned but not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public LessonOrderCache(LessonExerciseRepository lessonExerciseRepository) {
+        this.lessonExerciseRepository = lessonExerciseRepository;
+    }
+
+    /** Immutable; positions are 0-based. */
+    public static final class LessonOrder {
+        private final Long[] lessonExerciseIds;
+        private final String[] names;
+        private final Long[] exerciseIds;
+        private final Integer[] plannedMinutes;
+        private final Map<Long, Integer> positions;
+
+        LessonOrder(List<Object[]> rows) {
+            int size = rows.size();
+            this.lessonExerciseIds = new Long[size];
+            this.names = new String[size];
+            this.exerciseIds = new Long[size];
+            this.plannedMinutes = new Integer[size];
+            this.positions = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                Object[] row = rows.get(i);
+                lessonExerciseIds[i] = (Long) row[0];
+                names[i] = (String) row[1];
+                exerciseIds[i] = (Long) row[2];
+                plannedMinutes[i] = (Integer) row[3];
+                positions.put(lessonExerciseIds[i], i);
+            }
+        }
+
+        public int size() {
+            return lessonExerciseIds.length;
+        }
+
+        public boolean isEmpty() {
+            return lessonExerciseIds.length == 0;
+        }
+
+        /** Position of the lesson exercise, or -1 when it is not part of the lesson. */
+        public int indexOf(Long lessonExerciseId) {
+            Integer position = lessonExerciseId != null ? positions.get(lessonExerciseId) : null;
+            return position != null ? position : -1;
+        }
+
+        public boolean contains(Long lessonExerciseId) {
+            return indexOf(lessonExerciseId) >= 0;
+        }
+
+        /** Lesson exercise at a position, or null when the position is out of range. */
+        public Long seek(int index) {
+            return index >= 0 && index < lessonExerciseIds.length ? lessonExerciseIds[index] : null;
+        }
+
+        /** The exercise after the given one; the first one when the given one is not in the lesson. */
+        public Long next(Long lessonExerciseId) {
+            int index = indexOf(lessonExerciseId);
+            return seek(index < 0 ? 0 : index + 1);
+        }
+
+        /** The exercise before the given one; null at the start or when it is not in the lesson. */
+        public Long previous(Long lessonExerciseId) {
+            int index = indexOf(lessonExerciseId);
+            return index > 0 ? lessonExerciseIds[index - 1] : null;
+        }
+
+        public String nameAt(int index) {
+            return names[index];
+        }
+
+        public Long exerciseIdAt(int index) {
+            return exerciseIds[index];
+        }
+
+        public Integer plannedMinutesAt(int index) {
+            return plannedMinutes[index];
+        }
+    }
+
+    public LessonOrder get(Long lessonId) {
+        LessonOrder cached = orders.get(lessonId);
+        if (cached != null) {
+            return cached;
+        }
+        long loadedAt = generation.get();
+        LessonOrder loaded = new LessonOrder(lessonExerciseRepository.findOrderRowsByLessonId(lessonId));
+        LessonOrder raced = orders.putIfAbsent(lessonId, loaded);
+        if (raced != null) {
+            return raced;
+        }
+        if (generation.get() != loadedAt) {
+            orders.remove(lessonId, loaded);
+        }
+        return loaded;
+    }
+
+    public void invalidate(Long lessonId) {
+        generation.incrementAndGet();
+        orders.remove(lessonId);
+    }
+
+    // Runs after the edit commits, so the next load sees it
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCoachDataChanged(CoachDataChangedEvent event) {
+        if (event.kind() == CoachDataChangedEvent.Kind.LESSON && event.entityId() != null) {
+            invalidate(event.entityId());
+        } else if (event.kind() == CoachDataChangedEvent.Kind.LESSON
+                || event.kind() == CoachDataChangedEvent.Kind.EXERCISE) {
+            generation.incrementAndGet();
+            orders.clear();
+        }
+    }
+}
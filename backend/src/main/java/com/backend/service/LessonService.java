@@ -1,14 +1,22 @@
 package com.backend.service;
 
+import com.backend.event.CoachDataChangedEvent;
 import com.backend.model.*;
 import com.backend.repository.*;
+import com.backend.dto.LessonResponse;
 import com.backend.util.LessonNameGenerator;
+import com.backend.util.NdjsonWriter;
+import com.backend.util.ResourceVersion;
 import com.backend.util.TimeCalculator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -35,6 +43,15 @@ public class LessonService {
     
     @Autowired
     private TimeCalculator timeCalculator;
+    
+    @Autowired
+    private ExerciseTimingService exerciseTimingService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
 
     /**
      * Create a new lesson
@@ -56,7 +73,8 @@ public class LessonService {
                 
                 // Set default duration if not provided
                 if (exercise.getPlannedDurationMinutes() == null && exercise.getExercise() != null) {
-                    exercise.setPlannedDurationMinutes(exercise.getExercise().getMinimumDurationMinutes());
+                    exercise.setPlannedDurationMinutes(
+                            exerciseTimingService.estimateMinutes(exercise.getExercise(), plannedTeamSize(lesson)));
                 }
             }
             lesson.setTotalDurationMinutes(timeCalculator.calculateTotalDuration(lesson.getExercises()));
@@ -64,6 +82,7 @@ public class LessonService {
         
         // Now save - this will cascade save the exercises with proper lesson_id and order_index
         Lesson savedLesson = lessonRepository.save(lesson);
+        publishChange(coach, savedLesson.getId());
         
         return savedLesson;
     }
@@ -93,10 +112,26 @@ public class LessonService {
         
         // Recalculate duration
         existingLesson.setTotalDurationMinutes(timeCalculator.calculateTotalDuration(existingLesson.getExercises()));
+        publishChange(coach, lessonId);
         
         return lessonRepository.save(existingLesson);
     }
 
+    /**
+     * Version of a lesson including its exercises, or null when it is not the coach's
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getLessonVersion(Long lessonId, Coach coach) {
+        return ResourceVersion.ofRow("lesson-" + lessonId,
+                lessonRepository.findVersionRowsByIdAndCoachId(lessonId, coach.getCoachId()));
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getTemplatesVersion(Coach coach) {
+        return ResourceVersion.ofRow("lesson-templates",
+                lessonRepository.findListVersionRowsByCoachId(coach.getCoachId(), true));
+    }
+
     /**
      * Get upcoming lessons for a coach
      */
@@ -121,6 +156,45 @@ public class LessonService {
         return lessonRepository.findRecentLessons(coach, PageRequest.of(0, limit));
     }
 
+    /**
+     * Upcoming and recent lessons as summaries without exercises or breakdowns, for the dashboard.
+     * Mapped inside the transaction so they can be built off the request thread.
+     */
+    @Transactional(readOnly = true)
+    public List<LessonResponse> getUpcomingLessonSummaries(Coach coach) {
+        return getUpcomingLessons(coach).stream().map(this::toSummaryResponse).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<LessonResponse> getRecentLessonSummaries(Coach coach, int limit) {
+        return getRecentLessons(coach, limit).stream().map(this::toSummaryResponse).toList();
+    }
+
+    /**
+     * Stream all of a coach's lessons, newest first, as NDJSON. Lessons are summaries without exercises
+     * or breakdowns; fetch a lesson by id for those. Call from the response-writing thread.
+     */
+    @Transactional(readOnly = true)
+    public void streamLessons(Long coachId, OutputStream out) throws IOException {
+        NdjsonWriter.writeAll(objectMapper, out, lessonRepository.streamSummaryRowsByCoachId(coachId), row -> {
+            Integer duration = (Integer) row[5];
+            LessonResponse response = new LessonResponse();
+            response.setId((Long) row[0]);
+            response.setCoachId(coachId);
+            response.setTeamId((Long) row[1]);
+            response.setTeamName((String) row[2]);
+            response.setName((String) row[3]);
+            response.setScheduledDate((LocalDateTime) row[4]);
+            response.setTotalDurationMinutes(duration);
+            response.setFormattedDuration(TimeCalculator.formatDuration(duration != null ? duration : 0));
+            response.setTemplate(Boolean.TRUE.equals(row[6]));
+            response.setWorkshopType((String) row[7]);
+            response.setCreatedAt((LocalDateTime) row[8]);
+            response.setUpdatedAt((LocalDateTime) row[9]);
+            return response;
+        });
+    }
+
     /**
      * Save lesson as template
      */
@@ -151,6 +225,7 @@ public class LessonService {
             
             lessonExerciseRepository.save(templateExercise);
         }
+        publishChange(coach, savedTemplate.getId());
         
         return savedTemplate;
     }
@@ -203,6 +278,7 @@ public class LessonService {
             
             lessonExerciseRepository.save(newExercise);
         }
+        publishChange(coach, savedLesson.getId());
         
         return savedLesson;
     }
@@ -231,7 +307,8 @@ public class LessonService {
         lessonExercise.setLesson(lesson);
         lessonExercise.setExercise(exercise);
         lessonExercise.setOrderIndex(nextOrderIndex);
-        lessonExercise.setPlannedDurationMinutes(duration != null ? duration : exercise.getMinimumDurationMinutes());
+        lessonExercise.setPlannedDurationMinutes(duration != null ? duration
+                : exerciseTimingService.estimateMinutes(exercise, plannedTeamSize(lesson)));
         
         // Set default evaluation template if exercise has one
         if (exercise.getDefaultEvaluationTemplate() != null) {
@@ -243,6 +320,7 @@ public class LessonService {
         // Update lesson total duration
         lesson.setTotalDurationMinutes(timeCalculator.calculateTotalDuration(lesson.getExercises()));
         lessonRepository.save(lesson);
+        publishChange(coach, lessonId);
         
         return saved;
     }
@@ -269,6 +347,7 @@ public class LessonService {
         // Update lesson total duration
         lesson.setTotalDurationMinutes(timeCalculator.calculateTotalDuration(lesson.getExercises()));
         lessonRepository.save(lesson);
+        publishChange(coach, lessonId);
     }
 
     /**
@@ -296,6 +375,7 @@ public class LessonService {
             exercise.setOrderIndex(i + 1);
             lessonExerciseRepository.save(exercise);
         });
+        publishChange(coach, lessonId);
     }
 
     /**
@@ -314,6 +394,7 @@ public class LessonService {
                 .orElseThrow(() -> new IllegalArgumentException("Lesson not found or access denied"));
         
         lessonRepository.delete(lesson);
+        publishChange(coach, lessonId);
     }
 
     /**
@@ -329,6 +410,18 @@ public class LessonService {
 
     // ===== PRIVATE HELPER METHODS =====
 
+    private void publishChange(Coach coach, Long lessonId) {
+        lessonRepository.touch(lessonId, LocalDateTime.now());
+        eventPublisher.publishEvent(new CoachDataChangedEvent(
+                coach.getCoachId(), CoachDataChangedEvent.Kind.LESSON, lessonId));
+    }
+
+	// Durations are estimated for the lesson's team, or for a team of 8 when there is none
+	private static int plannedTeamSize(Lesson lesson) {
+		int size = lesson.getTeam() != null ? lesson.getTeam().getActivePerformerCount() : 0;
+		return size > 0 ? size : TimeCalculator.DEFAULT_TEAM_SIZE;
+	}
+
 	private void saveLessonExercises(Lesson lesson, List<LessonExercise> exercises) {
 		for (int i = 0; i < exercises.size(); i++) {
 			LessonExercise exercise = exercises.get(i);
@@ -337,7 +430,8 @@ public class LessonService {
 			
 			// Set default duration if not provided
 			if (exercise.getPlannedDurationMinutes() == null && exercise.getExercise() != null) {
-				exercise.setPlannedDurationMinutes(exercise.getExercise().getMinimumDurationMinutes());
+				exercise.setPlannedDurationMinutes(
+						exerciseTimingService.estimateMinutes(exercise.getExercise(), plannedTeamSize(lesson)));
 			}
 			
 			// No need to save individually if cascade is handling it
@@ -355,4 +449,22 @@ public class LessonService {
             lessonExerciseRepository.save(exercises.get(i));
         }
     }
+
+    private LessonResponse toSummaryResponse(Lesson lesson) {
+        Integer duration = lesson.getTotalDurationMinutes();
+        LessonResponse response = new LessonResponse();
+        response.setId(lesson.getId());
+        response.setCoachId(lesson.getCoach().getCoachId());
+        response.setTeamId(lesson.getTeam() != null ? lesson.getTeam().getTeamId() : null);
+        response.setTeamName(lesson.getTeam() != null ? lesson.getTeam().getName() : null);
+        response.setName(lesson.getName());
+        response.setScheduledDate(lesson.getScheduledDate());
+        response.setTotalDurationMinutes(duration);
+        response.setFormattedDuration(TimeCalculator.formatDuration(duration != null ? duration : 0));
+        response.setTemplate(lesson.isTemplate());
+        response.setWorkshopType(lesson.getWorkshopType());
+        response.setCreatedAt(lesson.getCreatedAt());
+        response.setUpdatedAt(lesson.getUpdatedAt());
+        return response;
+    }
 }
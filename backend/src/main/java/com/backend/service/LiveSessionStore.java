@@ -0,0 +1,745 @@
+package com.backend.service;
+
+import com.backend.dto.PracticeSessionResponse;
+import com.backend.event.CoachDataChangedEvent;
+import com.backend.event.PracticeSessionEvent;
+import com.backend.repository.AttendanceRepository;
+import com.backend.repository.LessonExerciseRepository;
+import com.backend.repository.PerformerRepository;
+import com.backend.repository.PracticeSessionRepository;
+import com.backend.service.ExerciseTimingService.ExerciseTiming;
+import com.backend.service.LessonOrderCache.LessonOrder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Holds the state of practice sessions in use (current exercise, index, when it started, attendance) in
+ * memory, so that a "next exercise" or attendance tap is a map lookup and a field write.
+ *
+ * A session is loaded on first use. Every mutation of a session happens under that session's monitor, one
+ * writer at a time, and only marks it dirty. A background flusher writes dirty sessions every flush
+ * interval; however many taps happened in between, each session costs one update (plus the attendance
+ * difference). A crash loses at most one flush interval. Code that reads attendance or the current
+ * exercise from the database calls {@link #flush(Long)} first. Live clients are notified from inside the
+ * writer, so they see a session's changes in the order they were applied.
+ *
+ * Every change is also appended to the {@link PracticeEventLog}. After each write the store appends a
+ * snapshot entry with the last sequence number the written rows reflect; loading a session replays the
+ * entries after it, so changes that were logged but not yet written survive a restart.
+ *
+ * A write that breaks a constraint (a performer or lesson exercise deleted during practice) is redone
+ * one row at a time and only the offending rows are dropped. After any other failure the changes stay
+ * pending, and the session stays dirty and in memory, until a later flush writes them; retries back off
+ * exponentially up to {@code retry-max-delay-ms}.
+ *
+ * Only the node that changes a session keeps it in memory, and reads refresh nothing, so an idle copy is
+ * evicted. Another node reading the session builds its state from the rows and the log each time rather
+ * than caching a copy that the writer's changes would leave stale.
+ */
+@Service
+public class LiveSessionStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveSessionStore.class);
+
+    private static final int REPLAY_PAGE_SIZE = 1000;
+
+    private final PracticeSessionRepository practiceSessionRepository;
+    private final LessonExerciseRepository lessonExerciseRepository;
+    private final LessonOrderCache lessonOrders;
+    private final AttendanceRepository attendanceRepository;
+    private final PerformerRepository performerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PracticeEventLog eventLog;
+    private final ExerciseTimingService exerciseTimings;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate flushTransaction;
+    private final long idleEvictNanos;
+    private final long flushIntervalNanos;
+    private final long retryMaxDelayNanos;
+
+    private final ConcurrentHashMap<Long, LiveSession> sessions = new ConcurrentHashMap<>();
+    // Sessions being written out by close(); loading one waits for that write
+    private final ConcurrentHashMap<Long, LiveSession> closing = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService flusher;
+    private final long flushIntervalMillis;
+
+    public LiveSessionStore(
+            PracticeSessionRepository practiceSessionRepository,
+            LessonExerciseRepository lessonExerciseRepository,
+            LessonOrderCache lessonOrders,
+            AttendanceRepository attendanceRepository,
+            PerformerRepository performerRepository,
+            JdbcTemplate jdbcTemplate,
+            PracticeEventLog eventLog,
+            ExerciseTimingService exerciseTimings,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.practice.live.flush-interval-ms:1000}") long flushIntervalMillis,
+            @Value("${app.practice.live.idle-evict-ms:1800000}") long idleEvictMillis,
+            @Value("${app.practice.live.retry-max-delay-ms:60000}") long retryMaxDelayMillis) {
+        this.practiceSessionRepository = practiceSessionRepository;
+        this.lessonExerciseRepository = lessonExerciseRepository;
+        this.lessonOrders = lessonOrders;
+        this.attendanceRepository = attendanceRepository;
+        this.performerRepository = performerRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventLog = eventLog;
+        this.exerciseTimings = exerciseTimings;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.idleEvictNanos = TimeUnit.MILLISECONDS.toNanos(idleEvictMillis);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMillis));
+        this.retryMaxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(flushIntervalMillis, retryMaxDelayMillis));
+        this.flusher = Executors.newSingleThreadScheduledExecutor(namedThreads("practice-flush"));
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    // Scheduled once the bean is fully constructed, so the flusher never sees a partly initialized store
+    @PostConstruct
+    void start() {
+        flusher.scheduleWithFixedDelay(this::flushDirty, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    // Everything the flusher has to write for one session, taken atomically from its state
+    private record Pending(Long exerciseId, Integer exerciseIndex, boolean exerciseChanged,
+                           Set<Long> added, Set<Long> removed, List<ExerciseTiming> timings, long lastSeq) {
+
+        boolean isEmpty() {
+            return !exerciseChanged && added.isEmpty() && removed.isEmpty() && timings.isEmpty();
+        }
+
+        boolean attendanceChanged() {
+            return !added.isEmpty() || !removed.isEmpty();
+        }
+    }
+
+    /** Guarded by its own monitor; the flush lock serializes writes of the same session. */
+    private static final class LiveSession {
+        final Long id;
+        final Long lessonId;
+        final String lessonName;
+        final Long coachId;
+        final LocalDateTime startTime;
+        final LocalDateTime endTime;
+        final LocalDateTime createdAt;
+        LocalDateTime updatedAt;
+
+        LessonOrder order; // Refreshed from the cache on every mutation
+        Long currentExerciseId;
+        Integer currentExerciseIndex;
+        LocalDateTime currentExerciseStartedAt;
+
+        final Set<Long> attendees = new TreeSet<>();
+        final Set<Long> persistedAttendees = new HashSet<>();
+        final Set<Long> knownPerformers = new HashSet<>();
+        final List<ExerciseTiming> endedExercises = new ArrayList<>();
+
+        boolean exerciseDirty;
+        boolean evicted;
+        int failedWrites; // Consecutive failed writes
+        long retryAtNanos; // The flusher leaves the session alone until then after a failure
+        long lastSeq; // Last log entry applied to this state
+        volatile long lastTouchedNanos = System.nanoTime();
+        final Object flushLock = new Object();
+
+        LiveSession(Object[] row, LessonOrder order, List<Long> attendeeIds) {
+            this.id = (Long) row[0];
+            this.lessonId = (Long) row[1];
+            this.lessonName = (String) row[2];
+            this.coachId = (Long) row[3];
+            this.startTime = (LocalDateTime) row[4];
+            this.endTime = (LocalDateTime) row[5];
+            this.currentExerciseId = (Long) row[6];
+            this.currentExerciseIndex = (Integer) row[7];
+            this.createdAt = (LocalDateTime) row[8];
+            this.updatedAt = (LocalDateTime) row[9];
+            this.order = order;
+            this.attendees.addAll(attendeeIds);
+            this.persistedAttendees.addAll(attendeeIds);
+            this.knownPerformers.addAll(attendeeIds);
+        }
+
+        boolean hasPendingWrites() {
+            return exerciseDirty || !attendees.equals(persistedAttendees) || !endedExercises.isEmpty();
+        }
+
+        Pending takePending() {
+            Set<Long> added = new HashSet<>(attendees);
+            added.removeAll(persistedAttendees);
+            Set<Long> removed = new HashSet<>(persistedAttendees);
+            removed.removeAll(attendees);
+            Pending pending = new Pending(currentExerciseId, currentExerciseIndex, exerciseDirty, added, removed,
+                    List.copyOf(endedExercises), lastSeq);
+            exerciseDirty = false;
+            endedExercises.clear();
+            persistedAttendees.addAll(added);
+            persistedAttendees.removeAll(removed);
+            return pending;
+        }
+
+        // The write failed: put the changes back so the next flush retries them
+        void restore(Pending pending) {
+            exerciseDirty |= pending.exerciseChanged();
+            persistedAttendees.removeAll(pending.added());
+            persistedAttendees.addAll(pending.removed());
+            endedExercises.addAll(0, pending.timings());
+        }
+
+        PracticeSessionResponse toResponse() {
+            String exerciseName = currentExerciseIndex != null && currentExerciseId != null
+                    && currentExerciseId.equals(order.seek(currentExerciseIndex))
+                    ? order.nameAt(currentExerciseIndex) : null;
+            return PracticeSessionResponse.builder()
+                    .id(id)
+                    .lessonId(lessonId)
+                    .lessonName(lessonName)
+                    .startTime(startTime)
+                    .endTime(endTime)
+                    .currentExerciseIndex(currentExerciseIndex)
+                    .currentExerciseId(currentExerciseId)
+                    .currentExerciseName(exerciseName)
+                    .currentExerciseStartedAt(currentExerciseStartedAt)
+                    .attendeeIds(new ArrayList<>(attendees))
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .build();
+        }
+    }
+
+    // ===== READS =====
+
+    public PracticeSessionResponse getState(Long sessionId) {
+        LiveSession live = sessions.get(sessionId);
+        if (live == null) {
+            // Not changed through this node: read what is written and logged instead of caching a copy
+            live = load(sessionId);
+        }
+        synchronized (live) {
+            return live.toResponse();
+        }
+    }
+
+    public Long getCoachId(Long sessionId) {
+        LiveSession cached = sessions.get(sessionId);
+        if (cached != null) {
+            return cached.coachId;
+        }
+        return practiceSessionRepository.findCoachIdById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("Practice session not found"));
+    }
+
+    // ===== MUTATIONS =====
+
+    public PracticeSessionResponse selectExercise(Long sessionId, Long lessonExerciseId) {
+        return selectExercise(sessionId, lessonExerciseId, LocalDateTime.now());
+    }
+
+    /**
+     * Makes the given lesson exercise current as of {@code at} (earlier than now for offline changes). The
+     * lesson's running order is reloaded once if the exercise is not in it, in case the lesson was edited
+     * during practice.
+     */
+    public PracticeSessionResponse selectExercise(Long sessionId, Long lessonExerciseId, LocalDateTime at) {
+        Long lessonId = live(sessionId).lessonId;
+        if (!lessonOrders.get(lessonId).contains(lessonExerciseId)) {
+            lessonOrders.invalidate(lessonId);
+        }
+        return mutate(sessionId, live -> makeCurrent(live, lessonExerciseId, at), PracticeSessionEvent.Type.EXERCISE);
+    }
+
+    /** Moves to the next exercise of the lesson (the first one when none is current). */
+    public PracticeSessionResponse nextExercise(Long sessionId) {
+        return mutate(sessionId, live -> {
+            Long next = live.order.next(live.currentExerciseId);
+            if (next == null) {
+                throw new IllegalArgumentException("Already at the last exercise");
+            }
+            makeCurrent(live, next, LocalDateTime.now());
+        }, PracticeSessionEvent.Type.EXERCISE);
+    }
+
+    public PracticeSessionResponse previousExercise(Long sessionId) {
+        return mutate(sessionId, live -> {
+            Long previous = live.order.previous(live.currentExerciseId);
+            if (previous == null) {
+                throw new IllegalArgumentException("Already at the first exercise");
+            }
+            makeCurrent(live, previous, LocalDateTime.now());
+        }, PracticeSessionEvent.Type.EXERCISE);
+    }
+
+    /** Moves to the exercise at a 0-based position in the lesson's running order. */
+    public PracticeSessionResponse seekExercise(Long sessionId, int index) {
+        return mutate(sessionId, live -> {
+            Long target = live.order.seek(index);
+            if (target == null) {
+                throw new IllegalArgumentException("No exercise at position " + index);
+            }
+            makeCurrent(live, target, LocalDateTime.now());
+        }, PracticeSessionEvent.Type.EXERCISE);
+    }
+
+    // Called under the session's monitor
+    private void makeCurrent(LiveSession live, Long lessonExerciseId, LocalDateTime at) {
+        int index = live.order.indexOf(lessonExerciseId);
+        if (index < 0) {
+            throw new IllegalArgumentException("Exercise not found");
+        }
+        if (lessonExerciseId.equals(live.currentExerciseId)
+                && Integer.valueOf(index).equals(live.currentExerciseIndex)) {
+            return;
+        }
+        endCurrentExercise(live, at);
+        live.currentExerciseId = lessonExerciseId;
+        live.currentExerciseIndex = index;
+        live.currentExerciseStartedAt = at;
+        live.exerciseDirty = true;
+        log(live, PracticeEventLog.Type.EXERCISE_STARTED,
+                Map.of("lessonExerciseId", lessonExerciseId, "index", index));
+    }
+
+    public PracticeSessionResponse markAttendance(Long sessionId, Long performerId, boolean present) {
+        if (present) {
+            requireKnownPerformers(sessionId, List.of(performerId));
+        }
+        return mutate(sessionId, live -> {
+            if (present && live.attendees.add(performerId)) {
+                log(live, PracticeEventLog.Type.PERFORMER_ARRIVED, Map.of("performerId", performerId));
+            } else if (!present && live.attendees.remove(performerId)) {
+                log(live, PracticeEventLog.Type.PERFORMER_LEFT, Map.of("performerId", performerId));
+            }
+        }, PracticeSessionEvent.Type.ATTENDANCE);
+    }
+
+    public PracticeSessionResponse replaceAttendance(Long sessionId, Collection<Long> performerIds) {
+        Collection<Long> ids = performerIds != null ? performerIds : List.of();
+        requireKnownPerformers(sessionId, ids);
+        return mutate(sessionId, live -> {
+            Set<Long> arrived = new TreeSet<>(ids);
+            arrived.removeAll(live.attendees);
+            Set<Long> left = new TreeSet<>(live.attendees);
+            left.removeAll(ids);
+            arrived.forEach(id -> log(live, PracticeEventLog.Type.PERFORMER_ARRIVED, Map.of("performerId", id)));
+            left.forEach(id -> log(live, PracticeEventLog.Type.PERFORMER_LEFT, Map.of("performerId", id)));
+            live.attendees.clear();
+            live.attendees.addAll(ids);
+        }, PracticeSessionEvent.Type.ATTENDANCE);
+    }
+
+    /** Logs the end of the current exercise, writes pending changes and forgets the session. */
+    public void end(Long sessionId) {
+        if (sessions.containsKey(sessionId)) {
+            mutate(sessionId, live -> endCurrentExercise(live, LocalDateTime.now()), null);
+        }
+        close(sessionId);
+    }
+
+    // Called under the session's monitor; the run's timing is written with the next flush
+    private void endCurrentExercise(LiveSession live, LocalDateTime at) {
+        if (live.currentExerciseId == null) {
+            return;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("lessonExerciseId", live.currentExerciseId);
+        payload.put("attendeeCount", live.attendees.size());
+        if (live.currentExerciseStartedAt != null) {
+            payload.put("startedAt", live.currentExerciseStartedAt.toString());
+            payload.put("endedAt", at.toString());
+            payload.put("seconds", Math.max(0, Duration.between(live.currentExerciseStartedAt, at).toSeconds()));
+            recordTiming(live, live.currentExerciseId, live.attendees.size(), live.currentExerciseStartedAt, at);
+        }
+        log(live, PracticeEventLog.Type.EXERCISE_ENDED, payload);
+    }
+
+    private static void recordTiming(LiveSession live, Long lessonExerciseId, int attendeeCount,
+                                     LocalDateTime startedAt, LocalDateTime endedAt) {
+        int index = live.order.indexOf(lessonExerciseId);
+        if (index < 0 || live.order.exerciseIdAt(index) == null || endedAt.isBefore(startedAt)) {
+            return;
+        }
+        live.endedExercises.add(new ExerciseTiming(live.id, lessonExerciseId, live.order.exerciseIdAt(index),
+                live.order.plannedMinutesAt(index), attendeeCount, startedAt, endedAt));
+    }
+
+    // Called under the session's monitor, so log order is the order changes were applied
+    private void log(LiveSession live, PracticeEventLog.Type type, Map<String, ?> payload) {
+        live.lastSeq = eventLog.append(live.id, type, payload);
+    }
+
+    // Performer existence is checked against the database once per performer and session
+    private void requireKnownPerformers(Long sessionId, Collection<Long> performerIds) {
+        LiveSession live = live(sessionId);
+        Set<Long> unknown;
+        synchronized (live) {
+            unknown = new HashSet<>(performerIds);
+            unknown.removeAll(live.knownPerformers);
+        }
+        if (unknown.isEmpty()) {
+            return;
+        }
+        List<Long> existing = performerRepository.findExistingIds(unknown);
+        unknown.removeAll(existing);
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Performer not found: " + unknown.iterator().next());
+        }
+        synchronized (live) {
+            live.knownPerformers.addAll(existing);
+        }
+    }
+
+    // Runs a change under the session's monitor, notifies live clients and returns the resulting state
+    private PracticeSessionResponse mutate(Long sessionId, Consumer<LiveSession> change,
+                                           PracticeSessionEvent.Type notify) {
+        while (true) {
+            LiveSession live = live(sessionId);
+            LessonOrder order = lessonOrders.get(live.lessonId);
+            synchronized (live) {
+                if (live.evicted) {
+                    continue;
+                }
+                live.order = order;
+                change.accept(live);
+                live.lastTouchedNanos = System.nanoTime();
+                if (live.hasPendingWrites()) {
+                    dirty.add(sessionId);
+                }
+                PracticeSessionResponse state = live.toResponse();
+                if (notify == PracticeSessionEvent.Type.ATTENDANCE) {
+                    eventPublisher.publishEvent(PracticeSessionEvent.attendance(sessionId, state.getAttendeeIds()));
+                } else if (notify != null) {
+                    eventPublisher.publishEvent(new PracticeSessionEvent(sessionId, notify, state));
+                }
+                return state;
+            }
+        }
+    }
+
+    // ===== LOADING =====
+
+    // The cached session, loading it for a change made through this node
+    private LiveSession live(Long sessionId) {
+        LiveSession live = sessions.get(sessionId);
+        if (live != null) {
+            return live;
+        }
+        LiveSession loaded = load(sessionId);
+        LiveSession raced = sessions.putIfAbsent(sessionId, loaded);
+        if (raced != null) {
+            return raced;
+        }
+        if (loaded.hasPendingWrites()) {
+            dirty.add(sessionId);
+        }
+        return loaded;
+    }
+
+    // Reads the session's rows and replays the log after them; the result is not cached
+    private LiveSession load(Long sessionId) {
+        LiveSession previous = closing.get(sessionId);
+        if (previous != null) {
+            // Its rows are being written; reading them now would replay the same changes on stale rows
+            synchronized (previous.flushLock) {
+                LiveSession reopened = sessions.get(sessionId);
+                if (reopened != null) {
+                    return reopened;
+                }
+            }
+        }
+        List<Object[]> rows = practiceSessionRepository.findLiveRowsById(sessionId);
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("Practice session not found");
+        }
+        Object[] row = rows.get(0);
+        LiveSession loaded = new LiveSession(row, lessonOrders.get((Long) row[1]),
+                attendanceRepository.findPerformerIdsBySessionId(sessionId));
+        replay(loaded);
+        return loaded;
+    }
+
+    // Applies the log entries that the written rows do not reflect yet
+    private void replay(LiveSession live) {
+        live.lastSeq = eventLog.lastSnapshotSeq(live.id);
+        List<PracticeEventLog.Entry> entries;
+        do {
+            entries = eventLog.read(live.id, live.lastSeq, REPLAY_PAGE_SIZE);
+            for (PracticeEventLog.Entry entry : entries) {
+                apply(live, entry);
+                live.lastSeq = entry.seq();
+            }
+        } while (entries.size() == REPLAY_PAGE_SIZE);
+    }
+
+    private void apply(LiveSession live, PracticeEventLog.Entry entry) {
+        JsonNode payload;
+        try {
+            payload = objectMapper.readTree(entry.payload());
+        } catch (JsonProcessingException e) {
+            logger.warn("Skipping unreadable entry {} of practice session {}", entry.seq(), live.id, e);
+            return;
+        }
+        switch (entry.type()) {
+            case EXERCISE_STARTED -> {
+                live.currentExerciseId = payload.path("lessonExerciseId").asLong();
+                live.currentExerciseIndex = payload.path("index").asInt();
+                live.currentExerciseStartedAt = entry.occurredAt();
+                live.exerciseDirty = true;
+            }
+            case PERFORMER_ARRIVED -> {
+                live.attendees.add(payload.path("performerId").asLong());
+                live.knownPerformers.add(payload.path("performerId").asLong());
+            }
+            case PERFORMER_LEFT -> live.attendees.remove(payload.path("performerId").asLong());
+            case EXERCISE_ENDED -> {
+                if (payload.hasNonNull("startedAt") && payload.hasNonNull("endedAt")) {
+                    recordTiming(live, payload.path("lessonExerciseId").asLong(),
+                            payload.path("attendeeCount").asInt(),
+                            LocalDateTime.parse(payload.path("startedAt").asText()),
+                            LocalDateTime.parse(payload.path("endedAt").asText()));
+                }
+            }
+            default -> {
+                // Other entries do not change the live state
+            }
+        }
+    }
+
+    // ===== WRITE-BEHIND =====
+
+    /** Writes the session's pending changes now, on the calling thread. */
+    public void flush(Long sessionId) {
+        LiveSession live = sessions.get(sessionId);
+        if (live != null) {
+            dirty.remove(sessionId);
+            write(live);
+        }
+    }
+
+    /** Writes any pending changes and forgets the session, e.g. when it ends. */
+    public void close(Long sessionId) {
+        LiveSession live = sessions.get(sessionId);
+        if (live == null) {
+            return;
+        }
+        synchronized (live.flushLock) {
+            closing.put(sessionId, live);
+            try {
+                if (!sessions.remove(sessionId, live)) {
+                    return;
+                }
+                synchronized (live) {
+                    live.evicted = true;
+                }
+                dirty.remove(sessionId);
+                try {
+                    write(live);
+                } catch (RuntimeException e) {
+                    // Keep it in memory so the flusher retries; write() has put the changes back
+                    synchronized (live) {
+                        live.evicted = false;
+                    }
+                    sessions.putIfAbsent(sessionId, live);
+                    dirty.add(sessionId);
+                    throw e;
+                }
+            } finally {
+                closing.remove(sessionId, live);
+            }
+        }
+    }
+
+    private void flushDirty() {
+        try {
+            long now = System.nanoTime();
+            for (Long sessionId : dirty) {
+                LiveSession live = sessions.get(sessionId);
+                if (live != null && backingOff(live, now)) {
+                    continue;
+                }
+                dirty.remove(sessionId);
+                try {
+                    flush(sessionId);
+                } catch (RuntimeException e) {
+                    logger.warn("Flushing practice session {} failed; will retry", sessionId, e);
+                }
+            }
+            evictIdle();
+        } catch (RuntimeException e) {
+            logger.error("Practice session flush pass failed", e);
+        }
+    }
+
+    private void evictIdle() {
+        long now = System.nanoTime();
+        sessions.forEach((sessionId, live) -> {
+            if (now - live.lastTouchedNanos > idleEvictNanos && !dirty.contains(sessionId)) {
+                close(sessionId);
+            }
+        });
+    }
+
+    private void write(LiveSession live) {
+        synchronized (live.flushLock) {
+            Pending pending;
+            synchronized (live) {
+                pending = live.takePending();
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            List<ExerciseTiming> writtenTimings = pending.timings();
+            try {
+                try {
+                    flushTransaction.executeWithoutResult(status -> {
+                        writeExercise(live, pending, now);
+                        writeAttendance(live, pending.removed(), pending.added());
+                        exerciseTimings.write(pending.timings());
+                    });
+                } catch (DataIntegrityViolationException e) {
+                    logger.warn("Writing practice session {} broke a constraint; writing row by row", live.id, e);
+                    writtenTimings = writeEach(live, pending, now);
+                }
+            } catch (RuntimeException e) {
+                // Kept pending however long the database is unavailable; the snapshot is only advanced by a
+                // write that succeeds, so the log replays them too if the process stops first
+                synchronized (live) {
+                    live.restore(pending);
+                    live.failedWrites++;
+                    live.retryAtNanos = System.nanoTime() + retryDelayNanos(live.failedWrites);
+                }
+                if (!live.evicted) {
+                    dirty.add(live.id);
+                }
+                throw e;
+            }
+            synchronized (live) {
+                live.failedWrites = 0;
+                if (pending.exerciseChanged()) {
+                    live.updatedAt = now;
+                }
+            }
+            eventLog.append(live.id, PracticeEventLog.Type.SNAPSHOT, Map.of("upTo", pending.lastSeq()));
+            exerciseTimings.recorded(writtenTimings);
+            if (pending.attendanceChanged()) {
+                eventPublisher.publishEvent(new CoachDataChangedEvent(
+                        live.coachId, CoachDataChangedEvent.Kind.ATTENDANCE, live.id));
+            }
+        }
+    }
+
+    private long retryDelayNanos(int failedWrites) {
+        long delay = flushIntervalNanos << Math.min(failedWrites - 1, 20);
+        return delay > 0 ? Math.min(delay, retryMaxDelayNanos) : retryMaxDelayNanos;
+    }
+
+    private static boolean backingOff(LiveSession live, long now) {
+        synchronized (live) {
+            return live.failedWrites > 0 && now - live.retryAtNanos < 0;
+        }
+    }
+
+    private void writeExercise(LiveSession live, Pending pending, LocalDateTime now) {
+        if (pending.exerciseChanged()) {
+            practiceSessionRepository.updateCurrentExercise(live.id,
+                    lessonExerciseRepository.getReferenceById(pending.exerciseId()),
+                    pending.exerciseIndex(), now);
+        }
+    }
+
+    private void writeAttendance(LiveSession live, Set<Long> removed, Set<Long> added) {
+        if (!removed.isEmpty()) {
+            attendanceRepository.deleteBySessionIdAndPerformerIds(live.id, removed);
+        }
+        if (!added.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO attendance (practice_session_id, performer_id) VALUES (?, ?)",
+                    added, added.size(), (statement, performerId) -> {
+                        statement.setLong(1, live.id);
+                        statement.setLong(2, performerId);
+                    });
+        }
+    }
+
+    // Each change in its own transaction; rows that break a constraint are dropped, other failures propagate
+    private List<ExerciseTiming> writeEach(LiveSession live, Pending pending, LocalDateTime now) {
+        try {
+            flushTransaction.executeWithoutResult(status -> writeExercise(live, pending, now));
+        } catch (DataIntegrityViolationException e) {
+            logger.error("Dropping current exercise {} of practice session {}", pending.exerciseId(), live.id, e);
+        }
+        flushTransaction.executeWithoutResult(status -> writeAttendance(live, pending.removed(), Set.of()));
+        for (Long performerId : pending.added()) {
+            try {
+                flushTransaction.executeWithoutResult(status -> writeAttendance(live, Set.of(), Set.of(performerId)));
+            } catch (DuplicateKeyException e) {
+                // Already written, e.g. by a write that raced with reloading the session
+            } catch (DataIntegrityViolationException e) {
+                logger.error("Dropping attendance of performer {} in practice session {}", performerId, live.id, e);
+            }
+        }
+        List<ExerciseTiming> written = new ArrayList<>();
+        for (ExerciseTiming timing : pending.timings()) {
+            try {
+                flushTransaction.executeWithoutResult(status -> exerciseTimings.write(List.of(timing)));
+                written.add(timing);
+            } catch (DataIntegrityViolationException e) {
+                logger.error("Dropping timing of exercise {} in practice session {}", timing.exerciseId(), live.id, e);
+            }
+        }
+        return written;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Long sessionId : new ArrayList<>(sessions.keySet())) {
+            try {
+                close(sessionId);
+            } catch (RuntimeException e) {
+                logger.error("Could not write practice session {} on shutdown", sessionId, e);
+            }
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,412 @@
+package com.backend.service;
+
+import com.backend.dto.RosterImportResponse;
+import com.backend.dto.RosterImportResponse.RowResult;
+import com.backend.event.CoachDataChangedEvent;
+import com.backend.model.Coach;
+import com.backend.model.Performer;
+import com.backend.model.Team;
+import com.backend.repository.PerformerRepository;
+import com.backend.repository.TeamRepository;
+import com.backend.util.AuthUtils;
+import com.backend.util.CsvReader;
+import com.backend.util.ExportFormat;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Imports a performer roster from CSV (header row required) or NDJSON in one request.
+ *
+ * Existing performers are indexed once by normalized email and by name. Each row is matched against
+ * that index (and against rows earlier in the same upload) before anything is inserted: an email match
+ * wins; a name match counts unless both sides have different emails. New performers are inserted in
+ * JDBC batches and team memberships, for new and matched performers alike, go to {@code performer_teams}
+ * in bulk. The whole roster is one transaction; the response reports the outcome of every row.
+ */
+@Service
+@RequiredArgsConstructor
+public class PerformerImportService {
+
+    public static final int BATCH_SIZE = 200;
+    public static final int MAX_ROWS = 5000;
+
+    private static final TypeReference<Map<String, Object>> RECORD_TYPE = new TypeReference<>() {};
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private final PerformerRepository performerRepository;
+    private final TeamRepository teamRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final AuthUtils authUtils;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public RosterImportResponse importRoster(InputStream in, ExportFormat format, List<Long> teamIds) throws IOException {
+        Coach coach = authUtils.getCurrentCoach();
+        RosterImport roster = new RosterImport(coach, teamIds);
+
+        if (format == ExportFormat.CSV) {
+            readCsv(in, roster);
+        } else {
+            readNdjson(in, roster);
+        }
+        roster.flush();
+        if (roster.response.getCreatedCount() > 0 || roster.response.getTeamAssignmentCount() > 0) {
+            eventPublisher.publishEvent(new CoachDataChangedEvent(
+                    coach.getCoachId(), CoachDataChangedEvent.Kind.PERFORMER, null));
+        }
+        return roster.response;
+    }
+
+    // ===== PARSING =====
+
+    private record RosterRow(String firstName, String lastName, String email, String notes, List<String> teams) {
+    }
+
+    private void readCsv(InputStream in, RosterImport roster) throws IOException {
+        CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        List<String> header = csv.readRow();
+        if (header == null) {
+            throw new IllegalArgumentException("The roster is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(columnKey(header.get(i)), i);
+        }
+        if (!columns.containsKey("firstname") || !columns.containsKey("lastname")) {
+            throw new IllegalArgumentException("The roster needs firstName and lastName columns");
+        }
+
+        for (List<String> fields = csv.readRow(); fields != null; fields = csv.readRow()) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            String teams = cell(fields, columns.get("teams"));
+            roster.accept(new RosterRow(
+                    cell(fields, columns.get("firstname")),
+                    cell(fields, columns.get("lastname")),
+                    cell(fields, columns.get("email")),
+                    cell(fields, columns.get("notes")),
+                    teams == null ? List.of() : splitTeams(teams)));
+        }
+    }
+
+    private void readNdjson(InputStream in, RosterImport roster) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(in);
+        try (MappingIterator<Map<String, Object>> records = objectMapper.readerFor(RECORD_TYPE).readValues(parser)) {
+            while (records.hasNext()) {
+                Map<String, Object> record = records.next();
+                Object teams = record.get("teams");
+                List<String> teamRefs = teams instanceof Collection<?> list
+                        ? list.stream().filter(Objects::nonNull).map(Object::toString).toList()
+                        : teams == null ? List.of() : splitTeams(teams.toString());
+                roster.accept(new RosterRow(
+                        text(record.get("firstName")),
+                        text(record.get("lastName")),
+                        text(record.get("email")),
+                        text(record.get("notes")),
+                        teamRefs));
+            }
+        }
+    }
+
+    // ===== IMPORT =====
+
+    /**
+     * A performer a row resolved to; new ones get their id when their batch is inserted.
+     */
+    private static final class PerformerRef {
+        Long id;
+        final String email;
+        final RowResult result;
+
+        PerformerRef(Long id, String email, RowResult result) {
+            this.id = id;
+            this.email = email;
+            this.result = result;
+        }
+    }
+
+    private final class RosterImport {
+        final Coach coach;
+        final RosterImportResponse response = new RosterImportResponse();
+        final Map<String, PerformerRef> byEmail = new HashMap<>();
+        final Map<String, List<PerformerRef>> byName = new HashMap<>();
+        final Map<Long, Team> teamsById = new HashMap<>();
+        final Map<String, Team> teamsByName = new HashMap<>();
+        final List<Long> defaultTeamIds;
+        final List<PerformerRef> pendingInserts = new ArrayList<>();
+        final List<RosterRow> pendingRows = new ArrayList<>();
+        // Rows matched to a performer that is itself still waiting for its insert
+        final List<Map.Entry<RowResult, PerformerRef>> pendingMatches = new ArrayList<>();
+        final Map<PerformerRef, Set<Long>> pendingMemberships = new LinkedHashMap<>();
+        int rowNumber;
+
+        RosterImport(Coach coach, List<Long> teamIds) {
+            this.coach = coach;
+            for (Team team : teamRepository.findByCoach_CoachId(coach.getCoachId())) {
+                teamsById.put(team.getTeamId(), team);
+                teamsByName.putIfAbsent(normalize(team.getName()), team);
+            }
+            for (Long teamId : teamIds) {
+                if (!teamsById.containsKey(teamId)) {
+                    throw new IllegalArgumentException("Team not found: " + teamId);
+                }
+            }
+            this.defaultTeamIds = teamIds;
+
+            // One pass over the existing roster builds both hash indexes
+            for (Performer performer : performerRepository.findByCoachOrderByLastNameAscFirstNameAsc(coach)) {
+                PerformerRef ref = new PerformerRef(performer.getId(), normalizeEmail(performer.getEmail()), null);
+                if (ref.email != null) {
+                    byEmail.putIfAbsent(ref.email, ref);
+                }
+                byName.computeIfAbsent(nameKey(performer.getFirstName(), performer.getLastName()),
+                        key -> new ArrayList<>()).add(ref);
+            }
+        }
+
+        void accept(RosterRow row) {
+            if (++rowNumber > MAX_ROWS) {
+                throw new IllegalArgumentException("A roster import is limited to " + MAX_ROWS + " rows");
+            }
+            RowResult result = RowResult.builder()
+                    .row(rowNumber)
+                    .firstName(trimToNull(row.firstName()))
+                    .lastName(trimToNull(row.lastName()))
+                    .build();
+            response.getRows().add(result);
+            response.setTotalRows(rowNumber);
+
+            String problem = validate(row);
+            Set<Long> teamIds = new LinkedHashSet<>(defaultTeamIds);
+            if (problem == null) {
+                for (String reference : row.teams()) {
+                    Team team = resolveTeam(reference);
+                    if (team == null) {
+                        problem = "Unknown team: " + reference;
+                        break;
+                    }
+                    teamIds.add(team.getTeamId());
+                }
+            }
+            if (problem != null) {
+                result.setStatus("invalid");
+                result.setMessage(problem);
+                response.setInvalidCount(response.getInvalidCount() + 1);
+                return;
+            }
+            result.setTeams(teamIds.stream().map(id -> teamsById.get(id).getName()).toList());
+
+            String email = normalizeEmail(row.email());
+            String nameKey = nameKey(row.firstName(), row.lastName());
+            PerformerRef match = email != null ? byEmail.get(email) : null;
+            if (match != null) {
+                result.setMatchedOn("email");
+            } else {
+                match = byName.getOrDefault(nameKey, List.of()).stream()
+                        .filter(candidate -> email == null || candidate.email == null)
+                        .findFirst()
+                        .orElse(null);
+                if (match != null) {
+                    result.setMatchedOn("name");
+                }
+            }
+
+            if (match != null) {
+                result.setStatus("matched");
+                result.setPerformerId(match.id);
+                if (match.result != null) {
+                    result.setMessage("Same performer as row " + match.result.getRow());
+                    if (match.id == null) {
+                        pendingMatches.add(Map.entry(result, match));
+                    }
+                }
+                response.setMatchedCount(response.getMatchedCount() + 1);
+            } else {
+                match = new PerformerRef(null, email, result);
+                result.setStatus("created");
+                response.setCreatedCount(response.getCreatedCount() + 1);
+                if (email != null) {
+                    byEmail.put(email, match);
+                }
+                byName.computeIfAbsent(nameKey, key -> new ArrayList<>()).add(match);
+                pendingInserts.add(match);
+                pendingRows.add(row);
+            }
+            if (!teamIds.isEmpty()) {
+                pendingMemberships.computeIfAbsent(match, ref -> new LinkedHashSet<>()).addAll(teamIds);
+            }
+
+            if (pendingInserts.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            insertPerformers();
+            insertMemberships();
+        }
+
+        private void insertPerformers() {
+            if (pendingInserts.isEmpty()) {
+                return;
+            }
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "INSERT INTO performers (coach_id, first_name, last_name, email, notes, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+                    for (RosterRow row : pendingRows) {
+                        statement.setLong(1, coach.getCoachId());
+                        statement.setString(2, row.firstName().trim());
+                        statement.setString(3, row.lastName().trim());
+                        statement.setString(4, trimToNull(row.email()));
+                        statement.setString(5, trimToNull(row.notes()));
+                        statement.setTimestamp(6, now);
+                        statement.setTimestamp(7, now);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        for (int i = 0; keys.next() && i < pendingInserts.size(); i++) {
+                            PerformerRef ref = pendingInserts.get(i);
+                            ref.id = keys.getLong(1);
+                            ref.result.setPerformerId(ref.id);
+                        }
+                    }
+                }
+                return null;
+            });
+            for (Map.Entry<RowResult, PerformerRef> match : pendingMatches) {
+                match.getKey().setPerformerId(match.getValue().id);
+            }
+            pendingInserts.clear();
+            pendingRows.clear();
+            pendingMatches.clear();
+        }
+
+        private void insertMemberships() {
+            List<Object[]> rows = new ArrayList<>();
+            for (Iterator<Map.Entry<PerformerRef, Set<Long>>> it = pendingMemberships.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<PerformerRef, Set<Long>> entry = it.next();
+                if (entry.getKey().id == null) {
+                    continue; // Still waiting for its insert
+                }
+                for (Long teamId : entry.getValue()) {
+                    rows.add(new Object[] {entry.getKey().id, teamId});
+                }
+                it.remove();
+            }
+            if (rows.isEmpty()) {
+                return;
+            }
+            int[][] counts = jdbcTemplate.batchUpdate(
+                    "INSERT IGNORE INTO performer_teams (performer_id, team_id) VALUES (?, ?)",
+                    rows, BATCH_SIZE, (statement, row) -> {
+                        statement.setLong(1, (Long) row[0]);
+                        statement.setLong(2, (Long) row[1]);
+                    });
+            // Existing memberships are ignored; rewritten batches only report SUCCESS_NO_INFO
+            int assigned = 0;
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    assigned += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+                }
+            }
+            response.setTeamAssignmentCount(response.getTeamAssignmentCount() + assigned);
+        }
+
+        private Team resolveTeam(String reference) {
+            String value = reference.trim();
+            if (value.chars().allMatch(Character::isDigit) && !value.isEmpty()) {
+                Team team = teamsById.get(Long.valueOf(value));
+                if (team != null) {
+                    return team;
+                }
+            }
+            return teamsByName.get(normalize(value));
+        }
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    private static String validate(RosterRow row) {
+        String firstName = trimToNull(row.firstName());
+        String lastName = trimToNull(row.lastName());
+        if (firstName == null || lastName == null) {
+            return "First and last name are required";
+        }
+        if (firstName.length() > 50 || lastName.length() > 50) {
+            return "Names cannot exceed 50 characters";
+        }
+        String email = trimToNull(row.email());
+        if (email != null && (email.length() > 255 || !EMAIL.matcher(email).matches())) {
+            return "Invalid email format";
+        }
+        String notes = trimToNull(row.notes());
+        if (notes != null && notes.length() > 1000) {
+            return "Notes cannot exceed 1000 characters";
+        }
+        return null;
+    }
+
+    // "First Name", "first_name" and "firstName" are the same column; a UTF-8 BOM is dropped
+    private static String columnKey(String header) {
+        return header.replace("\uFEFF", "").replaceAll("[\\s_-]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static String cell(List<String> fields, Integer column) {
+        return column == null || column >= fields.size() ? null : fields.get(column);
+    }
+
+    private static List<String> splitTeams(String value) {
+        return Arrays.stream(value.split("[;|]"))
+                .map(String::trim)
+                .filter(team -> !team.isEmpty())
+                .toList();
+    }
+
+    private static String text(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalizeEmail(String email) {
+        String value = trimToNull(email);
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static String nameKey(String firstName, String lastName) {
+        return normalize(firstName) + "|" + normalize(lastName);
+    }
+}
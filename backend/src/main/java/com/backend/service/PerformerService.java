@@ -3,15 +3,24 @@ package com.backend.service;
 
 import com.backend.dto.PerformerRequest;
 import com.backend.dto.PerformerResponse;
+import com.backend.event.CoachDataChangedEvent;
 import com.backend.model.Coach;
 import com.backend.model.Performer;
 import com.backend.repository.PerformerRepository;
 import com.backend.util.AuthUtils;
+import com.backend.util.NdjsonWriter;
+import com.backend.util.ResourceVersion;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 // import org.springframework.beans.factory.annotation.Autowired;
 // import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,12 +29,18 @@ public class PerformerService {
 
     private final PerformerRepository performerRepository;
     private final AuthUtils authUtils;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     public PerformerService(PerformerRepository performerRepository, 
-                          AuthUtils authUtils) {
+                          AuthUtils authUtils,
+                          ObjectMapper objectMapper,
+                          ApplicationEventPublisher eventPublisher) {
         this.performerRepository = performerRepository;
         this.authUtils = authUtils;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     private Coach getAuthenticatedCoach() {
@@ -33,6 +48,12 @@ public class PerformerService {
     }
 
 
+    // Version of the performer list; see PerformerRepository.findListVersionRowsByCoachId
+    public ResourceVersion getAllPerformersVersion() {
+        return ResourceVersion.ofRow("performers",
+                performerRepository.findListVersionRowsByCoachId(getAuthenticatedCoach().getCoachId()));
+    }
+
     public List<PerformerResponse> getAllPerformers() {
         Coach coach = getAuthenticatedCoach();
         return performerRepository.findByCoachOrderByLastNameAscFirstNameAsc(coach)
@@ -41,6 +62,29 @@ public class PerformerService {
                 .collect(Collectors.toList());
     }
 
+    public Long getAuthenticatedCoachId() {
+        return getAuthenticatedCoach().getCoachId();
+    }
+
+    /**
+     * NDJSON variant of getAllPerformers. Runs on the response-writing thread in its own read-only
+     * transaction, so the coach is resolved by the caller on the request thread.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllPerformers(Long coachId, OutputStream out) throws IOException {
+        NdjsonWriter.writeAll(objectMapper, out, performerRepository.streamResponseRowsByCoachId(coachId), row -> {
+            PerformerResponse response = new PerformerResponse();
+            response.setId((Long) row[0]);
+            response.setFirstName((String) row[1]);
+            response.setLastName((String) row[2]);
+            response.setEmail((String) row[3]);
+            response.setNotes((String) row[4]);
+            response.setCreatedAt((LocalDateTime) row[5]);
+            response.setUpdatedAt((LocalDateTime) row[6]);
+            return response;
+        });
+    }
+
     public PerformerResponse createPerformer(PerformerRequest request) {
         Coach coach = getAuthenticatedCoach();
         Performer performer = new Performer();
@@ -51,6 +95,7 @@ public class PerformerService {
         performer.setNotes(request.getNotes());
         
         Performer savedPerformer = performerRepository.save(performer);
+        publishChange(coach, savedPerformer.getId());
         return mapToResponse(savedPerformer);
     }
 
@@ -73,6 +118,12 @@ public class PerformerService {
         Performer performer = performerRepository.findByIdAndCoach(id, coach)
                 .orElseThrow(() -> new RuntimeException("Performer not found"));
         performerRepository.delete(performer);
+        publishChange(coach, id);
+    }
+
+    private void publishChange(Coach coach, Long performerId) {
+        eventPublisher.publishEvent(new CoachDataChangedEvent(
+                coach.getCoachId(), CoachDataChangedEvent.Kind.PERFORMER, performerId));
     }
 
     private PerformerResponse mapToResponse(Performer performer) {
@@ -0,0 +1,378 @@
+package com.backend.service;
+
+import com.backend.dto.PracticeNoteResponse;
+import com.backend.dto.SceneEvaluationResponse;
+import com.backend.event.PracticeSessionEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Append-only, per-session log of what happened during a practice: session started/ended, exercise
+ * started/ended, performer arrived/left, scene evaluated, note added.
+ *
+ * Appending assigns the next sequence number of the session and queues the entry in memory; a background
+ * flusher writes queued entries to {@code practice_events} as multi-row batch inserts. Readers flush first,
+ * so they always see every entry appended before the read.
+ *
+ * Sequence numbers are handed out from blocks of {@code seq-block} leased from {@code practice_event_seqs},
+ * so nodes appending to the same session never assign the same number. Numbers follow append order on one
+ * node; entries of a session appended on two nodes at once interleave by block, which is why a session's
+ * live changes go through one node at a time. A number that is taken anyway (the row was written by
+ * someone else) is detected on insert and the entry is written again under a new number.
+ *
+ * {@link Type#SNAPSHOT} entries are written by {@link LiveSessionStore} whenever it has written a session's
+ * rows, and record the sequence number those rows reflect; replaying the entries after it rebuilds the
+ * live state.
+ */
+@Service
+public class PracticeEventLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(PracticeEventLog.class);
+
+    private static final String INSERT_SQL = "INSERT INTO practice_events " +
+            "(practice_session_id, seq, event_type, occurred_at, payload) VALUES (?, ?, ?, ?, ?)";
+
+    public enum Type {
+        SESSION_STARTED,
+        SESSION_ENDED,
+        EXERCISE_STARTED,
+        EXERCISE_ENDED,
+        PERFORMER_ARRIVED,
+        PERFORMER_LEFT,
+        SCENE_EVALUATED,
+        NOTE_ADDED,
+        SNAPSHOT
+    }
+
+    public record Entry(Long sessionId, long seq, Type type, LocalDateTime occurredAt, String payload) {
+    }
+
+    // Leased sequence numbers and unwritten entry count of a session; only touched inside the map's compute calls
+    private static final class SessionLog {
+        long nextSeq; // Next number of the leased block
+        long blockEnd; // First number past it; nothing is leased while the two are equal
+        int queued;
+        long lastAppendNanos = System.nanoTime();
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate leaseTransaction;
+    private final int batchSize;
+    private final int seqBlock;
+    private final long idleNanos;
+
+    private final ConcurrentHashMap<Long, SessionLog> sessions = new ConcurrentHashMap<>();
+    private final BlockingQueue<Entry> queue;
+    private final Object flushLock = new Object();
+    private final List<Entry> retry = new ArrayList<>(); // Guarded by flushLock
+    private final ScheduledExecutorService flusher;
+    private final long flushIntervalMillis;
+
+    public PracticeEventLog(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.practice.events.flush-interval-ms:200}") long flushIntervalMillis,
+            @Value("${app.practice.events.batch-size:500}") int batchSize,
+            @Value("${app.practice.events.seq-block:100}") int seqBlock,
+            @Value("${app.practice.events.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.practice.live.idle-evict-ms:1800000}") long idleMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        // A lease commits on its own, so the row lock is not held until the caller's transaction ends
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.seqBlock = Math.max(1, seqBlock);
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMillis);
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(namedThreads("practice-events"));
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    // Scheduled once the bean is fully constructed, so the flusher never sees a partly initialized log
+    @PostConstruct
+    void start() {
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    // ===== APPEND =====
+
+    /**
+     * Queues an entry and returns its sequence number. Only blocks when the queue is full, in which case
+     * the caller writes the backlog itself.
+     */
+    public long append(Long sessionId, Type type, Map<String, ?> payload) {
+        // Stored to the millisecond; trimming it here lets a written row be compared with its entry
+        Entry entry = numbered(sessionId, type, LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS),
+                serialize(payload));
+        if (!queue.offer(entry)) {
+            flush();
+            try {
+                queue.put(entry);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while appending practice event", e);
+            }
+        }
+        return entry.seq();
+    }
+
+    // Takes the session's next sequence number and counts the entry as queued
+    private Entry numbered(Long sessionId, Type type, LocalDateTime occurredAt, String payload) {
+        Entry[] numbered = new Entry[1];
+        while (numbered[0] == null) {
+            SessionLog current = sessions.computeIfAbsent(sessionId, id -> new SessionLog());
+            sessions.computeIfPresent(sessionId, (id, log) -> {
+                if (log.nextSeq < log.blockEnd) {
+                    log.queued++;
+                    log.lastAppendNanos = System.nanoTime();
+                    numbered[0] = new Entry(id, log.nextSeq++, type, occurredAt, payload);
+                }
+                return log;
+            });
+            if (numbered[0] == null) {
+                // Leased outside the map's lock; a block leased by a racing append is simply not used
+                long start = leaseBlock(sessionId);
+                sessions.computeIfPresent(sessionId, (id, log) -> {
+                    if (log == current && log.nextSeq >= log.blockEnd && start >= log.blockEnd) {
+                        log.nextSeq = start;
+                        log.blockEnd = start + seqBlock;
+                    }
+                    return log;
+                });
+            }
+        }
+        return numbered[0];
+    }
+
+    // Evaluations, notes and session start/end reach the log once their rows are committed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPracticeSessionEvent(PracticeSessionEvent event) {
+        switch (event.type()) {
+            case STARTED -> append(event.sessionId(), Type.SESSION_STARTED, Map.of());
+            case ENDED -> append(event.sessionId(), Type.SESSION_ENDED, Map.of());
+            case EVALUATION -> {
+                SceneEvaluationResponse evaluation = (SceneEvaluationResponse) event.payload();
+                append(event.sessionId(), Type.SCENE_EVALUATED, Map.of(
+                        "evaluationId", evaluation.getId(),
+                        "lessonExerciseId", evaluation.getLessonExerciseId(),
+                        "performerIds", evaluation.getPerformerIds()));
+            }
+            case NOTE -> {
+                PracticeNoteResponse note = (PracticeNoteResponse) event.payload();
+                Map<String, Object> payload = new LinkedHashMap<>();
+                payload.put("noteId", note.getId());
+                payload.put("noteType", note.getNoteType());
+                append(event.sessionId(), Type.NOTE_ADDED, payload);
+            }
+            default -> {
+                // Exercise and attendance entries are appended by the live store as it applies them
+            }
+        }
+    }
+
+    // ===== READ =====
+
+    /** Entries with a sequence number above {@code afterSeq}, in order, at most {@code limit}. */
+    public List<Entry> read(Long sessionId, long afterSeq, int limit) {
+        return read(sessionId, afterSeq, limit, "");
+    }
+
+    /** Like {@link #read}, without the internal snapshot entries. */
+    public List<Entry> readHistory(Long sessionId, long afterSeq, int limit) {
+        return read(sessionId, afterSeq, limit, "AND event_type <> '" + Type.SNAPSHOT.name() + "' ");
+    }
+
+    private List<Entry> read(Long sessionId, long afterSeq, int limit, String filter) {
+        flush();
+        return jdbcTemplate.query("SELECT practice_session_id, seq, event_type, occurred_at, payload " +
+                        "FROM practice_events WHERE practice_session_id = ? AND seq > ? " + filter +
+                        "ORDER BY seq LIMIT ?",
+                (rs, rowNum) -> new Entry(rs.getLong(1), rs.getLong(2), Type.valueOf(rs.getString(3)),
+                        rs.getTimestamp(4).toLocalDateTime(), rs.getString(5)),
+                sessionId, afterSeq, limit);
+    }
+
+    /** The sequence number recorded by the session's latest snapshot, or 0 when it has none. */
+    public long lastSnapshotSeq(Long sessionId) {
+        flush();
+        List<String> payloads = jdbcTemplate.queryForList("SELECT payload FROM practice_events " +
+                        "WHERE practice_session_id = ? AND event_type = ? ORDER BY seq DESC LIMIT 1",
+                String.class, sessionId, Type.SNAPSHOT.name());
+        if (payloads.isEmpty()) {
+            return 0;
+        }
+        try {
+            return objectMapper.readTree(payloads.get(0)).path("upTo").asLong();
+        } catch (JsonProcessingException e) {
+            logger.warn("Unreadable snapshot entry for practice session {}", sessionId, e);
+            return 0;
+        }
+    }
+
+    // Reserves the next seqBlock numbers of the session for this node and returns the first; the counter
+    // starts after the entries already written, so sessions logged before it existed carry on
+    private long leaseBlock(Long sessionId) {
+        Long end;
+        try {
+            end = leaseTransaction.execute(status -> {
+                jdbcTemplate.update("INSERT INTO practice_event_seqs (practice_session_id, next_seq) " +
+                                "SELECT ?, COALESCE(MAX(seq), 0) + 1 + ? FROM practice_events WHERE practice_session_id = ? " +
+                                "ON DUPLICATE KEY UPDATE next_seq = practice_event_seqs.next_seq + ?",
+                        sessionId, seqBlock, sessionId, seqBlock);
+                return jdbcTemplate.queryForObject(
+                        "SELECT next_seq FROM practice_event_seqs WHERE practice_session_id = ?",
+                        Long.class, sessionId);
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Practice session not found", e);
+        }
+        return end - seqBlock;
+    }
+
+    private String serialize(Map<String, ?> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize practice event", e);
+        }
+    }
+
+    // ===== FLUSH =====
+
+    /** Writes every queued entry now, on the calling thread. */
+    public void flush() {
+        synchronized (flushLock) {
+            while (true) {
+                if (retry.isEmpty()) {
+                    queue.drainTo(retry, batchSize);
+                }
+                if (retry.isEmpty()) {
+                    break;
+                }
+                try {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, retry, retry.size(), (statement, entry) -> {
+                        statement.setLong(1, entry.sessionId());
+                        statement.setLong(2, entry.seq());
+                        statement.setString(3, entry.type().name());
+                        statement.setTimestamp(4, Timestamp.valueOf(entry.occurredAt()));
+                        statement.setString(5, entry.payload());
+                    });
+                    done(retry);
+                    retry.clear();
+                } catch (DataIntegrityViolationException e) {
+                    // Some entry cannot be written (e.g. its session was deleted); keep the others
+                    insertEach();
+                }
+            }
+        }
+    }
+
+    // Called under flushLock; entries leave retry as they are written or dropped, so a failure part way
+    // through does not repeat them
+    private void insertEach() {
+        while (!retry.isEmpty()) {
+            Entry entry = retry.get(0);
+            try {
+                jdbcTemplate.update(INSERT_SQL, entry.sessionId(), entry.seq(), entry.type().name(),
+                        Timestamp.valueOf(entry.occurredAt()), entry.payload());
+            } catch (DuplicateKeyException e) {
+                if (!isStored(entry)) {
+                    // The number was taken by another entry; write this one again after the others
+                    Entry renumbered = numbered(entry.sessionId(), entry.type(), entry.occurredAt(), entry.payload());
+                    logger.error("Sequence number {} of practice session {} was already taken; writing the entry as {}",
+                            entry.seq(), entry.sessionId(), renumbered.seq());
+                    retry.add(renumbered);
+                }
+            } catch (DataIntegrityViolationException e) {
+                logger.error("Dropping practice event {} of session {} that cannot be written",
+                        entry.seq(), entry.sessionId(), e);
+            }
+            done(List.of(entry));
+            retry.remove(0);
+        }
+    }
+
+    // Whether the row under the entry's number is the entry itself, e.g. written by the failed batch before it stopped
+    private boolean isStored(Entry entry) {
+        List<Entry> stored = jdbcTemplate.query("SELECT practice_session_id, seq, event_type, occurred_at, payload " +
+                        "FROM practice_events WHERE practice_session_id = ? AND seq = ?",
+                (rs, rowNum) -> new Entry(rs.getLong(1), rs.getLong(2), Type.valueOf(rs.getString(3)),
+                        rs.getTimestamp(4).toLocalDateTime(), rs.getString(5)),
+                entry.sessionId(), entry.seq());
+        return stored.contains(entry);
+    }
+
+    private void done(List<Entry> entries) {
+        Map<Long, Integer> written = new HashMap<>();
+        entries.forEach(entry -> written.merge(entry.sessionId(), 1, Integer::sum));
+        written.forEach((sessionId, count) -> sessions.computeIfPresent(sessionId, (id, log) -> {
+            log.queued -= count;
+            return log;
+        }));
+    }
+
+    // A failed batch stays in retry and is written again, in order, on the next pass
+    private void flushQuietly() {
+        try {
+            flush();
+            forgetIdleSessions();
+        } catch (RuntimeException e) {
+            logger.warn("Writing practice events failed; will retry", e);
+        }
+    }
+
+    // Leases of quiet sessions are dropped; their next append leases a new block
+    private void forgetIdleSessions() {
+        long now = System.nanoTime();
+        for (Long sessionId : sessions.keySet()) {
+            sessions.computeIfPresent(sessionId, (id, log) ->
+                    log.queued == 0 && now - log.lastAppendNanos > idleNanos ? null : log);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+            flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("Could not write {} queued practice events on shutdown", queue.size() + retry.size(), e);
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
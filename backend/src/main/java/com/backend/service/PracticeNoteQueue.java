@@ -0,0 +1,348 @@
+package com.backend.service;
+
+import com.backend.dto.PracticeNoteResponse;
+import com.backend.event.CoachDataChangedEvent;
+import com.backend.event.PracticeSessionEvent;
+import com.backend.model.Coach;
+import com.backend.repository.LessonRepository;
+import com.backend.repository.PracticeSessionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-behind ingestion of practice notes, which coaches add many of in quick succession.
+ *
+ * A note is checked against cached lesson and session owners (one query per session, not per note) and
+ * queued; the caller gets it back at once with a {@code ref} and no id yet. A background flusher writes
+ * queued notes in multi-row inserts every {@code flush-interval-ms} or as soon as {@code batch-size} are
+ * waiting, then publishes each note with its id and ref so live clients can match it up. Readers flush
+ * first, and shutdown writes whatever is still queued before the datasource closes.
+ */
+@Service
+public class PracticeNoteQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(PracticeNoteQueue.class);
+
+    private static final String INSERT_SQL = "INSERT INTO practice_notes " +
+            "(lesson_id, practice_session_id, note_type, content, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private record Pending(String ref, Long coachId, Long lessonId, Long sessionId, String noteType,
+                           String content, LocalDateTime createdAt) {
+
+        PracticeNoteResponse toResponse(Long id) {
+            return PracticeNoteResponse.builder()
+                    .id(id)
+                    .ref(ref)
+                    .lessonId(lessonId)
+                    .practiceSessionId(sessionId)
+                    .noteType(noteType)
+                    .content(content)
+                    .createdAt(createdAt)
+                    .build();
+        }
+    }
+
+    private record SessionOwner(Long lessonId, Long coachId) {
+    }
+
+    private final LessonRepository lessonRepository;
+    private final PracticeSessionRepository practiceSessionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate flushTransaction;
+    private final int batchSize;
+
+    private final ConcurrentHashMap<Long, SessionOwner> sessionOwners = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> lessonOwners = new ConcurrentHashMap<>();
+    private final BlockingQueue<Pending> queue;
+    private final Object flushLock = new Object();
+    private final List<Pending> retry = new ArrayList<>(); // Guarded by flushLock
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+    private final long flushIntervalMillis;
+    private volatile boolean closed;
+
+    public PracticeNoteQueue(
+            LessonRepository lessonRepository,
+            PracticeSessionRepository practiceSessionRepository,
+            JdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.practice.notes.flush-interval-ms:250}") long flushIntervalMillis,
+            @Value("${app.practice.notes.batch-size:100}") int batchSize,
+            @Value("${app.practice.notes.queue-capacity:5000}") int queueCapacity) {
+        this.lessonRepository = lessonRepository;
+        this.practiceSessionRepository = practiceSessionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        // Readers flush inside their own transaction; the batch commits on its own either way
+        this.flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = Math.max(1, batchSize);
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(namedThreads("practice-notes"));
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    // Scheduled once the bean is fully constructed, so the flusher never sees a partly initialized queue
+    @PostConstruct
+    void start() {
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    // ===== ACCEPT =====
+
+    /**
+     * Queues a note for the coach's lesson (and session, when given) and returns it with its ref.
+     *
+     * @throws EntityNotFoundException when the lesson or session does not exist or belongs to another coach
+     * @throws IllegalArgumentException when the note has no content or the session is not of the lesson
+     */
+    public PracticeNoteResponse accept(Long lessonId, Long sessionId, String noteType, String content,
+                                       Coach coach) {
+        if (content == null || content.isBlank()) {
+            throw new IllegalArgumentException("Note content is required");
+        }
+        if (sessionId != null) {
+            SessionOwner owner = sessionOwner(sessionId);
+            if (!owner.coachId().equals(coach.getCoachId())) {
+                throw new EntityNotFoundException("Practice session not found");
+            }
+            if (lessonId != null && !lessonId.equals(owner.lessonId())) {
+                throw new IllegalArgumentException("Practice session " + sessionId + " is not of lesson " + lessonId);
+            }
+            lessonId = owner.lessonId();
+        } else if (lessonId == null || !coach.getCoachId().equals(lessonOwner(lessonId))) {
+            throw new EntityNotFoundException("Lesson not found");
+        }
+
+        Pending note = new Pending(UUID.randomUUID().toString(), coach.getCoachId(), lessonId, sessionId,
+                noteType, content, LocalDateTime.now());
+        enqueue(note);
+        return note.toResponse(null);
+    }
+
+    // Blocks only when the queue is full, in which case the caller writes the backlog itself
+    private void enqueue(Pending note) {
+        if (!queue.offer(note)) {
+            flush();
+            try {
+                queue.put(note);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while queueing practice note", e);
+            }
+        }
+        if (closed) {
+            flush();
+        } else if (queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                flush();
+            }
+        }
+    }
+
+    private SessionOwner sessionOwner(Long sessionId) {
+        SessionOwner cached = sessionOwners.get(sessionId);
+        if (cached != null) {
+            return cached;
+        }
+        List<Object[]> rows = practiceSessionRepository.findOwnerRowsById(sessionId);
+        if (rows.isEmpty()) {
+            throw new EntityNotFoundException("Practice session not found");
+        }
+        SessionOwner owner = new SessionOwner((Long) rows.get(0)[0], (Long) rows.get(0)[1]);
+        sessionOwners.put(sessionId, owner);
+        return owner;
+    }
+
+    private Long lessonOwner(Long lessonId) {
+        Long cached = lessonOwners.get(lessonId);
+        if (cached != null) {
+            return cached;
+        }
+        Long owner = lessonRepository.findCoachIdById(lessonId)
+                .orElseThrow(() -> new EntityNotFoundException("Lesson not found"));
+        lessonOwners.put(lessonId, owner);
+        return owner;
+    }
+
+    // Owners never change; entries are dropped so the maps only hold lessons and sessions in use
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPracticeSessionEvent(PracticeSessionEvent event) {
+        if (event.type() == PracticeSessionEvent.Type.ENDED) {
+            sessionOwners.remove(event.sessionId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCoachDataChanged(CoachDataChangedEvent event) {
+        if (event.kind() == CoachDataChangedEvent.Kind.LESSON) {
+            if (event.entityId() != null) {
+                lessonOwners.remove(event.entityId());
+            } else {
+                lessonOwners.clear();
+            }
+        }
+    }
+
+    // ===== FLUSH =====
+
+    /** Writes every queued note now, on the calling thread. */
+    public void flush() {
+        synchronized (flushLock) {
+            flushRequested.set(false);
+            while (true) {
+                if (retry.isEmpty()) {
+                    queue.drainTo(retry, batchSize);
+                }
+                if (retry.isEmpty()) {
+                    break;
+                }
+                List<Pending> batch = List.copyOf(retry);
+                Map<Pending, Long> ids;
+                try {
+                    ids = flushTransaction.execute(status -> insert(batch));
+                } catch (DataIntegrityViolationException e) {
+                    // Some lesson or session was deleted meanwhile; write the others one by one
+                    ids = insertEach(batch);
+                }
+                retry.clear();
+                published(batch, ids);
+            }
+        }
+    }
+
+    // One multi-row insert; ids come back as generated keys, in order
+    private Map<Pending, Long> insert(List<Pending> batch) {
+        List<Long> keys = new ArrayList<>();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL,
+                    Statement.RETURN_GENERATED_KEYS)) {
+                for (Pending note : batch) {
+                    statement.setLong(1, note.lessonId());
+                    if (note.sessionId() != null) {
+                        statement.setLong(2, note.sessionId());
+                    } else {
+                        statement.setNull(2, Types.BIGINT);
+                    }
+                    statement.setString(3, note.noteType());
+                    statement.setString(4, note.content());
+                    statement.setTimestamp(5, Timestamp.valueOf(note.createdAt()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet generated = statement.getGeneratedKeys()) {
+                    while (generated.next()) {
+                        keys.add(generated.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+        if (keys.size() != batch.size()) {
+            throw new IllegalStateException("Expected " + batch.size() + " note ids, got " + keys.size());
+        }
+        Map<Pending, Long> ids = new IdentityHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            ids.put(batch.get(i), keys.get(i));
+        }
+        return ids;
+    }
+
+    // Called under flushLock; notes leave retry as they are written, so a failure part way is not repeated
+    private Map<Pending, Long> insertEach(List<Pending> batch) {
+        Map<Pending, Long> ids = new IdentityHashMap<>();
+        for (Pending note : batch) {
+            try {
+                ids.putAll(flushTransaction.execute(status -> insert(List.of(note))));
+            } catch (DataIntegrityViolationException e) {
+                logger.error("Dropping practice note {} for lesson {} that cannot be written",
+                        note.ref(), note.lessonId(), e);
+            }
+            retry.remove(0);
+        }
+        return ids;
+    }
+
+    // Committed by now, so listeners run straight away
+    private void published(List<Pending> batch, Map<Pending, Long> ids) {
+        Set<Long> coaches = new HashSet<>();
+        for (Pending note : batch) {
+            Long id = ids.get(note);
+            if (id == null) {
+                continue;
+            }
+            coaches.add(note.coachId());
+            if (note.sessionId() != null) {
+                eventPublisher.publishEvent(new PracticeSessionEvent(note.sessionId(),
+                        PracticeSessionEvent.Type.NOTE, note.toResponse(id)));
+            }
+        }
+        coaches.forEach(coachId -> eventPublisher.publishEvent(
+                new CoachDataChangedEvent(coachId, CoachDataChangedEvent.Kind.PRACTICE_NOTE, null)));
+    }
+
+    // A failed batch stays in retry and is written again on the next pass
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Writing practice notes failed; will retry", e);
+        }
+    }
+
+    // Notes accepted from here on are written by the accepting thread
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Could not write {} queued practice notes on shutdown", queue.size() + retry.size(), e);
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,17 +1,31 @@
 package com.backend.service;
 
+import com.backend.dto.ExerciseEvaluationSummaryResponse;
+import com.backend.dto.PracticeEventResponse;
+import com.backend.dto.PracticeSessionResponse;
+import com.backend.dto.PracticeWriteQueueResponse;
 import com.backend.dto.SceneEvaluationRequest;
 import com.backend.dto.SceneEvaluationResponse;
+import com.backend.event.CoachDataChangedEvent;
+import com.backend.event.PracticeSessionEvent;
 import com.backend.model.*;
 import com.backend.repository.*;
+import com.backend.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.util.stream.Stream;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,6 +39,13 @@ public class PracticeService {
     private final PerformerRepository performerRepository;
     private final AttendanceRepository attendanceRepository;
     private final PracticeNoteRepository practiceNoteRepository;
+    private final LiveSessionStore liveSessions;
+    private final LessonOrderCache lessonOrders;
+    private final PracticeSessionLocks sessionLocks;
+    private final PracticeEventLog eventLog;
+    private final PracticeNoteQueue noteQueue;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
 
     @Transactional
     public PracticeSession startPracticeSession(Long lessonId) {
@@ -38,84 +59,67 @@ public class PracticeService {
                 .build();
         
         // Set first exercise if exists
-        lessonExerciseRepository.findByLessonOrderByOrderIndexAsc(lesson)
-                .stream()
-                .findFirst()
-                .ifPresent(session::setCurrentExercise);
+        Long firstExerciseId = lessonOrders.get(lessonId).seek(0);
+        if (firstExerciseId != null) {
+            session.setCurrentExercise(lessonExerciseRepository.getReferenceById(firstExerciseId));
+        }
         
-        return practiceSessionRepository.save(session);
+        PracticeSession saved = practiceSessionRepository.save(session);
+        publishChange(lesson, CoachDataChangedEvent.Kind.PRACTICE_SESSION, saved.getId());
+        publishLive(saved.getId(), PracticeSessionEvent.Type.STARTED, toLiveState(saved));
+        return saved;
     }
 
 
+    // Serialized with the session's other writes, so no tap lands between writing it out and ending it
     public PracticeSession endPracticeSession(Long sessionId) {
-        PracticeSession session = practiceSessionRepository.findByIdWithAttendance(sessionId)
-            .orElseThrow(() -> new EntityNotFoundException("Session not found"));
-        
-        session.setEndTime(LocalDateTime.now());
-        return practiceSessionRepository.save(session);
+        PracticeSession saved = sessionLocks.run(sessionId, () -> {
+            // Write pending live changes first so that the session saved below carries them
+            liveSessions.end(sessionId);
+            PracticeSession session = practiceSessionRepository.findByIdWithAttendance(sessionId)
+                .orElseThrow(() -> new EntityNotFoundException("Session not found"));
+            
+            session.setEndTime(LocalDateTime.now());
+            return practiceSessionRepository.save(session);
+        });
+        sessionLocks.forget(sessionId);
+        publishChange(saved.getLesson(), CoachDataChangedEvent.Kind.PRACTICE_SESSION, sessionId);
+        publishLive(sessionId, PracticeSessionEvent.Type.ENDED, toLiveState(saved));
+        return saved;
     }
 
-    @Transactional
-    public PracticeSession updateCurrentExercise(Long sessionId, Long exerciseId) {
-        PracticeSession session = practiceSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new IllegalArgumentException("Practice session not found"));
-        
-        LessonExercise exercise = lessonExerciseRepository.findById(exerciseId)
-                .orElseThrow(() -> new IllegalArgumentException("Exercise not found"));
-        
-        session.setCurrentExercise(exercise);
-        
-        // Update current exercise index
-        int index = lessonExerciseRepository.findByLessonOrderByOrderIndexAsc(session.getLesson())
-                .indexOf(exercise);
-        session.setCurrentExerciseIndex(index >= 0 ? index : 0);
-        
-        return practiceSessionRepository.save(session);
+    // In-memory; the live store notifies live clients and writes the change behind
+    public PracticeSessionResponse updateCurrentExercise(Long sessionId, Long exerciseId) {
+        return sessionLocks.run(sessionId, () -> liveSessions.selectExercise(sessionId, exerciseId));
     }
 
-    @Transactional
-    public Attendance recordAttendance(Long sessionId, Long performerId, boolean isPresent) {
-        PracticeSession session = practiceSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new IllegalArgumentException("Practice session not found"));
-        
-        Performer performer = performerRepository.findById(performerId)
-                .orElseThrow(() -> new IllegalArgumentException("Performer not found"));
-        
-        if (isPresent) {
-            Attendance attendance = new Attendance(session, performer);
-            return attendanceRepository.save(attendance);
-        } else {
-            attendanceRepository.deleteByPracticeSessionAndPerformer(session, performer);
-            return null;
-        }
+    public PracticeSessionResponse nextExercise(Long sessionId) {
+        return sessionLocks.run(sessionId, () -> liveSessions.nextExercise(sessionId));
+    }
+
+    public PracticeSessionResponse previousExercise(Long sessionId) {
+        return sessionLocks.run(sessionId, () -> liveSessions.previousExercise(sessionId));
+    }
+
+    public PracticeSessionResponse seekExercise(Long sessionId, int index) {
+        return sessionLocks.run(sessionId, () -> liveSessions.seekExercise(sessionId, index));
+    }
+
+    public PracticeSessionResponse recordAttendance(Long sessionId, Long performerId, boolean isPresent) {
+        return sessionLocks.run(sessionId, () -> liveSessions.markAttendance(sessionId, performerId, isPresent));
     }
 
     @Transactional
     public List<Performer> getAttendees(Long sessionId) {
+        liveSessions.flush(sessionId);
         return attendanceRepository.findByPracticeSessionId(sessionId)
                 .stream()
                 .map(Attendance::getPerformer)
                 .collect(Collectors.toList());
     }
 
-	@Transactional
 	public void updateBulkAttendance(Long sessionId, List<Long> performerIds) {
-		PracticeSession session = practiceSessionRepository.findById(sessionId)
-				.orElseThrow(() -> new IllegalArgumentException("Practice session not found"));
-		
-		// Clear existing attendance records for this session
-		attendanceRepository.deleteByPracticeSessionId(sessionId);
-		
-		// Add new attendance records for selected performers
-		if (performerIds != null && !performerIds.isEmpty()) {
-			for (Long performerId : performerIds) {
-				Performer performer = performerRepository.findById(performerId)
-						.orElseThrow(() -> new IllegalArgumentException("Performer not found: " + performerId));
-				
-				Attendance attendance = new Attendance(session, performer);
-				attendanceRepository.save(attendance);
-			}
-		}
+		sessionLocks.run(sessionId, () -> liveSessions.replaceAttendance(sessionId, performerIds));
 	}
 
     @Transactional
@@ -155,8 +159,9 @@ public class PracticeService {
     
     // Update and return
     ExerciseEvaluation updatedEvaluation = exerciseEvaluationRepository.save(savedEvaluation);
+    publishChange(lessonExercise.getLesson(), CoachDataChangedEvent.Kind.SCENE_EVALUATION, updatedEvaluation.getId());
     
-    return SceneEvaluationResponse.builder()
+    SceneEvaluationResponse response = SceneEvaluationResponse.builder()
             .id(updatedEvaluation.getId())
             .lessonExerciseId(updatedEvaluation.getLessonExercise().getId())
             .practiceSessionId(updatedEvaluation.getPracticeSession() != null ? 
@@ -171,31 +176,81 @@ public class PracticeService {
             .notes(updatedEvaluation.getNotes())
             .rubricType(request.getRubricType())
             .build();
+    if (practiceSession != null) {
+        publishLive(practiceSession.getId(), PracticeSessionEvent.Type.EVALUATION, response);
+    }
+    return response;
 }
 
-    @Transactional
-    public PracticeNote addPracticeNote(Long lessonId, Long sessionId, String noteType, String content) {
-        Lesson lesson = lessonRepository.findById(lessonId)
-                .orElseThrow(() -> new IllegalArgumentException("Lesson not found"));
-        
-        PracticeSession session = null;
-        if (sessionId != null) {
-            session = practiceSessionRepository.findById(sessionId)
-                    .orElseThrow(() -> new IllegalArgumentException("Practice session not found"));
+    /**
+     * Full state of a session for live clients, as held by the live store; the first event of every stream.
+     */
+    public PracticeSessionResponse getLiveState(Long sessionId, Coach coach) {
+        if (!liveSessions.getCoachId(sessionId).equals(coach.getCoachId())) {
+            throw new IllegalArgumentException("Practice session not found");
         }
-        
-        PracticeNote note = PracticeNote.builder()
-                .lesson(lesson)
-                .practiceSession(session)
-                .noteType(noteType)
-                .content(content)
+        return liveSessions.getState(sessionId);
+    }
+
+    /**
+     * Queue depth and wait time of writes to the session.
+     */
+    public PracticeWriteQueueResponse getWriteQueue(Long sessionId, Coach coach) {
+        Long ownerId = practiceSessionRepository.findCoachIdById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("Practice session not found"));
+        if (!ownerId.equals(coach.getCoachId())) {
+            throw new IllegalArgumentException("Practice session not found");
+        }
+        return sessionLocks.getQueueStats(sessionId);
+    }
+
+    /**
+     * The session's event log after {@code afterSeq}, oldest first, without the internal snapshot entries.
+     */
+    public List<PracticeEventResponse> getEvents(Long sessionId, Coach coach, long afterSeq, int limit) {
+        Long ownerId = practiceSessionRepository.findCoachIdById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("Practice session not found"));
+        if (!ownerId.equals(coach.getCoachId())) {
+            throw new IllegalArgumentException("Practice session not found");
+        }
+        List<PracticeEventResponse> events = new ArrayList<>();
+        for (PracticeEventLog.Entry entry : eventLog.readHistory(sessionId, afterSeq, limit)) {
+            try {
+                events.add(PracticeEventResponse.builder()
+                        .seq(entry.seq())
+                        .type(entry.type().name())
+                        .occurredAt(entry.occurredAt())
+                        .payload(objectMapper.readTree(entry.payload()))
+                        .build());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return events;
+    }
+
+    private PracticeSessionResponse toLiveState(PracticeSession session) {
+        LessonExercise current = session.getCurrentExercise();
+        return PracticeSessionResponse.builder()
+                .id(session.getId())
+                .lessonId(session.getLesson().getId())
+                .lessonName(session.getLesson().getName())
+                .startTime(session.getStartTime())
+                .endTime(session.getEndTime())
+                .currentExerciseIndex(session.getCurrentExerciseIndex())
+                .currentExerciseId(current != null ? current.getId() : null)
+                .currentExerciseName(current != null && current.getExercise() != null
+                        ? current.getExercise().getName() : null)
+                .attendeeIds(attendanceRepository.findPerformerIdsBySessionId(session.getId()))
+                .createdAt(session.getCreatedAt())
+                .updatedAt(session.getUpdatedAt())
                 .build();
-        
-        return practiceNoteRepository.save(note);
     }
 
+    // Notes still queued are written first, so a note accepted before the read is in it
     @Transactional
     public List<PracticeNote> getPracticeNotes(Long lessonId, Long sessionId) {
+        noteQueue.flush();
         if (sessionId != null) {
             return practiceNoteRepository.findByLessonIdAndPracticeSessionId(lessonId, sessionId);
         } else {
@@ -203,13 +258,78 @@ public class PracticeService {
         }
     }
 
+    /**
+     * Compact summaries of a session's evaluations, read with a single projection query.
+     */
+    @Transactional
+    public List<ExerciseEvaluationSummaryResponse> getEvaluationSummariesForSession(Long sessionId) {
+        List<ExerciseEvaluationSummaryResponse> summaries = new ArrayList<>();
+        summarize(exerciseEvaluationRepository.findSummaryRowsBySessionId(sessionId).iterator(), summaries::add);
+        return summaries;
+    }
+
     @Transactional
-    public List<ExerciseEvaluation> getEvaluationsForSession(Long sessionId) {
-        return exerciseEvaluationRepository.findByPracticeSessionId(sessionId);
+    public List<ExerciseEvaluationSummaryResponse> getEvaluationSummariesForExercise(Long lessonExerciseId) {
+        List<ExerciseEvaluationSummaryResponse> summaries = new ArrayList<>();
+        summarize(exerciseEvaluationRepository.findSummaryRowsByLessonExerciseId(lessonExerciseId).iterator(),
+                summaries::add);
+        return summaries;
     }
 
+    /**
+     * NDJSON variant of getEvaluationSummariesForSession, assembled from a forward-only stream.
+     * Call from the response-writing thread.
+     */
     @Transactional
-    public List<ExerciseEvaluation> getEvaluationsForExercise(Long lessonExerciseId) {
-        return exerciseEvaluationRepository.findByLessonExerciseId(lessonExerciseId);
+    public void streamEvaluationsForSession(Long sessionId, OutputStream out) throws IOException {
+        try (Stream<Object[]> rows = exerciseEvaluationRepository.streamSummaryRowsBySessionId(sessionId);
+             NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+            summarize(rows.iterator(), summary -> {
+                try {
+                    writer.write(summary);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Folds the flat summary rows (one per score x performer) into one summary per evaluation
+    private static void summarize(Iterator<Object[]> rows, Consumer<ExerciseEvaluationSummaryResponse> sink) {
+        ExerciseEvaluationSummaryResponse current = null;
+        while (rows.hasNext()) {
+            Object[] row = rows.next();
+            if (current == null || !current.getId().equals(row[0])) {
+                if (current != null) {
+                    sink.accept(current);
+                }
+                current = ExerciseEvaluationSummaryResponse.builder()
+                        .id((Long) row[0])
+                        .practiceSessionId((Long) row[1])
+                        .lessonExerciseId((Long) row[2])
+                        .evaluatedAt((LocalDateTime) row[3])
+                        .notes((String) row[4])
+                        .build();
+            }
+            if (row[5] != null) {
+                current.getScores().put((String) row[5], ((Number) row[6]).intValue());
+            }
+            if (row[7] != null && !current.getPerformerIds().contains((Long) row[7])) {
+                current.getPerformerIds().add((Long) row[7]);
+            }
+        }
+        if (current != null) {
+            sink.accept(current);
+        }
+    }
+
+    private void publishChange(Lesson lesson, CoachDataChangedEvent.Kind kind, Long entityId) {
+        eventPublisher.publishEvent(new CoachDataChangedEvent(lesson.getCoach().getCoachId(), kind, entityId));
+    }
+
+    private void publishLive(Long sessionId, PracticeSessionEvent.Type type, Object payload) {
+        eventPublisher.publishEvent(new PracticeSessionEvent(sessionId, type, payload));
     }
 }
\ No newline at end of file
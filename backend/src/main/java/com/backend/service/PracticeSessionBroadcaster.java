@@ -0,0 +1,259 @@
+package com.backend.service;
+
+import com.backend.event.PracticeEventBus;
+import com.backend.event.PracticeSessionEvent;
+import com.backend.exception.TooManySubscribersException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Fans live practice session changes out to every connected client (coach tablet, assistant phone,
+ * projector view) as Server-Sent Events.
+ *
+ * Publishing never blocks: each event is serialized once and offered to every subscriber's bounded
+ * buffer. Each subscriber has its own virtual thread that drains the buffer into its connection, so a
+ * slow client only ever stalls itself. A subscriber whose buffer is full is evicted; its stream is
+ * closed and the client reconnects to a fresh snapshot.
+ *
+ * Events travel through the {@link PracticeEventBus}, so subscribers connected to another node see them
+ * too. Each event carries the session's bus sequence number as its SSE id and the snapshot carries the
+ * last one applied, so a client that sees an id jump knows it missed something and reconnects.
+ */
+@Service
+public class PracticeSessionBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(PracticeSessionBroadcaster.class);
+
+    private static final String SNAPSHOT_EVENT = "snapshot";
+
+    private final ObjectMapper objectMapper;
+    private final PracticeEventBus bus;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long heartbeatMillis;
+    private final long timeoutMillis;
+
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentHashMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    // Listener each session is watched with on the bus; changed only under the session's watch lock
+    private final ConcurrentHashMap<Long, Consumer<PracticeEventBus.Message>> watched = new ConcurrentHashMap<>();
+    private final Object[] watchLocks = new Object[64];
+
+    public PracticeSessionBroadcaster(
+            ObjectMapper objectMapper,
+            PracticeEventBus bus,
+            @Value("${app.practice.live.buffer-size:64}") int bufferSize,
+            @Value("${app.practice.live.max-subscribers:16}") int maxSubscribers,
+            @Value("${app.practice.live.heartbeat-ms:15000}") long heartbeatMillis,
+            @Value("${app.practice.live.timeout-ms:14400000}") long timeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.bus = bus;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeatMillis = heartbeatMillis;
+        this.timeoutMillis = timeoutMillis;
+        Arrays.setAll(watchLocks, i -> new Object());
+    }
+
+    private record Outgoing(long id, String name, String json) {
+    }
+
+    // Tells a writer to complete its stream once everything queued before it has been sent
+    private static final Outgoing END = new Outgoing(-1, null, null);
+
+    private final class Channel {
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        final Consumer<PracticeEventBus.Message> listener = this::deliver;
+
+        // Called by the bus one message at a time, in sequence order
+        void deliver(PracticeEventBus.Message message) {
+            Outgoing outgoing = new Outgoing(message.seq(), message.eventName(), message.payload());
+            boolean ended = PracticeSessionEvent.Type.ENDED.getEventName().equals(message.eventName());
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.queue.offer(outgoing) || (ended && !subscriber.queue.offer(END))) {
+                    subscriber.evict();
+                }
+            }
+        }
+    }
+
+    // ===== SUBSCRIBE =====
+
+    /**
+     * Opens a stream for the session. The subscriber is registered before the snapshot is read, so no
+     * change committed in between is lost; clients treat events as idempotent updates on top of it. The
+     * first subscriber on this node starts watching the session on the bus, after it is registered rather
+     * than inside the map update, since watching may query the database.
+     *
+     * @throws TooManySubscribersException when the session already has the maximum number of subscribers
+     */
+    public SseEmitter subscribe(Long sessionId, Supplier<?> snapshot) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(sessionId, emitter);
+        Channel channel = channels.compute(sessionId, (id, existing) -> {
+            if (existing != null && existing.subscribers.size() >= maxSubscribers) {
+                throw new TooManySubscribersException("Too many live connections for this practice session");
+            }
+            Channel target = existing != null ? existing : new Channel();
+            target.subscribers.add(subscriber);
+            return target;
+        });
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        try {
+            reconcile(sessionId);
+            // Read before the snapshot: a message delivered in between arrives again after it, harmlessly
+            long seq = bus.lastDeliveredSeq(sessionId);
+            Outgoing first = new Outgoing(seq, SNAPSHOT_EVENT, serialize(snapshot.get()));
+            if (!subscriber.queue.offerFirst(first)) {
+                subscriber.evict();
+            }
+        } catch (RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        }
+        writers.execute(subscriber::drain);
+        return emitter;
+    }
+
+    // ===== PUBLISH =====
+
+    // Subscribers here and on other nodes receive it through the bus
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPracticeSessionEvent(PracticeSessionEvent event) {
+        try {
+            bus.publish(event.sessionId(), event.type().getEventName(), () -> serialize(event.payload()));
+        } catch (RuntimeException e) {
+            // The change is committed; clients pick it up from the next snapshot
+            logger.warn("Dropping live {} event for practice session {}", event.type(), event.sessionId(), e);
+        }
+    }
+
+    private String serialize(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize live practice event", e);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        boolean[] emptied = new boolean[1];
+        channels.computeIfPresent(subscriber.sessionId, (id, channel) -> {
+            channel.subscribers.remove(subscriber);
+            emptied[0] = channel.subscribers.isEmpty();
+            return emptied[0] ? null : channel;
+        });
+        if (emptied[0]) {
+            reconcile(subscriber.sessionId);
+        }
+    }
+
+    // Makes the session's bus watch match its current channel: watched with the channel's listener while it
+    // has one, not watched otherwise. Runs under a per-session lock instead of the channel map's, so channel
+    // updates never wait for the bus
+    private void reconcile(Long sessionId) {
+        synchronized (watchLocks[Math.floorMod(sessionId.hashCode(), watchLocks.length)]) {
+            Channel channel = channels.get(sessionId);
+            Consumer<PracticeEventBus.Message> wanted = channel != null ? channel.listener : null;
+            Consumer<PracticeEventBus.Message> current = watched.get(sessionId);
+            if (wanted == current) {
+                return;
+            }
+            if (current != null) {
+                bus.unwatch(sessionId, current);
+                watched.remove(sessionId);
+            }
+            if (wanted != null) {
+                bus.watch(sessionId, wanted);
+                watched.put(sessionId, wanted);
+            }
+        }
+    }
+
+    // ===== SUBSCRIBER =====
+
+    private final class Subscriber {
+        final Long sessionId;
+        final SseEmitter emitter;
+        final BlockingDeque<Outgoing> queue = new LinkedBlockingDeque<>(bufferSize);
+        volatile boolean closed;
+
+        Subscriber(Long sessionId, SseEmitter emitter) {
+            this.sessionId = sessionId;
+            this.emitter = emitter;
+        }
+
+        // Called from publishing threads: drop the backlog and let the writer finish the stream
+        void evict() {
+            if (closed) {
+                return;
+            }
+            logger.debug("Evicting slow live subscriber from practice session {}", sessionId);
+            remove(this);
+            queue.clear();
+            queue.offer(END);
+        }
+
+        // The connection is already gone (completed, timed out or failed)
+        void close() {
+            closed = true;
+            remove(this);
+            queue.clear();
+            queue.offer(END);
+        }
+
+        void drain() {
+            try {
+                while (!closed) {
+                    Outgoing next = queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        emitter.send(SseEmitter.event().comment("keepalive"));
+                    } else if (next == END) {
+                        break;
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(next.id()))
+                                .name(next.name())
+                                .data(next.json(), MediaType.APPLICATION_JSON));
+                    }
+                }
+                if (!closed) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the emitter's error callback has the details
+                logger.debug("Live stream for practice session {} closed: {}", sessionId, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                emitter.complete();
+            } finally {
+                closed = true;
+                remove(this);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        channels.values().forEach(channel -> channel.subscribers.forEach(Subscriber::evict));
+        writers.shutdown();
+    }
+}
@@ -0,0 +1,126 @@
+package com.backend.service;
+
+import com.backend.dto.PracticeWriteQueueResponse;
+import com.backend.exception.SessionBusyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes writes to one practice session coming from several devices (coach, assistant, an offline
+ * replay). Sessions are mapped onto a fixed set of fair locks by id, so writes to a session run one at a
+ * time in arrival order while writes to other sessions mostly run in parallel. A caller holds one stripe
+ * at a time and never across sessions, so stripes cannot deadlock; the lock is held in memory only, so no
+ * database row lock is kept waiting on another request.
+ *
+ * Callers wrap the whole write, including its transaction, so a write is committed before the next one
+ * for the session starts. Queue depth and wait time are tracked per session until it ends, or until it
+ * has had no writes for the idle interval, so abandoned sessions do not keep their stats forever.
+ */
+@Service
+public class PracticeSessionLocks {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+    private final long idleForgetNanos;
+    private final ConcurrentHashMap<Long, QueueStats> stats = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+
+    public PracticeSessionLocks(
+            @Value("${app.practice.locks.stripes:64}") int stripeCount,
+            @Value("${app.practice.locks.timeout-ms:10000}") long timeoutMillis,
+            @Value("${app.practice.locks.idle-forget-ms:1800000}") long idleForgetMillis) {
+        this.stripes = new ReentrantLock[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+        this.timeoutMillis = timeoutMillis;
+        this.idleForgetNanos = TimeUnit.MILLISECONDS.toNanos(idleForgetMillis);
+    }
+
+    private static final class QueueStats {
+        final AtomicInteger queued = new AtomicInteger(); // Waiting plus running
+        final AtomicInteger maxQueued = new AtomicInteger();
+        final LongAdder writes = new LongAdder();
+        final LongAdder waitNanos = new LongAdder();
+        volatile long lastUsedNanos = System.nanoTime();
+    }
+
+    /**
+     * Runs the write once every earlier write to the session has finished.
+     *
+     * @throws SessionBusyException when the session stays busy for longer than the timeout
+     */
+    public <T> T run(Long sessionId, Supplier<T> write) {
+        ReentrantLock lock = stripes[Math.floorMod(Long.hashCode(sessionId), stripes.length)];
+        QueueStats queue = stats.get(sessionId);
+        if (queue == null) {
+            forgetIdle();
+            queue = stats.computeIfAbsent(sessionId, id -> new QueueStats());
+        }
+        queue.lastUsedNanos = System.nanoTime();
+        queue.maxQueued.accumulateAndGet(queue.queued.incrementAndGet(), Math::max);
+        long waitStart = System.nanoTime();
+        boolean locked;
+        try {
+            locked = lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queue.queued.decrementAndGet();
+            throw new SessionBusyException("Interrupted while waiting for practice session", e);
+        }
+        if (!locked) {
+            queue.queued.decrementAndGet();
+            throw new SessionBusyException("Practice session is busy; try again");
+        }
+        try {
+            queue.waitNanos.add(System.nanoTime() - waitStart);
+            queue.writes.increment();
+            return write.get();
+        } finally {
+            lock.unlock();
+            queue.lastUsedNanos = System.nanoTime();
+            queue.queued.decrementAndGet();
+        }
+    }
+
+    public PracticeWriteQueueResponse getQueueStats(Long sessionId) {
+        QueueStats queue = stats.get(sessionId);
+        if (queue == null) {
+            return new PracticeWriteQueueResponse(sessionId, 0, 0, 0L, 0.0);
+        }
+        long writes = queue.writes.sum();
+        return new PracticeWriteQueueResponse(
+                sessionId,
+                queue.queued.get(),
+                queue.maxQueued.get(),
+                writes,
+                writes > 0 ? Math.round(queue.waitNanos.sum() / (double) writes / 10_000.0) / 100.0 : 0.0);
+    }
+
+    // The session ended; later writes (there should be none) start a fresh count
+    public void forget(Long sessionId) {
+        stats.computeIfPresent(sessionId, (id, queue) -> queue.queued.get() == 0 ? null : queue);
+    }
+
+    // Sessions that were never ended; swept when a new session first writes, at most once per interval
+    private void forgetIdle() {
+        long now = System.nanoTime();
+        long lastSweep = lastSweepNanos.get();
+        if (now - lastSweep < idleForgetNanos || !lastSweepNanos.compareAndSet(lastSweep, now)) {
+            return;
+        }
+        stats.forEach((sessionId, queue) -> {
+            if (now - queue.lastUsedNanos > idleForgetNanos) {
+                stats.computeIfPresent(sessionId, (id, current) -> current.queued.get() == 0 ? null : current);
+            }
+        });
+    }
+}
@@ -0,0 +1,470 @@
+package com.backend.service;
+
+import com.backend.dto.*;
+import com.backend.event.CoachDataChangedEvent;
+import com.backend.event.PracticeSessionEvent;
+import com.backend.model.*;
+import com.backend.repository.*;
+import com.backend.util.IdempotencyStore;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Applies the changes a live practice client queued while offline, in one request.
+ *
+ * Each operation carries a client-generated idempotency key. Keys already applied (or being applied by a
+ * concurrent retry) are answered from a bounded {@link IdempotencyStore} instead of being applied again.
+ * Evaluations and notes are inserted in one transaction with batched statements; attendance and exercise
+ * transitions then go through the {@link LiveSessionStore} in client time order and are written before
+ * their keys are kept, since the store otherwise writes them behind. The response carries every
+ * operation's outcome and the session's canonical state.
+ */
+@Service
+public class PracticeSyncService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final LiveSessionStore liveSessions;
+    private final LessonOrderCache lessonOrders;
+    private final PracticeSessionLocks sessionLocks;
+    private final LessonExerciseRepository lessonExerciseRepository;
+    private final PerformerRepository performerRepository;
+    private final PracticeSessionRepository practiceSessionRepository;
+    private final ExerciseEvaluationRepository exerciseEvaluationRepository;
+    private final PracticeNoteRepository practiceNoteRepository;
+    private final PracticeService practiceService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate syncTransaction;
+    private final IdempotencyStore<PracticeSyncResponse.Result> applied;
+    private final int maxOperations;
+    private final int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public PracticeSyncService(
+            LiveSessionStore liveSessions,
+            LessonOrderCache lessonOrders,
+            PracticeSessionLocks sessionLocks,
+            LessonExerciseRepository lessonExerciseRepository,
+            PerformerRepository performerRepository,
+            PracticeSessionRepository practiceSessionRepository,
+            ExerciseEvaluationRepository exerciseEvaluationRepository,
+            PracticeNoteRepository practiceNoteRepository,
+            PracticeService practiceService,
+            JdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.practice.sync.idempotency-capacity:20000}") int idempotencyCapacity,
+            @Value("${app.practice.sync.max-operations:500}") int maxOperations,
+            @Value("${app.practice.sync.batch-size:100}") int batchSize) {
+        this.liveSessions = liveSessions;
+        this.lessonOrders = lessonOrders;
+        this.sessionLocks = sessionLocks;
+        this.lessonExerciseRepository = lessonExerciseRepository;
+        this.performerRepository = performerRepository;
+        this.practiceSessionRepository = practiceSessionRepository;
+        this.exerciseEvaluationRepository = exerciseEvaluationRepository;
+        this.practiceNoteRepository = practiceNoteRepository;
+        this.practiceService = practiceService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.syncTransaction = new TransactionTemplate(transactionManager);
+        this.applied = new IdempotencyStore<>(idempotencyCapacity);
+        this.maxOperations = maxOperations;
+        this.batchSize = batchSize;
+    }
+
+    // An operation this request owns, with the outcome it will record
+    private static final class Claimed {
+        final int position;
+        final String storeKey;
+        final PracticeSyncOperation operation;
+        PracticeSyncResponse.Result result;
+
+        Claimed(int position, String storeKey, PracticeSyncOperation operation) {
+            this.position = position;
+            this.storeKey = storeKey;
+            this.operation = operation;
+        }
+    }
+
+    /**
+     * @throws EntityNotFoundException when the session does not exist or belongs to another coach
+     * @throws IllegalArgumentException when the batch itself is malformed; invalid single operations are
+     *                                  reported as {@link PracticeSyncResponse.Status#REJECTED} instead
+     */
+    public PracticeSyncResponse sync(Long sessionId, Coach coach, List<PracticeSyncOperation> operations) {
+        validate(operations);
+        Long ownerId;
+        try {
+            ownerId = liveSessions.getCoachId(sessionId);
+        } catch (IllegalArgumentException e) {
+            throw new EntityNotFoundException("Practice session not found");
+        }
+        if (!ownerId.equals(coach.getCoachId())) {
+            throw new EntityNotFoundException("Practice session not found");
+        }
+        Long lessonId = liveSessions.getState(sessionId).getLessonId();
+
+        // The whole batch is one write, so taps from other devices land before or after it
+        List<PracticeSyncResponse.Result> results = sessionLocks.run(sessionId,
+                () -> apply(sessionId, lessonId, coach, operations));
+
+        return PracticeSyncResponse.builder()
+                .results(results)
+                .session(liveSessions.getState(sessionId))
+                .evaluations(practiceService.getEvaluationSummariesForSession(sessionId))
+                .notes(practiceNoteRepository.findByLessonIdAndPracticeSessionId(lessonId, sessionId).stream()
+                        .map(note -> toNoteResponse(note, lessonId, sessionId))
+                        .toList())
+                .build();
+    }
+
+    private List<PracticeSyncResponse.Result> apply(Long sessionId, Long lessonId, Coach coach,
+                                                    List<PracticeSyncOperation> operations) {
+        PracticeSyncResponse.Result[] results = new PracticeSyncResponse.Result[operations.size()];
+        List<Claimed> claimed = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            PracticeSyncOperation operation = operations.get(i);
+            String storeKey = coach.getCoachId() + ":" + operation.getKey();
+            Optional<PracticeSyncResponse.Result> previous = applied.claim(storeKey);
+            if (previous == null) {
+                claimed.add(new Claimed(i, storeKey, operation));
+            } else {
+                results[i] = result(operation, PracticeSyncResponse.Status.DUPLICATE,
+                        previous.map(PracticeSyncResponse.Result::getEntityId).orElse(null), null);
+            }
+        }
+
+        boolean liveWritten = false;
+        try {
+            rejectInvalid(claimed, lessonId);
+            insertEvaluationsAndNotes(sessionId, lessonId, coach, claimed);
+            applyLiveChanges(sessionId, claimed);
+            liveSessions.flush(sessionId);
+            liveWritten = true;
+        } finally {
+            // Operations that took effect keep their key; the others (rejected, not reached because
+            // something failed, or live changes not yet written) can be sent again
+            for (Claimed c : claimed) {
+                if (c.result == null || c.result.getStatus() == PracticeSyncResponse.Status.REJECTED
+                        || (!liveWritten && isLive(c.operation))) {
+                    applied.release(c.storeKey);
+                } else {
+                    applied.complete(c.storeKey, c.result);
+                }
+            }
+        }
+
+        for (Claimed c : claimed) {
+            results[c.position] = c.result;
+        }
+        return Arrays.asList(results);
+    }
+
+    private void validate(List<PracticeSyncOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("No operations to sync");
+        }
+        if (operations.size() > maxOperations) {
+            throw new IllegalArgumentException("At most " + maxOperations + " operations per sync");
+        }
+        Set<String> keys = new HashSet<>();
+        for (PracticeSyncOperation operation : operations) {
+            String key = operation.getKey();
+            if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+                throw new IllegalArgumentException("Every operation needs a key of at most " + MAX_KEY_LENGTH
+                        + " characters");
+            }
+            if (!keys.add(key)) {
+                throw new IllegalArgumentException("Duplicate operation key: " + key);
+            }
+            if (operation.getType() == null) {
+                throw new IllegalArgumentException("Operation " + key + " has no type");
+            }
+        }
+    }
+
+    // ===== VALIDATION =====
+
+    // Marks operations that cannot be applied; performers are checked with one query
+    private void rejectInvalid(List<Claimed> claimed, Long lessonId) {
+        LessonOrderCache.LessonOrder lessonOrder = lessonOrders.get(lessonId);
+
+        Set<Long> performerIds = new HashSet<>();
+        for (Claimed c : claimed) {
+            performerIds.addAll(performersOf(c.operation));
+        }
+        Set<Long> existingPerformers = performerIds.isEmpty()
+                ? Set.of() : new HashSet<>(performerRepository.findExistingIds(performerIds));
+
+        for (Claimed c : claimed) {
+            String error = problemWith(c.operation, lessonOrder, existingPerformers);
+            if (error != null) {
+                c.result = result(c.operation, PracticeSyncResponse.Status.REJECTED, null, error);
+            }
+        }
+    }
+
+    private static String problemWith(PracticeSyncOperation operation, LessonOrderCache.LessonOrder lessonOrder,
+                                      Set<Long> existingPerformers) {
+        for (Long performerId : performersOf(operation)) {
+            if (!existingPerformers.contains(performerId)) {
+                return "Performer not found: " + performerId;
+            }
+        }
+        return switch (operation.getType()) {
+            case EVALUATION -> {
+                SceneEvaluationRequest evaluation = operation.getEvaluation();
+                if (evaluation == null || evaluation.getScores() == null) {
+                    yield "Evaluation with scores is required";
+                }
+                yield lessonOrder.contains(evaluation.getLessonExerciseId())
+                        ? null : "Exercise is not part of this lesson";
+            }
+            case NOTE -> operation.getNote() == null || operation.getNote().getContent() == null
+                    || operation.getNote().getContent().isBlank() ? "Note content is required" : null;
+            case ATTENDANCE -> operation.getAttendance() == null || operation.getAttendance().getPerformerId() == null
+                    ? "Attendance performerId is required" : null;
+            case ATTENDANCE_BULK -> operation.getAttendanceList() == null ? "Attendance list is required" : null;
+            case EXERCISE -> lessonOrder.contains(operation.getLessonExerciseId())
+                    ? null : "Exercise is not part of this lesson";
+        };
+    }
+
+    private static Collection<Long> performersOf(PracticeSyncOperation operation) {
+        List<Long> ids = switch (operation.getType()) {
+            case EVALUATION -> operation.getEvaluation() != null ? operation.getEvaluation().getPerformerIds() : null;
+            case ATTENDANCE -> operation.getAttendance() != null && operation.getAttendance().isPresent()
+                    && operation.getAttendance().getPerformerId() != null
+                    ? List.of(operation.getAttendance().getPerformerId()) : null;
+            case ATTENDANCE_BULK -> operation.getAttendanceList() != null
+                    ? operation.getAttendanceList().getPerformerIds() : null;
+            default -> null;
+        };
+        return ids != null ? ids.stream().filter(Objects::nonNull).toList() : List.of();
+    }
+
+    // ===== INSERTS =====
+
+    private void insertEvaluationsAndNotes(Long sessionId, Long lessonId, Coach coach, List<Claimed> claimed) {
+        List<Claimed> evaluations = pendingOfType(claimed, PracticeSyncOperation.Type.EVALUATION);
+        List<Claimed> notes = pendingOfType(claimed, PracticeSyncOperation.Type.NOTE);
+        if (evaluations.isEmpty() && notes.isEmpty()) {
+            return;
+        }
+
+        try {
+            syncTransaction.executeWithoutResult(status -> {
+                if (!notes.isEmpty()) {
+                    insertNotes(sessionId, lessonId, notes);
+                    eventPublisher.publishEvent(new CoachDataChangedEvent(
+                            coach.getCoachId(), CoachDataChangedEvent.Kind.PRACTICE_NOTE, null));
+                }
+                if (!evaluations.isEmpty()) {
+                    insertEvaluations(sessionId, evaluations);
+                    eventPublisher.publishEvent(new CoachDataChangedEvent(
+                            coach.getCoachId(), CoachDataChangedEvent.Kind.SCENE_EVALUATION, null));
+                }
+            });
+        } catch (RuntimeException e) {
+            // Rolled back: none of them took effect
+            notes.forEach(c -> c.result = null);
+            evaluations.forEach(c -> c.result = null);
+            throw e;
+        }
+    }
+
+    // One multi-row insert; ids come back as generated keys, in order
+    private void insertNotes(Long sessionId, Long lessonId, List<Claimed> notes) {
+        List<Long> ids = new ArrayList<>();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO practice_notes (lesson_id, practice_session_id, note_type, content, created_at) " +
+                            "VALUES (?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+                for (Claimed c : notes) {
+                    PracticeNoteRequest note = c.operation.getNote();
+                    statement.setLong(1, lessonId);
+                    statement.setLong(2, sessionId);
+                    statement.setString(3, note.getNoteType());
+                    statement.setString(4, note.getContent());
+                    statement.setTimestamp(5, Timestamp.valueOf(clientTimeOf(c.operation)));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+        if (ids.size() != notes.size()) {
+            throw new IllegalStateException("Expected " + notes.size() + " note ids, got " + ids.size());
+        }
+
+        for (int i = 0; i < notes.size(); i++) {
+            Claimed c = notes.get(i);
+            c.result = result(c.operation, PracticeSyncResponse.Status.APPLIED, ids.get(i), null);
+            PracticeNoteRequest note = c.operation.getNote();
+            eventPublisher.publishEvent(new PracticeSessionEvent(sessionId, PracticeSessionEvent.Type.NOTE,
+                    PracticeNoteResponse.builder()
+                            .id(ids.get(i))
+                            .lessonId(lessonId)
+                            .practiceSessionId(sessionId)
+                            .noteType(note.getNoteType())
+                            .content(note.getContent())
+                            .createdAt(clientTimeOf(c.operation))
+                            .build()));
+        }
+    }
+
+    // Evaluation ids are generated per row; their scores and performer links are batched on flush
+    private void insertEvaluations(Long sessionId, List<Claimed> evaluations) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        PracticeSession session = practiceSessionRepository.getReferenceById(sessionId);
+
+        List<ExerciseEvaluation> saved = new ArrayList<>();
+        for (Claimed c : evaluations) {
+            SceneEvaluationRequest request = c.operation.getEvaluation();
+            ExerciseEvaluation evaluation = ExerciseEvaluation.builder()
+                    .lessonExercise(lessonExerciseRepository.getReferenceById(request.getLessonExerciseId()))
+                    .practiceSession(session)
+                    .notes(request.getNotes())
+                    .evaluatedAt(clientTimeOf(c.operation))
+                    .build();
+            Set<Performer> performers = new HashSet<>();
+            performersOf(c.operation).forEach(id -> performers.add(performerRepository.getReferenceById(id)));
+            evaluation.setEvaluatedPerformers(performers);
+            ExerciseEvaluation savedEvaluation = exerciseEvaluationRepository.save(evaluation);
+            request.getScores().forEach((criterion, score) -> savedEvaluation.getEvaluationScores()
+                    .add(new EvaluationScore(savedEvaluation, criterion, score)));
+            saved.add(savedEvaluation);
+        }
+        entityManager.flush();
+
+        for (int i = 0; i < evaluations.size(); i++) {
+            Claimed c = evaluations.get(i);
+            SceneEvaluationRequest request = c.operation.getEvaluation();
+            Long id = saved.get(i).getId();
+            c.result = result(c.operation, PracticeSyncResponse.Status.APPLIED, id, null);
+            eventPublisher.publishEvent(new PracticeSessionEvent(sessionId, PracticeSessionEvent.Type.EVALUATION,
+                    SceneEvaluationResponse.builder()
+                            .id(id)
+                            .lessonExerciseId(request.getLessonExerciseId())
+                            .practiceSessionId(sessionId)
+                            .performerIds(new ArrayList<>(performersOf(c.operation)))
+                            .scores(request.getScores())
+                            .notes(request.getNotes())
+                            .rubricType(request.getRubricType())
+                            .build()));
+        }
+    }
+
+    // ===== LIVE STATE =====
+
+    // In client time order; an exercise transition older than the server's current exercise is superseded
+    private void applyLiveChanges(Long sessionId, List<Claimed> claimed) {
+        List<Claimed> live = new ArrayList<>();
+        for (Claimed c : claimed) {
+            if (c.result == null) {
+                live.add(c);
+            }
+        }
+        live.sort(Comparator.comparing(c -> clientTimeOf(c.operation)));
+
+        for (Claimed c : live) {
+            PracticeSyncOperation operation = c.operation;
+            try {
+                switch (operation.getType()) {
+                    case EXERCISE -> {
+                        LocalDateTime at = clientTimeOf(operation);
+                        LocalDateTime currentSince = liveSessions.getState(sessionId).getCurrentExerciseStartedAt();
+                        if (currentSince != null && at.isBefore(currentSince)) {
+                            c.result = result(operation, PracticeSyncResponse.Status.SUPERSEDED, null, null);
+                            continue;
+                        }
+                        liveSessions.selectExercise(sessionId, operation.getLessonExerciseId(), at);
+                        c.result = result(operation, PracticeSyncResponse.Status.APPLIED,
+                                operation.getLessonExerciseId(), null);
+                    }
+                    case ATTENDANCE -> {
+                        liveSessions.markAttendance(sessionId, operation.getAttendance().getPerformerId(),
+                                operation.getAttendance().isPresent());
+                        c.result = result(operation, PracticeSyncResponse.Status.APPLIED, null, null);
+                    }
+                    case ATTENDANCE_BULK -> {
+                        liveSessions.replaceAttendance(sessionId, operation.getAttendanceList().getPerformerIds());
+                        c.result = result(operation, PracticeSyncResponse.Status.APPLIED, null, null);
+                    }
+                    default -> throw new IllegalStateException("Unexpected operation " + operation.getType());
+                }
+            } catch (IllegalArgumentException e) {
+                c.result = result(operation, PracticeSyncResponse.Status.REJECTED, null, e.getMessage());
+            }
+        }
+    }
+
+    // ===== HELPERS =====
+
+    private static boolean isLive(PracticeSyncOperation operation) {
+        return switch (operation.getType()) {
+            case EXERCISE, ATTENDANCE, ATTENDANCE_BULK -> true;
+            default -> false;
+        };
+    }
+
+    private static List<Claimed> pendingOfType(List<Claimed> claimed, PracticeSyncOperation.Type type) {
+        return claimed.stream()
+                .filter(c -> c.result == null && c.operation.getType() == type)
+                .toList();
+    }
+
+    // Operations without a client time count as happening now
+    private static LocalDateTime clientTimeOf(PracticeSyncOperation operation) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime clientTime = operation.getClientTime();
+        return clientTime == null || clientTime.isAfter(now) ? now : clientTime;
+    }
+
+    private static PracticeSyncResponse.Result result(PracticeSyncOperation operation,
+                                                      PracticeSyncResponse.Status status, Long entityId,
+                                                      String error) {
+        return PracticeSyncResponse.Result.builder()
+                .key(operation.getKey())
+                .status(status)
+                .entityId(entityId)
+                .error(error)
+                .build();
+    }
+
+    private static PracticeNoteResponse toNoteResponse(PracticeNote note, Long lessonId, Long sessionId) {
+        return PracticeNoteResponse.builder()
+                .id(note.getId())
+                .lessonId(lessonId)
+                .practiceSessionId(sessionId)
+                .noteType(note.getNoteType())
+                .content(note.getContent())
+                .createdAt(note.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,317 @@
+package com.backend.service;
+
+import com.backend.dto.PracticeTimelineResponse;
+import com.backend.dto.PracticeTimelineResponse.Item;
+import com.backend.dto.PracticeTimelineResponse.Type;
+import com.backend.model.Coach;
+import com.backend.repository.PracticeSessionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Chronological feed of a practice session for post-practice review: exercise transitions and attendance
+ * changes from the event log, scene evaluations and notes.
+ *
+ * Each source is read as a cursor over rows its index already returns in order, a page at a time, and the
+ * cursors are merged through a heap holding one row per source. A page therefore costs at most one page of
+ * rows per source however long the session is, and nothing is sorted in memory. The page cursor records
+ * how far each source has been consumed, so the next page resumes every source with a keyset query.
+ *
+ * Event log entries are stamped as they are appended, one at a time per session, so sequence order is
+ * time order.
+ */
+@Service
+public class PracticeTimelineService {
+
+    private final PracticeSessionRepository practiceSessionRepository;
+    private final PracticeEventLog eventLog;
+    private final PracticeNoteQueue noteQueue;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public PracticeTimelineService(
+            PracticeSessionRepository practiceSessionRepository,
+            PracticeEventLog eventLog,
+            PracticeNoteQueue noteQueue,
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper) {
+        this.practiceSessionRepository = practiceSessionRepository;
+        this.eventLog = eventLog;
+        this.noteQueue = noteQueue;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * A page of at most {@code limit} items after {@code cursor} (null for the start).
+     *
+     * @throws EntityNotFoundException when the session does not exist or belongs to another coach
+     * @throws IllegalArgumentException when the cursor is malformed
+     */
+    public PracticeTimelineResponse getTimeline(Long sessionId, Coach coach, String cursor, int limit) {
+        Long ownerId = practiceSessionRepository.findCoachIdById(sessionId)
+                .orElseThrow(() -> new EntityNotFoundException("Practice session not found"));
+        if (!ownerId.equals(coach.getCoachId())) {
+            throw new EntityNotFoundException("Practice session not found");
+        }
+        long[] positions = decode(cursor);
+        eventLog.flush();
+        noteQueue.flush();
+
+        // Ties on time go to the earlier source in this list
+        List<Source> sources = List.of(
+                new EventSource(sessionId, limit, positions[0], "EXERCISE_STARTED", "EXERCISE_ENDED"),
+                new EventSource(sessionId, limit, positions[1], "PERFORMER_ARRIVED", "PERFORMER_LEFT"),
+                new EvaluationSource(sessionId, limit, positions[2], positions[3]),
+                new NoteSource(sessionId, limit, positions[4], positions[5]));
+
+        PriorityQueue<Source> heads = new PriorityQueue<>(sources.size(), Comparator
+                .comparing((Source source) -> source.peek().getOccurredAt())
+                .thenComparingInt(sources::indexOf)
+                .thenComparingLong(Source::peekKey));
+        sources.stream().filter(Source::hasNext).forEach(heads::add);
+
+        List<Item> items = new ArrayList<>(Math.min(limit, 256));
+        while (items.size() < limit && !heads.isEmpty()) {
+            Source source = heads.poll();
+            items.add(source.take());
+            if (source.hasNext()) {
+                heads.add(source);
+            }
+        }
+
+        return PracticeTimelineResponse.builder()
+                .sessionId(sessionId)
+                .items(items)
+                .nextCursor(heads.isEmpty() ? null : encode(sources))
+                .build();
+    }
+
+    // ===== CURSOR =====
+
+    // Positions: exercise seq, attendance seq, evaluation time (epoch ms) and id, note time and id
+    private static final int POSITIONS = 6;
+
+    private static long[] decode(String cursor) {
+        long[] positions = new long[POSITIONS];
+        if (cursor == null || cursor.isBlank()) {
+            return positions;
+        }
+        String[] parts = cursor.split("\\.");
+        if (parts.length != POSITIONS) {
+            throw new IllegalArgumentException("Invalid timeline cursor");
+        }
+        try {
+            for (int i = 0; i < POSITIONS; i++) {
+                positions[i] = Long.parseLong(parts[i]);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid timeline cursor", e);
+        }
+        return positions;
+    }
+
+    private static String encode(List<Source> sources) {
+        StringBuilder cursor = new StringBuilder();
+        for (Source source : sources) {
+            for (long position : source.positions()) {
+                if (!cursor.isEmpty()) {
+                    cursor.append('.');
+                }
+                cursor.append(position);
+            }
+        }
+        return cursor.toString();
+    }
+
+    // ===== SOURCES =====
+
+    // Rows after the source's position, one page at a time; a short page means there are no more
+    private abstract static class Source {
+        final int pageSize;
+        List<Item> page = List.of();
+        List<Long> keys = List.of();
+        int next;
+        boolean exhausted;
+
+        Source(int pageSize) {
+            this.pageSize = pageSize;
+        }
+
+        abstract void fetch(); // Replaces page and keys with the rows after the position
+
+        abstract void advance(Item item, long key);
+
+        abstract long[] positions();
+
+        boolean hasNext() {
+            if (next == page.size() && !exhausted) {
+                fetch();
+                next = 0;
+                exhausted = page.size() < pageSize;
+            }
+            return next < page.size();
+        }
+
+        Item peek() {
+            return page.get(next);
+        }
+
+        long peekKey() {
+            return keys.get(next);
+        }
+
+        Item take() {
+            Item item = page.get(next);
+            advance(item, keys.get(next));
+            next++;
+            return item;
+        }
+    }
+
+    // Event log entries of two types, by sequence number (primary key order)
+    private final class EventSource extends Source {
+        final Long sessionId;
+        final String firstType;
+        final String secondType;
+        long afterSeq;
+
+        EventSource(Long sessionId, int pageSize, long afterSeq, String firstType, String secondType) {
+            super(pageSize);
+            this.sessionId = sessionId;
+            this.afterSeq = afterSeq;
+            this.firstType = firstType;
+            this.secondType = secondType;
+        }
+
+        @Override
+        void fetch() {
+            List<Long> seqs = new ArrayList<>();
+            page = jdbcTemplate.query("SELECT seq, event_type, occurred_at, payload FROM practice_events " +
+                            "WHERE practice_session_id = ? AND seq > ? AND event_type IN (?, ?) ORDER BY seq LIMIT ?",
+                    (rs, rowNum) -> {
+                        seqs.add(rs.getLong(1));
+                        JsonNode payload = readPayload(rs.getString(4));
+                        return Item.builder()
+                                .type(Type.valueOf(rs.getString(2)))
+                                .occurredAt(rs.getTimestamp(3).toLocalDateTime())
+                                .lessonExerciseId(payload.hasNonNull("lessonExerciseId")
+                                        ? payload.get("lessonExerciseId").asLong() : null)
+                                .performerId(payload.hasNonNull("performerId")
+                                        ? payload.get("performerId").asLong() : null)
+                                .build();
+                    },
+                    sessionId, afterSeq, firstType, secondType, pageSize);
+            keys = seqs;
+        }
+
+        @Override
+        void advance(Item item, long key) {
+            afterSeq = key;
+        }
+
+        @Override
+        long[] positions() {
+            return new long[]{afterSeq};
+        }
+    }
+
+    // Rows of a table by (time, id) through its (practice_session_id, time) index
+    private abstract class TimedSource extends Source {
+        final Long sessionId;
+        final String sql;
+        long afterMillis;
+        long afterId;
+
+        TimedSource(Long sessionId, int pageSize, long afterMillis, long afterId, String table, String columns,
+                    String timeColumn) {
+            super(pageSize);
+            this.sessionId = sessionId;
+            this.afterMillis = afterMillis;
+            this.afterId = afterId;
+            this.sql = "SELECT id, " + timeColumn + ", " + columns + " FROM " + table +
+                    " WHERE practice_session_id = ? AND " + timeColumn + " IS NOT NULL AND (" + timeColumn +
+                    " > ? OR (" + timeColumn + " = ? AND id > ?)) ORDER BY " + timeColumn + ", id LIMIT ?";
+        }
+
+        abstract Item map(ResultSet rs) throws SQLException;
+
+        @Override
+        void fetch() {
+            List<Long> ids = new ArrayList<>();
+            // Position 0, the start, is before every row
+            Timestamp after = new Timestamp(afterMillis);
+            page = jdbcTemplate.query(sql, (rs, rowNum) -> {
+                ids.add(rs.getLong(1));
+                return map(rs);
+            }, sessionId, after, after, afterId, pageSize);
+            keys = ids;
+        }
+
+        @Override
+        void advance(Item item, long key) {
+            afterMillis = Timestamp.valueOf(item.getOccurredAt()).getTime();
+            afterId = key;
+        }
+
+        @Override
+        long[] positions() {
+            return new long[]{afterMillis, afterId};
+        }
+    }
+
+    private final class EvaluationSource extends TimedSource {
+        EvaluationSource(Long sessionId, int pageSize, long afterMillis, long afterId) {
+            super(sessionId, pageSize, afterMillis, afterId, "exercise_evaluations", "lesson_exercise_id, notes",
+                    "evaluated_at");
+        }
+
+        @Override
+        Item map(ResultSet rs) throws SQLException {
+            return Item.builder()
+                    .type(Type.EVALUATION)
+                    .occurredAt(rs.getTimestamp(2).toLocalDateTime())
+                    .evaluationId(rs.getLong(1))
+                    .lessonExerciseId(rs.getLong(3))
+                    .text(rs.getString(4))
+                    .build();
+        }
+    }
+
+    private final class NoteSource extends TimedSource {
+        NoteSource(Long sessionId, int pageSize, long afterMillis, long afterId) {
+            super(sessionId, pageSize, afterMillis, afterId, "practice_notes", "note_type, content", "created_at");
+        }
+
+        @Override
+        Item map(ResultSet rs) throws SQLException {
+            return Item.builder()
+                    .type(Type.NOTE)
+                    .occurredAt(rs.getTimestamp(2).toLocalDateTime())
+                    .noteId(rs.getLong(1))
+                    .noteType(rs.getString(3))
+                    .text(rs.getString(4))
+                    .build();
+        }
+    }
+
+    private JsonNode readPayload(String payload) {
+        try {
+            return objectMapper.readTree(payload != null ? payload : "{}");
+        } catch (JsonProcessingException e) {
+            return objectMapper.createObjectNode();
+        }
+    }
+}
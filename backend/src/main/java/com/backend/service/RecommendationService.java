@@ -0,0 +1,235 @@
+package com.backend.service;
+
+import com.backend.event.CoachDataChangedEvent;
+import com.backend.model.FocusArea;
+import com.backend.repository.EvaluationTemplateRepository;
+import com.backend.repository.ExerciseRepository;
+import com.backend.repository.FocusAreaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Recommends exercises for a team's or performer's weakest criteria.
+ *
+ * The exercise catalog is indexed once into bitsets over dense exercise ordinals: one per focus area
+ * (exercises targeting it), one for public/system exercises and one per coach for their private ones.
+ * A recommendation is then an OR over the weak areas' bitsets, an AND with the coach's accessible set,
+ * and a short scoring pass over the surviving bits. The index is rebuilt after exercise changes and
+ * otherwise every {@code max-age} so that focus area and template edits are picked up.
+ */
+@Service
+public class RecommendationService {
+
+    public static final int WEAKEST_COUNT = 3;
+    public static final int DEFAULT_LIMIT = 5;
+
+    private final ExerciseRepository exerciseRepository;
+    private final FocusAreaRepository focusAreaRepository;
+    private final EvaluationTemplateRepository evaluationTemplateRepository;
+    private final Duration maxAge;
+
+    private volatile CatalogIndex index;
+    private volatile boolean dirty = true;
+
+    public RecommendationService(ExerciseRepository exerciseRepository,
+                                 FocusAreaRepository focusAreaRepository,
+                                 EvaluationTemplateRepository evaluationTemplateRepository,
+                                 @Value("${app.recommendations.index-max-age-ms:900000}") long maxAgeMillis) {
+        this.exerciseRepository = exerciseRepository;
+        this.focusAreaRepository = focusAreaRepository;
+        this.evaluationTemplateRepository = evaluationTemplateRepository;
+        this.maxAge = Duration.ofMillis(maxAgeMillis);
+    }
+
+    /**
+     * Names of the focus areas behind the weakest criteria (lowest averages first). Criteria without
+     * a matching focus area are skipped.
+     */
+    public List<String> weakestFocusAreas(Map<String, Double> criterionAverages, int count) {
+        return rankFocusAreas(criterionAverages, count, false);
+    }
+
+    public List<String> strongestFocusAreas(Map<String, Double> criterionAverages, int count) {
+        return rankFocusAreas(criterionAverages, count, true);
+    }
+
+    /**
+     * Exercises from the coach's accessible set that target the weakest criteria, best match first.
+     * An exercise scores the sum of the gaps (max score minus average) of the weak areas it targets,
+     * so exercises hitting several weak areas, or the weakest one, rank highest.
+     */
+    public List<Map<String, Object>> recommendExercises(Long coachId, Map<String, Double> criterionAverages,
+                                                        double maxScore, int limit) {
+        CatalogIndex catalog = catalog();
+        List<Map.Entry<Long, Double>> weakAreas = weakAreaGaps(catalog, criterionAverages, maxScore);
+        if (weakAreas.isEmpty()) {
+            return List.of();
+        }
+
+        BitSet candidates = new BitSet(catalog.exerciseIds.length);
+        for (Map.Entry<Long, Double> area : weakAreas) {
+            candidates.or(catalog.byFocusArea.getOrDefault(area.getKey(), CatalogIndex.EMPTY));
+        }
+        candidates.and(catalog.accessibleTo(coachId));
+
+        List<double[]> scored = new ArrayList<>();
+        for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+            double score = 0;
+            for (Map.Entry<Long, Double> area : weakAreas) {
+                if (catalog.byFocusArea.getOrDefault(area.getKey(), CatalogIndex.EMPTY).get(ordinal)) {
+                    score += area.getValue();
+                }
+            }
+            scored.add(new double[] {ordinal, score});
+        }
+        scored.sort(Comparator.comparingDouble((double[] entry) -> entry[1]).reversed()
+                .thenComparing(entry -> catalog.exerciseNames[(int) entry[0]]));
+
+        List<Map<String, Object>> recommendations = new ArrayList<>();
+        for (double[] entry : scored.subList(0, Math.min(limit, scored.size()))) {
+            int ordinal = (int) entry[0];
+            List<String> targets = new ArrayList<>();
+            for (Map.Entry<Long, Double> area : weakAreas) {
+                if (catalog.byFocusArea.getOrDefault(area.getKey(), CatalogIndex.EMPTY).get(ordinal)) {
+                    targets.add(catalog.focusAreaNames.get(area.getKey()));
+                }
+            }
+            Map<String, Object> recommendation = new LinkedHashMap<>();
+            recommendation.put("exerciseId", catalog.exerciseIds[ordinal]);
+            recommendation.put("exerciseName", catalog.exerciseNames[ordinal]);
+            recommendation.put("targetsFocusAreas", targets);
+            recommendation.put("relevance", Math.round(entry[1] * 100.0) / 100.0);
+            recommendations.add(recommendation);
+        }
+        return recommendations;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCoachDataChanged(CoachDataChangedEvent event) {
+        if (event.kind() == CoachDataChangedEvent.Kind.EXERCISE) {
+            dirty = true;
+        }
+    }
+
+    // ===== INDEX =====
+
+    private static final class CatalogIndex {
+        static final BitSet EMPTY = new BitSet();
+
+        final Instant builtAt = Instant.now();
+        long[] exerciseIds;
+        String[] exerciseNames;
+        final Map<Long, BitSet> byFocusArea = new HashMap<>();
+        final BitSet shared = new BitSet();
+        final Map<Long, BitSet> privateByCoach = new HashMap<>();
+        final Map<Long, String> focusAreaNames = new HashMap<>();
+        // Normalized criterion or focus area name -> focus area id
+        final Map<String, Long> focusAreaByName = new HashMap<>();
+
+        BitSet accessibleTo(Long coachId) {
+            BitSet accessible = (BitSet) shared.clone();
+            accessible.or(privateByCoach.getOrDefault(coachId, EMPTY));
+            return accessible;
+        }
+    }
+
+    private CatalogIndex catalog() {
+        CatalogIndex current = index;
+        if (current != null && !dirty && current.builtAt.plus(maxAge).isAfter(Instant.now())) {
+            return current;
+        }
+        synchronized (this) {
+            current = index;
+            if (current == null || dirty || !current.builtAt.plus(maxAge).isAfter(Instant.now())) {
+                dirty = false;
+                current = buildIndex();
+                index = current;
+            }
+            return current;
+        }
+    }
+
+    private CatalogIndex buildIndex() {
+        CatalogIndex catalog = new CatalogIndex();
+
+        for (FocusArea focusArea : focusAreaRepository.findAll()) {
+            catalog.focusAreaNames.put(focusArea.getId(), focusArea.getName());
+            catalog.focusAreaByName.put(normalize(focusArea.getName()), focusArea.getId());
+        }
+        // Explicit criterion links win over name matches (legacy columns match focus area names)
+        for (Object[] row : evaluationTemplateRepository.findCriterionFocusAreaLinks()) {
+            if (catalog.focusAreaNames.containsKey((Long) row[1])) {
+                catalog.focusAreaByName.put(normalize((String) row[0]), (Long) row[1]);
+            }
+        }
+
+        Map<Long, Integer> ordinals = new HashMap<>();
+        List<Long> ids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (Object[] row : exerciseRepository.findCatalogRows()) {
+            Long exerciseId = (Long) row[0];
+            Integer ordinal = ordinals.get(exerciseId);
+            if (ordinal == null) {
+                ordinal = ids.size();
+                ordinals.put(exerciseId, ordinal);
+                ids.add(exerciseId);
+                names.add((String) row[1]);
+                boolean isPublic = Boolean.TRUE.equals(row[2]);
+                Long creatorId = (Long) row[3];
+                if (isPublic || creatorId == null) {
+                    catalog.shared.set(ordinal);
+                } else {
+                    catalog.privateByCoach.computeIfAbsent(creatorId, id -> new BitSet()).set(ordinal);
+                }
+            }
+            if (row[4] != null) {
+                catalog.byFocusArea.computeIfAbsent((Long) row[4], id -> new BitSet()).set(ordinal);
+            }
+        }
+        catalog.exerciseIds = ids.stream().mapToLong(Long::longValue).toArray();
+        catalog.exerciseNames = names.toArray(new String[0]);
+        return catalog;
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    // Focus area names in criterion order, each area once
+    private List<String> rankFocusAreas(Map<String, Double> criterionAverages, int count, boolean highestFirst) {
+        CatalogIndex catalog = catalog();
+        Comparator<Map.Entry<String, Double>> byScore = Map.Entry.comparingByValue();
+        return criterionAverages.entrySet().stream()
+                .sorted(highestFirst ? byScore.reversed() : byScore)
+                .map(entry -> catalog.focusAreaByName.get(normalize(entry.getKey())))
+                .filter(Objects::nonNull)
+                .distinct()
+                .limit(count)
+                .map(catalog.focusAreaNames::get)
+                .toList();
+    }
+
+    // Weakest mapped focus areas with their gap to the max score; several criteria may share an area
+    private List<Map.Entry<Long, Double>> weakAreaGaps(CatalogIndex catalog, Map<String, Double> criterionAverages,
+                                                       double maxScore) {
+        Map<Long, Double> lowestAverage = new HashMap<>();
+        criterionAverages.forEach((criterion, average) -> {
+            Long focusAreaId = catalog.focusAreaByName.get(normalize(criterion));
+            if (focusAreaId != null) {
+                lowestAverage.merge(focusAreaId, average, Math::min);
+            }
+        });
+        return lowestAverage.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .limit(WEAKEST_COUNT)
+                .map(entry -> Map.entry(entry.getKey(), Math.max(0.0, maxScore - entry.getValue())))
+                .toList();
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
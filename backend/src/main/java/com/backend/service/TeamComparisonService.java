@@ -0,0 +1,234 @@
+package com.backend.service;
+
+import com.backend.model.Team;
+import com.backend.repository.EvaluationRepository;
+import com.backend.repository.TeamRepository;
+import com.backend.util.LegacyCriteria;
+import com.backend.util.RunningStats;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Compares every team of a coach against the coach's other teams.
+ *
+ * Per-team aggregation fans out on a small dedicated pool: each task streams one team's scores
+ * (legacy columns and scene scores, one query) straight into Welford accumulators indexed by
+ * criterion, so no rows are materialized. The tasks block on JDBC, so the pool has a fixed number
+ * of threads rather than a work-stealing pool's compensating ones. The per-team results are then
+ * merged into the coach-wide distribution of team averages, from which z-scores, ranks and
+ * percentiles are derived.
+ */
+@Service
+public class TeamComparisonService {
+
+    private final EvaluationRepository evaluationRepository;
+    private final TeamRepository teamRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService pool;
+
+    // Each task holds a connection while it streams, so keep this below the connection pool size
+    public TeamComparisonService(
+            EvaluationRepository evaluationRepository,
+            TeamRepository teamRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.analytics.comparison.parallelism:3}") int parallelism) {
+        this.evaluationRepository = evaluationRepository;
+        this.teamRepository = teamRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.pool = Executors.newFixedThreadPool(parallelism, namedThreads("team-comparison"));
+    }
+
+    /**
+     * Where one team stands among the coach's teams. Teams without scores in the range are not
+     * ranked and have a null rank and percentile.
+     */
+    public record TeamComparison(
+            Long teamId,
+            long scoreCount,
+            double averageScore,
+            double zScore,
+            Integer rank,
+            Double percentile,
+            Map<String, Double> criterionZScores) {
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("scoreCount", scoreCount);
+            map.put("averageScore", round(averageScore));
+            map.put("zScore", round(zScore));
+            map.put("rank", rank);
+            map.put("percentile", percentile);
+            map.put("criterionZScores", criterionZScores);
+            return map;
+        }
+    }
+
+    public Map<Long, TeamComparison> compare(Long coachId, LocalDateTime since) {
+        List<Long> teamIds = teamRepository.findByCoach_CoachId(coachId).stream()
+                .map(Team::getTeamId)
+                .toList();
+        if (teamIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<Callable<TeamScores>> tasks = teamIds.stream()
+                .map(teamId -> (Callable<TeamScores>) () -> aggregate(teamId, since))
+                .toList();
+        List<TeamScores> perTeam = new ArrayList<>(tasks.size());
+        try {
+            for (Future<TeamScores> result : pool.invokeAll(tasks)) {
+                perTeam.add(result.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while comparing teams", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to compare teams", e.getCause());
+        }
+        return merge(perTeam);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // ===== PER-TEAM AGGREGATION =====
+
+    /**
+     * Welford accumulators for one team: overall plus one per criterion. Legacy criteria take the
+     * first slots so that scene scores recorded under the same name land in the same accumulator.
+     */
+    private static final class TeamScores {
+        final Long teamId;
+        final RunningStats overall = new RunningStats();
+        final List<String> criteria = new ArrayList<>(LegacyCriteria.NAMES);
+        RunningStats[] byCriterion = new RunningStats[LegacyCriteria.COUNT];
+
+        TeamScores(Long teamId) {
+            this.teamId = teamId;
+        }
+
+        void add(int criterionIndex, int score) {
+            if (criterionIndex >= byCriterion.length) {
+                byCriterion = Arrays.copyOf(byCriterion, Math.max(criterionIndex + 1, byCriterion.length * 2));
+            }
+            if (byCriterion[criterionIndex] == null) {
+                byCriterion[criterionIndex] = new RunningStats();
+            }
+            byCriterion[criterionIndex].add(score);
+            overall.add(score);
+        }
+
+        int indexOf(String criterion) {
+            int index = criteria.indexOf(criterion);
+            if (index < 0) {
+                criteria.add(criterion);
+                index = criteria.size() - 1;
+            }
+            return index;
+        }
+    }
+
+    private TeamScores aggregate(Long teamId, LocalDateTime since) {
+        TeamScores scores = new TeamScores(teamId);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = evaluationRepository.streamScoresByTeamSince(teamId, since)) {
+                rows.forEach(row -> {
+                    if (row[LegacyCriteria.COUNT] != null) {
+                        scores.add(scores.indexOf((String) row[LegacyCriteria.COUNT]),
+                                ((Number) row[LegacyCriteria.COUNT + 1]).intValue());
+                        return;
+                    }
+                    for (int i = 0; i < LegacyCriteria.COUNT; i++) {
+                        if (row[i] != null) {
+                            scores.add(i, ((Number) row[i]).intValue());
+                        }
+                    }
+                });
+            }
+        });
+        return scores;
+    }
+
+    // ===== MERGE =====
+
+    private Map<Long, TeamComparison> merge(List<TeamScores> perTeam) {
+        List<TeamScores> scored = perTeam.stream()
+                .filter(team -> team.overall.getCount() > 0)
+                .sorted(Comparator.comparingDouble((TeamScores team) -> team.overall.getMean()).reversed())
+                .toList();
+
+        // Distribution of team averages, overall and per criterion
+        RunningStats teamAverages = new RunningStats();
+        Map<String, RunningStats> criterionAverages = new HashMap<>();
+        for (TeamScores team : scored) {
+            teamAverages.add(team.overall.getMean());
+            forEachCriterion(team, (criterion, stats) ->
+                    criterionAverages.computeIfAbsent(criterion, c -> new RunningStats()).add(stats.getMean()));
+        }
+
+        Map<Long, TeamComparison> comparisons = new HashMap<>();
+        int rank = 0;
+        double previousAverage = Double.NaN;
+        for (int position = 0; position < scored.size(); position++) {
+            TeamScores team = scored.get(position);
+            double average = team.overall.getMean();
+            if (average != previousAverage) {
+                rank = position + 1;
+                previousAverage = average;
+            }
+            // Share of the other scored teams this team is ahead of
+            long behind = scored.stream().filter(other -> other.overall.getMean() < average).count();
+            double percentile = scored.size() > 1 ? (double) behind / (scored.size() - 1) : 1.0;
+
+            Map<String, Double> criterionZScores = new TreeMap<>();
+            forEachCriterion(team, (criterion, stats) ->
+                    criterionZScores.put(criterion, round(criterionAverages.get(criterion).zScore(stats.getMean()))));
+
+            comparisons.put(team.teamId, new TeamComparison(team.teamId, team.overall.getCount(), average,
+                    teamAverages.zScore(average), rank, round(percentile), criterionZScores));
+        }
+
+        for (TeamScores team : perTeam) {
+            comparisons.putIfAbsent(team.teamId,
+                    new TeamComparison(team.teamId, 0, 0.0, 0.0, null, null, Collections.emptyMap()));
+        }
+        return comparisons;
+    }
+
+    private static void forEachCriterion(TeamScores team, BiConsumer<String, RunningStats> action) {
+        for (int i = 0; i < team.byCriterion.length; i++) {
+            if (team.byCriterion[i] != null) {
+                action.accept(team.criteria.get(i), team.byCriterion[i]);
+            }
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -3,12 +3,15 @@ package com.backend.service;
 import com.backend.dto.TeamRequest;
 import com.backend.dto.TeamResponse;
 import com.backend.dto.TeamUpdateRequest;
+import com.backend.event.CoachDataChangedEvent;
 import com.backend.model.Coach;
 import com.backend.model.Performer;
 import com.backend.model.Team;
 import com.backend.repository.PerformerRepository;
 import com.backend.repository.TeamRepository;
+import com.backend.util.ResourceVersion;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +24,7 @@ import java.util.stream.Collectors;
 public class TeamService {
     private final TeamRepository teamRepository;
     private final PerformerRepository performerRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
 	@Transactional
 	public TeamResponse createTeam(TeamRequest request, Coach coach) {
@@ -39,9 +43,20 @@ public class TeamService {
 		team.setCoach(coach);
 		
 		Team savedTeam = teamRepository.save(team);
+		publishChange(coach, savedTeam.getTeamId());
 		return mapToResponse(savedTeam);
 	}
 
+    public ResourceVersion getTeamsVersion(Coach coach) {
+        return ResourceVersion.ofRow("teams", teamRepository.findListVersionRowsByCoachId(coach.getCoachId()));
+    }
+
+    // Null when the team does not exist or is not the coach's
+    public ResourceVersion getTeamWithPerformersVersion(Long teamId, Coach coach) {
+        return ResourceVersion.ofRow("team-" + teamId,
+                teamRepository.findVersionRowsByIdAndCoachId(teamId, coach.getCoachId()));
+    }
+
     public List<TeamResponse> getTeamsByCoach(Coach coach) {
         return teamRepository.findByCoachIdWithPerformers(coach.getCoachId()).stream()
                 .map(this::mapToResponse)
@@ -228,6 +243,12 @@ public class TeamService {
         
         // Delete the team and its associated evaluations (cascading)
         teamRepository.delete(team);
+        publishChange(coach, teamId);
+    }
+
+    private void publishChange(Coach coach, Long teamId) {
+        eventPublisher.publishEvent(new CoachDataChangedEvent(
+                coach.getCoachId(), CoachDataChangedEvent.Kind.TEAM, teamId));
     }
 
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.backend.service;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,9 +10,11 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.backend.dto.CoachProfileResponse;
 import com.backend.dto.CoachProfileUpdateRequest;
 import com.backend.model.Coach;
 import com.backend.repository.CoachRepository;
+import com.backend.util.ResourceVersion;
 
 import jakarta.transaction.Transactional;
 
@@ -22,6 +26,9 @@ public class UserService {
     
     @Autowired
     private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private CoachCountersService coachCountersService;
 
     public String getCurrentUserEmail() {
     Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
@@ -43,6 +50,45 @@ public class UserService {
         return coachRepository.findByEmail(email);
     }
     
+    /**
+     * The coach's own columns plus cached counts; does not load the coach entity or its collections.
+     */
+    public Optional<CoachProfileResponse> getCoachProfile(String email) {
+        List<Object[]> rows = coachRepository.findProfileRowsByEmail(email);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = rows.get(0);
+        Long coachId = (Long) row[0];
+        CoachCountersService.Counts counts = coachCountersService.countsFor(coachId);
+        return Optional.of(CoachProfileResponse.builder()
+                .coachId(coachId)
+                .email((String) row[1])
+                .firstName((String) row[2])
+                .lastName((String) row[3])
+                .bio((String) row[4])
+                .experience((String) row[5])
+                .certifications((String) row[6])
+                .createdAt((LocalDateTime) row[7])
+                .updatedAt((LocalDateTime) row[8])
+                .teamCount(counts.teams())
+                .performerCount(counts.performers())
+                .lessonCount(counts.lessons())
+                .build());
+    }
+    
+    // Profile columns change updatedAt; the counts are folded in so that they invalidate it too
+    public Optional<ResourceVersion> getCoachProfileVersion(String email) {
+        List<Object[]> rows = coachRepository.findVersionRowsByEmail(email);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = rows.get(0);
+        CoachCountersService.Counts counts = coachCountersService.countsFor((Long) row[0]);
+        return Optional.of(ResourceVersion.of("coach", row[0], row[1], counts.teams(), counts.performers(),
+                counts.lessons()));
+    }
+
     public Coach getCurrentCoach(String email) {
         return coachRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Coach not found with email: " + email));
@@ -0,0 +1,48 @@
+package com.backend.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Remembers the outcome of recently applied client operations by idempotency key, so that a replayed
+ * operation gets the first outcome back instead of being applied twice. Holds at most {@code capacity}
+ * keys and forgets the least recently used first.
+ */
+public class IdempotencyStore<V> {
+
+    // An empty outcome marks a key whose operation is still being applied
+    private final Map<String, Optional<V>> entries;
+
+    public IdempotencyStore(int capacity) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Optional<V>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Claims a key for the caller. Returns null when the caller now owns it and must either
+     * {@link #complete} or {@link #release} it; otherwise the recorded outcome, which is empty while
+     * another request is still applying the operation.
+     */
+    public synchronized Optional<V> claim(String key) {
+        Optional<V> existing = entries.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        entries.put(key, Optional.empty());
+        return null;
+    }
+
+    public synchronized void complete(String key, V outcome) {
+        entries.put(key, Optional.of(outcome));
+    }
+
+    // The operation was not applied; a later retry may claim the key again
+    public synchronized void release(String key) {
+        entries.remove(key);
+    }
+}
@@ -0,0 +1,44 @@
+package com.backend.util;
+
+import com.backend.model.Evaluation;
+
+import java.util.List;
+
+/**
+ * The eight fixed score columns of the legacy {@link Evaluation} table, in column order.
+ * Display names match the seeded focus area names where one exists.
+ */
+public final class LegacyCriteria {
+
+    public static final List<String> NAMES = List.of(
+        "Yes And",
+        "Agreement",
+        "Who/What/Where",
+        "Physicality",
+        "Listening",
+        "Commitment",
+        "Avoidance of Denial",
+        "Efficiency"
+    );
+
+    public static final int COUNT = NAMES.size();
+
+    public static final int MAX_SCORE = 4;
+
+    private LegacyCriteria() {
+    }
+
+    // Scores in column order; null where the column was not filled in
+    public static Integer[] scoresOf(Evaluation evaluation) {
+        return new Integer[] {
+            evaluation.getYesAnd(),
+            evaluation.getAgreement(),
+            evaluation.getWhoWhatWhere(),
+            evaluation.getPhysicality(),
+            evaluation.getListening(),
+            evaluation.getCommitment(),
+            evaluation.getAvoidanceOfDenial(),
+            evaluation.getEfficiency()
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.backend.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes newline-delimited JSON straight to a response stream with Jackson's streaming generator.
+ *
+ * The first record is flushed immediately and then every {@link #FLUSH_EVERY} records, so the client
+ * starts receiving data before the query finishes. A write to a disconnected client throws; callers
+ * close their source stream on the way out, which releases its cursor and connection.
+ */
+public final class NdjsonWriter implements Closeable {
+
+    public static final int FLUSH_EVERY = 200;
+
+    private final JsonGenerator generator;
+    private long written;
+
+    public NdjsonWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    /**
+     * Writes every element of {@code rows}, mapped by {@code mapper}, and closes {@code rows}.
+     * Returns the number of records written.
+     */
+    public static <T> long writeAll(ObjectMapper objectMapper, OutputStream out, Stream<T> rows,
+                                    Function<? super T, ?> mapper) throws IOException {
+        try (rows; NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+            for (Iterator<T> it = rows.iterator(); it.hasNext(); ) {
+                writer.write(mapper.apply(it.next()));
+            }
+            return writer.getWritten();
+        }
+    }
+
+    public void write(Object record) throws IOException {
+        generator.writeObject(record);
+        endRecord();
+    }
+
+    /** Writes one object with {@code values[i]} under {@code fields.get(i)}, without building a map. */
+    public void writeFields(List<String> fields, Object[] values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < fields.size(); i++) {
+            generator.writeFieldName(fields.get(i));
+            generator.writeObject(values[i]);
+        }
+        generator.writeEndObject();
+        endRecord();
+    }
+
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    private void endRecord() throws IOException {
+        generator.writeRaw('\n');
+        if (++written == 1 || written % FLUSH_EVERY == 0) {
+            generator.flush();
+        }
+    }
+
+    // Flushes; the response stream itself stays open
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,117 @@
+package com.backend.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A cheap fingerprint of a resource or collection, read with one aggregate query instead of loading
+ * the entity graph, and used as a validator for conditional GETs.
+ *
+ * A version row holds timestamps (max {@code updatedAt} of the resource and whatever it embeds),
+ * counts and id sums (so adds, deletes and membership swaps that leave timestamps alone still change
+ * it). The weak ETag hashes the whole row. Last-Modified is the latest timestamp and is only sent when
+ * that timestamp alone tracks every change, as for a single lesson or exercise; for collections a
+ * delete can hide behind an unchanged maximum, so they validate by ETag only.
+ *
+ * {@code updated_at} columns have one-second resolution, so a second write in the same second would
+ * not change the version. Versions younger than {@link #SETTLE_SECONDS} are therefore never used as
+ * validators: the response is sent in full, without an ETag.
+ */
+public final class ResourceVersion {
+
+    public static final long SETTLE_SECONDS = 2;
+
+    private final String kind;
+    private final LocalDateTime lastModified;
+    private final Object[] row;
+
+    private ResourceVersion(String kind, Object[] row) {
+        this.kind = kind;
+        this.row = row;
+        LocalDateTime latest = null;
+        for (Object value : row) {
+            if (value instanceof LocalDateTime time && (latest == null || time.isAfter(latest))) {
+                latest = time;
+            }
+        }
+        this.lastModified = latest;
+    }
+
+    /**
+     * {@code kind} names the representation (including any parameters that shape it) so that two
+     * endpoints over the same rows never share an ETag.
+     */
+    public static ResourceVersion of(String kind, Object... row) {
+        return new ResourceVersion(kind, row);
+    }
+
+    // Aggregate queries without GROUP BY always return one row; a single-resource query returns none when not found
+    public static ResourceVersion ofRow(String kind, List<Object[]> rows) {
+        return rows.isEmpty() ? null : new ResourceVersion(kind, rows.get(0));
+    }
+
+    public String getETag() {
+        long hash = 17;
+        for (Object value : row) {
+            hash = 31 * hash + normalizedHash(value);
+        }
+        return "W/\"" + kind + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+
+    public boolean isSettled() {
+        return lastModified == null || lastModified.isBefore(LocalDateTime.now().minusSeconds(SETTLE_SECONDS));
+    }
+
+    /**
+     * Validates the request against this version of a single resource. Returns true when the client's
+     * copy is current; the 304 status and validators are then already on the response. Otherwise the
+     * validators are added to the full response that follows.
+     */
+    public boolean checkNotModified(WebRequest request) {
+        if (!isSettled()) {
+            return false;
+        }
+        allowRevalidation(request);
+        if (lastModified == null) {
+            return request.checkNotModified(getETag());
+        }
+        return request.checkNotModified(getETag(), lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    /**
+     * As {@link #checkNotModified(WebRequest)}, validating by ETag only.
+     */
+    public boolean checkETagNotModified(WebRequest request) {
+        if (!isSettled()) {
+            return false;
+        }
+        allowRevalidation(request);
+        return request.checkNotModified(getETag());
+    }
+
+    // Replaces Spring Security's default no-store so the browser keeps the copy and revalidates it on each use
+    private static void allowRevalidation(WebRequest request) {
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        }
+    }
+
+    // Numbers compare by value: MySQL returns sums as BigDecimal, counts as Long
+    private static long normalizedHash(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        return Objects.hashCode(value);
+    }
+}
@@ -0,0 +1,72 @@
+package com.backend.util;
+
+/**
+ * Welford's online mean/variance. Accumulators built on different threads can be
+ * combined with {@link #merge(RunningStats)} (Chan et al. pairwise update).
+ * Not thread-safe; each accumulator has a single writer.
+ */
+public final class RunningStats {
+
+    private long count;
+    private double mean;
+    private double m2;
+
+    // Restores an accumulator from aggregates computed elsewhere (e.g. COUNT, AVG and VAR_POP in SQL)
+    public static RunningStats of(long count, double mean, double variance) {
+        RunningStats stats = new RunningStats();
+        if (count > 0) {
+            stats.count = count;
+            stats.mean = mean;
+            stats.m2 = variance * count;
+        }
+        return stats;
+    }
+
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+
+    public RunningStats merge(RunningStats other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            return this;
+        }
+        long combined = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / combined;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / combined);
+        count = combined;
+        return this;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return count > 0 ? mean : 0.0;
+    }
+
+    // Population variance; the comparisons here cover every team, not a sample of them
+    public double getVariance() {
+        return count > 0 ? m2 / count : 0.0;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    // Standard score of a value against this distribution; 0 when there is no spread
+    public double zScore(double value) {
+        double deviation = getStandardDeviation();
+        return deviation > 0 ? (value - getMean()) / deviation : 0.0;
+    }
+}
@@ -0,0 +1,36 @@
+package com.backend.util;
+
+import java.util.Arrays;
+
+/**
+ * Growable primitive column of scores for the {@link ScoreKernel}s. 0 marks an unscored entry.
+ */
+public final class ScoreColumn {
+
+    private int[] scores;
+    private int size;
+
+    public ScoreColumn() {
+        this(16);
+    }
+
+    public ScoreColumn(int initialCapacity) {
+        this.scores = new int[Math.max(1, initialCapacity)];
+    }
+
+    public void add(int score) {
+        if (size == scores.length) {
+            scores = Arrays.copyOf(scores, size * 2);
+        }
+        scores[size++] = score;
+    }
+
+    // Backing array; only the first size() entries are meaningful
+    public int[] array() {
+        return scores;
+    }
+
+    public int size() {
+        return size;
+    }
+}
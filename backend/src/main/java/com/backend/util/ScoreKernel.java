@@ -0,0 +1,28 @@
+package com.backend.util;
+
+/**
+ * Aggregations over a primitive score column. A score of 0 means "not scored" (valid scores start at 1),
+ * so unscored legacy columns can stay in place instead of being compacted out.
+ * All ranges are {@code [from, to)}.
+ */
+public interface ScoreKernel {
+
+    long sum(int[] scores, int from, int to);
+
+    // Number of scored (non-zero) entries
+    int count(int[] scores, int from, int to);
+
+    // Smallest scored entry, or 0 when nothing in the range is scored
+    int min(int[] scores, int from, int to);
+
+    int max(int[] scores, int from, int to);
+
+    /**
+     * Occurrences of each score 1..maxScore; index 0 holds the unscored count.
+     * Entries above maxScore are ignored.
+     */
+    int[] histogram(int[] scores, int from, int to, int maxScore);
+
+    // out[i] = current[i] - previous[i] for i in [0, length)
+    void deltas(int[] current, int[] previous, int[] out, int length);
+}
@@ -0,0 +1,144 @@
+package com.backend.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Entry point for score aggregation. Uses the Vector API kernel when the build included it (the
+ * {@code vector} Maven profile) and the JVM was started with {@code --add-modules jdk.incubator.vector},
+ * and falls back to the scalar kernel otherwise; both produce identical results.
+ */
+public final class ScoreKernels {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoreKernels.class);
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final ScoreKernel SCALAR = new ScalarScoreKernel();
+
+    private static final ScoreKernel KERNEL = select();
+
+    private ScoreKernels() {
+    }
+
+    public static ScoreKernel kernel() {
+        return KERNEL;
+    }
+
+    public static ScoreKernel scalar() {
+        return SCALAR;
+    }
+
+    public static boolean isVectorized() {
+        return KERNEL != SCALAR;
+    }
+
+    public static double mean(ScoreKernel kernel, int[] scores, int from, int to) {
+        int count = kernel.count(scores, from, to);
+        return count > 0 ? (double) kernel.sum(scores, from, to) / count : 0.0;
+    }
+
+    public static double mean(int[] scores, int length) {
+        return mean(KERNEL, scores, 0, length);
+    }
+
+    public static double mean(ScoreColumn column) {
+        return mean(column.array(), column.size());
+    }
+
+    /**
+     * Mean of the later half of a chronological column minus the mean of the earlier half
+     * (0 for fewer than two entries).
+     */
+    public static double halfDelta(int[] scores, int length) {
+        if (length < 2) {
+            return 0.0;
+        }
+        int middle = length / 2;
+        return mean(KERNEL, scores, middle, length) - mean(KERNEL, scores, 0, middle);
+    }
+
+    private static ScoreKernel select() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            logger.info("{} not enabled; score aggregation uses the scalar kernel", VECTOR_MODULE);
+            return SCALAR;
+        }
+        try {
+            // Loaded reflectively so this class never links against the incubator module
+            ScoreKernel kernel = (ScoreKernel) Class.forName("com.backend.util.VectorScoreKernel")
+                    .getDeclaredConstructor().newInstance();
+            logger.info("Score aggregation uses the Vector API kernel");
+            return kernel;
+        } catch (ClassNotFoundException e) {
+            logger.info("Built without the vector profile; score aggregation uses the scalar kernel");
+            return SCALAR;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            logger.warn("Vector API kernel unavailable; using the scalar kernel", e);
+            return SCALAR;
+        }
+    }
+
+    static final class ScalarScoreKernel implements ScoreKernel {
+
+        @Override
+        public long sum(int[] scores, int from, int to) {
+            long sum = 0;
+            for (int i = from; i < to; i++) {
+                sum += scores[i];
+            }
+            return sum;
+        }
+
+        @Override
+        public int count(int[] scores, int from, int to) {
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                if (scores[i] != 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public int min(int[] scores, int from, int to) {
+            int min = Integer.MAX_VALUE;
+            for (int i = from; i < to; i++) {
+                if (scores[i] != 0 && scores[i] < min) {
+                    min = scores[i];
+                }
+            }
+            return min == Integer.MAX_VALUE ? 0 : min;
+        }
+
+        @Override
+        public int max(int[] scores, int from, int to) {
+            int max = 0;
+            for (int i = from; i < to; i++) {
+                if (scores[i] > max) {
+                    max = scores[i];
+                }
+            }
+            return max;
+        }
+
+        @Override
+        public int[] histogram(int[] scores, int from, int to, int maxScore) {
+            int[] histogram = new int[maxScore + 1];
+            for (int i = from; i < to; i++) {
+                int score = scores[i];
+                if (score >= 0 && score <= maxScore) {
+                    histogram[score]++;
+                }
+            }
+            return histogram;
+        }
+
+        @Override
+        public void deltas(int[] current, int[] previous, int[] out, int length) {
+            for (int i = 0; i < length; i++) {
+                out[i] = current[i] - previous[i];
+            }
+        }
+    }
+}
@@ -65,15 +65,35 @@ public class TimeCalculator {
     }
 
     // === Team Size Adjustment ===
+    public static final int TEAM_SIZE_BANDS = 4;
+    public static final int DEFAULT_TEAM_SIZE = 8; // Exercise minimum durations are set for a team of 8
+
+    // 1-4, 5-8, 9-12, 13+ performers
+    public static int teamSizeBand(int teamSize) {
+        return Math.min(TEAM_SIZE_BANDS - 1, Math.max(0, (teamSize - 1) / 4));
+    }
+
     public int estimateDurationForTeamSize(int baseDuration, int teamSize) {
-        return switch (teamSize) {
-            case 1, 2, 3, 4 -> (int) (baseDuration * 0.75);
-            case 5, 6, 7, 8 -> baseDuration;
-            case 9, 10, 11, 12 -> (int) (baseDuration * 1.25);
+        return switch (teamSizeBand(teamSize)) {
+            case 0 -> (int) (baseDuration * 0.75);
+            case 1 -> baseDuration;
+            case 2 -> (int) (baseDuration * 1.25);
             default -> (int) (baseDuration * 1.5);
         };
     }
 
+    /**
+     * Like {@link #estimateDurationForTeamSize(int, int)}, but uses the measured run times (in seconds) of
+     * the exercise with teams of this size once there are at least {@code minSamples} of them.
+     */
+    public int estimateDurationForTeamSize(int baseDuration, int teamSize, RunningStats actualSeconds,
+                                           int minSamples) {
+        if (actualSeconds == null || actualSeconds.getCount() < minSamples) {
+            return estimateDurationForTeamSize(baseDuration, teamSize);
+        }
+        return Math.max(1, (int) Math.round(actualSeconds.getMean() / 60.0));
+    }
+
     // === Time Formatting ===
     public static String formatDuration(int minutes) {
         if (minutes < 60) return minutes + " min";
@@ -204,7 +204,8 @@ CREATE TABLE IF NOT EXISTS exercise_evaluations (
     evaluated_at DATETIME DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (lesson_exercise_id) REFERENCES lesson_exercises(id) ON DELETE CASCADE,
     FOREIGN KEY (practice_session_id) REFERENCES practice_sessions(id) ON DELETE SET NULL,
-    INDEX idx_lesson_exercise (lesson_exercise_id)
+    INDEX idx_lesson_exercise (lesson_exercise_id),
+    INDEX idx_evaluations_session_time (practice_session_id, evaluated_at)
 );
 
 -- Create evaluated_performers table
@@ -235,7 +236,80 @@ CREATE TABLE IF NOT EXISTS practice_notes (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (lesson_id) REFERENCES lessons(id) ON DELETE CASCADE,
     FOREIGN KEY (practice_session_id) REFERENCES practice_sessions(id) ON DELETE SET NULL,
-    INDEX idx_lesson (lesson_id)
+    INDEX idx_lesson (lesson_id),
+    INDEX idx_notes_session_time (practice_session_id, created_at)
+);
+
+-- Append-only log of what happened during a practice session, in per-session sequence order.
+-- SNAPSHOT rows mark the sequence number up to which practice_sessions/attendance have been written.
+CREATE TABLE IF NOT EXISTS practice_events (
+    practice_session_id BIGINT NOT NULL,
+    seq BIGINT NOT NULL,
+    event_type VARCHAR(30) NOT NULL,
+    occurred_at DATETIME(3) NOT NULL,
+    payload TEXT,
+    PRIMARY KEY (practice_session_id, seq),
+    FOREIGN KEY (practice_session_id) REFERENCES practice_sessions(id) ON DELETE CASCADE
+);
+
+-- Next unleased practice_events sequence number of each session; nodes lease blocks of numbers from it
+CREATE TABLE IF NOT EXISTS practice_event_seqs (
+    practice_session_id BIGINT PRIMARY KEY,
+    next_seq BIGINT NOT NULL,
+    FOREIGN KEY (practice_session_id) REFERENCES practice_sessions(id) ON DELETE CASCADE
+);
+
+-- Actual run time of each exercise in a practice session, with the number of performers present
+CREATE TABLE IF NOT EXISTS exercise_timings (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    practice_session_id BIGINT NOT NULL,
+    lesson_exercise_id BIGINT,
+    exercise_id BIGINT NOT NULL,
+    planned_minutes INT,
+    attendee_count INT NOT NULL,
+    started_at DATETIME(3) NOT NULL,
+    ended_at DATETIME(3) NOT NULL,
+    FOREIGN KEY (practice_session_id) REFERENCES practice_sessions(id) ON DELETE CASCADE,
+    FOREIGN KEY (exercise_id) REFERENCES exercises(id) ON DELETE CASCADE,
+    INDEX idx_exercise_timings_exercise (exercise_id, attendee_count)
+);
+
+-- Live practice events relayed between backend nodes (app.practice.bus.type=jdbc); short-lived
+CREATE TABLE IF NOT EXISTS practice_bus_messages (
+    practice_session_id BIGINT NOT NULL,
+    seq BIGINT NOT NULL,
+    event_name VARCHAR(30) NOT NULL,
+    payload MEDIUMTEXT,
+    created_at DATETIME(3) NOT NULL,
+    PRIMARY KEY (practice_session_id, seq),
+    INDEX idx_practice_bus_created (created_at)
+);
+
+-- Bulk account imports; records_read is the resume checkpoint
+CREATE TABLE IF NOT EXISTS import_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    coach_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    source_name VARCHAR(255),
+    records_read BIGINT NOT NULL DEFAULT 0,
+    imported_count BIGINT NOT NULL DEFAULT 0,
+    skipped_count BIGINT NOT NULL DEFAULT 0,
+    failed_count BIGINT NOT NULL DEFAULT 0,
+    last_error TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (coach_id) REFERENCES coaches(coach_id) ON DELETE CASCADE,
+    INDEX idx_coach_id (coach_id)
+);
+
+-- Source id -> new id for every row an import job created, committed with the row
+CREATE TABLE IF NOT EXISTS import_id_map (
+    job_id BIGINT NOT NULL,
+    entity VARCHAR(30) NOT NULL,
+    source_id BIGINT NOT NULL,
+    target_id BIGINT NOT NULL,
+    PRIMARY KEY (job_id, entity, source_id),
+    FOREIGN KEY (job_id) REFERENCES import_jobs(id) ON DELETE CASCADE
 );
 
 -- Keep existing evaluations table for backward compatibility
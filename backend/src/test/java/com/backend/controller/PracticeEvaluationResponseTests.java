@@ -0,0 +1,170 @@
+package com.backend.controller;
+
+import com.backend.model.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the practice evaluation endpoints against regressing to serialized entity graphs: each
+ * response must come from one query and stay within a small per-evaluation byte budget.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@Transactional
+@WithMockUser
+class PracticeEvaluationResponseTests {
+
+    private static final int EVALUATIONS = 20;
+    private static final int PERFORMERS = 4;
+    private static final List<String> CRITERIA = List.of("Yes And", "Agreement", "Listening", "Commitment", "Physicality");
+    // Ids, a timestamp, a short note and five scores; the entity graph was several kilobytes per evaluation
+    private static final int MAX_BYTES_PER_EVALUATION = 400;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long sessionId;
+    private Long lessonExerciseId;
+
+    @BeforeEach
+    void createSessionWithEvaluations() {
+        Coach coach = new Coach();
+        coach.setEmail("payload-test-" + System.nanoTime() + "@example.com");
+        coach.setPassword("not-used");
+        coach.setFirstName("Payload");
+        coach.setLastName("Test");
+        entityManager.persist(coach);
+
+        Team team = new Team();
+        team.setName("Payload Team");
+        team.setCoach(coach);
+        entityManager.persist(team);
+
+        List<Performer> performers = new ArrayList<>();
+        for (int i = 0; i < PERFORMERS; i++) {
+            Performer performer = new Performer();
+            performer.setCoach(coach);
+            performer.setFirstName("Performer");
+            performer.setLastName("Number " + i);
+            performer.getTeams().add(team);
+            entityManager.persist(performer);
+            performers.add(performer);
+        }
+
+        Lesson lesson = new Lesson();
+        lesson.setCoach(coach);
+        lesson.setTeam(team);
+        lesson.setName("Payload Lesson");
+        lesson.setScheduledDate(LocalDateTime.now());
+        entityManager.persist(lesson);
+
+        Exercise exercise = new Exercise();
+        exercise.setName("Payload Exercise");
+        exercise.setDescription("A long description that must not appear in evaluation responses. ".repeat(20));
+        exercise.setCreatedBy(coach);
+        entityManager.persist(exercise);
+
+        LessonExercise lessonExercise = new LessonExercise();
+        lessonExercise.setLesson(lesson);
+        lessonExercise.setExercise(exercise);
+        lessonExercise.setOrderIndex(0);
+        lessonExercise.setPlannedDurationMinutes(10);
+        entityManager.persist(lessonExercise);
+
+        PracticeSession session = PracticeSession.builder()
+                .lesson(lesson)
+                .startTime(LocalDateTime.now())
+                .build();
+        entityManager.persist(session);
+
+        for (int i = 0; i < EVALUATIONS; i++) {
+            ExerciseEvaluation evaluation = ExerciseEvaluation.builder()
+                    .practiceSession(session)
+                    .lessonExercise(lessonExercise)
+                    .evaluatedPerformers(new HashSet<>(performers))
+                    .evaluationScores(new ArrayList<>())
+                    .notes("Scene " + i)
+                    .evaluatedAt(LocalDateTime.now().plusSeconds(i))
+                    .build();
+            entityManager.persist(evaluation);
+            for (String criterion : CRITERIA) {
+                EvaluationScore score = new EvaluationScore();
+                score.setExerciseEvaluation(evaluation);
+                score.setCriterionName(criterion);
+                score.setScore(1 + i % 4);
+                entityManager.persist(score);
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        sessionId = session.getId();
+        lessonExerciseId = lessonExercise.getId();
+        statistics().clear();
+    }
+
+    @Test
+    void sessionEvaluationsAreCompactAndLoadedWithOneQuery() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/practice/sessions/{sessionId}/evaluations", sessionId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertCompact(body);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void exerciseEvaluationsAreCompactAndLoadedWithOneQuery() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/practice/exercises/{exerciseId}/evaluations", lessonExerciseId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertCompact(body);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private void assertCompact(byte[] body) throws Exception {
+        assertThat(body.length).isLessThan(EVALUATIONS * MAX_BYTES_PER_EVALUATION);
+
+        JsonNode evaluations = objectMapper.readTree(body);
+        assertThat(evaluations.size()).isEqualTo(EVALUATIONS);
+        for (JsonNode evaluation : evaluations) {
+            assertThat(evaluation.get("scores").size()).isEqualTo(CRITERIA.size());
+            assertThat(evaluation.get("performerIds").size()).isEqualTo(PERFORMERS);
+            assertThat(evaluation.get("practiceSessionId").asLong()).isEqualTo(sessionId);
+            assertThat(evaluation.get("lessonExerciseId").asLong()).isEqualTo(lessonExerciseId);
+            assertThat(evaluation.has("lessonExercise")).isFalse();
+            assertThat(evaluation.has("evaluatedPerformers")).isFalse();
+        }
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,128 @@
+package com.backend.service;
+
+import com.backend.dto.PracticeSessionResponse;
+import com.backend.repository.AttendanceRepository;
+import com.backend.repository.LessonExerciseRepository;
+import com.backend.repository.PerformerRepository;
+import com.backend.repository.PracticeSessionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that the write-behind store never loses changes: a failing write stays pending however often it
+ * fails, and loading a session replays the log entries its rows do not reflect yet.
+ */
+class LiveSessionStoreTests {
+
+    private static final Long SESSION_ID = 1L;
+    private static final Long LESSON_ID = 2L;
+    private static final Long COACH_ID = 3L;
+    private static final Long PERFORMER_ID = 7L;
+    private static final String ATTENDANCE_INSERT = "INSERT INTO attendance";
+
+    private final PracticeSessionRepository practiceSessionRepository = mock(PracticeSessionRepository.class);
+    private final LessonOrderCache lessonOrders = mock(LessonOrderCache.class);
+    private final AttendanceRepository attendanceRepository = mock(AttendanceRepository.class);
+    private final PerformerRepository performerRepository = mock(PerformerRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PracticeEventLog eventLog = mock(PracticeEventLog.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final AtomicLong seq = new AtomicLong();
+
+    private LiveSessionStore store;
+
+    @BeforeEach
+    void createStore() {
+        LocalDateTime created = LocalDateTime.now().minusHours(1);
+        Object[] row = {SESSION_ID, LESSON_ID, "Warmups", COACH_ID, created, null, null, null, created, created};
+        when(practiceSessionRepository.findLiveRowsById(SESSION_ID)).thenReturn(List.<Object[]>of(row));
+        when(lessonOrders.get(LESSON_ID)).thenReturn(new LessonOrderCache.LessonOrder(List.of()));
+        when(attendanceRepository.findPerformerIdsBySessionId(SESSION_ID)).thenReturn(List.of());
+        when(eventLog.append(any(), any(), any())).thenAnswer(invocation -> seq.incrementAndGet());
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        // The flusher is not started; the tests flush explicitly
+        store = new LiveSessionStore(practiceSessionRepository, mock(LessonExerciseRepository.class), lessonOrders,
+                attendanceRepository, performerRepository, jdbcTemplate, eventLog, mock(ExerciseTimingService.class),
+                new ObjectMapper(), mock(ApplicationEventPublisher.class), transactionManager, 1000, 1_800_000, 60_000);
+    }
+
+    @Test
+    void keepsFailedWritePendingUntilItSucceeds() {
+        when(performerRepository.findExistingIds(any())).thenReturn(List.of(PERFORMER_ID));
+        store.markAttendance(SESSION_ID, PERFORMER_ID, true);
+
+        QueryTimeoutException unavailable = new QueryTimeoutException("database unavailable");
+        when(jdbcTemplate.batchUpdate(startsWith(ATTENDANCE_INSERT), anyCollection(), anyInt(), any()))
+                .thenThrow(unavailable, unavailable, unavailable, unavailable, unavailable, unavailable)
+                .thenReturn(new int[][] {{1}});
+        // More failures than the store used to tolerate before dropping the changes
+        for (int attempt = 0; attempt < 6; attempt++) {
+            assertThatThrownBy(() -> store.flush(SESSION_ID)).isSameAs(unavailable);
+        }
+        verify(eventLog, never()).append(eq(SESSION_ID), eq(PracticeEventLog.Type.SNAPSHOT), any());
+
+        store.flush(SESSION_ID);
+
+        verify(jdbcTemplate, times(7)).batchUpdate(startsWith(ATTENDANCE_INSERT), anyCollection(), anyInt(), any());
+        verify(eventLog).append(SESSION_ID, PracticeEventLog.Type.SNAPSHOT, Map.of("upTo", 1L));
+    }
+
+    @Test
+    void replaysLogEntriesAfterLastSnapshot() {
+        givenLoggedAfterSnapshot();
+
+        PracticeSessionResponse state = store.getState(SESSION_ID);
+
+        assertThat(state.getAttendeeIds()).containsExactly(9L);
+    }
+
+    @Test
+    void writesReplayedChangesWithNextSnapshot() {
+        givenLoggedAfterSnapshot();
+        // Already present after the replay, so this only loads the session for writing
+        store.markAttendance(SESSION_ID, 9L, true);
+
+        store.flush(SESSION_ID);
+
+        verify(attendanceRepository).deleteBySessionIdAndPerformerIds(SESSION_ID, Set.of(5L));
+        verify(jdbcTemplate).batchUpdate(startsWith(ATTENDANCE_INSERT), eq(Set.of(9L)), eq(1), any());
+        verify(eventLog).append(SESSION_ID, PracticeEventLog.Type.SNAPSHOT, Map.of("upTo", 4L));
+    }
+
+    // Performer 5 is in the written rows; the log after the snapshot has 9 arriving and 5 leaving
+    private void givenLoggedAfterSnapshot() {
+        LocalDateTime at = LocalDateTime.now();
+        when(attendanceRepository.findPerformerIdsBySessionId(SESSION_ID)).thenReturn(List.of(5L));
+        when(eventLog.lastSnapshotSeq(SESSION_ID)).thenReturn(2L);
+        when(eventLog.read(SESSION_ID, 2L, 1000)).thenReturn(List.of(
+                new PracticeEventLog.Entry(SESSION_ID, 3, PracticeEventLog.Type.PERFORMER_ARRIVED, at, "{\"performerId\":9}"),
+                new PracticeEventLog.Entry(SESSION_ID, 4, PracticeEventLog.Type.PERFORMER_LEFT, at, "{\"performerId\":5}")));
+        seq.set(4);
+    }
+}
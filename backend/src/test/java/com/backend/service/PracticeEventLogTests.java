@@ -0,0 +1,127 @@
+package com.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks how the event log numbers entries: from blocks leased from the database, and with a duplicate
+ * key on insert taken as written only when the stored row is the entry itself.
+ */
+class PracticeEventLogTests {
+
+    private static final Long SESSION_ID = 1L;
+    private static final String EVENT_INSERT = "INSERT INTO practice_events ";
+    private static final String SEQ_LEASE = "INSERT INTO practice_event_seqs";
+    private static final String NEXT_SEQ = "SELECT next_seq";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @BeforeEach
+    void stubTransactions() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void numbersEntriesFromLeasedBlocks() {
+        PracticeEventLog log = eventLog(2);
+        // Each lease moves next_seq on by the block size; the block is the numbers below it
+        when(jdbcTemplate.queryForObject(startsWith(NEXT_SEQ), eq(Long.class), any(Object[].class)))
+                .thenReturn(3L, 5L);
+
+        List<Long> seqs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            seqs.add(log.append(SESSION_ID, PracticeEventLog.Type.PERFORMER_ARRIVED, Map.of("performerId", i)));
+        }
+
+        assertThat(seqs).containsExactly(1L, 2L, 3L);
+        verify(jdbcTemplate, times(2)).update(startsWith(SEQ_LEASE), any(Object[].class));
+    }
+
+    @Test
+    void keepsEntryWrittenBeforeFailedBatchStopped() {
+        PracticeEventLog log = eventLog(100);
+        when(jdbcTemplate.queryForObject(startsWith(NEXT_SEQ), eq(Long.class), any(Object[].class))).thenReturn(101L);
+        log.append(SESSION_ID, PracticeEventLog.Type.SESSION_STARTED, Map.of());
+        List<Object[]> inserts = failBatchAndRejectInserts(1L);
+        // The stored row is the entry the insert was given
+        when(jdbcTemplate.query(startsWith("SELECT practice_session_id"), any(RowMapper.class), eq(SESSION_ID), eq(1L)))
+                .thenAnswer(invocation -> List.of(asEntry(inserts.get(0))));
+
+        log.flush();
+
+        assertThat(inserts).hasSize(1);
+        verify(jdbcTemplate, times(1)).update(startsWith(SEQ_LEASE), any(Object[].class));
+    }
+
+    @Test
+    void rewritesEntryWhoseNumberWasTaken() {
+        PracticeEventLog log = eventLog(100);
+        when(jdbcTemplate.queryForObject(startsWith(NEXT_SEQ), eq(Long.class), any(Object[].class))).thenReturn(101L);
+        log.append(SESSION_ID, PracticeEventLog.Type.SESSION_STARTED, Map.of());
+        List<Object[]> inserts = failBatchAndRejectInserts(1L);
+        // Another node wrote a different entry under number 1
+        when(jdbcTemplate.query(startsWith("SELECT practice_session_id"), any(RowMapper.class), eq(SESSION_ID), eq(1L)))
+                .thenReturn(List.of(new PracticeEventLog.Entry(SESSION_ID, 1, PracticeEventLog.Type.NOTE_ADDED,
+                        LocalDateTime.now(), "{\"noteId\":4}")));
+
+        log.flush();
+
+        assertThat(inserts).extracting(args -> args[2]).containsExactly(1L, 2L);
+        assertThat(inserts.get(1)[3]).isEqualTo("SESSION_STARTED");
+        assertThat(inserts.get(1)[5]).isEqualTo("{}");
+    }
+
+    private PracticeEventLog eventLog(int seqBlock) {
+        // The flusher is not started; the tests flush explicitly
+        return new PracticeEventLog(jdbcTemplate, new ObjectMapper(), transactionManager, 200, 500, seqBlock, 100,
+                1_800_000);
+    }
+
+    // The batch fails on a duplicate key, and so does the row-by-row insert of the given number; returns
+    // the arguments of every row-by-row insert (session, seq, type, occurred at, payload after the SQL)
+    private List<Object[]> failBatchAndRejectInserts(long takenSeq) {
+        doThrow(new DuplicateKeyException("duplicate entry"))
+                .when(jdbcTemplate).batchUpdate(startsWith(EVENT_INSERT), anyList(), anyInt(), any());
+        List<Object[]> inserts = new ArrayList<>();
+        when(jdbcTemplate.update(startsWith(EVENT_INSERT), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] args = invocation.getArguments();
+            inserts.add(args);
+            if (args[2].equals(takenSeq)) {
+                throw new DuplicateKeyException("duplicate entry");
+            }
+            return 1;
+        });
+        return inserts;
+    }
+
+    private static PracticeEventLog.Entry asEntry(Object[] insert) {
+        return new PracticeEventLog.Entry((Long) insert[1], (Long) insert[2],
+                PracticeEventLog.Type.valueOf((String) insert[3]), ((Timestamp) insert[4]).toLocalDateTime(),
+                (String) insert[5]);
+    }
+}
@@ -0,0 +1,80 @@
+package com.backend.service;
+
+import com.backend.dto.PracticeWriteQueueResponse;
+import com.backend.exception.SessionBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that a write gives up once its session stays busy past the timeout, without blocking other
+ * sessions, and that the queue stats count it.
+ */
+class PracticeSessionLocksTests {
+
+    private static final Long SESSION_ID = 1L;
+    private static final Long OTHER_SESSION_ID = 2L; // On another of the four stripes
+
+    private final PracticeSessionLocks locks = new PracticeSessionLocks(4, 50, 1_800_000);
+    private final CountDownLatch running = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private Thread holder;
+
+    // Keeps a write to the session running until the test releases it
+    @BeforeEach
+    void holdSession() throws InterruptedException {
+        holder = new Thread(() -> locks.run(SESSION_ID, () -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        holder.start();
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @AfterEach
+    void releaseSession() throws InterruptedException {
+        release.countDown();
+        holder.join(5000);
+    }
+
+    @Test
+    void givesUpWhileSessionStaysBusy() {
+        assertThatThrownBy(() -> locks.run(SESSION_ID, () -> "late")).isInstanceOf(SessionBusyException.class);
+
+        PracticeWriteQueueResponse stats = locks.getQueueStats(SESSION_ID);
+        assertThat(stats.getQueued()).isEqualTo(1);
+        assertThat(stats.getMaxQueued()).isEqualTo(2);
+        assertThat(stats.getWrites()).isEqualTo(1L);
+    }
+
+    @Test
+    void otherSessionsDoNotWait() {
+        assertThat(locks.run(OTHER_SESSION_ID, () -> "done")).isEqualTo("done");
+
+        assertThat(locks.getQueueStats(OTHER_SESSION_ID).getWrites()).isEqualTo(1L);
+    }
+
+    @Test
+    void finishedWritesLeaveTheQueue() throws InterruptedException {
+        release.countDown();
+        holder.join(5000);
+
+        PracticeWriteQueueResponse stats = locks.getQueueStats(SESSION_ID);
+        assertThat(stats.getQueued()).isZero();
+        assertThat(stats.getWrites()).isEqualTo(1L);
+
+        locks.forget(SESSION_ID);
+        assertThat(locks.getQueueStats(SESSION_ID).getWrites()).isZero();
+    }
+}
@@ -0,0 +1,126 @@
+package com.backend.util;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link ScoreKernel} on the incubating Vector API. Only compiled with the {@code vector} Maven profile
+ * and only instantiated by {@link ScoreKernels} when the module is present; loop tails run scalar.
+ */
+final class VectorScoreKernel implements ScoreKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public long sum(int[] scores, int from, int to) {
+        // Lanes accumulate in int; fold into the long total every 64K iterations so huge columns cannot overflow
+        long sum = 0;
+        int i = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        IntVector accumulator = IntVector.zero(SPECIES);
+        int block = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            accumulator = accumulator.add(IntVector.fromArray(SPECIES, scores, i));
+            if (++block == 1 << 16) {
+                sum += accumulator.reduceLanesToLong(VectorOperators.ADD);
+                accumulator = IntVector.zero(SPECIES);
+                block = 0;
+            }
+        }
+        sum += accumulator.reduceLanesToLong(VectorOperators.ADD);
+        for (; i < to; i++) {
+            sum += scores[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int count(int[] scores, int from, int to) {
+        int count = 0;
+        int i = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        for (; i < upper; i += SPECIES.length()) {
+            count += IntVector.fromArray(SPECIES, scores, i).compare(VectorOperators.NE, 0).trueCount();
+        }
+        for (; i < to; i++) {
+            if (scores[i] != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int min(int[] scores, int from, int to) {
+        IntVector unscored = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+        IntVector minimum = unscored;
+        int i = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        for (; i < upper; i += SPECIES.length()) {
+            IntVector chunk = IntVector.fromArray(SPECIES, scores, i);
+            VectorMask<Integer> empty = chunk.compare(VectorOperators.EQ, 0);
+            minimum = minimum.min(chunk.blend(unscored, empty));
+        }
+        int min = minimum.reduceLanes(VectorOperators.MIN);
+        for (; i < to; i++) {
+            if (scores[i] != 0 && scores[i] < min) {
+                min = scores[i];
+            }
+        }
+        return min == Integer.MAX_VALUE ? 0 : min;
+    }
+
+    @Override
+    public int max(int[] scores, int from, int to) {
+        IntVector maximum = IntVector.zero(SPECIES);
+        int i = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        for (; i < upper; i += SPECIES.length()) {
+            maximum = maximum.max(IntVector.fromArray(SPECIES, scores, i));
+        }
+        int max = maximum.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            if (scores[i] > max) {
+                max = scores[i];
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public int[] histogram(int[] scores, int from, int to, int maxScore) {
+        // Scores span a handful of values, so one compare per bucket beats scattered increments
+        int[] histogram = new int[maxScore + 1];
+        int i = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        for (; i < upper; i += SPECIES.length()) {
+            IntVector chunk = IntVector.fromArray(SPECIES, scores, i);
+            for (int score = 0; score <= maxScore; score++) {
+                histogram[score] += chunk.compare(VectorOperators.EQ, score).trueCount();
+            }
+        }
+        for (; i < to; i++) {
+            int score = scores[i];
+            if (score >= 0 && score <= maxScore) {
+                histogram[score]++;
+            }
+        }
+        return histogram;
+    }
+
+    @Override
+    public void deltas(int[] current, int[] previous, int[] out, int length) {
+        int i = 0;
+        int upper = SPECIES.loopBound(length);
+        for (; i < upper; i += SPECIES.length()) {
+            IntVector.fromArray(SPECIES, current, i)
+                    .sub(IntVector.fromArray(SPECIES, previous, i))
+                    .intoArray(out, i);
+        }
+        for (; i < length; i++) {
+            out[i] = current[i] - previous[i];
+        }
+    }
+}
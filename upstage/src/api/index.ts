@@ -8,6 +8,8 @@ export { analyticsAPI } from './modules/analytics';
 export { practiceAPI } from './modules/practice';
 export { attendanceAPI } from './modules/attendance';
 export { focusAreasAPI } from './modules/focusAreas';
+export { dashboardAPI } from './modules/dashboard';
+export { batchAPI } from './modules/batch';
 
 // Re-export types
 export type {
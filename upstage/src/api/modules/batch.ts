@@ -0,0 +1,19 @@
+// src/api/modules/batch.ts
+import { api } from '../service';
+import { BatchRequestItem, BatchResponseItem } from '../../types';
+
+export const batchAPI = {
+  // Run several requests in one round trip. Results come back in request order, each with its own status;
+  // use {{id.field}} in a path or body to pull a value from an earlier item listed in dependsOn.
+  run: async (requests: BatchRequestItem[]): Promise<BatchResponseItem[]> => {
+    try {
+      return await api.post<BatchResponseItem[]>('/batch', requests.map(request => ({
+        ...request,
+        path: `/api${request.path}`,
+      })));
+    } catch (error) {
+      console.error('Failed to run batch:', error);
+      throw error;
+    }
+  },
+};
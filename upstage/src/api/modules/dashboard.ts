@@ -0,0 +1,36 @@
+// src/api/modules/dashboard.ts
+import { api } from '../service';
+import { AnalyticsFilter, DashboardData } from '../../types';
+import { shouldUseMockFallback } from '../config';
+import { lessonsAPI } from './lessons';
+import { teamsAPI } from './teams';
+import { analyticsAPI } from './analytics';
+
+export const dashboardAPI = {
+  // Everything the dashboard needs in one round trip
+  get: async (timeRange: AnalyticsFilter['timeRange'] = '30d'): Promise<DashboardData> => {
+    try {
+      return await api.get<DashboardData>(`/dashboard?timeRange=${timeRange}`);
+    } catch (error) {
+      console.error('Failed to fetch dashboard:', error);
+      if (shouldUseMockFallback(error as Error)) {
+        console.warn('Composing dashboard from individual endpoints - API not available');
+        const [upcomingLessons, teams, coachingInsights, performerProgress] = await Promise.all([
+          lessonsAPI.getUpcoming(),
+          teamsAPI.getMyTeams(),
+          analyticsAPI.getCoachingInsights({ timeRange }),
+          analyticsAPI.getPerformerProgress({ timeRange }),
+        ]);
+        return {
+          upcomingLessons,
+          teams,
+          analyticsTimeRange: timeRange,
+          coachingInsights,
+          performerProgress,
+          unavailableSections: {},
+        };
+      }
+      throw error;
+    }
+  },
+};
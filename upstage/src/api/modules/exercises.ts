@@ -1,6 +1,7 @@
 // src/api/modules/exercises.ts
 import { api } from '../service';
 import { 
+  DurationEstimate,
   ExerciseResponse, 
   ExerciseSummaryResponse,
   ExerciseRequest, 
@@ -226,6 +227,17 @@ export const exercisesAPI = {
     }
   },
   
+  // Planned duration for a team of the given size (8 when omitted)
+  getDurationEstimate: async (id: number, teamSize?: number): Promise<DurationEstimate> => {
+    try {
+      const queryParams = teamSize ? `?teamSize=${teamSize}` : '';
+      return await api.get<DurationEstimate>(`/exercises/${id}/duration-estimate${queryParams}`);
+    } catch (error) {
+      console.error(`Failed to fetch duration estimate for exercise ${id}:`, error);
+      throw error;
+    }
+  },
+  
   // Get exercises for lesson planning
   getForLessonPlanning: async (): Promise<ExerciseSummaryResponse[]> => {
     try {
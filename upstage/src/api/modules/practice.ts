@@ -1,7 +1,32 @@
 // src/api/modules/practice.ts
 import { api } from '../service';
-import { PracticeNoteResponse, PracticeSession, SceneEvaluation } from '../../types';
-import { shouldUseMockFallback } from '../config';
+import {
+  PracticeEvent,
+  PracticeLiveHandlers,
+  PracticeNoteResponse,
+  PracticeSession,
+  PracticeSyncOperation,
+  PracticeSyncResponse,
+  PracticeTimelinePage,
+  PracticeWriteQueue,
+  SceneEvaluation
+} from '../../types';
+import { API_BASE_URL, shouldUseMockFallback } from '../config';
+
+const LIVE_RECONNECT_DELAY = 2000;
+
+// Dispatches one parsed server-sent event to its handler
+const dispatchLiveEvent = (name: string, data: string, handlers: PracticeLiveHandlers) => {
+  const payload = JSON.parse(data);
+  switch (name) {
+    case 'snapshot': handlers.onSnapshot?.(payload); break;
+    case 'exercise': handlers.onExercise?.(payload); break;
+    case 'attendance': handlers.onAttendance?.(payload); break;
+    case 'evaluation': handlers.onEvaluation?.(payload); break;
+    case 'note': handlers.onNote?.(payload); break;
+    case 'ended': handlers.onEnded?.(payload); break;
+  }
+};
 
 export const practiceAPI = {
   startPractice: async (lessonId: number): Promise<PracticeSession> => {
@@ -35,6 +60,26 @@ export const practiceAPI = {
     }
   },
 
+  // Step through the lesson's running order without looking up exercise ids
+  moveExercise: async (sessionId: number, direction: 'next' | 'previous'): Promise<PracticeSession> => {
+    try {
+      return await api.put<PracticeSession>(`/practice/sessions/${sessionId}/exercise/${direction}`);
+    } catch (error) {
+      console.error(`Failed to move to the ${direction} exercise for session ${sessionId}:`, error);
+      throw error;
+    }
+  },
+
+  // 0-based position in the lesson's running order
+  seekExercise: async (sessionId: number, index: number): Promise<PracticeSession> => {
+    try {
+      return await api.put<PracticeSession>(`/practice/sessions/${sessionId}/exercise/seek?index=${index}`);
+    } catch (error) {
+      console.error(`Failed to seek to exercise ${index} for session ${sessionId}:`, error);
+      throw error;
+    }
+  },
+
   createEvaluation: async (evaluation: Omit<SceneEvaluation, 'id'>): Promise<SceneEvaluation> => {
     try {
       return await api.post<SceneEvaluation>('/practice/evaluations', evaluation);
@@ -56,5 +101,125 @@ export const practiceAPI = {
       console.error(`Failed to save practice notes:`, error);
       throw error;
     }
+  },
+
+  getWriteQueue: async (sessionId: number): Promise<PracticeWriteQueue> => {
+    try {
+      return await api.get<PracticeWriteQueue>(`/practice/sessions/${sessionId}/write-queue`);
+    } catch (error) {
+      console.error(`Failed to fetch write queue for practice session ${sessionId}:`, error);
+      throw error;
+    }
+  },
+
+  // Pass the last seq received to fetch the next page
+  getSessionEvents: async (sessionId: number, afterSeq: number = 0, limit: number = 200): Promise<PracticeEvent[]> => {
+    try {
+      return await api.get<PracticeEvent[]>(
+        `/practice/sessions/${sessionId}/events?afterSeq=${afterSeq}&limit=${limit}`);
+    } catch (error) {
+      console.error(`Failed to fetch events for practice session ${sessionId}:`, error);
+      throw error;
+    }
+  },
+
+  // Pass the previous page's nextCursor to continue
+  getSessionTimeline: async (sessionId: number, cursor?: string, limit: number = 100): Promise<PracticeTimelinePage> => {
+    try {
+      const params = new URLSearchParams({ limit: String(limit) });
+      if (cursor) params.set('cursor', cursor);
+      return await api.get<PracticeTimelinePage>(`/practice/sessions/${sessionId}/timeline?${params}`);
+    } catch (error) {
+      console.error(`Failed to fetch timeline for practice session ${sessionId}:`, error);
+      throw error;
+    }
+  },
+
+  // Replays changes made offline; resending the same operations is harmless
+  sync: async (sessionId: number, operations: PracticeSyncOperation[]): Promise<PracticeSyncResponse> => {
+    try {
+      return await api.post<PracticeSyncResponse>(`/practice/sessions/${sessionId}/sync`, { operations });
+    } catch (error) {
+      console.error(`Failed to sync practice session ${sessionId}:`, error);
+      throw error;
+    }
+  },
+
+  /**
+   * Follows a session's live stream until the returned function is called or the session ends.
+   * Uses fetch rather than EventSource so the auth header can be sent; reconnects (and receives a
+   * fresh snapshot) whenever the connection drops or an event id is skipped.
+   */
+  subscribeToSession: (sessionId: number, handlers: PracticeLiveHandlers): (() => void) => {
+    const controller = new AbortController();
+    let ended = false;
+
+    // Resolves true when an event was missed and the stream should be reopened right away
+    const connect = async (): Promise<boolean> => {
+      const token = sessionStorage.getItem('token');
+      const response = await fetch(`${API_BASE_URL}/practice/sessions/${sessionId}/stream`, {
+        headers: {
+          Accept: 'text/event-stream',
+          ...(token && { Authorization: `Bearer ${token}` }),
+        },
+        signal: controller.signal,
+      });
+      if (!response.ok || !response.body) {
+        throw new Error(`HTTP ${response.status}`);
+      }
+
+      const reader = response.body.getReader();
+      const decoder = new TextDecoder();
+      let buffer = '';
+      let lastId = 0;
+      for (;;) {
+        const { done, value } = await reader.read();
+        if (done) return false;
+        buffer += decoder.decode(value, { stream: true });
+
+        let boundary;
+        while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+          const frame = buffer.slice(0, boundary);
+          buffer = buffer.slice(boundary + 2);
+
+          let name = 'message';
+          let id: number | undefined;
+          const data: string[] = [];
+          frame.split('\n').forEach(line => {
+            if (line.startsWith('event:')) name = line.slice(6).trim();
+            else if (line.startsWith('id:')) id = Number(line.slice(3).trim());
+            else if (line.startsWith('data:')) data.push(line.slice(5));
+          });
+          if (data.length === 0) continue;
+          if (id !== undefined) {
+            // Ids are per-session sequence numbers; one at or below the last is a repeat and safe to apply
+            if (name !== 'snapshot' && id > lastId + 1) {
+              await reader.cancel();
+              return true;
+            }
+            lastId = name === 'snapshot' ? id : Math.max(lastId, id);
+          }
+          if (name === 'ended') ended = true;
+          dispatchLiveEvent(name, data.join('\n'), handlers);
+        }
+      }
+    };
+
+    const run = async () => {
+      while (!controller.signal.aborted && !ended) {
+        try {
+          if (await connect()) continue;
+        } catch (error) {
+          if (controller.signal.aborted) return;
+          console.error(`Live stream for practice session ${sessionId} failed:`, error);
+        }
+        if (!ended) {
+          await new Promise(resolve => setTimeout(resolve, LIVE_RECONNECT_DELAY));
+        }
+      }
+    };
+
+    run();
+    return () => controller.abort();
   }
 };
\ No newline at end of file
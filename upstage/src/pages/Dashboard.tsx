@@ -2,10 +2,8 @@ import React, { useState } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { Calendar, Clock, Users, BookOpen, Star, Play, Plus, ChevronRight, Sparkles, BarChart3, TrendingUp } from 'lucide-react'; // REMOVED: Copy icon
 import { useAuth } from '../contexts/AuthContext';
-import { lessonsAPI } from '../api/modules/lessons';
 import { exercisesAPI } from '../api/modules/exercises';
-import { teamsAPI } from '../api/modules/teams';
-import { analyticsAPI } from '../api/modules/analytics';
+import { dashboardAPI } from '../api/modules/dashboard';
 import { useApi } from '../hooks/useApi';
 import { Navigation } from '../components/Navigation';
 import { StatCard } from '../components/StatCard';
@@ -22,13 +20,13 @@ export const Dashboard: React.FC = () => {
   const navigate = useNavigate();
   const [activeView, setActiveView] = useState<'dashboard' | 'planner'>('dashboard');
   
-  const { data: upcomingLessons, loading: lessonsLoading } = useApi(() => lessonsAPI.getUpcoming());
+  // Lessons, teams and the analytics preview arrive in one composed response
+  const { data: dashboard, loading: lessonsLoading } = useApi(() => dashboardAPI.get('30d'));
   const { data: popularExercises, loading: exercisesLoading } = useApi(() => exercisesAPI.getPopular(5));
-  const { data: teams, loading: teamsLoading } = useApi(() => teamsAPI.getMyTeams());
-  
-  // Analytics preview data
-  const { data: coachingInsights } = useApi(() => analyticsAPI.getCoachingInsights({ timeRange: '30d' }));
-  const { data: performerProgress } = useApi(() => analyticsAPI.getPerformerProgress({ timeRange: '30d' }));
+  const upcomingLessons = dashboard?.upcomingLessons;
+  const teams = dashboard?.teams;
+  const coachingInsights = dashboard?.coachingInsights;
+  const performerProgress = dashboard?.performerProgress;
 
   const handleStartPractice = (lessonId: number) => {
     navigate(`/live-practice/${lessonId}`);
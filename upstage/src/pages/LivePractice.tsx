@@ -1,5 +1,5 @@
 // src/pages/LivePractice.tsx
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
 import { Play, ChevronRight, Save, AlertCircle } from 'lucide-react';
 import { Card } from '../components/ui/Card';
@@ -36,6 +36,8 @@ export const LivePractice: React.FC = () => {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
   const [saving, setSaving] = useState(false);
+  // Evaluations already counted, whether saved here or received from another device
+  const seenEvaluationIds = useRef<Set<number>>(new Set());
 
   // Load lesson and performers
   useEffect(() => {
@@ -63,6 +65,41 @@ export const LivePractice: React.FC = () => {
     loadData();
   }, [lessonId]);
 
+  // Follow the session's live stream so every connected device stays in sync
+  const sessionId = session?.id;
+  useEffect(() => {
+    if (!sessionId) return;
+
+    const applySession = (live: PracticeSession) => {
+      setSession(live);
+      setCurrentExerciseIndex(live.currentExerciseIndex ?? 0);
+      setAttendeeIds(live.attendeeIds);
+      setStats(prev => ({ ...prev, attendanceCount: live.attendeeIds.length }));
+    };
+
+    return practiceAPI.subscribeToSession(sessionId, {
+      onSnapshot: applySession,
+      onExercise: applySession,
+      onAttendance: update => {
+        setAttendeeIds(update.attendeeIds);
+        setStats(prev => ({ ...prev, attendanceCount: update.attendeeIds.length }));
+      },
+      onEvaluation: evaluation => countEvaluation(evaluation.id),
+      onEnded: () => navigate(`/lessons/${lessonId}`),
+    });
+  }, [sessionId, lessonId, navigate]);
+
+  const countEvaluation = (id?: number) => {
+    if (id !== undefined) {
+      if (seenEvaluationIds.current.has(id)) return;
+      seenEvaluationIds.current.add(id);
+    }
+    setStats(prev => ({
+      ...prev,
+      evaluationsCompleted: prev.evaluationsCompleted + 1
+    }));
+  };
+
   // Start practice session
   const startPractice = async () => {
     if (!lesson) return;
@@ -128,11 +165,8 @@ export const LivePractice: React.FC = () => {
   // Save evaluation
   const handleSaveEvaluation = async (evaluation: Omit<SceneEvaluation, 'id'>) => {
     try {
-      await practiceAPI.createEvaluation(evaluation);
-      setStats(prev => ({
-        ...prev,
-        evaluationsCompleted: prev.evaluationsCompleted + 1
-      }));
+      const saved = await practiceAPI.createEvaluation(evaluation);
+      countEvaluation(saved.id);
       setShowEvaluationModal(false);
     } catch (err) {
       console.error('Failed to save evaluation:', err);
@@ -23,6 +23,9 @@ export interface User {
   email: string;
   lessons?: Lesson[];
   lessonTemplates?: LessonTemplate[];
+  teamCount?: number;
+  performerCount?: number;
+  lessonCount?: number;
 }
 
 export interface FocusArea {
@@ -265,13 +268,15 @@ export interface PracticeSession {
   currentExerciseIndex: number;
   currentExerciseId?: number; 
   currentExerciseName?: string;
+  currentExerciseStartedAt?: string;
   attendeeIds: number[];
   createdAt: string;
   updatedAt: string;
 }
 
 export interface PracticeNoteResponse {
-  id: number;
+  id?: number; // Absent in the response to saving a note; its live 'note' event carries it with the same ref
+  ref?: string;
   lessonId: number;
   practiceSessionId?: number;
   noteType: string;
@@ -296,6 +301,90 @@ export interface SceneEvaluation {
   rubricType: 'base-reality' | 'game-of-scene';
 }
 
+// Entries of /practice/sessions/{id}/events, in seq order
+export interface PracticeEvent {
+  seq: number;
+  type: 'SESSION_STARTED' | 'SESSION_ENDED' | 'EXERCISE_STARTED' | 'EXERCISE_ENDED'
+    | 'PERFORMER_ARRIVED' | 'PERFORMER_LEFT' | 'SCENE_EVALUATED' | 'NOTE_ADDED';
+  occurredAt: string;
+  payload: Record<string, any>;
+}
+
+export interface ExerciseEvaluationSummary {
+  id: number;
+  practiceSessionId?: number;
+  lessonExerciseId: number;
+  evaluatedAt: string;
+  notes?: string;
+  scores: Record<string, number>;
+  performerIds: number[];
+}
+
+// Changes queued while offline, sent to /practice/sessions/{id}/sync; key stays the same across retries
+export type PracticeSyncOperation = { key: string; clientTime: string } & (
+  | { type: 'EVALUATION'; evaluation: SceneEvaluation }
+  | { type: 'NOTE'; note: { noteType: string; content: string } }
+  | { type: 'ATTENDANCE'; attendance: AttendanceRequest }
+  | { type: 'ATTENDANCE_BULK'; attendanceList: BulkAttendanceRequest }
+  | { type: 'EXERCISE'; lessonExerciseId: number }
+);
+
+export interface PracticeSyncResult {
+  key: string;
+  status: 'APPLIED' | 'DUPLICATE' | 'SUPERSEDED' | 'REJECTED';
+  entityId?: number;
+  error?: string;
+}
+
+export interface PracticeSyncResponse {
+  results: PracticeSyncResult[];
+  session: PracticeSession;
+  evaluations: ExerciseEvaluationSummary[];
+  notes: PracticeNoteResponse[];
+}
+
+// Writes to a practice session run one at a time; how deep the queue gets shows contention between devices
+export interface PracticeWriteQueue {
+  sessionId: number;
+  queued: number;
+  maxQueued: number;
+  writes: number;
+  averageWaitMillis: number;
+}
+
+// Post-practice review feed, oldest first; nextCursor is null on the last page
+export interface PracticeTimelineItem {
+  type: 'EXERCISE_STARTED' | 'EXERCISE_ENDED' | 'PERFORMER_ARRIVED' | 'PERFORMER_LEFT' | 'EVALUATION' | 'NOTE';
+  occurredAt: string;
+  lessonExerciseId?: number;
+  performerId?: number;
+  evaluationId?: number;
+  noteId?: number;
+  noteType?: string;
+  text?: string;
+}
+
+export interface PracticeTimelinePage {
+  sessionId: number;
+  items: PracticeTimelineItem[];
+  nextCursor: string | null;
+}
+
+// Events on /practice/sessions/{id}/stream
+export interface PracticeAttendanceUpdate {
+  sessionId: number;
+  attendeeIds: number[];
+}
+
+export interface PracticeLiveHandlers {
+  onSnapshot?: (session: PracticeSession) => void;
+  onExercise?: (session: PracticeSession) => void;
+  onAttendance?: (update: PracticeAttendanceUpdate) => void;
+  onEvaluation?: (evaluation: SceneEvaluation) => void;
+  onNote?: (note: PracticeNoteResponse) => void;
+  onEnded?: (session: PracticeSession) => void;
+}
+
 export interface PracticeStats {
   totalDuration: number;
   exercisesCompleted: number;
@@ -369,6 +458,18 @@ export interface ExerciseSummaryResponse {
   public: boolean;
 }
 
+// Planned minutes for a team size, calibrated from measured practice run times once there are enough
+export interface DurationEstimate {
+  exerciseId: number;
+  teamSize: number;
+  minimumDurationMinutes?: number;
+  estimatedMinutes?: number;
+  calibrated: boolean;
+  sampleCount: number;
+  averageMinutes?: number;
+  standardDeviationMinutes?: number;
+}
+
 export interface EvaluationRequest {
   teamId: number;
   performanceDate: string;
@@ -443,6 +544,15 @@ export interface PerformerProgress {
   areasForGrowth: string[];
   attendanceRate: number;
   lastEvaluated: string;
+  scoreDistribution?: Record<string, number>;
+  recommendedExercises?: ExerciseRecommendation[];
+}
+
+export interface ExerciseRecommendation {
+  exerciseId: number;
+  exerciseName: string;
+  targetsFocusAreas: string[];
+  relevance: number;
 }
 
 export interface TeamAnalytics {
@@ -460,6 +570,16 @@ export interface TeamAnalytics {
     weaknesses: Array<{ area: string; score: number }>;
   };
   progressTrend: Array<{ date: string; score: number }>;
+  scoreDistribution?: Record<string, number>;
+  recommendedExercises?: ExerciseRecommendation[];
+  comparison?: {
+    scoreCount: number;
+    averageScore: number;
+    zScore: number;
+    rank: number | null;
+    percentile: number | null;
+    criterionZScores: Record<string, number>;
+  };
 }
 
 export interface ExerciseCreateRequest {
@@ -499,6 +619,8 @@ export interface CoachingInsights {
   coachingStrengths: string[];
   areasForDevelopment: string[];
   monthlyActivity: Array<{ month: string; practices: number; evaluations: number }>;
+  scoreDistribution?: Record<string, number>;
+  recommendedExercises?: ExerciseRecommendation[];
 }
 
 export interface AnalyticsFilter {
@@ -509,4 +631,36 @@ export interface AnalyticsFilter {
     start: string;
     end: string;
   };
-}
\ No newline at end of file
+}
+// Composed /dashboard payload; sections that timed out are absent and listed in unavailableSections
+export interface DashboardData {
+  upcomingLessons?: Lesson[];
+  recentLessons?: Lesson[];
+  teams?: Team[];
+  teamCount?: number;
+  performerCount?: number;
+  lessonCount?: number;
+  analyticsTimeRange: AnalyticsFilter['timeRange'];
+  coachingInsights?: CoachingInsights;
+  performerProgress?: PerformerProgress[];
+  analyticsComputedAt?: string;
+  analyticsStale?: boolean;
+  unavailableSections: Record<string, 'timeout' | 'error'>;
+}
+
+// /batch sub-request; path is relative to /api like every other client call
+export interface BatchRequestItem {
+  id?: string;
+  method: 'GET' | 'POST' | 'PUT' | 'PATCH' | 'DELETE';
+  path: string;
+  headers?: Record<string, string>;
+  body?: unknown;
+  dependsOn?: string[];
+}
+
+export interface BatchResponseItem<T = any> {
+  id: string;
+  status: number;
+  headers: Record<string, string>;
+  body: T;
+}